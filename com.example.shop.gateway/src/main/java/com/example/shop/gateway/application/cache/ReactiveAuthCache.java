@@ -0,0 +1,12 @@
+package com.example.shop.gateway.application.cache;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveAuthCache {
+
+    Mono<Void> denyBy(String userId, Long jwtValidator);
+
+    Mono<Long> getBy(String userId);
+
+    Mono<Void> cancelDenyBy(String userId);
+}
@@ -0,0 +1,89 @@
+package com.example.shop.gateway.infrastructure.bloom;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class BloomFilter {
+
+    private final AtomicLongArray bitArray;
+    private final long bitSize;
+    private final int hashFunctionCount;
+    private final AtomicLong setBitCount = new AtomicLong();
+
+    private BloomFilter(long bitSize, int hashFunctionCount) {
+        this.bitArray = new AtomicLongArray(Math.toIntExact((bitSize + 63) / 64));
+        this.bitSize = bitSize;
+        this.hashFunctionCount = hashFunctionCount;
+    }
+
+    public static BloomFilter create(long expectedInsertions, double falsePositiveProbability) {
+        long insertions = Math.max(expectedInsertions, 1L);
+        long bitSize = Math.max((long) (-insertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2))), 64L);
+        int hashFunctionCount = Math.max((int) Math.round((double) bitSize / insertions * Math.log(2)), 1);
+        return new BloomFilter(bitSize, hashFunctionCount);
+    }
+
+    public void put(String value) {
+        long hash = hash64(value);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctionCount; i++) {
+            setBit(index(hash1 + i * hash2));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash64(value);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctionCount; i++) {
+            long bitIndex = index(hash1 + i * hash2);
+            if ((bitArray.get((int) (bitIndex >>> 6)) & (1L << bitIndex)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public double expectedFalsePositiveProbability() {
+        return Math.pow((double) setBitCount.get() / bitSize, hashFunctionCount);
+    }
+
+    public long memoryBytes() {
+        return (long) bitArray.length() * Long.BYTES;
+    }
+
+    private long index(int combinedHash) {
+        return (combinedHash & Integer.MAX_VALUE) % bitSize;
+    }
+
+    private void setBit(long bitIndex) {
+        int wordIndex = (int) (bitIndex >>> 6);
+        long mask = 1L << bitIndex;
+        while (true) {
+            long word = bitArray.get(wordIndex);
+            if ((word & mask) != 0) {
+                return;
+            }
+            if (bitArray.compareAndSet(wordIndex, word, word | mask)) {
+                setBitCount.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
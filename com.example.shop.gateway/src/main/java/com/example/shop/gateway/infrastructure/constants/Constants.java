@@ -7,4 +7,8 @@ public class Constants {
         EXCEPTION;
     }
 
+    public static class ExchangeAttribute {
+        public static final String AUTH_USER_ID = "shop.auth.userId";
+    }
+
 }
@@ -0,0 +1,52 @@
+package com.example.shop.gateway.infrastructure.gateway.cache;
+
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+@Getter
+public class CachedResponse {
+
+    private static final Set<String> EXCLUDED_HEADER_NAMES = Set.of(
+            HttpHeaders.CONNECTION.toLowerCase(),
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.SET_COOKIE.toLowerCase(),
+            HttpHeaders.DATE.toLowerCase(),
+            "keep-alive"
+    );
+
+    private final HttpStatusCode statusCode;
+    private final HttpHeaders headers;
+    private final byte[] body;
+
+    private CachedResponse(HttpStatusCode statusCode, HttpHeaders headers, byte[] body) {
+        this.statusCode = statusCode;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    public static CachedResponse of(HttpStatusCode statusCode, HttpHeaders headers, byte[] body) {
+        HttpHeaders copiedHeaders = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            if (!EXCLUDED_HEADER_NAMES.contains(name.toLowerCase())) {
+                copiedHeaders.addAll(name, values);
+            }
+        });
+        return new CachedResponse(statusCode, HttpHeaders.readOnlyHttpHeaders(copiedHeaders), body);
+    }
+
+    public Mono<Void> writeTo(ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(statusCode);
+        headers.forEach((name, values) -> response.getHeaders().put(name, values));
+        response.getHeaders().setContentLength(body.length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(body)));
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.example.shop.gateway.infrastructure.gateway.cache;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Consumer;
+
+public class CapturingServerHttpResponseDecorator extends ServerHttpResponseDecorator {
+
+    private final Consumer<CachedResponse> captureConsumer;
+
+    public CapturingServerHttpResponseDecorator(ServerHttpResponse delegate, Consumer<CachedResponse> captureConsumer) {
+        super(delegate);
+        this.captureConsumer = captureConsumer;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        return DataBufferUtils.join(Flux.from(body))
+                .map(dataBuffer -> {
+                    byte[] bytes = new byte[dataBuffer.readableByteCount()];
+                    dataBuffer.read(bytes);
+                    DataBufferUtils.release(dataBuffer);
+                    return bytes;
+                })
+                .defaultIfEmpty(new byte[0])
+                .flatMap(bytes -> {
+                    HttpStatusCode statusCode = getStatusCode() != null ? getStatusCode() : HttpStatus.OK;
+                    captureConsumer.accept(CachedResponse.of(statusCode, getHeaders(), bytes));
+                    return getDelegate().writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                });
+    }
+
+    @Override
+    public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+        return writeWith(Flux.from(body).flatMapSequential(publisher -> publisher));
+    }
+
+}
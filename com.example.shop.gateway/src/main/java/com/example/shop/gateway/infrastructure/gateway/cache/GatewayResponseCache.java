@@ -0,0 +1,142 @@
+package com.example.shop.gateway.infrastructure.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+@Component
+public class GatewayResponseCache {
+
+    private static final Pattern UUID_SEGMENT_PATTERN =
+            Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+    private final Cache<String, Entry> cache;
+
+    public GatewayResponseCache(
+            @Value("${shop.gateway.response-cache.maximum-weight-bytes:67108864}") long maximumWeightBytes
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeightBytes)
+                .weigher((String key, Entry entry) -> key.length() + entry.getResponse().getBody().length)
+                .expireAfter(new StaleUntilExpiry())
+                .build();
+    }
+
+    public static String createKey(String routeId, ServerHttpRequest request) {
+        String path = request.getPath().pathWithinApplication().value();
+        if (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+
+        MultiValueMap<String, String> queryParams = request.getQueryParams();
+        List<String> queryPartList = new ArrayList<>();
+        queryParams.forEach((name, values) -> values.forEach(value -> queryPartList.add(
+                UriUtils.encodeQueryParam(name, StandardCharsets.UTF_8)
+                        + "="
+                        + UriUtils.encodeQueryParam(value == null ? "" : value, StandardCharsets.UTF_8)
+        )));
+        queryPartList.sort(null);
+        return routeId + " " + path + (queryPartList.isEmpty() ? "" : "?" + String.join("&", queryPartList));
+    }
+
+    public Entry get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(String key, Entry entry) {
+        cache.put(key, entry);
+    }
+
+    public void evict(String cacheName, Collection<String> idList) {
+        // 단건 경로는 해당 id 가 포함된 항목만, 목록 경로는 어떤 상품이 바뀌어도 결과가 달라질 수 있으므로 모두 제거한다
+        cache.asMap().entrySet().removeIf(mapEntry -> {
+            if (!cacheName.equals(mapEntry.getValue().getCacheName())) {
+                return false;
+            }
+            String path = extractPath(mapEntry.getKey());
+            String lastSegment = path.substring(path.lastIndexOf('/') + 1);
+            if (!UUID_SEGMENT_PATTERN.matcher(lastSegment).matches()) {
+                return true;
+            }
+            return idList.stream().anyMatch(id -> id.equalsIgnoreCase(lastSegment));
+        });
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    private static String extractPath(String key) {
+        String pathAndQuery = key.substring(key.indexOf(' ') + 1);
+        int queryIndex = pathAndQuery.indexOf('?');
+        return queryIndex < 0 ? pathAndQuery : pathAndQuery.substring(0, queryIndex);
+    }
+
+    @Getter
+    public static class Entry {
+
+        private final String cacheName;
+        private final CachedResponse response;
+        private final long storedAtMillis;
+        private final long freshUntilMillis;
+        private final long staleUntilMillis;
+        private final AtomicBoolean revalidating = new AtomicBoolean(false);
+
+        public Entry(String cacheName, CachedResponse response, long storedAtMillis, long ttlMillis, long staleWhileRevalidateMillis) {
+            this.cacheName = cacheName;
+            this.response = response;
+            this.storedAtMillis = storedAtMillis;
+            this.freshUntilMillis = storedAtMillis + ttlMillis;
+            this.staleUntilMillis = freshUntilMillis + staleWhileRevalidateMillis;
+        }
+
+        public boolean isFresh(long nowMillis) {
+            return nowMillis < freshUntilMillis;
+        }
+
+        public boolean isUsable(long nowMillis) {
+            return nowMillis < staleUntilMillis;
+        }
+
+        public boolean tryStartRevalidation() {
+            return revalidating.compareAndSet(false, true);
+        }
+
+        public void finishRevalidation() {
+            revalidating.set(false);
+        }
+    }
+
+    private static class StaleUntilExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry value, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(value.getStaleUntilMillis() - System.currentTimeMillis(), 0L));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.example.shop.gateway.infrastructure.gateway.filter;
+
+import com.example.shop.gateway.infrastructure.gateway.limit.GradientConcurrencyLimiter;
+import com.example.shop.gateway.infrastructure.gateway.response.GatewayErrorResponseWriter;
+import com.example.shop.gateway.presentation.advice.GatewayError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.SignalType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class AdaptiveConcurrencyLimitGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<AdaptiveConcurrencyLimitGatewayFilterFactory.Config> {
+
+    private final MeterRegistry meterRegistry;
+    private final GatewayErrorResponseWriter gatewayErrorResponseWriter;
+    private final Map<String, GradientConcurrencyLimiter> limiterMap = new ConcurrentHashMap<>();
+    private final Map<String, Counter> shedCounterMap = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyLimitGatewayFilterFactory(
+            MeterRegistry meterRegistry,
+            GatewayErrorResponseWriter gatewayErrorResponseWriter
+    ) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+        this.gatewayErrorResponseWriter = gatewayErrorResponseWriter;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String routeId = config.getRouteId();
+        GradientConcurrencyLimiter limiter = resolveLimiter(routeId, config.toSettings());
+        Counter shedCounter = shedCounterMap.computeIfAbsent(routeId, this::registerMetrics);
+
+        return (exchange, chain) -> {
+            if (!limiter.tryAcquire()) {
+                shedCounter.increment();
+                exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+                return gatewayErrorResponseWriter.write(exchange, GatewayError.GATEWAY_OVERLOADED);
+            }
+
+            long startNanos = System.nanoTime();
+            return chain.filter(exchange)
+                    .doFinally(signalType -> {
+                        if (signalType == SignalType.CANCEL) {
+                            limiter.onIgnored();
+                            return;
+                        }
+
+                        HttpStatusCode statusCode = exchange.getResponse().getStatusCode();
+                        if (signalType == SignalType.ON_ERROR || (statusCode != null && statusCode.is5xxServerError())) {
+                            limiter.onDropped();
+                            return;
+                        }
+                        limiter.onSuccess(System.nanoTime() - startNanos);
+                    });
+        };
+    }
+
+    // Config Server 로 설정이 바뀌어 라우트가 다시 만들어질 때만 리미터를 새로 만든다.
+    private GradientConcurrencyLimiter resolveLimiter(String routeId, GradientConcurrencyLimiter.Settings settings) {
+        return limiterMap.compute(routeId, (key, existing) ->
+                existing != null && existing.getSettings().equals(settings)
+                        ? existing
+                        : new GradientConcurrencyLimiter(settings));
+    }
+
+    private Counter registerMetrics(String routeId) {
+        Gauge.builder("gateway.concurrency.limit", limiterMap, limiters -> limitOf(limiters, routeId))
+                .description("현재 추정된 동시 처리 한도")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.inflight", limiterMap, limiters -> inFlightOf(limiters, routeId))
+                .description("업스트림으로 전달되어 처리 중인 요청 수")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        return Counter.builder("gateway.concurrency.shed")
+                .description("동시 처리 한도를 넘어 503 으로 거절된 요청 수")
+                .tag("route", routeId)
+                .register(meterRegistry);
+    }
+
+    private static double limitOf(Map<String, GradientConcurrencyLimiter> limiters, String routeId) {
+        GradientConcurrencyLimiter limiter = limiters.get(routeId);
+        return limiter == null ? 0 : limiter.getLimit();
+    }
+
+    private static double inFlightOf(Map<String, GradientConcurrencyLimiter> limiters, String routeId) {
+        GradientConcurrencyLimiter limiter = limiters.get(routeId);
+        return limiter == null ? 0 : limiter.getInFlight();
+    }
+
+    @Getter
+    @Setter
+    public static class Config implements HasRouteId {
+
+        private String routeId;
+
+        private int initialLimit = 20;
+
+        private int minLimit = 5;
+
+        private int maxLimit = 200;
+
+        private double smoothing = 0.2;
+
+        private double rttTolerance = 1.5;
+
+        private int longWindow = 600;
+
+        private double dropBackoffRatio = 0.9;
+
+        private GradientConcurrencyLimiter.Settings toSettings() {
+            return GradientConcurrencyLimiter.Settings.builder()
+                    .initialLimit(initialLimit)
+                    .minLimit(minLimit)
+                    .maxLimit(maxLimit)
+                    .smoothing(smoothing)
+                    .rttTolerance(rttTolerance)
+                    .longWindow(longWindow)
+                    .dropBackoffRatio(dropBackoffRatio)
+                    .build();
+        }
+
+    }
+
+}
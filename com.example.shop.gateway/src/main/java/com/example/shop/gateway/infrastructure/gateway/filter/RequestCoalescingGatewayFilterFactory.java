@@ -0,0 +1,139 @@
+package com.example.shop.gateway.infrastructure.gateway.filter;
+
+import com.example.shop.gateway.infrastructure.gateway.cache.CachedResponse;
+import com.example.shop.gateway.infrastructure.gateway.cache.CapturingServerHttpResponseDecorator;
+import com.example.shop.gateway.infrastructure.gateway.cache.GatewayResponseCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class RequestCoalescingGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<RequestCoalescingGatewayFilterFactory.Config> {
+
+    private static final String ANONYMOUS_IDENTITY = "anonymous";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Mono<CachedResponse>> inFlightMap = new ConcurrentHashMap<>();
+    private final Map<String, CoalescingMetrics> metricsMap = new ConcurrentHashMap<>();
+
+    public RequestCoalescingGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        CoalescingMetrics metrics = metricsMap.computeIfAbsent(config.getRouteId(), CoalescingMetrics::new);
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+
+            // 인증 정보가 다른 요청은 절대 합치지 않는다
+            String key = GatewayResponseCache.createKey(config.getRouteId(), request)
+                    + " " + identityOf(request)
+                    + " " + request.getHeaders().getAccept();
+
+            Sinks.One<CachedResponse> sink = Sinks.one();
+            Mono<CachedResponse> sharedResponse = sink.asMono();
+            Mono<CachedResponse> inFlightResponse = inFlightMap.putIfAbsent(key, sharedResponse);
+
+            if (inFlightResponse != null) {
+                metrics.getFollowerCounter().increment();
+                return inFlightResponse
+                        .flatMap(cachedResponse -> cachedResponse.writeTo(exchange))
+                        // 선행 요청이 본문 없이 끝났거나 취소되었다면 직접 호출한다
+                        .switchIfEmpty(Mono.defer(() -> chain.filter(exchange)));
+            }
+
+            metrics.getLeaderCounter().increment();
+            CapturingServerHttpResponseDecorator capturingResponse = new CapturingServerHttpResponseDecorator(
+                    exchange.getResponse(),
+                    cachedResponse -> {
+                        inFlightMap.remove(key, sharedResponse);
+                        sink.tryEmitValue(cachedResponse);
+                    }
+            );
+            return chain.filter(exchange.mutate().response(capturingResponse).build())
+                    .doOnError(exception -> {
+                        inFlightMap.remove(key, sharedResponse);
+                        sink.tryEmitError(exception);
+                    })
+                    .doFinally(signalType -> {
+                        inFlightMap.remove(key, sharedResponse);
+                        sink.tryEmitEmpty();
+                    });
+        };
+    }
+
+    private static String identityOf(ServerHttpRequest request) {
+        String authorizationHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorizationHeader == null || authorizationHeader.isBlank()) {
+            return ANONYMOUS_IDENTITY;
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(authorizationHeader.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    @Getter
+    private class CoalescingMetrics {
+
+        private final Counter leaderCounter;
+        private final Counter followerCounter;
+
+        private CoalescingMetrics(String routeId) {
+            this.leaderCounter = Counter.builder("gateway.coalescing.requests")
+                    .description("업스트림으로 전달된 요청 수")
+                    .tag("route", routeId)
+                    .tag("role", "leader")
+                    .register(meterRegistry);
+            this.followerCounter = Counter.builder("gateway.coalescing.requests")
+                    .description("진행 중인 동일 요청의 응답을 공유한 요청 수")
+                    .tag("route", routeId)
+                    .tag("role", "follower")
+                    .register(meterRegistry);
+            Gauge.builder("gateway.coalescing.ratio", this, CoalescingMetrics::ratio)
+                    .description("전체 GET 요청 중 합쳐진 요청의 비율")
+                    .tag("route", routeId)
+                    .register(meterRegistry);
+        }
+
+        private double ratio() {
+            double total = leaderCounter.count() + followerCounter.count();
+            return total == 0 ? 0 : followerCounter.count() / total;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Config implements HasRouteId {
+
+        private String routeId;
+
+    }
+
+}
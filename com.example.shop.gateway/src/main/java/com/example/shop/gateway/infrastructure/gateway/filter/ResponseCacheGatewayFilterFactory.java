@@ -0,0 +1,175 @@
+package com.example.shop.gateway.infrastructure.gateway.filter;
+
+import com.example.shop.gateway.infrastructure.gateway.cache.CachedResponse;
+import com.example.shop.gateway.infrastructure.gateway.cache.CapturingServerHttpResponseDecorator;
+import com.example.shop.gateway.infrastructure.gateway.cache.GatewayResponseCache;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Component
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+    private static final Pattern MAX_AGE_PATTERN = Pattern.compile("(?:s-maxage|max-age)=(\\d+)");
+
+    private final GatewayResponseCache gatewayResponseCache;
+    private final WebClient revalidationWebClient;
+
+    public ResponseCacheGatewayFilterFactory(
+            GatewayResponseCache gatewayResponseCache,
+            ReactorLoadBalancerExchangeFilterFunction loadBalancerExchangeFilterFunction
+    ) {
+        super(Config.class);
+        this.gatewayResponseCache = gatewayResponseCache;
+        this.revalidationWebClient = WebClient.builder()
+                .filter(loadBalancerExchangeFilterFunction)
+                .build();
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+
+            String requestCacheControl = lowerCase(request.getHeaders().getCacheControl());
+            if (requestCacheControl.contains("no-store")) {
+                return chain.filter(exchange);
+            }
+
+            String key = GatewayResponseCache.createKey(config.getRouteId(), request);
+            long now = System.currentTimeMillis();
+            if (!requestCacheControl.contains("no-cache")) {
+                GatewayResponseCache.Entry entry = gatewayResponseCache.get(key);
+                if (entry != null && entry.isFresh(now)) {
+                    return writeCachedResponse(exchange, entry, "HIT", now);
+                }
+                if (entry != null && entry.isUsable(now)) {
+                    // 만료된 항목은 그대로 응답하고, 백엔드 재검증은 한 번만 비동기로 수행한다
+                    if (entry.tryStartRevalidation()) {
+                        revalidate(exchange, config, key, entry);
+                    }
+                    return writeCachedResponse(exchange, entry, "STALE", now);
+                }
+            }
+
+            CapturingServerHttpResponseDecorator capturingResponse = new CapturingServerHttpResponseDecorator(
+                    exchange.getResponse(),
+                    cachedResponse -> {
+                        store(config, key, cachedResponse);
+                        exchange.getResponse().getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+                    }
+            );
+            return chain.filter(exchange.mutate().response(capturingResponse).build());
+        };
+    }
+
+    private Mono<Void> writeCachedResponse(ServerWebExchange exchange, GatewayResponseCache.Entry entry, String cacheStatus, long now) {
+        exchange.getResponse().getHeaders().set(CACHE_STATUS_HEADER, cacheStatus);
+        exchange.getResponse().getHeaders().set(HttpHeaders.AGE, String.valueOf(Math.max(0L, (now - entry.getStoredAtMillis()) / 1000L)));
+        return entry.getResponse().writeTo(exchange);
+    }
+
+    private void revalidate(ServerWebExchange exchange, Config config, String key, GatewayResponseCache.Entry entry) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            entry.finishRevalidation();
+            return;
+        }
+
+        URI requestUri = exchange.getRequest().getURI();
+        URI upstreamUri = URI.create("http://" + route.getUri().getHost()
+                + requestUri.getRawPath()
+                + (requestUri.getRawQuery() != null ? "?" + requestUri.getRawQuery() : ""));
+
+        revalidationWebClient.get()
+                .uri(upstreamUri)
+                .headers(headers -> headers.setAccept(exchange.getRequest().getHeaders().getAccept()))
+                .retrieve()
+                .toEntity(byte[].class)
+                .doOnNext(responseEntity -> store(
+                        config,
+                        key,
+                        CachedResponse.of(
+                                responseEntity.getStatusCode(),
+                                responseEntity.getHeaders(),
+                                responseEntity.getBody() != null ? responseEntity.getBody() : new byte[0]
+                        )
+                ))
+                .doOnError(exception -> log.warn("response cache revalidation failed: {}", key, exception))
+                .doFinally(signalType -> entry.finishRevalidation())
+                .onErrorResume(exception -> Mono.empty())
+                .subscribe();
+    }
+
+    private void store(Config config, String key, CachedResponse cachedResponse) {
+        if (cachedResponse.getStatusCode().value() != HttpStatus.OK.value()) {
+            return;
+        }
+
+        String responseCacheControl = lowerCase(cachedResponse.getHeaders().getCacheControl());
+        if (responseCacheControl.contains("no-store")
+                || responseCacheControl.contains("no-cache")
+                || responseCacheControl.contains("private")) {
+            return;
+        }
+
+        long ttlMillis = config.getTtl().toMillis();
+        Matcher maxAgeMatcher = MAX_AGE_PATTERN.matcher(responseCacheControl);
+        if (maxAgeMatcher.find()) {
+            ttlMillis = Duration.ofSeconds(Long.parseLong(maxAgeMatcher.group(1))).toMillis();
+        }
+
+        gatewayResponseCache.put(key, new GatewayResponseCache.Entry(
+                config.getCacheName(),
+                cachedResponse,
+                System.currentTimeMillis(),
+                ttlMillis,
+                config.getStaleWhileRevalidate().toMillis()
+        ));
+    }
+
+    private static String lowerCase(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    @Getter
+    @Setter
+    public static class Config implements HasRouteId {
+
+        private String routeId;
+
+        private String cacheName;
+
+        private Duration ttl = Duration.ofSeconds(30);
+
+        private Duration staleWhileRevalidate = Duration.ofSeconds(30);
+
+    }
+
+}
@@ -0,0 +1,130 @@
+package com.example.shop.gateway.infrastructure.gateway.filter;
+
+import com.example.shop.gateway.infrastructure.constants.Constants;
+import com.example.shop.gateway.infrastructure.gateway.response.GatewayErrorResponseWriter;
+import com.example.shop.gateway.presentation.advice.GatewayError;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+
+@Slf4j
+@Component
+public class TokenBucketRateLimiterGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<TokenBucketRateLimiterGatewayFilterFactory.Config> {
+
+    private static final String RATE_LIMIT_KEY_PREFIX = "rate:bucket:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TOKEN_BUCKET_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/token-bucket.lua"), List.class);
+
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+    private final GatewayErrorResponseWriter gatewayErrorResponseWriter;
+    private final Cache<String, Long> blockedUntilCache = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .maximumSize(100_000)
+            .build();
+
+    public TokenBucketRateLimiterGatewayFilterFactory(
+            ReactiveStringRedisTemplate reactiveStringRedisTemplate,
+            GatewayErrorResponseWriter gatewayErrorResponseWriter
+    ) {
+        super(Config.class);
+        this.reactiveStringRedisTemplate = reactiveStringRedisTemplate;
+        this.gatewayErrorResponseWriter = gatewayErrorResponseWriter;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            String bucketKey = resolveBucketKey(exchange);
+
+            // 최근 Redis 에서 거절된 클라이언트는 Redis 를 거치지 않고 바로 거절한다
+            Long blockedUntil = blockedUntilCache.getIfPresent(bucketKey);
+            long now = System.currentTimeMillis();
+            if (blockedUntil != null && blockedUntil > now) {
+                return reject(exchange, blockedUntil - now);
+            }
+
+            return reactiveStringRedisTemplate.execute(
+                            TOKEN_BUCKET_SCRIPT,
+                            List.of(bucketKey),
+                            List.of(
+                                    String.valueOf(config.getReplenishRate()),
+                                    String.valueOf(config.getBurstCapacity()),
+                                    String.valueOf(config.getRequestedTokens())
+                            )
+                    )
+                    .next()
+                    .map(result -> new long[]{toLong(result.get(0)), toLong(result.get(1))})
+                    .onErrorResume(exception -> {
+                        // Redis 장애 시에는 요청을 막지 않는다
+                        log.warn("rate limiter redis call failed", exception);
+                        return Mono.just(new long[]{1L, 0L});
+                    })
+                    .flatMap(result -> {
+                        if (result[0] == 1L) {
+                            return chain.filter(exchange);
+                        }
+                        blockedUntilCache.put(bucketKey, System.currentTimeMillis() + result[1]);
+                        return reject(exchange, result[1]);
+                    });
+        };
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, long retryAfterMillis) {
+        long retryAfterSeconds = Math.max(1L, (retryAfterMillis + 999L) / 1000L);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return gatewayErrorResponseWriter.write(exchange, GatewayError.GATEWAY_TOO_MANY_REQUESTS);
+    }
+
+    private String resolveBucketKey(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : "unknown";
+
+        String userId = exchange.getAttribute(Constants.ExchangeAttribute.AUTH_USER_ID);
+        if (userId != null) {
+            return RATE_LIMIT_KEY_PREFIX + routeId + ":user:" + userId;
+        }
+
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        String clientIp = remoteAddress != null && remoteAddress.getAddress() != null
+                ? remoteAddress.getAddress().getHostAddress()
+                : "unknown";
+        return RATE_LIMIT_KEY_PREFIX + routeId + ":ip:" + clientIp;
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : Long.parseLong(String.valueOf(value));
+    }
+
+    @Getter
+    @Setter
+    public static class Config {
+
+        private double replenishRate = 10;
+
+        private int burstCapacity = 20;
+
+        private int requestedTokens = 1;
+
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.example.shop.gateway.infrastructure.gateway.limit;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 관측한 RTT 로 동시 처리 한도를 추정하는 gradient 방식 리미터.
+ * 장기 RTT(부하 없을 때의 기준) 대비 단기 RTT 가 늘어나면 한도를 줄이고, 줄어들면 sqrt(limit) 만큼 여유를 두고 늘린다.
+ */
+public class GradientConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final double longRttFactor;
+    private final double dropBackoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double estimatedLimit;
+    private double longRttNanos;
+    private long sampleCount;
+
+    @Getter
+    private final Settings settings;
+
+    public GradientConcurrencyLimiter(Settings settings) {
+        this.settings = settings;
+        this.minLimit = settings.getMinLimit();
+        this.maxLimit = settings.getMaxLimit();
+        this.smoothing = settings.getSmoothing();
+        this.rttTolerance = settings.getRttTolerance();
+        this.longRttFactor = 2.0 / (settings.getLongWindow() + 1);
+        this.dropBackoffRatio = settings.getDropBackoffRatio();
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, settings.getInitialLimit()));
+    }
+
+    /**
+     * 한도 안이면 처리 중 요청 수를 늘리고 true 를 반환한다. 한도를 넘으면 대기하지 않고 false 를 반환한다.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) estimatedLimit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void onSuccess(long rttNanos) {
+        int currentInFlight = inFlight.getAndDecrement();
+        update(rttNanos, currentInFlight);
+    }
+
+    // 업스트림 오류나 타임아웃은 RTT 표본으로 쓰지 않고 한도를 비율만큼 줄인다.
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            estimatedLimit = Math.max(minLimit, estimatedLimit * dropBackoffRatio);
+        }
+    }
+
+    public void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) estimatedLimit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long rttNanos, int currentInFlight) {
+        if (rttNanos <= 0) {
+            return;
+        }
+
+        sampleCount++;
+        if (sampleCount == 1) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos = longRttNanos * (1 - longRttFactor) + rttNanos * longRttFactor;
+        }
+
+        // 장기 RTT 가 단기 RTT 보다 크게 높아진 상태(부하 해소 직후)에서는 기준을 빠르게 끌어내린다.
+        if (longRttNanos / rttNanos > 2.0) {
+            longRttNanos *= 0.95;
+        }
+
+        // 한도의 절반도 쓰지 않는 동안에는 관측값이 한도와 무관하므로 추정하지 않는다.
+        if (currentInFlight < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRttNanos / rttNanos));
+        double queueSize = Math.sqrt(estimatedLimit);
+        double newLimit = estimatedLimit * gradient + queueSize;
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    @Getter
+    @Builder
+    @EqualsAndHashCode
+    public static class Settings {
+
+        private final int initialLimit;
+        private final int minLimit;
+        private final int maxLimit;
+        private final double smoothing;
+        private final double rttTolerance;
+        private final int longWindow;
+        private final double dropBackoffRatio;
+
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.shop.gateway.infrastructure.gateway.response;
+
+import com.example.shop.gateway.presentation.advice.GatewayError;
+import com.example.shop.gateway.presentation.dto.ApiDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+@Component
+@RequiredArgsConstructor
+public class GatewayErrorResponseWriter {
+
+    private final ObjectMapper objectMapper;
+
+    public Mono<Void> write(ServerWebExchange exchange, GatewayError error) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(error.getHttpStatus());
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(ApiDto.builder()
+                    .code(error.getErrorCode())
+                    .message(error.getErrorMessage())
+                    .build());
+        } catch (JsonProcessingException exception) {
+            return Mono.error(exception);
+        }
+        DataBuffer dataBuffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(dataBuffer));
+    }
+
+}
@@ -0,0 +1,206 @@
+package com.example.shop.gateway.infrastructure.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * 인스턴스별 지연 시간 EWMA(peak) 와 처리 중 요청 수를 곱한 비용으로 두 후보 중 하나를 고르는 로드밸런서.
+ * LoadBalancerLifecycle 로 등록되어 RestTemplate / 게이트웨이 호출의 시작과 완료를 관측한다.
+ */
+public class PeakEwmaLoadBalancer implements ReactorServiceInstanceLoadBalancer,
+        LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private static final String START_NANOS_ATTRIBUTE = PeakEwmaLoadBalancer.class.getName() + ".startNanos";
+
+    private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+    private final double decayNanos;
+    private final long initialLatencyNanos;
+    private final long failurePenaltyNanos;
+    private final LongSupplier nanoClock;
+    private final Map<String, InstanceStats> instanceStatsMap = new ConcurrentHashMap<>();
+
+    public PeakEwmaLoadBalancer(
+            ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+            Duration decay,
+            Duration initialLatency,
+            Duration failurePenalty
+    ) {
+        this(serviceInstanceListSupplierProvider, decay, initialLatency, failurePenalty, System::nanoTime);
+    }
+
+    PeakEwmaLoadBalancer(
+            ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+            Duration decay,
+            Duration initialLatency,
+            Duration failurePenalty,
+            LongSupplier nanoClock
+    ) {
+        this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+        this.decayNanos = decay.toNanos();
+        this.initialLatencyNanos = initialLatency.toNanos();
+        this.failurePenaltyNanos = failurePenalty.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = serviceInstanceListSupplierProvider
+                .getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request)
+                .next()
+                .map(this::select);
+    }
+
+    Response<ServiceInstance> select(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+
+        pruneStaleStats(instances);
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int firstIndex = random.nextInt(instances.size());
+        int secondIndex = random.nextInt(instances.size() - 1);
+        if (secondIndex >= firstIndex) {
+            secondIndex++;
+        }
+
+        ServiceInstance first = instances.get(firstIndex);
+        ServiceInstance second = instances.get(secondIndex);
+        long now = nanoClock.getAsLong();
+        double firstCost = statsOf(first).cost(now);
+        double secondCost = statsOf(second).cost(now);
+        return new DefaultResponse(firstCost <= secondCost ? first : second);
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer()) {
+            return;
+        }
+        statsOf(lbResponse.getServer()).inFlight.incrementAndGet();
+        Map<String, Object> attributes = attributesOf(request);
+        if (attributes != null) {
+            attributes.put(START_NANOS_ATTRIBUTE, nanoClock.getAsLong());
+        }
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+
+        InstanceStats instanceStats = statsOf(lbResponse.getServer());
+        instanceStats.inFlight.updateAndGet(inFlight -> Math.max(inFlight - 1, 0));
+
+        Map<String, Object> attributes = attributesOf(completionContext.getLoadBalancerRequest());
+        Object startNanos = attributes == null ? null : attributes.remove(START_NANOS_ATTRIBUTE);
+        if (!(startNanos instanceof Long start)) {
+            return;
+        }
+
+        long now = nanoClock.getAsLong();
+        long rttNanos = now - start;
+        if (completionContext.status() == CompletionContext.Status.FAILED) {
+            rttNanos = Math.max(rttNanos, failurePenaltyNanos);
+        }
+        if (completionContext.status() != CompletionContext.Status.DISCARD) {
+            instanceStats.observe(rttNanos, now);
+        }
+    }
+
+    private InstanceStats statsOf(ServiceInstance instance) {
+        return instanceStatsMap.computeIfAbsent(keyOf(instance), key -> new InstanceStats(initialLatencyNanos, decayNanos, nanoClock.getAsLong()));
+    }
+
+    // 사라진 인스턴스의 통계가 계속 쌓이지 않도록 목록보다 충분히 커지면 정리한다.
+    private void pruneStaleStats(List<ServiceInstance> instances) {
+        if (instanceStatsMap.size() <= instances.size() * 2) {
+            return;
+        }
+        Set<String> aliveKeys = instances.stream()
+                .map(PeakEwmaLoadBalancer::keyOf)
+                .collect(Collectors.toSet());
+        instanceStatsMap.keySet().retainAll(aliveKeys);
+    }
+
+    private static String keyOf(ServiceInstance instance) {
+        return instance.getInstanceId() != null
+                ? instance.getInstanceId()
+                : instance.getHost() + ":" + instance.getPort();
+    }
+
+    private static Map<String, Object> attributesOf(Request<?> request) {
+        if (request != null && request.getContext() instanceof RequestDataContext requestDataContext
+                && requestDataContext.getClientRequest() != null) {
+            return requestDataContext.getClientRequest().getAttributes();
+        }
+        return null;
+    }
+
+    private static final class InstanceStats {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final double decayNanos;
+        private double ewmaNanos;
+        private long lastUpdateNanos;
+
+        private InstanceStats(long initialLatencyNanos, double decayNanos, long now) {
+            this.decayNanos = decayNanos;
+            this.ewmaNanos = initialLatencyNanos;
+            this.lastUpdateNanos = now;
+        }
+
+        // 느린 응답은 즉시 반영(peak)하고, 빠른 응답과 시간 경과는 지수적으로 반영한다.
+        private synchronized void observe(long rttNanos, long now) {
+            if (rttNanos > ewmaNanos) {
+                ewmaNanos = rttNanos;
+            } else {
+                double weight = Math.exp(-Math.max(now - lastUpdateNanos, 0L) / decayNanos);
+                ewmaNanos = ewmaNanos * weight + rttNanos * (1 - weight);
+            }
+            lastUpdateNanos = Math.max(lastUpdateNanos, now);
+        }
+
+        // 관측이 없는 동안 비용이 서서히 줄어들어 느렸던 인스턴스도 다시 시도된다.
+        private synchronized double cost(long now) {
+            observe(0L, now);
+            return ewmaNanos * (inFlight.get() + 1);
+        }
+    }
+}
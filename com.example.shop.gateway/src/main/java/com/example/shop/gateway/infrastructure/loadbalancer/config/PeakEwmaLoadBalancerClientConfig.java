@@ -0,0 +1,44 @@
+package com.example.shop.gateway.infrastructure.loadbalancer.config;
+
+import com.example.shop.gateway.infrastructure.loadbalancer.PeakEwmaLoadBalancer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * 서비스별 LoadBalancer 자식 컨텍스트에 적용되는 설정.
+ * shop.loadbalancer.peak-ewma.services 에 포함된 서비스만 PeakEwmaLoadBalancer 를 사용하고 나머지는 기본 라운드 로빈을 유지한다.
+ * 자식 컨텍스트 전용이므로 @Configuration 을 붙이지 않는다.
+ */
+public class PeakEwmaLoadBalancerClientConfig {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> reactorServiceInstanceLoadBalancer(
+            Environment environment,
+            LoadBalancerClientFactory loadBalancerClientFactory
+    ) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider =
+                loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class);
+
+        String[] peakEwmaServices = environment.getProperty("shop.loadbalancer.peak-ewma.services", String[].class, new String[0]);
+        if (Arrays.stream(peakEwmaServices).map(String::trim).noneMatch(service -> service.equalsIgnoreCase(serviceId))) {
+            return new RoundRobinLoadBalancer(serviceInstanceListSupplierProvider, serviceId);
+        }
+
+        return new PeakEwmaLoadBalancer(
+                serviceInstanceListSupplierProvider,
+                Duration.ofMillis(environment.getProperty("shop.loadbalancer.peak-ewma.decay-millis", Long.class, 10000L)),
+                Duration.ofMillis(environment.getProperty("shop.loadbalancer.peak-ewma.initial-latency-millis", Long.class, 50L)),
+                Duration.ofMillis(environment.getProperty("shop.loadbalancer.peak-ewma.failure-penalty-millis", Long.class, 1000L))
+        );
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.shop.gateway.infrastructure.redis.cache;
+
+import com.example.shop.gateway.infrastructure.bloom.BloomFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class AuthDenyBloomFilter {
+
+    private static final String AUTH_DENY_PREFIX = "auth:deny:";
+    // user 서비스가 거부마다 올리는 번호와, 번호를 점수로 `{번호}|{userId}` 를 남기는 로그
+    private static final String AUTH_DENY_VERSION_KEY = "auth:deny-version";
+    private static final String AUTH_DENY_LOG_KEY = "auth:deny-log";
+
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+    private final Duration rebuildInterval;
+    private final Duration catchUpInterval;
+
+    private volatile BloomFilter currentFilter;
+    private volatile BloomFilter buildingFilter;
+    private volatile boolean ready;
+    // 블룸 필터에 반영된 마지막 거부 번호. rebuild 와 catchUp 만 순서대로 바꾼다
+    private volatile long appliedVersion;
+    private volatile long lastRebuildNanos;
+    // markStale 이 불릴 때마다 올린다. 시작한 뒤 세대가 바뀐 rebuild 는 놓친 무효화를 담지 못했을 수 있다
+    private final AtomicLong staleGeneration = new AtomicLong();
+    private Disposable rebuildSubscription;
+
+    public AuthDenyBloomFilter(
+            ReactiveStringRedisTemplate reactiveStringRedisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${shop.security.auth-deny-bloom.expected-insertions:100000}") long expectedInsertions,
+            @Value("${shop.security.auth-deny-bloom.false-positive-probability:0.01}") double falsePositiveProbability,
+            @Value("${shop.security.auth-deny-bloom.rebuild-interval-millis:60000}") long rebuildIntervalMillis,
+            @Value("${shop.security.auth-deny-bloom.catch-up-interval-millis:1000}") long catchUpIntervalMillis
+    ) {
+        this.reactiveStringRedisTemplate = reactiveStringRedisTemplate;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.rebuildInterval = Duration.ofMillis(rebuildIntervalMillis);
+        this.catchUpInterval = Duration.ofMillis(catchUpIntervalMillis);
+        this.currentFilter = BloomFilter.create(expectedInsertions, falsePositiveProbability);
+
+        Gauge.builder("gateway.auth.deny.bloom.false.positive.probability", this, filter -> filter.currentFilter.expectedFalsePositiveProbability())
+                .description("auth:deny 블룸 필터의 현재 예상 오탐률")
+                .register(meterRegistry);
+        Gauge.builder("gateway.auth.deny.bloom.memory", this, filter -> filter.currentFilter.memoryBytes())
+                .description("auth:deny 블룸 필터의 비트 배열 크기")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void startRebuild() {
+        // pub/sub 으로 놓친 거부는 catchUp 이 거부 로그로 메우고,
+        // 취소(cancelDenyBy)와 TTL 만료는 블룸 필터에서 지울 수 없으므로 rebuildInterval 마다 SCAN 으로 다시 만든다
+        rebuildSubscription = Flux.interval(Duration.ZERO, catchUpInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> refresh()
+                        .onErrorResume(exception -> {
+                            log.warn("auth deny bloom filter refresh failed", exception);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopRebuild() {
+        if (rebuildSubscription != null) {
+            rebuildSubscription.dispose();
+        }
+    }
+
+    public boolean mightContain(String userId) {
+        // 최초 SCAN 이 끝나기 전에는 모든 요청을 Redis 로 보낸다
+        return !ready || currentFilter.mightContain(userId);
+    }
+
+    /**
+     * 무효화 구독이 끊겨 놓친 거부가 있을 수 있을 때 부른다.
+     * 다음 rebuild 가 끝날 때까지 모든 요청을 Redis 로 보낸다.
+     */
+    public void markStale() {
+        staleGeneration.incrementAndGet();
+        ready = false;
+    }
+
+    public void put(String userId) {
+        currentFilter.put(userId);
+        BloomFilter filter = buildingFilter;
+        if (filter != null) {
+            filter.put(userId);
+        }
+    }
+
+    public Mono<Void> rebuild() {
+        return Mono.defer(() -> {
+            long generation = staleGeneration.get();
+            BloomFilter filter = BloomFilter.create(expectedInsertions, falsePositiveProbability);
+            buildingFilter = filter;
+            ScanOptions scanOptions = ScanOptions.scanOptions()
+                    .match(AUTH_DENY_PREFIX + "*")
+                    .count(1000)
+                    .build();
+            // SCAN 전에 읽은 번호까지는 SCAN 결과에 들어 있으므로, 이후 catchUp 은 그 다음 번호부터 읽는다
+            return currentVersion()
+                    .flatMap(version -> reactiveStringRedisTemplate.scan(scanOptions)
+                            .doOnNext(key -> filter.put(key.substring(AUTH_DENY_PREFIX.length())))
+                            .then(Mono.fromRunnable(() -> {
+                                currentFilter = filter;
+                                appliedVersion = version;
+                                lastRebuildNanos = System.nanoTime();
+                                ready = generation == staleGeneration.get();
+                            })))
+                    .doFinally(signalType -> buildingFilter = null)
+                    .then();
+        });
+    }
+
+    /**
+     * 거부 로그에서 appliedVersion 이후 번호를 읽어 블룸 필터에 넣는다.
+     * 번호가 비어 있으면(로그가 잘렸거나 Redis 가 비워졌으면) 놓친 거부를 알 수 없으므로
+     * rebuild 가 끝날 때까지 모든 요청을 Redis 로 보낸다.
+     */
+    public Mono<Void> catchUp() {
+        return Mono.defer(() -> {
+            long fromVersion = appliedVersion;
+            return currentVersion().flatMap(version -> {
+                if (version == fromVersion) {
+                    return Mono.<Void>empty();
+                }
+                if (version < fromVersion) {
+                    markStale();
+                    return rebuild();
+                }
+                Range<Double> range = Range.of(
+                        Range.Bound.exclusive((double) fromVersion),
+                        Range.Bound.inclusive((double) version)
+                );
+                return reactiveStringRedisTemplate.opsForZSet().rangeByScore(AUTH_DENY_LOG_KEY, range)
+                        .collectList()
+                        .flatMap(entries -> {
+                            if (entries.size() < version - fromVersion) {
+                                markStale();
+                                return rebuild();
+                            }
+                            entries.forEach(entry -> put(entry.substring(entry.indexOf('|') + 1)));
+                            appliedVersion = version;
+                            return Mono.<Void>empty();
+                        });
+            });
+        });
+    }
+
+    private Mono<Void> refresh() {
+        // stale 상태면 다음 tick 에 바로 다시 만들어 Redis 로 몰리는 시간을 catchUpInterval 로 줄인다
+        if (!ready || System.nanoTime() - lastRebuildNanos >= rebuildInterval.toNanos()) {
+            return rebuild();
+        }
+        return catchUp();
+    }
+
+    private Mono<Long> currentVersion() {
+        return reactiveStringRedisTemplate.opsForValue().get(AUTH_DENY_VERSION_KEY)
+                .map(Long::parseLong)
+                .defaultIfEmpty(0L);
+    }
+
+}
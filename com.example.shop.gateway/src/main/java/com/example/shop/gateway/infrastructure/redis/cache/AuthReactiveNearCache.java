@@ -0,0 +1,91 @@
+package com.example.shop.gateway.infrastructure.redis.cache;
+
+import com.example.shop.gateway.application.cache.ReactiveAuthCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Primary
+@Component
+public class AuthReactiveNearCache implements ReactiveAuthCache {
+
+    public static final String AUTH_DENY_INVALIDATION_CHANNEL = "auth:deny:invalidation";
+
+    private final AuthReactiveRedisCache authReactiveRedisCache;
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+    private final Cache<String, Optional<Long>> localCache;
+    private final AtomicLong invalidationVersion = new AtomicLong();
+
+    public AuthReactiveNearCache(
+            AuthReactiveRedisCache authReactiveRedisCache,
+            ReactiveStringRedisTemplate reactiveStringRedisTemplate,
+            @Value("${shop.security.auth-cache.local-ttl-millis:3000}") long localTtlMillis,
+            @Value("${shop.security.auth-cache.local-maximum-size:100000}") long localMaximumSize
+    ) {
+        this.authReactiveRedisCache = authReactiveRedisCache;
+        this.reactiveStringRedisTemplate = reactiveStringRedisTemplate;
+        this.localCache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(localTtlMillis))
+                .maximumSize(localMaximumSize)
+                .build();
+    }
+
+    @Override
+    public Mono<Void> denyBy(String userId, Long jwtValidator) {
+        return authReactiveRedisCache.denyBy(userId, jwtValidator)
+                .then(publishInvalidation(userId));
+    }
+
+    @Override
+    public Mono<Long> getBy(String userId) {
+        Optional<Long> cachedValue = localCache.getIfPresent(userId);
+        if (cachedValue != null) {
+            return Mono.justOrEmpty(cachedValue);
+        }
+
+        return Mono.defer(() -> {
+            long version = invalidationVersion.get();
+            return authReactiveRedisCache.getBy(userId)
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .doOnNext(jwtValidator -> {
+                        // 조회 도중 무효화 메시지가 도착했다면 오래된 값을 로컬에 남기지 않는다
+                        if (version == invalidationVersion.get()) {
+                            localCache.put(userId, jwtValidator);
+                        }
+                    })
+                    .flatMap(Mono::justOrEmpty);
+        });
+    }
+
+    @Override
+    public Mono<Void> cancelDenyBy(String userId) {
+        return authReactiveRedisCache.cancelDenyBy(userId)
+                .then(publishInvalidation(userId));
+    }
+
+    public void invalidateLocal(String userId) {
+        invalidationVersion.incrementAndGet();
+        localCache.invalidate(userId);
+    }
+
+    public void invalidateAllLocal() {
+        invalidationVersion.incrementAndGet();
+        localCache.invalidateAll();
+    }
+
+    private Mono<Void> publishInvalidation(String userId) {
+        return Mono.fromRunnable(() -> invalidateLocal(userId))
+                .then(reactiveStringRedisTemplate.convertAndSend(AUTH_DENY_INVALIDATION_CHANNEL, userId))
+                .then();
+    }
+
+}
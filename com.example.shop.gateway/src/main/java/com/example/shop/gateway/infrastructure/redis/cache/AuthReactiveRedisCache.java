@@ -0,0 +1,44 @@
+package com.example.shop.gateway.infrastructure.redis.cache;
+
+import com.example.shop.gateway.application.cache.ReactiveAuthCache;
+import com.example.shop.gateway.infrastructure.security.jwt.JwtProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+@Component
+@RequiredArgsConstructor
+public class AuthReactiveRedisCache implements ReactiveAuthCache {
+
+    private static final String AUTH_DENY_PREFIX = "auth:deny:";
+
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+    private final JwtProperties jwtProperties;
+
+    @Override
+    public Mono<Void> denyBy(String userId, Long jwtValidator) {
+        String key = AUTH_DENY_PREFIX + userId;
+        return reactiveStringRedisTemplate.opsForValue()
+                .set(key, jwtValidator.toString(), Duration.ofMillis(jwtProperties.getAccessExpirationMillis()))
+                .then();
+    }
+
+    @Override
+    public Mono<Long> getBy(String userId) {
+        String key = AUTH_DENY_PREFIX + userId;
+        return reactiveStringRedisTemplate.opsForValue()
+                .get(key)
+                .map(Long::valueOf);
+    }
+
+    @Override
+    public Mono<Void> cancelDenyBy(String userId) {
+        String key = AUTH_DENY_PREFIX + userId;
+        return reactiveStringRedisTemplate.delete(key)
+                .then();
+    }
+
+}
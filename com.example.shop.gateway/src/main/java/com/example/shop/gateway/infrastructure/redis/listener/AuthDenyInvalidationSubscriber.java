@@ -0,0 +1,54 @@
+package com.example.shop.gateway.infrastructure.redis.listener;
+
+import com.example.shop.gateway.infrastructure.redis.cache.AuthDenyBloomFilter;
+import com.example.shop.gateway.infrastructure.redis.cache.AuthReactiveNearCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuthDenyInvalidationSubscriber {
+
+    private final ReactiveRedisMessageListenerContainer reactiveRedisMessageListenerContainer;
+    private final AuthReactiveNearCache authReactiveNearCache;
+    private final AuthDenyBloomFilter authDenyBloomFilter;
+
+    private Disposable subscription;
+
+    @PostConstruct
+    public void subscribe() {
+        subscription = reactiveRedisMessageListenerContainer
+                .receive(ChannelTopic.of(AuthReactiveNearCache.AUTH_DENY_INVALIDATION_CHANNEL))
+                .doOnNext(message -> {
+                    authDenyBloomFilter.put(message.getMessage());
+                    authReactiveNearCache.invalidateLocal(message.getMessage());
+                })
+                .doOnError(exception -> {
+                    // 구독이 끊긴 동안 놓친 무효화가 있을 수 있으므로 로컬 캐시를 비우고,
+                    // 블룸 필터도 다음 rebuild 전까지는 쓰지 않고 Redis 를 조회하게 한다
+                    log.warn("auth deny invalidation subscription failed", exception);
+                    authReactiveNearCache.invalidateAllLocal();
+                    authDenyBloomFilter.markStale();
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.example.shop.gateway.infrastructure.redis.listener;
+
+import com.example.shop.gateway.infrastructure.gateway.cache.GatewayResponseCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResponseCacheEvictionSubscriber {
+
+    public static final String CACHE_EVICT_CHANNEL_PREFIX = "cache:evict:";
+
+    private final ReactiveRedisMessageListenerContainer reactiveRedisMessageListenerContainer;
+    private final GatewayResponseCache gatewayResponseCache;
+
+    private Disposable subscription;
+
+    @PostConstruct
+    public void subscribe() {
+        subscription = reactiveRedisMessageListenerContainer
+                .receive(PatternTopic.of(CACHE_EVICT_CHANNEL_PREFIX + "*"))
+                .doOnNext(message -> gatewayResponseCache.evict(
+                        message.getChannel().substring(CACHE_EVICT_CHANNEL_PREFIX.length()),
+                        Arrays.asList(message.getMessage().split(","))
+                ))
+                .doOnError(exception -> {
+                    // 구독이 끊긴 동안 놓친 무효화가 있을 수 있으므로 응답 캐시를 비운다
+                    log.warn("response cache eviction subscription failed", exception);
+                    gatewayResponseCache.evictAll();
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+}
@@ -1,11 +1,14 @@
 package com.example.shop.gateway.infrastructure.security.filter;
 
-import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
-import com.example.shop.gateway.application.cache.AuthCache;
+import com.example.shop.gateway.application.cache.ReactiveAuthCache;
+import com.example.shop.gateway.infrastructure.constants.Constants;
+import com.example.shop.gateway.infrastructure.redis.cache.AuthDenyBloomFilter;
+import com.example.shop.gateway.infrastructure.security.identity.IdentityTokenCodec;
+import com.example.shop.gateway.infrastructure.security.identity.TrustedIdentity;
 import com.example.shop.gateway.infrastructure.security.jwt.JwtProperties;
+import com.example.shop.gateway.infrastructure.security.jwt.JwtTokenVerifier;
 import com.example.shop.gateway.presentation.advice.GatewayError;
 import com.example.shop.gateway.presentation.advice.GatewayException;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +23,8 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -27,7 +32,13 @@ public class AccessTokenValidationFilter implements GlobalFilter, Ordered {
 
     private final JwtProperties jwtProperties;
 
-    private final AuthCache authCache;
+    private final JwtTokenVerifier jwtTokenVerifier;
+
+    private final ReactiveAuthCache reactiveAuthCache;
+
+    private final AuthDenyBloomFilter authDenyBloomFilter;
+
+    private final IdentityTokenCodec identityTokenCodec;
 
 //    private final AuthRestTemplateClientV1 authRestTemplateClientV1;
 
@@ -43,31 +54,38 @@ public class AccessTokenValidationFilter implements GlobalFilter, Ordered {
 
         DecodedJWT decodedAccessJwt;
         try {
-            decodedAccessJwt = JWT.require(Algorithm.HMAC512(jwtProperties.getSecret()))
-                    .build()
-                    .verify(accessJwt);
+            decodedAccessJwt = jwtTokenVerifier.verify(accessJwt);
         } catch (JWTVerificationException exception) {
-            throw new GatewayException(GatewayError.GATEWAY_TOKEN_INVALID);
+            return Mono.error(new GatewayException(GatewayError.GATEWAY_TOKEN_INVALID));
         }
 
         String id = decodedAccessJwt.getClaim("id").asString();
         if (!StringUtils.hasText(id)) {
-            throw new GatewayException(GatewayError.GATEWAY_TOKEN_INVALID);
+            return Mono.error(new GatewayException(GatewayError.GATEWAY_TOKEN_INVALID));
         }
 
-        Long jwtValidator = authCache.getBy(id);
-        if (jwtValidator != null && jwtValidator > decodedAccessJwt.getIssuedAtAsInstant().getEpochSecond()) {
-            throw new GatewayException(GatewayError.GATEWAY_TOKEN_INVALID);
+        exchange.getAttributes().put(Constants.ExchangeAttribute.AUTH_USER_ID, id);
+        ServerWebExchange identifiedExchange = attachIdentityHeaderToExchange(exchange, decodedAccessJwt, id);
+
+        if (!authDenyBloomFilter.mightContain(id)) {
+            return chain.filter(identifiedExchange);
         }
 
-        return chain.filter(exchange);
+        long issuedAtEpochSecond = decodedAccessJwt.getIssuedAtAsInstant().getEpochSecond();
+        return reactiveAuthCache.getBy(id)
+                .filter(jwtValidator -> jwtValidator > issuedAtEpochSecond)
+                .flatMap(jwtValidator -> Mono.<Void>error(new GatewayException(GatewayError.GATEWAY_TOKEN_INVALID)))
+                .then(Mono.defer(() -> chain.filter(identifiedExchange)));
 
     }
 
-    private static ServerWebExchange removeAuthorizationHeaderFromExchange(ServerWebExchange exchange) {
+    private ServerWebExchange removeAuthorizationHeaderFromExchange(ServerWebExchange exchange) {
         ServerHttpRequest mutatedRequest = exchange.getRequest()
                 .mutate()
-                .headers(headers -> headers.remove(HttpHeaders.AUTHORIZATION))
+                .headers(headers -> {
+                    headers.remove(HttpHeaders.AUTHORIZATION);
+                    headers.remove(identityTokenCodec.getHeaderName());
+                })
                 .build();
         ServerWebExchange mutatedExchange = exchange.mutate()
                 .request(mutatedRequest)
@@ -75,6 +93,35 @@ public class AccessTokenValidationFilter implements GlobalFilter, Ordered {
         return mutatedExchange;
     }
 
+    // 클라이언트가 보낸 identity 헤더는 항상 제거하고, 검증을 마친 요청에만 게이트웨이가 서명한 값을 붙인다.
+    private ServerWebExchange attachIdentityHeaderToExchange(ServerWebExchange exchange, DecodedJWT decodedAccessJwt, String id) {
+        String identityToken = identityTokenCodec.isEnabled()
+                ? identityTokenCodec.encode(toTrustedIdentity(decodedAccessJwt, id))
+                : null;
+        ServerHttpRequest mutatedRequest = exchange.getRequest()
+                .mutate()
+                .headers(headers -> {
+                    headers.remove(identityTokenCodec.getHeaderName());
+                    if (identityToken != null) {
+                        headers.set(identityTokenCodec.getHeaderName(), identityToken);
+                    }
+                })
+                .build();
+        return exchange.mutate()
+                .request(mutatedRequest)
+                .build();
+    }
+
+    private static TrustedIdentity toTrustedIdentity(DecodedJWT decodedAccessJwt, String id) {
+        List<String> roleList = decodedAccessJwt.getClaim("roleList").asList(String.class);
+        return TrustedIdentity.builder()
+                .userId(id)
+                .roleList(roleList == null ? List.of() : roleList)
+                .issuedAtEpochSecond(decodedAccessJwt.getIssuedAtAsInstant().getEpochSecond())
+                .expiresAtEpochSecond(decodedAccessJwt.getExpiresAtAsInstant().getEpochSecond())
+                .build();
+    }
+
     private String resolveAccessToken(String authorizationHeader) {
         if (!StringUtils.hasText(authorizationHeader)) {
             return null;
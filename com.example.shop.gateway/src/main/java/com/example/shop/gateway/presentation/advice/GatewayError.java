@@ -9,7 +9,9 @@ import org.springframework.http.HttpStatus;
 public enum GatewayError implements GlobalError {
 
     GATEWAY_TOKEN_INVALID(HttpStatus.UNAUTHORIZED, "액세스 토큰이 만료되었거나 유효하지 않습니다."),
-    GATEWAY_USER_SERVICE_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "유저 서비스에 연결할 수 없습니다.");
+    GATEWAY_USER_SERVICE_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "유저 서비스에 연결할 수 없습니다."),
+    GATEWAY_TOO_MANY_REQUESTS(HttpStatus.TOO_MANY_REQUESTS, "요청이 너무 많습니다. 잠시 후 다시 시도해주세요."),
+    GATEWAY_OVERLOADED(HttpStatus.SERVICE_UNAVAILABLE, "서비스가 혼잡합니다. 잠시 후 다시 시도해주세요.");
 
     private final HttpStatus httpStatus;
     private final String message;
@@ -0,0 +1,28 @@
+local key = KEYS[1]
+local replenish_rate = tonumber(ARGV[1])
+local burst_capacity = tonumber(ARGV[2])
+local requested_tokens = tonumber(ARGV[3])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local bucket = redis.call('HMGET', key, 'tokens', 'timestamp')
+local tokens = tonumber(bucket[1]) or burst_capacity
+local timestamp = tonumber(bucket[2]) or now
+
+local elapsed = math.max(0, now - timestamp)
+tokens = math.min(burst_capacity, tokens + elapsed * replenish_rate / 1000)
+
+local allowed = 0
+local retry_after_millis = 0
+if tokens >= requested_tokens then
+    tokens = tokens - requested_tokens
+    allowed = 1
+else
+    retry_after_millis = math.ceil((requested_tokens - tokens) * 1000 / replenish_rate)
+end
+
+redis.call('HSET', key, 'tokens', tostring(tokens), 'timestamp', tostring(now))
+redis.call('PEXPIRE', key, math.ceil(burst_capacity * 1000 / replenish_rate) + 1000)
+
+return { allowed, retry_after_millis }
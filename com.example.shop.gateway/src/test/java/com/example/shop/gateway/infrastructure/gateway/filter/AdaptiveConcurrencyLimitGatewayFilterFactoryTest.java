@@ -0,0 +1,110 @@
+package com.example.shop.gateway.infrastructure.gateway.filter;
+
+import com.example.shop.gateway.infrastructure.gateway.response.GatewayErrorResponseWriter;
+import com.example.shop.gateway.presentation.advice.GatewayError;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitGatewayFilterFactoryTest {
+
+    private static final String ROUTE_ID = "product-service";
+
+    // 업스트림 응답을 붙잡아 두어 첫 요청이 처리 중인 상태로 남게 한다
+    private final Sinks.Empty<Void> upstreamGate = Sinks.empty();
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveConcurrencyLimitGatewayFilterFactory factory;
+    private GatewayFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        factory = new AdaptiveConcurrencyLimitGatewayFilterFactory(
+                meterRegistry,
+                new GatewayErrorResponseWriter(new ObjectMapper())
+        );
+        chain = exchange -> upstreamGate.asMono().then(Mono.fromRunnable(() ->
+                exchange.getResponse().setStatusCode(HttpStatus.OK)));
+    }
+
+    @Test
+    @DisplayName("처리 중 요청이 한도에 닿으면 업스트림으로 보내지 않고 503 GATEWAY_OVERLOADED 와 Retry-After 를 돌려준다")
+    void overLimit_returnsOverloadedWithRetryAfter() throws Exception {
+        GatewayFilter filter = factory.apply(config(2));
+        CompletableFuture<Void> first = filter.filter(exchange(), chain).toFuture();
+        CompletableFuture<Void> second = filter.filter(exchange(), chain).toFuture();
+
+        MockServerWebExchange shedExchange = exchange();
+        filter.filter(shedExchange, chain).block(Duration.ofSeconds(5));
+
+        assertThat(shedExchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(shedExchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(shedExchange.getResponse().getBodyAsString().block(Duration.ofSeconds(5)))
+                .contains(GatewayError.GATEWAY_OVERLOADED.getErrorCode());
+        assertThat(meterRegistry.get("gateway.concurrency.shed").tag("route", ROUTE_ID).counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("gateway.concurrency.inflight").tag("route", ROUTE_ID).gauge().value()).isEqualTo(2.0);
+
+        upstreamGate.tryEmitEmpty();
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+
+        assertThat(meterRegistry.get("gateway.concurrency.inflight").tag("route", ROUTE_ID).gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("같은 설정으로 라우트를 다시 만들면 처리 중 요청 수와 추정 한도를 가진 리미터를 그대로 쓴다")
+    void sameSettings_reusesLimiter() {
+        GatewayFilter filter = factory.apply(config(1));
+        filter.filter(exchange(), chain).toFuture();
+
+        GatewayFilter rebuiltFilter = factory.apply(config(1));
+        MockServerWebExchange shedExchange = exchange();
+        rebuiltFilter.filter(shedExchange, chain).block(Duration.ofSeconds(5));
+
+        assertThat(shedExchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Test
+    @DisplayName("설정이 바뀌면 새 설정으로 리미터를 다시 만든다")
+    void changedSettings_createsNewLimiter() {
+        GatewayFilter filter = factory.apply(config(1));
+        filter.filter(exchange(), chain).toFuture();
+
+        GatewayFilter reconfiguredFilter = factory.apply(config(2));
+        MockServerWebExchange acceptedExchange = exchange();
+        CompletableFuture<Void> accepted = reconfiguredFilter.filter(acceptedExchange, chain).toFuture();
+
+        assertThat(meterRegistry.get("gateway.concurrency.limit").tag("route", ROUTE_ID).gauge().value()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("gateway.concurrency.inflight").tag("route", ROUTE_ID).gauge().value()).isEqualTo(1.0);
+        assertThat(accepted).isNotDone();
+    }
+
+    private static AdaptiveConcurrencyLimitGatewayFilterFactory.Config config(int limit) {
+        AdaptiveConcurrencyLimitGatewayFilterFactory.Config config = new AdaptiveConcurrencyLimitGatewayFilterFactory.Config();
+        config.setRouteId(ROUTE_ID);
+        config.setInitialLimit(limit);
+        config.setMinLimit(1);
+        return config;
+    }
+
+    private static MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/v1/products"));
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.example.shop.gateway.infrastructure.gateway.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCoalescingGatewayFilterFactoryTest {
+
+    private static final String ROUTE_ID = "product-service";
+
+    private final AtomicInteger upstreamCallCount = new AtomicInteger();
+    // 업스트림 응답을 붙잡아 두어 뒤따르는 요청이 진행 중인 요청을 만나게 한다
+    private final Sinks.Empty<Void> upstreamGate = Sinks.empty();
+
+    private SimpleMeterRegistry meterRegistry;
+    private GatewayFilter filter;
+    private GatewayFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        RequestCoalescingGatewayFilterFactory.Config config = new RequestCoalescingGatewayFilterFactory.Config();
+        config.setRouteId(ROUTE_ID);
+        filter = new RequestCoalescingGatewayFilterFactory(meterRegistry).apply(config);
+        chain = exchange -> Mono.defer(() -> {
+            byte[] body = ("upstream-" + upstreamCallCount.incrementAndGet()).getBytes(StandardCharsets.UTF_8);
+            return upstreamGate.asMono().then(Mono.defer(() -> {
+                exchange.getResponse().setStatusCode(HttpStatus.OK);
+                return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(body)));
+            }));
+        });
+    }
+
+    @Test
+    @DisplayName("진행 중인 동일한 GET 요청은 업스트림 호출 한 번의 응답을 함께 받는다")
+    void concurrentIdenticalGets_shareOneUpstreamCall() throws Exception {
+        MockServerWebExchange leaderExchange = exchange("Bearer user-a", MediaType.APPLICATION_JSON);
+        MockServerWebExchange followerExchange = exchange("Bearer user-a", MediaType.APPLICATION_JSON);
+
+        CompletableFuture<Void> leader = filter.filter(leaderExchange, chain).toFuture();
+        CompletableFuture<Void> follower = filter.filter(followerExchange, chain).toFuture();
+        upstreamGate.tryEmitEmpty();
+        CompletableFuture.allOf(leader, follower).get(5, TimeUnit.SECONDS);
+
+        assertThat(upstreamCallCount.get()).isEqualTo(1);
+        assertThat(bodyOf(leaderExchange)).isEqualTo("upstream-1");
+        assertThat(bodyOf(followerExchange)).isEqualTo("upstream-1");
+        assertThat(meterRegistry.get("gateway.coalescing.requests").tag("role", "follower").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Authorization 이 다른 요청은 합치지 않는다")
+    void differentAuthorization_isNotCoalesced() throws Exception {
+        MockServerWebExchange userAExchange = exchange("Bearer user-a", MediaType.APPLICATION_JSON);
+        MockServerWebExchange userBExchange = exchange("Bearer user-b", MediaType.APPLICATION_JSON);
+
+        CompletableFuture<Void> userA = filter.filter(userAExchange, chain).toFuture();
+        CompletableFuture<Void> userB = filter.filter(userBExchange, chain).toFuture();
+        upstreamGate.tryEmitEmpty();
+        CompletableFuture.allOf(userA, userB).get(5, TimeUnit.SECONDS);
+
+        assertThat(upstreamCallCount.get()).isEqualTo(2);
+        assertThat(bodyOf(userAExchange)).isEqualTo("upstream-1");
+        assertThat(bodyOf(userBExchange)).isEqualTo("upstream-2");
+    }
+
+    @Test
+    @DisplayName("Accept 가 다른 요청은 합치지 않는다")
+    void differentAccept_isNotCoalesced() throws Exception {
+        MockServerWebExchange jsonExchange = exchange("Bearer user-a", MediaType.APPLICATION_JSON);
+        MockServerWebExchange xmlExchange = exchange("Bearer user-a", MediaType.APPLICATION_XML);
+
+        CompletableFuture<Void> json = filter.filter(jsonExchange, chain).toFuture();
+        CompletableFuture<Void> xml = filter.filter(xmlExchange, chain).toFuture();
+        upstreamGate.tryEmitEmpty();
+        CompletableFuture.allOf(json, xml).get(5, TimeUnit.SECONDS);
+
+        assertThat(upstreamCallCount.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("gateway.coalescing.requests").tag("role", "follower").counter().count()).isZero();
+    }
+
+    private static MockServerWebExchange exchange(String authorization, MediaType accept) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/v1/products")
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .accept(accept));
+    }
+
+    private static String bodyOf(MockServerWebExchange exchange) {
+        return exchange.getResponse().getBodyAsString().block(Duration.ofSeconds(5));
+    }
+
+}
@@ -0,0 +1,155 @@
+package com.example.shop.gateway.infrastructure.gateway.filter;
+
+import com.example.shop.gateway.infrastructure.gateway.cache.CachedResponse;
+import com.example.shop.gateway.infrastructure.gateway.cache.GatewayResponseCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+
+class ResponseCacheGatewayFilterFactoryTest {
+
+    private static final String ROUTE_ID = "product-service";
+    private static final String CACHE_KEY = ROUTE_ID + " /v1/products";
+
+    private final AtomicInteger upstreamCallCount = new AtomicInteger();
+    private final AtomicInteger revalidationCallCount = new AtomicInteger();
+
+    private GatewayResponseCache gatewayResponseCache;
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        gatewayResponseCache = new GatewayResponseCache(1_048_576L);
+
+        // 재검증 WebClient 는 로드밸런서 필터에서 바로 응답을 돌려주어 실제 네트워크 호출 없이 끝난다
+        ReactorLoadBalancerExchangeFilterFunction loadBalancerExchangeFilterFunction =
+                mock(ReactorLoadBalancerExchangeFilterFunction.class, CALLS_REAL_METHODS);
+        willAnswer(invocation -> {
+            revalidationCallCount.incrementAndGet();
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body("revalidated")
+                    .build());
+        }).given(loadBalancerExchangeFilterFunction).filter(any(), any());
+
+        ResponseCacheGatewayFilterFactory factory = new ResponseCacheGatewayFilterFactory(
+                gatewayResponseCache,
+                loadBalancerExchangeFilterFunction
+        );
+        ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+        config.setRouteId(ROUTE_ID);
+        config.setCacheName("product");
+        config.setTtl(Duration.ofSeconds(30));
+        config.setStaleWhileRevalidate(Duration.ofSeconds(30));
+        GatewayFilter filter = factory.apply(config);
+
+        Route route = Route.async()
+                .id(ROUTE_ID)
+                .uri("lb://product-service")
+                .predicate(exchange -> true)
+                .build();
+        webTestClient = WebTestClient
+                .bindToWebHandler(exchange -> {
+                    exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+                    return filter.filter(exchange, chainExchange -> {
+                        byte[] body = ("upstream-" + upstreamCallCount.incrementAndGet()).getBytes(StandardCharsets.UTF_8);
+                        chainExchange.getResponse().setStatusCode(HttpStatus.OK);
+                        return chainExchange.getResponse()
+                                .writeWith(Mono.fromSupplier(() -> chainExchange.getResponse().bufferFactory().wrap(body)));
+                    });
+                })
+                .build();
+    }
+
+    @Test
+    @DisplayName("처음 요청은 백엔드 응답을 저장하고, 같은 요청은 백엔드를 거치지 않고 캐시로 응답한다")
+    void secondRequest_isServedFromCache() {
+        requestProducts()
+                .expectHeader().valueEquals("X-Cache", "MISS")
+                .expectBody(String.class).isEqualTo("upstream-1");
+
+        requestProducts()
+                .expectHeader().valueEquals("X-Cache", "HIT")
+                .expectBody(String.class).isEqualTo("upstream-1");
+
+        assertThat(upstreamCallCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("요청이 Cache-Control: no-cache 면 저장된 응답이 있어도 백엔드로 보낸다")
+    void noCacheRequest_bypassesStoredResponse() {
+        requestProducts().expectHeader().valueEquals("X-Cache", "MISS");
+
+        webTestClient.get()
+                .uri("/v1/products")
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .exchange()
+                .expectHeader().valueEquals("X-Cache", "MISS")
+                .expectBody(String.class).isEqualTo("upstream-2");
+    }
+
+    @Test
+    @DisplayName("만료됐지만 stale-while-revalidate 안의 항목은 그대로 응답하고 백그라운드 재검증으로 새 응답을 저장한다")
+    void staleEntry_isServedAndRevalidatedInBackground() throws Exception {
+        long storedAtMillis = System.currentTimeMillis() - Duration.ofSeconds(40).toMillis();
+        gatewayResponseCache.put(CACHE_KEY, new GatewayResponseCache.Entry(
+                "product",
+                CachedResponse.of(HttpStatus.OK, new HttpHeaders(), "stale".getBytes(StandardCharsets.UTF_8)),
+                storedAtMillis,
+                Duration.ofSeconds(30).toMillis(),
+                Duration.ofSeconds(30).toMillis()
+        ));
+
+        requestProducts()
+                .expectHeader().valueEquals("X-Cache", "STALE")
+                .expectBody(String.class).isEqualTo("stale");
+
+        awaitRevalidated();
+        requestProducts()
+                .expectHeader().valueEquals("X-Cache", "HIT")
+                .expectBody(String.class).isEqualTo("revalidated");
+
+        assertThat(revalidationCallCount.get()).isEqualTo(1);
+        assertThat(upstreamCallCount.get()).isZero();
+    }
+
+    private WebTestClient.ResponseSpec requestProducts() {
+        return webTestClient.get()
+                .uri("/v1/products")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    private void awaitRevalidated() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000L;
+        while (System.currentTimeMillis() < deadline) {
+            GatewayResponseCache.Entry entry = gatewayResponseCache.get(CACHE_KEY);
+            if (entry != null && entry.isFresh(System.currentTimeMillis())) {
+                return;
+            }
+            Thread.sleep(10L);
+        }
+        throw new AssertionError("response cache was not revalidated");
+    }
+
+}
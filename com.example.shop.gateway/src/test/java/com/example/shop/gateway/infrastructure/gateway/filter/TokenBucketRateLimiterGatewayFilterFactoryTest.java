@@ -0,0 +1,136 @@
+package com.example.shop.gateway.infrastructure.gateway.filter;
+
+import com.example.shop.gateway.infrastructure.gateway.response.GatewayErrorResponseWriter;
+import com.example.shop.gateway.presentation.advice.GatewayError;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class TokenBucketRateLimiterGatewayFilterFactoryTest {
+
+    private final AtomicInteger redisCallCount = new AtomicInteger();
+    private final AtomicInteger upstreamCallCount = new AtomicInteger();
+
+    private ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        reactiveStringRedisTemplate = mock(ReactiveStringRedisTemplate.class);
+        TokenBucketRateLimiterGatewayFilterFactory factory = new TokenBucketRateLimiterGatewayFilterFactory(
+                reactiveStringRedisTemplate,
+                new GatewayErrorResponseWriter(new ObjectMapper())
+        );
+        TokenBucketRateLimiterGatewayFilterFactory.Config config = new TokenBucketRateLimiterGatewayFilterFactory.Config();
+        config.setReplenishRate(0.5);
+        config.setBurstCapacity(2);
+        config.setRequestedTokens(1);
+        GatewayFilter filter = factory.apply(config);
+        webTestClient = WebTestClient
+                .bindToWebHandler(exchange -> filter.filter(exchange, chainExchange -> {
+                    upstreamCallCount.incrementAndGet();
+                    chainExchange.getResponse().setStatusCode(HttpStatus.OK);
+                    return chainExchange.getResponse().setComplete();
+                }))
+                .build();
+    }
+
+    @Test
+    @DisplayName("버킷의 토큰을 다 쓰면 429 와 토큰이 다시 찰 때까지의 Retry-After 를 돌려준다")
+    void exhaustedBucket_returnsTooManyRequestsWithRetryAfter() {
+        givenTokenBucketScript();
+
+        requestProducts().expectStatus().isOk();
+        requestProducts().expectStatus().isOk();
+        requestProducts()
+                .expectStatus().isEqualTo(HttpStatus.TOO_MANY_REQUESTS)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "2")
+                .expectBody()
+                .jsonPath("$.code").isEqualTo(GatewayError.GATEWAY_TOO_MANY_REQUESTS.getErrorCode());
+
+        assertThat(upstreamCallCount.get()).isEqualTo(2);
+        assertThat(redisCallCount.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Redis 에서 거절된 클라이언트는 Retry-After 가 지나기 전까지 Redis 를 거치지 않고 거절한다")
+    void blockedClient_isRejectedLocallyWithoutRedis() {
+        givenTokenBucketScript();
+        requestProducts().expectStatus().isOk();
+        requestProducts().expectStatus().isOk();
+        requestProducts().expectStatus().isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+
+        requestProducts()
+                .expectStatus().isEqualTo(HttpStatus.TOO_MANY_REQUESTS)
+                .expectHeader().exists(HttpHeaders.RETRY_AFTER);
+
+        assertThat(redisCallCount.get()).isEqualTo(3);
+        assertThat(upstreamCallCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Redis 호출이 실패하면 요청을 막지 않는다")
+    void redisFailure_failsOpen() {
+        given(reactiveStringRedisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+                .willAnswer(invocation -> {
+                    redisCallCount.incrementAndGet();
+                    return Flux.error(new RedisConnectionFailureException("connection refused"));
+                });
+
+        requestProducts().expectStatus().isOk();
+        requestProducts().expectStatus().isOk();
+        requestProducts().expectStatus().isOk();
+
+        assertThat(redisCallCount.get()).isEqualTo(3);
+        assertThat(upstreamCallCount.get()).isEqualTo(3);
+    }
+
+    private WebTestClient.ResponseSpec requestProducts() {
+        return webTestClient.get()
+                .uri("/v1/products")
+                .exchange();
+    }
+
+    // redis/token-bucket.lua 와 같은 계산을 하는 테스트용 스크립트. 테스트 시간 동안 토큰이 다시 차지 않도록 시각은 고정한다
+    private void givenTokenBucketScript() {
+        Map<String, double[]> bucketMap = new HashMap<>();
+        given(reactiveStringRedisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+                .willAnswer(invocation -> {
+                    redisCallCount.incrementAndGet();
+                    List<String> keys = invocation.getArgument(1);
+                    List<String> args = invocation.getArgument(2);
+                    double replenishRate = Double.parseDouble(args.get(0));
+                    double burstCapacity = Double.parseDouble(args.get(1));
+                    double requestedTokens = Double.parseDouble(args.get(2));
+
+                    double[] bucket = bucketMap.computeIfAbsent(keys.get(0), key -> new double[]{burstCapacity});
+                    if (bucket[0] >= requestedTokens) {
+                        bucket[0] -= requestedTokens;
+                        return Flux.just(List.of(1L, 0L));
+                    }
+                    long retryAfterMillis = (long) Math.ceil((requestedTokens - bucket[0]) * 1000 / replenishRate);
+                    return Flux.just(List.of(0L, retryAfterMillis));
+                });
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.example.shop.gateway.infrastructure.gateway.limit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradientConcurrencyLimiterTest {
+
+    private static final long BASE_RTT_NANOS = Duration.ofMillis(100).toNanos();
+
+    @Test
+    @DisplayName("처리 중 요청이 한도에 닿으면 대기하지 않고 거절한다")
+    void tryAcquire_rejectsAtLimit() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(settings(4, 0.9));
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(4);
+
+        limiter.onIgnored();
+
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    @DisplayName("RTT 가 그대로면 한도를 늘리고, 기준보다 늘어나면 한도를 줄인다")
+    void onSuccess_growsWithSteadyRttAndShrinksWithRisingRtt() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(settings(10, 0.9));
+        acquire(limiter, 10);
+
+        limiter.onSuccess(BASE_RTT_NANOS);
+        int grownLimit = limiter.getLimit();
+
+        assertThat(grownLimit).isGreaterThan(10);
+
+        limiter.onSuccess(BASE_RTT_NANOS * 2);
+
+        assertThat(limiter.getLimit()).isLessThan(grownLimit);
+    }
+
+    @Test
+    @DisplayName("한도의 절반도 쓰지 않을 때의 RTT 로는 한도를 바꾸지 않는다")
+    void onSuccess_lowUtilization_keepsLimit() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(settings(10, 0.9));
+        acquire(limiter, 1);
+
+        limiter.onSuccess(BASE_RTT_NANOS);
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("업스트림 오류는 한도를 비율만큼 줄이되 최소 한도 아래로는 내리지 않는다")
+    void onDropped_backsOffToMinLimit() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(settings(10, 0.5));
+        acquire(limiter, 3);
+
+        limiter.onDropped();
+        assertThat(limiter.getLimit()).isEqualTo(5);
+
+        limiter.onDropped();
+        limiter.onDropped();
+        assertThat(limiter.getLimit()).isEqualTo(2);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    private static void acquire(GradientConcurrencyLimiter limiter, int count) {
+        for (int i = 0; i < count; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+    }
+
+    private static GradientConcurrencyLimiter.Settings settings(int initialLimit, double dropBackoffRatio) {
+        return GradientConcurrencyLimiter.Settings.builder()
+                .initialLimit(initialLimit)
+                .minLimit(2)
+                .maxLimit(100)
+                .smoothing(1.0)
+                .rttTolerance(1.0)
+                .longWindow(600)
+                .dropBackoffRatio(dropBackoffRatio)
+                .build();
+    }
+
+}
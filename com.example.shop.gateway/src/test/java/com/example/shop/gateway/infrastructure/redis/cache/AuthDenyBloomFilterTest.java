@@ -0,0 +1,106 @@
+package com.example.shop.gateway.infrastructure.redis.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class AuthDenyBloomFilterTest {
+
+    private static final String AUTH_DENY_VERSION_KEY = "auth:deny-version";
+    private static final String AUTH_DENY_LOG_KEY = "auth:deny-log";
+
+    private ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+    private ReactiveValueOperations<String, String> valueOperations;
+    private ReactiveZSetOperations<String, String> zSetOperations;
+    private AuthDenyBloomFilter authDenyBloomFilter;
+
+    @BeforeEach
+    void setUp() {
+        reactiveStringRedisTemplate = mock(ReactiveStringRedisTemplate.class);
+        valueOperations = mock(ReactiveValueOperations.class);
+        zSetOperations = mock(ReactiveZSetOperations.class);
+        given(reactiveStringRedisTemplate.opsForValue()).willReturn(valueOperations);
+        given(reactiveStringRedisTemplate.opsForZSet()).willReturn(zSetOperations);
+        given(reactiveStringRedisTemplate.scan(any(ScanOptions.class))).willReturn(Flux.empty());
+        authDenyBloomFilter = new AuthDenyBloomFilter(reactiveStringRedisTemplate, new SimpleMeterRegistry(), 1_000L, 0.0001, 60_000L, 1_000L);
+
+        given(valueOperations.get(AUTH_DENY_VERSION_KEY)).willReturn(Mono.just("5"));
+        authDenyBloomFilter.rebuild().block();
+    }
+
+    @Test
+    @DisplayName("pub/sub 으로 놓친 거부는 다음 catchUp 에서 거부 로그로 블룸 필터에 들어간다")
+    void catchUp_addsDeniesMissedByPubSub() {
+        String firstUserId = UUID.randomUUID().toString();
+        String secondUserId = UUID.randomUUID().toString();
+        given(valueOperations.get(AUTH_DENY_VERSION_KEY)).willReturn(Mono.just("7"));
+        given(zSetOperations.rangeByScore(eq(AUTH_DENY_LOG_KEY), any(Range.class)))
+                .willReturn(Flux.just("6|" + firstUserId, "7|" + secondUserId));
+
+        authDenyBloomFilter.catchUp().block();
+
+        assertThat(authDenyBloomFilter.mightContain(firstUserId)).isTrue();
+        assertThat(authDenyBloomFilter.mightContain(secondUserId)).isTrue();
+        assertThat(authDenyBloomFilter.mightContain(UUID.randomUUID().toString())).isFalse();
+        verify(reactiveStringRedisTemplate, times(1)).scan(any(ScanOptions.class));
+    }
+
+    @Test
+    @DisplayName("번호가 바뀌지 않았으면 거부 로그를 읽지 않는다")
+    void catchUp_withoutNewVersion_skipsLog() {
+        authDenyBloomFilter.catchUp().block();
+
+        verify(zSetOperations, never()).rangeByScore(any(), any(Range.class));
+    }
+
+    @Test
+    @DisplayName("놓친 번호가 거부 로그에서 이미 잘렸으면 SCAN 으로 다시 만든다")
+    void catchUp_withTrimmedLog_rebuilds() {
+        String trimmedUserId = UUID.randomUUID().toString();
+        given(valueOperations.get(AUTH_DENY_VERSION_KEY)).willReturn(Mono.just("8"));
+        given(zSetOperations.rangeByScore(eq(AUTH_DENY_LOG_KEY), any(Range.class)))
+                .willReturn(Flux.just("8|" + UUID.randomUUID()));
+        given(reactiveStringRedisTemplate.scan(any(ScanOptions.class)))
+                .willReturn(Flux.just("auth:deny:" + trimmedUserId));
+
+        authDenyBloomFilter.catchUp().block();
+
+        assertThat(authDenyBloomFilter.mightContain(trimmedUserId)).isTrue();
+        verify(reactiveStringRedisTemplate, times(2)).scan(any(ScanOptions.class));
+    }
+
+    @Test
+    @DisplayName("번호가 뒤로 돌아갔으면(Redis 가 비워졌으면) SCAN 으로 다시 만들고 새 번호부터 따라잡는다")
+    void catchUp_withResetVersion_rebuilds() {
+        String deniedUserId = UUID.randomUUID().toString();
+        given(valueOperations.get(AUTH_DENY_VERSION_KEY)).willReturn(Mono.just("1"));
+        given(reactiveStringRedisTemplate.scan(any(ScanOptions.class)))
+                .willReturn(Flux.just("auth:deny:" + deniedUserId));
+
+        authDenyBloomFilter.catchUp().block();
+        authDenyBloomFilter.catchUp().block();
+
+        assertThat(authDenyBloomFilter.mightContain(deniedUserId)).isTrue();
+        verify(reactiveStringRedisTemplate, times(2)).scan(any(ScanOptions.class));
+        verify(zSetOperations, never()).rangeByScore(any(), any(Range.class));
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.shop.gateway.infrastructure.redis.listener;
+
+import com.example.shop.gateway.infrastructure.redis.cache.AuthDenyBloomFilter;
+import com.example.shop.gateway.infrastructure.redis.cache.AuthReactiveNearCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class AuthDenyInvalidationSubscriberTest {
+
+    private ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+    private ReactiveRedisMessageListenerContainer reactiveRedisMessageListenerContainer;
+    private AuthReactiveNearCache authReactiveNearCache;
+    private AuthDenyBloomFilter authDenyBloomFilter;
+    private AuthDenyInvalidationSubscriber authDenyInvalidationSubscriber;
+
+    @BeforeEach
+    void setUp() {
+        reactiveStringRedisTemplate = mock(ReactiveStringRedisTemplate.class);
+        ReactiveValueOperations<String, String> valueOperations = mock(ReactiveValueOperations.class);
+        given(reactiveStringRedisTemplate.opsForValue()).willReturn(valueOperations);
+        given(valueOperations.get(any())).willReturn(Mono.empty());
+        reactiveRedisMessageListenerContainer = mock(ReactiveRedisMessageListenerContainer.class);
+        authReactiveNearCache = mock(AuthReactiveNearCache.class);
+        authDenyBloomFilter = new AuthDenyBloomFilter(reactiveStringRedisTemplate, new SimpleMeterRegistry(), 1_000L, 0.0001, 60_000L, 1_000L);
+        authDenyInvalidationSubscriber = new AuthDenyInvalidationSubscriber(
+                reactiveRedisMessageListenerContainer,
+                authReactiveNearCache,
+                authDenyBloomFilter
+        );
+        given(reactiveStringRedisTemplate.scan(any(ScanOptions.class))).willReturn(Flux.empty());
+        authDenyBloomFilter.rebuild().block();
+    }
+
+    @AfterEach
+    void tearDown() {
+        authDenyInvalidationSubscriber.unsubscribe();
+    }
+
+    @Test
+    @DisplayName("무효화 구독이 끊기면 블룸 필터를 쓰지 않고 다음 rebuild 까지 모든 사용자를 Redis 로 조회한다")
+    void subscriptionError_marksBloomFilterStaleUntilRebuild() {
+        String userId = UUID.randomUUID().toString();
+        assertThat(authDenyBloomFilter.mightContain(userId)).isFalse();
+        // 첫 구독만 끊기고, 재구독부터는 연결이 유지된다
+        AtomicInteger subscribeCount = new AtomicInteger();
+        given(reactiveRedisMessageListenerContainer.receive(any(ChannelTopic.class)))
+                .willReturn(Flux.defer(() -> subscribeCount.getAndIncrement() == 0
+                        ? Flux.error(new RedisConnectionFailureException("connection lost"))
+                        : Flux.never()));
+
+        authDenyInvalidationSubscriber.subscribe();
+
+        verify(authReactiveNearCache).invalidateAllLocal();
+        assertThat(authDenyBloomFilter.mightContain(userId)).isTrue();
+
+        authDenyBloomFilter.rebuild().block();
+
+        assertThat(authDenyBloomFilter.mightContain(userId)).isFalse();
+    }
+
+    @Test
+    @DisplayName("구독이 끊기기 전에 시작한 rebuild 는 끝나도 블룸 필터를 다시 쓰게 하지 않는다")
+    void subscriptionErrorDuringRebuild_keepsBloomFilterStale() {
+        String userId = UUID.randomUUID().toString();
+        Sinks.Empty<Void> scanGate = Sinks.empty();
+        given(reactiveStringRedisTemplate.scan(any(ScanOptions.class)))
+                .willReturn(scanGate.asMono().thenMany(Flux.empty()));
+        Mono<Void> rebuild = authDenyBloomFilter.rebuild().cache();
+        rebuild.subscribe();
+
+        authDenyBloomFilter.markStale();
+        scanGate.tryEmitEmpty();
+        rebuild.block();
+
+        assertThat(authDenyBloomFilter.mightContain(userId)).isTrue();
+    }
+}
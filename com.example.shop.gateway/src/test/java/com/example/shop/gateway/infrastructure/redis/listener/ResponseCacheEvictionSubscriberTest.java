@@ -0,0 +1,101 @@
+package com.example.shop.gateway.infrastructure.redis.listener;
+
+import com.example.shop.gateway.infrastructure.gateway.cache.CachedResponse;
+import com.example.shop.gateway.infrastructure.gateway.cache.GatewayResponseCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class ResponseCacheEvictionSubscriberTest {
+
+    private static final String ROUTE_ID = "product-service";
+    private static final String CHANGED_ID = UUID.randomUUID().toString();
+    private static final String UNCHANGED_ID = UUID.randomUUID().toString();
+
+    private ReactiveRedisMessageListenerContainer reactiveRedisMessageListenerContainer;
+    private GatewayResponseCache gatewayResponseCache;
+    private ResponseCacheEvictionSubscriber responseCacheEvictionSubscriber;
+
+    @BeforeEach
+    void setUp() {
+        reactiveRedisMessageListenerContainer = mock(ReactiveRedisMessageListenerContainer.class);
+        gatewayResponseCache = new GatewayResponseCache(1_048_576L);
+        responseCacheEvictionSubscriber = new ResponseCacheEvictionSubscriber(reactiveRedisMessageListenerContainer, gatewayResponseCache);
+
+        putEntry("product", "/v1/products/" + CHANGED_ID);
+        putEntry("product", "/v1/products/" + UNCHANGED_ID);
+        putEntry("product", "/v1/products?page=0&size=10");
+        putEntry("order", "/v1/orders/" + CHANGED_ID);
+    }
+
+    @AfterEach
+    void tearDown() {
+        responseCacheEvictionSubscriber.unsubscribe();
+    }
+
+    @Test
+    @DisplayName("cache:evict:{cacheName} 메시지를 받으면 바뀐 id 의 단건 응답과 같은 캐시의 목록 응답만 지운다")
+    void evictMessage_removesChangedItemAndListResponses() {
+        given(reactiveRedisMessageListenerContainer.receive(any(PatternTopic.class)))
+                .willReturn(Flux.just(new ReactiveSubscription.PatternMessage<>(
+                        ResponseCacheEvictionSubscriber.CACHE_EVICT_CHANNEL_PREFIX + "*",
+                        ResponseCacheEvictionSubscriber.CACHE_EVICT_CHANNEL_PREFIX + "product",
+                        CHANGED_ID
+                )));
+
+        responseCacheEvictionSubscriber.subscribe();
+
+        assertThat(gatewayResponseCache.get(key("/v1/products/" + CHANGED_ID))).isNull();
+        assertThat(gatewayResponseCache.get(key("/v1/products?page=0&size=10"))).isNull();
+        assertThat(gatewayResponseCache.get(key("/v1/products/" + UNCHANGED_ID))).isNotNull();
+        assertThat(gatewayResponseCache.get(key("/v1/orders/" + CHANGED_ID))).isNotNull();
+    }
+
+    @Test
+    @DisplayName("구독이 끊기면 놓친 무효화가 있을 수 있으므로 응답 캐시를 모두 비운다")
+    void subscriptionError_evictsAll() {
+        // 첫 구독만 끊기고, 재구독부터는 연결이 유지된다
+        AtomicInteger subscribeCount = new AtomicInteger();
+        given(reactiveRedisMessageListenerContainer.receive(any(PatternTopic.class)))
+                .willReturn(Flux.defer(() -> subscribeCount.getAndIncrement() == 0
+                        ? Flux.error(new RedisConnectionFailureException("connection lost"))
+                        : Flux.never()));
+
+        responseCacheEvictionSubscriber.subscribe();
+
+        assertThat(gatewayResponseCache.get(key("/v1/products/" + UNCHANGED_ID))).isNull();
+        assertThat(gatewayResponseCache.get(key("/v1/orders/" + CHANGED_ID))).isNull();
+    }
+
+    private void putEntry(String cacheName, String pathAndQuery) {
+        gatewayResponseCache.put(key(pathAndQuery), new GatewayResponseCache.Entry(
+                cacheName,
+                CachedResponse.of(HttpStatus.OK, new HttpHeaders(), "cached".getBytes(StandardCharsets.UTF_8)),
+                System.currentTimeMillis(),
+                60_000L,
+                60_000L
+        ));
+    }
+
+    private static String key(String pathAndQuery) {
+        return ROUTE_ID + " " + pathAndQuery;
+    }
+
+}
@@ -0,0 +1,196 @@
+package com.example.shop.gateway.infrastructure.security.filter;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.example.shop.gateway.application.cache.ReactiveAuthCache;
+import com.example.shop.gateway.infrastructure.redis.cache.AuthDenyBloomFilter;
+import com.example.shop.gateway.infrastructure.security.identity.IdentityTokenCodec;
+import com.example.shop.gateway.infrastructure.security.jwt.JwtProperties;
+import com.example.shop.gateway.infrastructure.security.jwt.JwtTokenVerifier;
+import com.example.shop.gateway.presentation.advice.GatewayException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.blockhound.BlockHound;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class AccessTokenValidationFilterTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-test-secret";
+    private static final int REQUEST_COUNT = 500;
+    private static final int CLIENT_THREADS = 16;
+
+    private final Map<String, Long> denyMap = new ConcurrentHashMap<>();
+    private final AtomicInteger cacheLookupCount = new AtomicInteger();
+
+    private JwtProperties jwtProperties;
+    private ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+    private AuthDenyBloomFilter authDenyBloomFilter;
+    private WebTestClient webTestClient;
+
+    @BeforeAll
+    static void installBlockHound() {
+        BlockHound.install();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jwtProperties = new JwtProperties(SECRET, 1800000L, 604800000L, "Authorization", "Bearer ", "accessJwt", "refreshJwt");
+        reactiveStringRedisTemplate = mock(ReactiveStringRedisTemplate.class);
+        ReactiveValueOperations<String, String> valueOperations = mock(ReactiveValueOperations.class);
+        given(reactiveStringRedisTemplate.opsForValue()).willReturn(valueOperations);
+        given(valueOperations.get(any())).willReturn(Mono.empty());
+        authDenyBloomFilter = new AuthDenyBloomFilter(reactiveStringRedisTemplate, new SimpleMeterRegistry(), 1_000L, 0.0001, 60_000L, 1_000L);
+        AccessTokenValidationFilter accessTokenValidationFilter = new AccessTokenValidationFilter(
+                jwtProperties,
+                new JwtTokenVerifier(jwtProperties, 10_000L),
+                new DelayedReactiveAuthCache(),
+                authDenyBloomFilter,
+                new IdentityTokenCodec(true, "X-Shop-Identity", SECRET)
+        );
+        webTestClient = WebTestClient
+                .bindToWebHandler(exchange -> accessTokenValidationFilter
+                        .filter(exchange, chainExchange -> {
+                            chainExchange.getResponse().setStatusCode(HttpStatus.OK);
+                            return chainExchange.getResponse().setComplete();
+                        })
+                        .onErrorResume(GatewayException.class, exception -> {
+                            exchange.getResponse().setStatusCode(exception.getError().getHttpStatus());
+                            return exchange.getResponse().setComplete();
+                        }))
+                .build();
+    }
+
+    @Test
+    @DisplayName("동시 요청에서도 인증 필터 체인이 이벤트 루프를 블로킹하지 않는다")
+    void filterDoesNotBlockUnderLoad() throws Exception {
+        Instant issuedAt = Instant.now().minusSeconds(10);
+        String deniedUserId = UUID.randomUUID().toString();
+        denyMap.put(deniedUserId, issuedAt.getEpochSecond() + 1);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(CLIENT_THREADS);
+        try {
+            List<Callable<HttpStatus>> callableList = new ArrayList<>();
+            for (int i = 0; i < REQUEST_COUNT; i++) {
+                String userId = i % 10 == 0 ? deniedUserId : UUID.randomUUID().toString();
+                String accessJwt = createAccessJwt(userId, issuedAt);
+                callableList.add(() -> HttpStatus.valueOf(webTestClient.get()
+                        .uri("/v1/products")
+                        .header(HttpHeaders.AUTHORIZATION, jwtProperties.getHeaderPrefix() + accessJwt)
+                        .exchange()
+                        .returnResult(Void.class)
+                        .getStatus()
+                        .value()));
+            }
+
+            long okCount = 0;
+            long unauthorizedCount = 0;
+            for (Future<HttpStatus> future : executorService.invokeAll(callableList)) {
+                HttpStatus status = future.get();
+                assertThat(status).isIn(HttpStatus.OK, HttpStatus.UNAUTHORIZED);
+                if (status == HttpStatus.OK) {
+                    okCount++;
+                } else {
+                    unauthorizedCount++;
+                }
+            }
+
+            assertThat(unauthorizedCount).isEqualTo(REQUEST_COUNT / 10);
+            assertThat(okCount).isEqualTo(REQUEST_COUNT - REQUEST_COUNT / 10);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("토큰이 없는 요청은 캐시 조회 없이 통과한다")
+    void requestWithoutTokenPassesThrough() {
+        webTestClient.get()
+                .uri("/v1/products")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    @DisplayName("블룸 필터에 없는 사용자는 Redis 조회 없이 통과하고 거부된 사용자만 조회한다")
+    void bloomFilterSkipsLookupForUnknownUsers() {
+        Instant issuedAt = Instant.now().minusSeconds(10);
+        String deniedUserId = UUID.randomUUID().toString();
+        denyMap.put(deniedUserId, issuedAt.getEpochSecond() + 1);
+        given(reactiveStringRedisTemplate.scan(any(ScanOptions.class)))
+                .willReturn(Flux.just("auth:deny:" + deniedUserId));
+        authDenyBloomFilter.rebuild().block();
+
+        webTestClient.get()
+                .uri("/v1/products")
+                .header(HttpHeaders.AUTHORIZATION, jwtProperties.getHeaderPrefix() + createAccessJwt(UUID.randomUUID().toString(), issuedAt))
+                .exchange()
+                .expectStatus().isOk();
+        assertThat(cacheLookupCount.get()).isZero();
+
+        webTestClient.get()
+                .uri("/v1/products")
+                .header(HttpHeaders.AUTHORIZATION, jwtProperties.getHeaderPrefix() + createAccessJwt(deniedUserId, issuedAt))
+                .exchange()
+                .expectStatus().isUnauthorized();
+        assertThat(cacheLookupCount.get()).isEqualTo(1);
+    }
+
+    private String createAccessJwt(String userId, Instant issuedAt) {
+        return JWT.create()
+                .withSubject(jwtProperties.getAccessSubject())
+                .withClaim("id", userId)
+                .withIssuedAt(issuedAt)
+                .withExpiresAt(issuedAt.plusMillis(jwtProperties.getAccessExpirationMillis()))
+                .sign(Algorithm.HMAC512(SECRET));
+    }
+
+    private class DelayedReactiveAuthCache implements ReactiveAuthCache {
+
+        @Override
+        public Mono<Void> denyBy(String userId, Long jwtValidator) {
+            return Mono.fromRunnable(() -> denyMap.put(userId, jwtValidator));
+        }
+
+        @Override
+        public Mono<Long> getBy(String userId) {
+            cacheLookupCount.incrementAndGet();
+            // Redis 왕복을 흉내내어 parallel 스케줄러(논블로킹 스레드)에서 결과를 전달
+            return Mono.delay(Duration.ofMillis(1))
+                    .flatMap(tick -> Mono.justOrEmpty(denyMap.get(userId)));
+        }
+
+        @Override
+        public Mono<Void> cancelDenyBy(String userId) {
+            return Mono.fromRunnable(() -> denyMap.remove(userId));
+        }
+    }
+
+}
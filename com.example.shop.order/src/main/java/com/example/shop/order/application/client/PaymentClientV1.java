@@ -4,5 +4,6 @@ import java.util.UUID;
 
 public interface PaymentClientV1 {
 
-    void postInternalPaymentsCancel(UUID paymentId, String accessJwt);
+    // 아웃박스 릴레이가 보낸다. 토큰 대신 요청한 사용자(userId)의 identity 로 인증한다.
+    void postInternalPaymentsCancel(UUID messageId, UUID paymentId, UUID userId);
 }
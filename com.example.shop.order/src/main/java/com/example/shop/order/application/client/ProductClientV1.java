@@ -1,9 +1,12 @@
 package com.example.shop.order.application.client;
 
+import com.example.shop.order.infrastructure.resttemplate.product.dto.request.ReqPostInternalProductsBatchDtoV1;
 import com.example.shop.order.infrastructure.resttemplate.product.dto.request.ReqPostInternalProductsReleaseStockDtoV1;
 import com.example.shop.order.infrastructure.resttemplate.product.dto.request.ReqPostInternalProductsReturnStockDtoV1;
 import com.example.shop.order.infrastructure.resttemplate.product.dto.response.ResGetProductDtoV1;
 import com.example.shop.order.infrastructure.resttemplate.product.dto.response.ResGetProductsDtoV1;
+import com.example.shop.order.infrastructure.resttemplate.product.dto.response.ResPostInternalProductsBatchDtoV1;
+import java.util.List;
 import java.util.UUID;
 
 public interface ProductClientV1 {
@@ -12,7 +15,12 @@ public interface ProductClientV1 {
 
     ResGetProductDtoV1 getProduct(UUID productId);
 
-    void postInternalProductsReleaseStock(ReqPostInternalProductsReleaseStockDtoV1 reqDto, String accessJwt);
+    ResPostInternalProductsBatchDtoV1 getProductsByIds(List<UUID> productIds, String accessJwt);
 
-    void postInternalProductsReturnStock(ReqPostInternalProductsReturnStockDtoV1 reqDto, String accessJwt);
+    // 아래 호출은 아웃박스 릴레이가 보낸다. 토큰 대신 요청한 사용자(userId)의 identity 로 인증한다.
+    ResPostInternalProductsBatchDtoV1 getProductsByIds(List<UUID> productIds, UUID userId);
+
+    void postInternalProductsReleaseStock(UUID messageId, ReqPostInternalProductsReleaseStockDtoV1 reqDto, UUID userId);
+
+    void postInternalProductsReturnStock(UUID messageId, ReqPostInternalProductsReturnStockDtoV1 reqDto, UUID userId);
 }
@@ -0,0 +1,55 @@
+package com.example.shop.order.application.service;
+
+import com.example.shop.order.infrastructure.executor.config.OrderPlacementExecutorConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * 비동기로 접수한 주문의 ORDER_PLACE 메시지를 작업 풀에 넘겨, 스케줄러 주기를 기다리지 않고 바로 가격 계산과 재고 차감을 진행한다.
+ * 메시지는 이미 아웃박스에 저장돼 있으므로, 풀이 가득 차 넘기지 못해도 릴레이 스케줄러가 같은 메시지를 이어서 보낸다.
+ */
+@Slf4j
+@Service
+public class OrderPlacementServiceV1 {
+
+    private final OutboxRelayServiceV1 outboxRelayServiceV1;
+    private final TaskExecutor orderPlacementExecutor;
+    private final Counter rejectedCounter;
+
+    public OrderPlacementServiceV1(
+            OutboxRelayServiceV1 outboxRelayServiceV1,
+            @Qualifier(OrderPlacementExecutorConfig.ORDER_PLACEMENT_EXECUTOR) TaskExecutor orderPlacementExecutor,
+            MeterRegistry meterRegistry
+    ) {
+        this.outboxRelayServiceV1 = outboxRelayServiceV1;
+        this.orderPlacementExecutor = orderPlacementExecutor;
+        this.rejectedCounter = Counter.builder("order.placement.rejected")
+                .description("작업 풀이 가득 차 릴레이 스케줄러로 넘긴 주문 접수 수")
+                .register(meterRegistry);
+    }
+
+    public void submit(UUID outboxMessageId) {
+        try {
+            orderPlacementExecutor.execute(() -> place(outboxMessageId));
+        } catch (TaskRejectedException exception) {
+            rejectedCounter.increment();
+            log.warn("order placement queue is full, fall back to outbox relay - messageId: {}", outboxMessageId);
+        }
+    }
+
+    private void place(UUID outboxMessageId) {
+        try {
+            outboxRelayServiceV1.relay(outboxMessageId);
+        } catch (RuntimeException exception) {
+            // 선점 기간이 지나면 릴레이 스케줄러가 다시 보낸다
+            log.warn("order placement failed - messageId: {}", outboxMessageId, exception);
+        }
+    }
+}
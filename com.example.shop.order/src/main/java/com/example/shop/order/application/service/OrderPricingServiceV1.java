@@ -0,0 +1,100 @@
+package com.example.shop.order.application.service;
+
+import com.example.shop.order.application.client.ProductClientV1;
+import com.example.shop.order.domain.model.Order;
+import com.example.shop.order.domain.model.OrderItem;
+import com.example.shop.order.infrastructure.resttemplate.product.dto.response.ResGetProductDtoV1;
+import com.example.shop.order.infrastructure.resttemplate.product.dto.response.ResPostInternalProductsBatchDtoV1;
+import com.example.shop.order.presentation.advice.OrderError;
+import com.example.shop.order.presentation.advice.OrderException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 주문 상품의 가격/이름을 상품 서비스에서 한 번에 조회해 주문 금액을 계산한다.
+ * 동기 주문 생성과 비동기 접수 후 작업 풀이 같은 계산을 쓴다.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderPricingServiceV1 {
+
+    private final ProductClientV1 productClientV1;
+
+    public Order price(Order order, String accessJwt) {
+        return price(order, productIdList -> productClientV1.getProductsByIds(productIdList, accessJwt));
+    }
+
+    // 아웃박스 릴레이처럼 요청자의 토큰이 없는 곳에서는 요청한 사용자의 identity 로 조회한다.
+    public Order price(Order order, UUID userId) {
+        return price(order, productIdList -> productClientV1.getProductsByIds(productIdList, userId));
+    }
+
+    private Order price(Order order, Function<List<UUID>, ResPostInternalProductsBatchDtoV1> productLoader) {
+        List<OrderItem> orderItemList = order.getOrderItemList();
+        List<ResGetProductDtoV1.ProductDto> productList = fetchProducts(
+                orderItemList.stream().map(OrderItem::getProductId).toList(),
+                productLoader
+        );
+
+        List<OrderItem> pricedOrderItemList = new ArrayList<>();
+        long totalAmount = 0L;
+        for (int i = 0; i < orderItemList.size(); i++) {
+            OrderItem orderItem = orderItemList.get(i);
+            ResGetProductDtoV1.ProductDto product = productList.get(i);
+            Long productPrice = product.getPrice();
+            if (productPrice == null || productPrice < 0) {
+                throw new OrderException(OrderError.ORDER_PRODUCT_STOCK_NOT_ENOUGH);
+            }
+            long unitPrice = productPrice;
+            long lineTotal = safeMultiply(unitPrice, orderItem.getQuantity());
+            totalAmount = safeAdd(totalAmount, lineTotal);
+            pricedOrderItemList.add(orderItem.priced(product.getName(), unitPrice, lineTotal));
+        }
+        return order.markPriced(pricedOrderItemList, totalAmount);
+    }
+
+    private long safeAdd(long left, long right) {
+        try {
+            return Math.addExact(left, right);
+        } catch (ArithmeticException ex) {
+            throw new OrderException(OrderError.ORDER_AMOUNT_OVERFLOW);
+        }
+    }
+
+    private long safeMultiply(long left, long right) {
+        try {
+            return Math.multiplyExact(left, right);
+        } catch (ArithmeticException ex) {
+            throw new OrderException(OrderError.ORDER_AMOUNT_OVERFLOW);
+        }
+    }
+
+    // 주문 상품 정보를 한 번의 호출로 조회하고 주문 상품 순서대로 돌려준다.
+    private List<ResGetProductDtoV1.ProductDto> fetchProducts(
+            List<UUID> productIdList,
+            Function<List<UUID>, ResPostInternalProductsBatchDtoV1> productLoader
+    ) {
+        ResPostInternalProductsBatchDtoV1 response = productLoader.apply(productIdList);
+        if (response == null || response.getProductList() == null) {
+            throw new OrderException(OrderError.ORDER_PRODUCT_CAN_NOT_FOUND);
+        }
+
+        Map<String, ResGetProductDtoV1.ProductDto> productMap = response.getProductList()
+                .stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toMap(ResGetProductDtoV1.ProductDto::getId, Function.identity(), (left, right) -> left));
+        return productIdList.stream()
+                .map(productId -> Optional.ofNullable(productMap.get(productId.toString()))
+                        .orElseThrow(() -> new OrderException(OrderError.ORDER_PRODUCT_CAN_NOT_FOUND)))
+                .toList();
+    }
+}
@@ -1,26 +1,30 @@
 package com.example.shop.order.application.service;
 
-import com.example.shop.order.application.client.PaymentClientV1;
-import com.example.shop.order.application.client.ProductClientV1;
 import com.example.shop.order.domain.model.Order;
 import com.example.shop.order.domain.model.OrderItem;
+import com.example.shop.order.domain.model.OutboxMessage;
+import com.example.shop.order.domain.model.ProcessedMessage;
 import com.example.shop.order.domain.repository.OrderRepository;
+import com.example.shop.order.domain.repository.OutboxMessageRepository;
+import com.example.shop.order.domain.repository.ProcessedMessageRepository;
+import com.example.shop.order.domain.vo.IdempotentResult;
 import com.example.shop.order.domain.vo.OrderPayment;
-import com.example.shop.order.infrastructure.resttemplate.product.dto.request.ReqPostInternalProductsReleaseStockDtoV1;
-import com.example.shop.order.infrastructure.resttemplate.product.dto.request.ReqPostInternalProductsReturnStockDtoV1;
-import com.example.shop.order.infrastructure.resttemplate.product.dto.response.ResGetProductDtoV1;
+import com.example.shop.order.domain.vo.OrderSummary;
+import com.example.shop.order.domain.vo.ScrollCursor;
 import com.example.shop.order.presentation.advice.OrderError;
 import com.example.shop.order.presentation.advice.OrderException;
 import com.example.shop.order.presentation.dto.request.ReqPostInternalOrderCompleteDtoV1;
 import com.example.shop.order.presentation.dto.request.ReqPostOrdersDtoV1;
 import com.example.shop.order.presentation.dto.response.ResGetOrderDtoV1;
 import com.example.shop.order.presentation.dto.response.ResGetOrdersDtoV1;
+import com.example.shop.order.presentation.dto.response.ResGetOrdersScrollDtoV1;
 import com.example.shop.order.presentation.dto.response.ResPostOrdersDtoV1;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 import org.springframework.util.CollectionUtils;
 
 import java.time.Instant;
@@ -33,21 +37,55 @@ import java.util.stream.Collectors;
 public class OrderServiceV1 {
 
     private final OrderRepository orderRepository;
-    private final ProductClientV1 productClientV1;
-    private final PaymentClientV1 paymentClientV1;
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ProcessedMessageRepository processedMessageRepository;
+    private final OrderPricingServiceV1 orderPricingServiceV1;
+    private final OrderPlacementServiceV1 orderPlacementServiceV1;
+    private final IdempotencyServiceV1 idempotencyServiceV1;
+    private final TransactionOperations transactionOperations;
+
+    private static final int SCROLL_MAX_SIZE = 100;
+    private static final String PROCESSED_MESSAGE_TYPE_ORDER_COMPLETE = "ORDER_COMPLETE";
 
     public ResGetOrdersDtoV1 getOrders(UUID authUserId, List<String> authUserRoleList, Pageable pageable) {
         if (pageable == null) {
             throw new OrderException(OrderError.ORDER_BAD_REQUEST);
         }
 
-        Page<Order> orderPage;
-        if (hasManagerPermission(authUserRoleList)) {
-            orderPage = orderRepository.findAll(pageable);
-        } else {
-            orderPage = orderRepository.findByUserId(authUserId, pageable);
+        UUID userId = hasManagerPermission(authUserRoleList) ? null : authUserId;
+        return ResGetOrdersDtoV1.of(orderRepository.findSummaries(userId, pageable));
+    }
+
+    public ResGetOrdersScrollDtoV1 getOrdersScroll(
+            UUID authUserId,
+            List<String> authUserRoleList,
+            String cursor,
+            int size,
+            boolean includeTotal
+    ) {
+        if (size < 1 || size > SCROLL_MAX_SIZE) {
+            throw new OrderException(OrderError.ORDER_BAD_REQUEST);
         }
-        return ResGetOrdersDtoV1.of(orderPage);
+        UUID userId = hasManagerPermission(authUserRoleList) ? null : authUserId;
+
+        // 한 건 더 읽어 다음 목록이 있는지 판단한다
+        List<OrderSummary> orderSummaryList = orderRepository.findSummaryScroll(userId, decodeCursor(cursor), size + 1);
+        String nextCursor = null;
+        if (orderSummaryList.size() > size) {
+            orderSummaryList = orderSummaryList.subList(0, size);
+            OrderSummary lastOrderSummary = orderSummaryList.get(size - 1);
+            nextCursor = ScrollCursor.builder()
+                    .createdAt(lastOrderSummary.getCreatedAt())
+                    .id(lastOrderSummary.getId())
+                    .build()
+                    .encode();
+        }
+
+        Long totalElements = null;
+        if (includeTotal) {
+            totalElements = userId == null ? orderRepository.count() : orderRepository.countByUserId(userId);
+        }
+        return ResGetOrdersScrollDtoV1.of(orderSummaryList, nextCursor, totalElements);
     }
 
     public ResGetOrderDtoV1 getOrder(UUID authUserId, List<String> authUserRoleList, UUID orderId) {
@@ -56,94 +94,108 @@ public class OrderServiceV1 {
         return ResGetOrderDtoV1.of(order);
     }
 
-    @Transactional
-    public ResPostOrdersDtoV1 postOrders(UUID authUserId, String accessJwt, ReqPostOrdersDtoV1 reqDto) {
-        ReqPostOrdersDtoV1.OrderDto reqOrder = reqDto.getOrder();
-        if (
-                reqOrder.getOrderItemList().stream().map(orderItemDto -> orderItemDto.getProductId()).collect(Collectors.toSet()).size()
-                        != reqOrder.getOrderItemList().size()
-        ) {
-            throw new OrderException(OrderError.ORDER_PRODUCT_DUPLICATED);
-        }
-        List<OrderItem> orderItemList = new ArrayList<>();
-        Map<UUID, Long> productQuantityMap = new LinkedHashMap<>();
-        long totalAmount = 0L;
-        for (ReqPostOrdersDtoV1.OrderDto.OrderItemDto itemDto : reqOrder.getOrderItemList()) {
-            UUID productId = itemDto.getProductId();
-            Long quantityValue = itemDto.getQuantity();
-            if (productId == null || quantityValue == null || quantityValue <= 0) {
-                throw new OrderException(OrderError.ORDER_INVALID_QUANTITY);
-            }
+    // 재고 차감은 아웃박스 릴레이가 보내므로, 사용자 요청은 상품 조회와 주문/아웃박스 저장만 기다린다.
+    // 상품 조회 중에는 DB 커넥션을 잡지 않도록 저장만 짧은 트랜잭션으로 묶는다.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResPostOrdersDtoV1 postOrders(
+            UUID authUserId,
+            String accessJwt,
+            String idempotencyKey,
+            ReqPostOrdersDtoV1 reqDto
+    ) {
+        IdempotentResult result = idempotencyServiceV1.execute(
+                authUserId,
+                idempotencyKey,
+                describeRequest("POST /v1/orders", reqDto),
+                () -> {
+                    Order pricedOrder = orderPricingServiceV1.price(toPendingOrder(authUserId, reqDto), accessJwt);
 
-            long quantity = quantityValue;
-            ResGetProductDtoV1.ProductDto product = fetchProduct(productId);
-            Long productPrice = product.getPrice();
-            if (productPrice == null || productPrice < 0) {
-                throw new OrderException(OrderError.ORDER_PRODUCT_STOCK_NOT_ENOUGH);
-            }
-            long unitPrice = productPrice;
-            long lineTotal = safeMultiply(unitPrice, quantity);
-            totalAmount = safeAdd(totalAmount, lineTotal);
-            long aggregatedQuantity = productQuantityMap.containsKey(productId)
-                    ? safeAdd(productQuantityMap.get(productId), quantity)
-                    : quantity;
-            productQuantityMap.put(productId, aggregatedQuantity);
-
-            OrderItem orderItem = OrderItem.builder()
-                    .productId(productId)
-                    .productName(product.getName())
-                    .unitPrice(unitPrice)
-                    .quantity(quantity)
-                    .lineTotal(lineTotal)
-                    .build();
-            orderItemList.add(orderItem);
-        }
-
-        Order order = Order.builder()
-                .userId(authUserId)
-                .status(Order.Status.CREATED)
-                .totalAmount(totalAmount)
-                .orderItemList(List.copyOf(orderItemList))
-                .createdAt(Instant.now())
-                .build();
+                    Order pendingOrder = transactionOperations.execute(status -> {
+                        Order savedOrder = orderRepository.save(pricedOrder);
+                        outboxMessageRepository.save(
+                                OutboxMessage.pending(savedOrder.getId(), OutboxMessage.Type.PRODUCT_RELEASE_STOCK, authUserId)
+                        );
+                        return savedOrder;
+                    });
+                    return toIdempotentResult(pendingOrder.getId(), pendingOrder.getStatus());
+                }
+        );
+        return ResPostOrdersDtoV1.of(result.getResourceId(), result.getResourceStatus());
+    }
+
+    // 요청 검증과 PENDING 주문 저장까지만 하고 응답한다. 가격 계산과 재고 차감은 작업 풀이 ORDER_PLACE 메시지로 이어서 처리한다.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResPostOrdersDtoV1 postOrdersAsync(
+            UUID authUserId,
+            String idempotencyKey,
+            ReqPostOrdersDtoV1 reqDto
+    ) {
+        IdempotentResult result = idempotencyServiceV1.execute(
+                authUserId,
+                idempotencyKey,
+                describeRequest("POST /v1/orders/async", reqDto),
+                () -> {
+                    Order order = toPendingOrder(authUserId, reqDto);
 
-        Order savedOrder = orderRepository.save(order);
-        productClientV1.postInternalProductsReleaseStock(
-                buildReleaseStockRequest(savedOrder.getId(), productQuantityMap),
-                accessJwt
+                    OutboxMessage placeMessage = transactionOperations.execute(status -> {
+                        Order savedOrder = orderRepository.save(order);
+                        return outboxMessageRepository.save(
+                                OutboxMessage.pending(savedOrder.getId(), OutboxMessage.Type.ORDER_PLACE, authUserId)
+                        );
+                    });
+                    orderPlacementServiceV1.submit(placeMessage.getId());
+                    return toIdempotentResult(placeMessage.getAggregateId(), Order.Status.PENDING);
+                }
         );
-        return ResPostOrdersDtoV1.of(savedOrder);
+        return ResPostOrdersDtoV1.of(result.getResourceId(), result.getResourceStatus());
     }
 
+    // 결제 취소와 재고 복원은 아웃박스 릴레이가 차례로 보내고, 주문은 CANCEL_PENDING 으로 두었다가 복원이 끝나면 CANCELLED 가 된다.
     @Transactional
-    public void postOrderCancel(UUID authUserId, List<String> authUserRoleList, String accessJwt, UUID orderId) {
+    public void postOrderCancel(UUID authUserId, List<String> authUserRoleList, UUID orderId) {
         Order order = findOrder(orderId);
         validateAccessPermission(order, authUserId, authUserRoleList);
 
         if (Order.Status.CANCELLED.equals(order.getStatus())) {
             throw new OrderException(OrderError.ORDER_ALREADY_CANCELLED);
         }
+        if (
+                Order.Status.PENDING.equals(order.getStatus())
+                        || Order.Status.STOCK_PENDING.equals(order.getStatus())
+                        || Order.Status.STOCK_FAILED.equals(order.getStatus())
+        ) {
+            throw new OrderException(OrderError.ORDER_INVALID_STATUS);
+        }
 
-        OrderPayment orderPayment = order.getPayment();
-        if (orderPayment != null
-                && orderPayment.getId() != null
-                && OrderPayment.Status.COMPLETED.equals(orderPayment.getStatus())) {
-            paymentClientV1.postInternalPaymentsCancel(orderPayment.getId(), accessJwt);
+        Order cancelPendingOrder;
+        if (Order.Status.CANCEL_PENDING.equals(order.getStatus())) {
+            // 보낼 메시지가 남아 있으면 릴레이가 이어서 처리하고, 재시도를 모두 써서 멈춘 경우에만 다시 넣는다
+            if (outboxMessageRepository.existsPendingByAggregateId(orderId)) {
+                return;
+            }
+            cancelPendingOrder = order;
+        } else {
+            cancelPendingOrder = orderRepository.save(order.markCancelPending());
         }
 
-        Order cancelledOrder = order.markCancelled();
-        orderRepository.save(cancelledOrder);
-        productClientV1.postInternalProductsReturnStock(
-                buildReturnStockRequest(orderId),
-                accessJwt
-        );
+        OrderPayment orderPayment = cancelPendingOrder.getPayment();
+        OutboxMessage.Type type = orderPayment != null
+                && orderPayment.getId() != null
+                && OrderPayment.Status.COMPLETED.equals(orderPayment.getStatus())
+                ? OutboxMessage.Type.PAYMENT_CANCEL
+                : OutboxMessage.Type.PRODUCT_RETURN_STOCK;
+        outboxMessageRepository.save(OutboxMessage.pending(orderId, type, authUserId));
     }
 
     @Transactional
-    public void postInternalOrdersComplete(UUID orderId, ReqPostInternalOrderCompleteDtoV1 reqDto) {
+    public void postInternalOrdersComplete(UUID messageId, UUID orderId, ReqPostInternalOrderCompleteDtoV1 reqDto) {
         if (reqDto == null || reqDto.getPayment() == null) {
             throw new OrderException(OrderError.ORDER_BAD_REQUEST);
         }
+        // 결제 서비스 릴레이가 응답을 받지 못해 다시 보낸 메시지는 이미 반영했으므로 그대로 성공으로 응답한다
+        if (messageId != null && processedMessageRepository.existsById(messageId)) {
+            return;
+        }
 
         Order order = findOrder(orderId);
 
@@ -153,6 +205,14 @@ public class OrderServiceV1 {
         if (Order.Status.PAID.equals(order.getStatus())) {
             throw new OrderException(OrderError.ORDER_ALREADY_PAID);
         }
+        // 재고 차감에 실패했거나 취소 중인 주문은 결제 완료가 될 수 없으므로, 결제 서비스가 결제를 취소하도록 따로 알린다
+        if (Order.Status.STOCK_FAILED.equals(order.getStatus()) || Order.Status.CANCEL_PENDING.equals(order.getStatus())) {
+            throw new OrderException(OrderError.ORDER_NOT_PAYABLE);
+        }
+        // 재고 차감이 끝나지 않은 주문은 결제 완료로 바꾸지 않는다(결제 서비스가 간격을 두고 다시 보낸다)
+        if (!Order.Status.CREATED.equals(order.getStatus())) {
+            throw new OrderException(OrderError.ORDER_INVALID_STATUS);
+        }
 
         ReqPostInternalOrderCompleteDtoV1.PaymentDto paymentDto = reqDto.getPayment();
         if (paymentDto.getPaymentId() == null || paymentDto.getMethod() == null) {
@@ -171,6 +231,58 @@ public class OrderServiceV1 {
 
         Order completedOrder = order.markPaid(orderPayment);
         orderRepository.save(completedOrder);
+        if (messageId != null) {
+            processedMessageRepository.save(ProcessedMessage.of(messageId, PROCESSED_MESSAGE_TYPE_ORDER_COMPLETE));
+        }
+    }
+
+    // 요청을 검증해 가격을 매기기 전의 PENDING 주문으로 만든다
+    private Order toPendingOrder(UUID authUserId, ReqPostOrdersDtoV1 reqDto) {
+        ReqPostOrdersDtoV1.OrderDto reqOrder = reqDto.getOrder();
+        if (
+                reqOrder.getOrderItemList().stream().map(orderItemDto -> orderItemDto.getProductId()).collect(Collectors.toSet()).size()
+                        != reqOrder.getOrderItemList().size()
+        ) {
+            throw new OrderException(OrderError.ORDER_PRODUCT_DUPLICATED);
+        }
+        for (ReqPostOrdersDtoV1.OrderDto.OrderItemDto itemDto : reqOrder.getOrderItemList()) {
+            if (itemDto.getProductId() == null || itemDto.getQuantity() == null || itemDto.getQuantity() <= 0) {
+                throw new OrderException(OrderError.ORDER_INVALID_QUANTITY);
+            }
+        }
+
+        List<OrderItem> orderItemList = reqOrder.getOrderItemList()
+                .stream()
+                .map(itemDto -> OrderItem.builder()
+                        .productId(itemDto.getProductId())
+                        .unitPrice(0L)
+                        .quantity(itemDto.getQuantity())
+                        .lineTotal(0L)
+                        .build())
+                .toList();
+        return Order.builder()
+                .userId(authUserId)
+                .status(Order.Status.PENDING)
+                .totalAmount(0L)
+                .orderItemList(orderItemList)
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    // 같은 키로 다른 주문을 보냈는지 가려낼 수 있도록 요청 경로와 주문 상품 목록을 순서대로 적는다
+    private String describeRequest(String requestLine, ReqPostOrdersDtoV1 reqDto) {
+        StringBuilder request = new StringBuilder(requestLine);
+        for (ReqPostOrdersDtoV1.OrderDto.OrderItemDto itemDto : reqDto.getOrder().getOrderItemList()) {
+            request.append('|').append(itemDto.getProductId()).append(':').append(itemDto.getQuantity());
+        }
+        return request.toString();
+    }
+
+    private IdempotentResult toIdempotentResult(UUID orderId, Order.Status status) {
+        return IdempotentResult.builder()
+                .resourceId(orderId)
+                .resourceStatus(status.name())
+                .build();
     }
 
     private Order findOrder(UUID orderId) {
@@ -187,6 +299,17 @@ public class OrderServiceV1 {
         }
     }
 
+    private ScrollCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return ScrollCursor.decode(cursor);
+        } catch (IllegalArgumentException exception) {
+            throw new OrderException(OrderError.ORDER_BAD_REQUEST);
+        }
+    }
+
     private boolean hasManagerPermission(List<String> authUserRoleList) {
         if (CollectionUtils.isEmpty(authUserRoleList)) {
             return false;
@@ -195,57 +318,4 @@ public class OrderServiceV1 {
                 .filter(Objects::nonNull)
                 .anyMatch(role -> role.equalsIgnoreCase("ADMIN") || role.equalsIgnoreCase("MANAGER"));
     }
-
-    private long safeAdd(long left, long right) {
-        try {
-            return Math.addExact(left, right);
-        } catch (ArithmeticException ex) {
-            throw new OrderException(OrderError.ORDER_AMOUNT_OVERFLOW);
-        }
-    }
-
-    private long safeMultiply(long left, long right) {
-        try {
-            return Math.multiplyExact(left, right);
-        } catch (ArithmeticException ex) {
-            throw new OrderException(OrderError.ORDER_AMOUNT_OVERFLOW);
-        }
-    }
-
-    private ResGetProductDtoV1.ProductDto fetchProduct(UUID productId) {
-        ResGetProductDtoV1 response = productClientV1.getProduct(productId);
-        if (response == null || response.getProduct() == null) {
-            throw new OrderException(OrderError.ORDER_PRODUCT_CAN_NOT_FOUND);
-        }
-        return response.getProduct();
-    }
-
-    private ReqPostInternalProductsReleaseStockDtoV1 buildReleaseStockRequest(UUID orderId, Map<UUID, Long> productQuantityMap) {
-        return ReqPostInternalProductsReleaseStockDtoV1.builder()
-                .order(
-                        ReqPostInternalProductsReleaseStockDtoV1.OrderDto.builder()
-                                .orderId(orderId)
-                                .build()
-                )
-                .productStocks(
-                        productQuantityMap.entrySet()
-                                .stream()
-                                .map(entry -> ReqPostInternalProductsReleaseStockDtoV1.ProductStockDto.builder()
-                                        .productId(entry.getKey())
-                                        .quantity(entry.getValue())
-                                        .build())
-                                .toList()
-                )
-                .build();
-    }
-
-    private ReqPostInternalProductsReturnStockDtoV1 buildReturnStockRequest(UUID orderId) {
-        return ReqPostInternalProductsReturnStockDtoV1.builder()
-                .order(
-                        ReqPostInternalProductsReturnStockDtoV1.OrderDto.builder()
-                                .orderId(orderId)
-                                .build()
-                )
-                .build();
-    }
 }
@@ -0,0 +1,376 @@
+package com.example.shop.order.application.service;
+
+import com.example.shop.order.application.client.PaymentClientV1;
+import com.example.shop.order.application.client.ProductClientV1;
+import com.example.shop.order.domain.model.Order;
+import com.example.shop.order.domain.model.OrderItem;
+import com.example.shop.order.domain.model.OutboxMessage;
+import com.example.shop.order.domain.repository.OrderRepository;
+import com.example.shop.order.domain.repository.OutboxMessageRepository;
+import com.example.shop.order.domain.vo.OrderPayment;
+import com.example.shop.order.infrastructure.resttemplate.product.dto.request.ReqPostInternalProductsReleaseStockDtoV1;
+import com.example.shop.order.infrastructure.resttemplate.product.dto.request.ReqPostInternalProductsReturnStockDtoV1;
+import com.example.shop.order.presentation.advice.OrderError;
+import com.example.shop.order.presentation.advice.OrderException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 주문 아웃박스에 쌓인 상품/결제 서비스 호출을 보내고, 결과에 따라 주문 상태를 다음 단계로 옮긴다.
+ * 받는 쪽은 메시지 ID 로 중복을 걸러내므로, 응답을 받지 못한 메시지는 같은 ID 로 다시 보낸다(최소 한 번 전달).
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class OutboxRelayServiceV1 {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final OrderRepository orderRepository;
+    private final OrderPricingServiceV1 orderPricingServiceV1;
+    private final ProductClientV1 productClientV1;
+    private final PaymentClientV1 paymentClientV1;
+    private final TransactionOperations transactionOperations;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final Duration retention;
+
+    public OutboxRelayServiceV1(
+            OutboxMessageRepository outboxMessageRepository,
+            OrderRepository orderRepository,
+            OrderPricingServiceV1 orderPricingServiceV1,
+            ProductClientV1 productClientV1,
+            PaymentClientV1 paymentClientV1,
+            TransactionOperations transactionOperations,
+            MeterRegistry meterRegistry,
+            @Value("${shop.outbox.relay.batch-size:100}") int batchSize,
+            @Value("${shop.outbox.relay.max-attempts:10}") int maxAttempts,
+            @Value("${shop.outbox.relay.initial-backoff-millis:1000}") long initialBackoffMillis,
+            @Value("${shop.outbox.relay.max-backoff-millis:300000}") long maxBackoffMillis,
+            @Value("${shop.outbox.relay.lease-millis:30000}") long leaseMillis,
+            @Value("${shop.outbox.relay.retention-millis:604800000}") long retentionMillis
+    ) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.orderRepository = orderRepository;
+        this.orderPricingServiceV1 = orderPricingServiceV1;
+        this.productClientV1 = productClientV1;
+        this.paymentClientV1 = paymentClientV1;
+        this.transactionOperations = transactionOperations;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofMillis(initialBackoffMillis);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMillis);
+        this.lease = Duration.ofMillis(leaseMillis);
+        this.retention = Duration.ofMillis(retentionMillis);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public List<UUID> findDueMessageIds() {
+        return outboxMessageRepository.findDue(Instant.now(), batchSize)
+                .stream()
+                .map(OutboxMessage::getId)
+                .toList();
+    }
+
+    // 메시지를 선점한 뒤 보낸다. 다른 서비스를 호출하는 동안에는 DB 커넥션을 잡지 않고, 결과 반영만 짧은 트랜잭션으로 묶는다.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void relay(UUID outboxMessageId) {
+        Instant now = Instant.now();
+        if (!outboxMessageRepository.claim(outboxMessageId, now, now.plus(lease))) {
+            return;
+        }
+        OutboxMessage message = outboxMessageRepository.findById(outboxMessageId).orElse(null);
+        if (message == null) {
+            return;
+        }
+        Order order = orderRepository.findById(message.getAggregateId()).orElse(null);
+        if (order == null) {
+            outboxMessageRepository.save(message.markFailed(OrderError.ORDER_NOT_FOUND.name()));
+            count(message, "failed");
+            return;
+        }
+
+        Order sentOrder;
+        try {
+            sentOrder = send(message, order);
+        } catch (RuntimeException exception) {
+            handleFailure(message, exception);
+            return;
+        }
+
+        OutboxMessage followUpMessage = transactionOperations.execute(status -> {
+            outboxMessageRepository.save(message.markSent());
+            return applyDelivered(message, findOrder(message.getAggregateId()), sentOrder);
+        });
+        count(message, "sent");
+
+        // 가격 계산이 끝난 주문은 스케줄러 주기를 기다리지 않고 같은 작업자가 재고 차감까지 이어서 보낸다
+        if (followUpMessage != null && followUpMessage.getId() != null) {
+            relay(followUpMessage.getId());
+        }
+    }
+
+    @Transactional
+    public int purgeSentMessages() {
+        return outboxMessageRepository.deleteSentBefore(Instant.now().minus(retention));
+    }
+
+    // 보낸 결과를 반영할 주문을 돌려준다. 가격 계산만 새 주문을 만들고, 나머지는 읽어 온 주문을 그대로 돌려준다.
+    private Order send(OutboxMessage message, Order order) {
+        switch (message.getType()) {
+            case ORDER_PLACE -> {
+                return orderPricingServiceV1.price(order, message.getUserId());
+            }
+            case PRODUCT_RELEASE_STOCK -> productClientV1.postInternalProductsReleaseStock(
+                    message.getId(),
+                    buildReleaseStockRequest(order),
+                    message.getUserId()
+            );
+            case PRODUCT_RETURN_STOCK -> productClientV1.postInternalProductsReturnStock(
+                    message.getId(),
+                    buildReturnStockRequest(order.getId()),
+                    message.getUserId()
+            );
+            case PAYMENT_CANCEL -> {
+                if (order.getPayment() == null || order.getPayment().getId() == null) {
+                    return order;
+                }
+                try {
+                    paymentClientV1.postInternalPaymentsCancel(message.getId(), order.getPayment().getId(), message.getUserId());
+                } catch (OrderException exception) {
+                    if (!OrderError.ORDER_PAYMENT_ALREADY_CANCELLED.equals(exception.getError())) {
+                        throw exception;
+                    }
+                }
+            }
+        }
+        return order;
+    }
+
+    // 전달 결과를 주문에 반영하고, 같은 작업자가 바로 이어서 보낼 메시지가 있으면 돌려준다
+    private OutboxMessage applyDelivered(OutboxMessage message, Order order, Order sentOrder) {
+        switch (message.getType()) {
+            case ORDER_PLACE -> {
+                if (Order.Status.PENDING.equals(order.getStatus())) {
+                    orderRepository.save(sentOrder);
+                    return outboxMessageRepository.save(
+                            OutboxMessage.pending(order.getId(), OutboxMessage.Type.PRODUCT_RELEASE_STOCK, message.getUserId())
+                    );
+                }
+            }
+            case PRODUCT_RELEASE_STOCK -> {
+                if (Order.Status.STOCK_PENDING.equals(order.getStatus())) {
+                    orderRepository.save(order.markStockReserved());
+                    recordPlacement(order, "created");
+                }
+            }
+            case PRODUCT_RETURN_STOCK -> {
+                // 재고 차감 보상이면 주문을 STOCK_FAILED 로, 취소 중이면 CANCELLED 로 마무리한다
+                if (Order.Status.STOCK_PENDING.equals(order.getStatus())) {
+                    orderRepository.save(order.markStockFailed());
+                    recordPlacement(order, "failed");
+                } else if (Order.Status.CANCEL_PENDING.equals(order.getStatus())) {
+                    orderRepository.save(order.markCancelled());
+                }
+            }
+            case PAYMENT_CANCEL -> {
+                // 취소 요청이 겹쳐 결제 취소가 두 번 전달돼도 재고 복원은 한 번만 넣는다
+                if (!Order.Status.CANCEL_PENDING.equals(order.getStatus())
+                        || (order.getPayment() != null && OrderPayment.Status.CANCELLED.equals(order.getPayment().getStatus()))) {
+                    return null;
+                }
+                orderRepository.save(order.markPaymentCancelled());
+                outboxMessageRepository.save(
+                        OutboxMessage.pending(order.getId(), OutboxMessage.Type.PRODUCT_RETURN_STOCK, message.getUserId())
+                );
+            }
+        }
+        return null;
+    }
+
+    private void handleFailure(OutboxMessage message, RuntimeException exception) {
+        String error = describe(exception);
+
+        // 받는 쪽이 요청을 처리할 수 없다고 확정 응답한 경우. 다시 보내도 결과가 같으므로 전달 완료로 보고 주문에 반영한다
+        if (isRejected(message, exception)) {
+            transactionOperations.executeWithoutResult(status -> {
+                outboxMessageRepository.save(message.markSent());
+                applyRejected(message, findOrder(message.getAggregateId()));
+            });
+            log.info("outbox message rejected - id: {}, type: {}, orderId: {}, error: {}",
+                    message.getId(), message.getType(), message.getAggregateId(), error);
+            count(message, "rejected");
+            return;
+        }
+
+        int attemptCount = message.getAttemptCount() + 1;
+        if (attemptCount >= maxAttempts) {
+            transactionOperations.executeWithoutResult(status -> {
+                outboxMessageRepository.save(message.markFailed(error));
+                applyExhausted(message, findOrder(message.getAggregateId()));
+            });
+            log.error("outbox message failed after {} attempts - id: {}, type: {}, orderId: {}, error: {}",
+                    attemptCount, message.getId(), message.getType(), message.getAggregateId(), error, exception);
+            count(message, "failed");
+            return;
+        }
+
+        Duration backoff = backoff(attemptCount);
+        outboxMessageRepository.save(message.markRetry(Instant.now().plus(backoff), error));
+        log.warn("outbox message delivery failed, retry in {} ms - id: {}, type: {}, attempt: {}, error: {}",
+                backoff.toMillis(), message.getId(), message.getType(), attemptCount, error);
+        count(message, "retry");
+    }
+
+    private boolean isRejected(OutboxMessage message, RuntimeException exception) {
+        if (!(exception instanceof OrderException orderException)) {
+            return false;
+        }
+        return switch (message.getType()) {
+            // 상품이 없거나 가격을 매길 수 없는 주문은 다시 계산해도 결과가 같다
+            case ORDER_PLACE -> OrderError.ORDER_PRODUCT_CAN_NOT_FOUND.equals(orderException.getError())
+                    || OrderError.ORDER_PRODUCT_STOCK_NOT_ENOUGH.equals(orderException.getError())
+                    || OrderError.ORDER_AMOUNT_OVERFLOW.equals(orderException.getError());
+            case PRODUCT_RELEASE_STOCK -> OrderError.ORDER_PRODUCT_STOCK_NOT_ENOUGH.equals(orderException.getError())
+                    || OrderError.ORDER_PRODUCT_CAN_NOT_FOUND.equals(orderException.getError());
+            case PAYMENT_CANCEL -> OrderError.ORDER_PAYMENT_NOT_FOUND.equals(orderException.getError());
+            case PRODUCT_RETURN_STOCK -> false;
+        };
+    }
+
+    private void applyRejected(OutboxMessage message, Order order) {
+        switch (message.getType()) {
+            // 가격 계산은 재고를 건드리지 않았으므로 바로 STOCK_FAILED 로 끝낸다
+            case ORDER_PLACE -> {
+                if (Order.Status.PENDING.equals(order.getStatus())) {
+                    orderRepository.save(order.markStockFailed());
+                    recordPlacement(order, "failed");
+                }
+            }
+            // 재고 부족/상품 없음은 상품 서비스가 차감 전체를 롤백한 것이라 되돌릴 재고가 없다
+            case PRODUCT_RELEASE_STOCK -> {
+                if (Order.Status.STOCK_PENDING.equals(order.getStatus())) {
+                    orderRepository.save(order.markStockFailed());
+                    recordPlacement(order, "failed");
+                }
+            }
+            // 취소할 결제가 없으므로 취소 전 상태로 되돌린다
+            case PAYMENT_CANCEL -> {
+                if (Order.Status.CANCEL_PENDING.equals(order.getStatus())) {
+                    orderRepository.save(order.restoreStatus(Order.Status.PAID));
+                }
+            }
+            case PRODUCT_RETURN_STOCK -> {
+            }
+        }
+    }
+
+    // 가격 계산은 재고를 건드리지 않았으므로 주문을 STOCK_FAILED 로 끝낸다.
+    // 재고 차감은 응답을 받지 못했을 뿐 반영됐을 수 있으므로 복원을 이어서 보낸다.
+    // 재고 복원/결제 취소는 주문을 CANCEL_PENDING 에 두고, 같은 취소 요청을 다시 보내면 새 메시지로 이어서 진행한다.
+    private void applyExhausted(OutboxMessage message, Order order) {
+        if (OutboxMessage.Type.ORDER_PLACE.equals(message.getType()) && Order.Status.PENDING.equals(order.getStatus())) {
+            orderRepository.save(order.markStockFailed());
+            recordPlacement(order, "failed");
+        } else if (OutboxMessage.Type.PRODUCT_RELEASE_STOCK.equals(message.getType())) {
+            outboxMessageRepository.save(
+                    OutboxMessage.pending(message.getAggregateId(), OutboxMessage.Type.PRODUCT_RETURN_STOCK, message.getUserId())
+            );
+        }
+    }
+
+    // 시도 횟수마다 두 배로 늘리되 최대 대기 시간을 넘지 않는다
+    private Duration backoff(int attemptCount) {
+        long multiplier = 1L << Math.min(attemptCount - 1, 20);
+        long backoffMillis = initialBackoff.toMillis() * multiplier;
+        return Duration.ofMillis(Math.min(backoffMillis, maxBackoff.toMillis()));
+    }
+
+    private Order findOrder(UUID orderId) {
+        return orderRepository.findById(orderId)
+                .orElseThrow(() -> new OrderException(OrderError.ORDER_NOT_FOUND));
+    }
+
+    // 주문 접수부터 재고 차감 결과가 확정될 때까지 걸린 시간. 동기 생성/비동기 접수 모두 같은 지점에서 끝난다
+    private void recordPlacement(Order order, String result) {
+        if (order.getCreatedAt() == null) {
+            return;
+        }
+        Timer.builder("order.placement.latency")
+                .description("주문 접수부터 재고 차감 결과 확정까지 걸린 시간")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Duration.between(order.getCreatedAt(), Instant.now()));
+    }
+
+    private void count(OutboxMessage message, String result) {
+        Counter.builder("order.outbox.relay")
+                .description("주문 아웃박스 메시지 전달 결과")
+                .tag("type", message.getType().name())
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String describe(RuntimeException exception) {
+        if (exception instanceof OrderException orderException) {
+            return orderException.getError().getErrorCode();
+        }
+        return exception.getClass().getSimpleName() + ": " + exception.getMessage();
+    }
+
+    private static ReqPostInternalProductsReleaseStockDtoV1 buildReleaseStockRequest(Order order) {
+        Map<UUID, Long> productQuantityMap = new LinkedHashMap<>();
+        for (OrderItem orderItem : order.getOrderItemList()) {
+            productQuantityMap.merge(orderItem.getProductId(), orderItem.getQuantity(), Long::sum);
+        }
+        return ReqPostInternalProductsReleaseStockDtoV1.builder()
+                .order(
+                        ReqPostInternalProductsReleaseStockDtoV1.OrderDto.builder()
+                                .orderId(order.getId())
+                                .build()
+                )
+                .productStocks(
+                        productQuantityMap.entrySet()
+                                .stream()
+                                .map(entry -> ReqPostInternalProductsReleaseStockDtoV1.ProductStockDto.builder()
+                                        .productId(entry.getKey())
+                                        .quantity(entry.getValue())
+                                        .build())
+                                .toList()
+                )
+                .build();
+    }
+
+    private static ReqPostInternalProductsReturnStockDtoV1 buildReturnStockRequest(UUID orderId) {
+        return ReqPostInternalProductsReturnStockDtoV1.builder()
+                .order(
+                        ReqPostInternalProductsReturnStockDtoV1.OrderDto.builder()
+                                .orderId(orderId)
+                                .build()
+                )
+                .build();
+    }
+}
@@ -49,6 +49,54 @@ public class Order {
                 .build();
     }
 
+    // 상품 가격을 매긴 주문 상품으로 바꾸고 재고 차감을 기다리는 상태로 옮긴다
+    public Order markPriced(List<OrderItem> pricedOrderItemList, long totalAmount) {
+        return toBuilder()
+                .status(Status.STOCK_PENDING)
+                .orderItemList(List.copyOf(pricedOrderItemList))
+                .totalAmount(totalAmount)
+                .build();
+    }
+
+    public Order markStockReserved() {
+        return toBuilder()
+                .status(Status.CREATED)
+                .build();
+    }
+
+    public Order markStockFailed() {
+        return toBuilder()
+                .status(Status.STOCK_FAILED)
+                .build();
+    }
+
+    public Order markCancelPending() {
+        return toBuilder()
+                .status(Status.CANCEL_PENDING)
+                .build();
+    }
+
+    // 취소 중 결제 취소가 실패했을 때 취소 전 상태로 되돌린다
+    public Order restoreStatus(Status status) {
+        return toBuilder()
+                .status(status)
+                .build();
+    }
+
+    public Order markPaymentCancelled() {
+        if (payment == null) {
+            return this;
+        }
+        return toBuilder()
+                .payment(OrderPayment.builder()
+                        .id(payment.getId())
+                        .status(OrderPayment.Status.CANCELLED)
+                        .method(payment.getMethod())
+                        .amount(payment.getAmount())
+                        .build())
+                .build();
+    }
+
     public Order markCancelled() {
         return toBuilder()
                 .status(Status.CANCELLED)
@@ -89,8 +137,16 @@ public class Order {
     }
 
     public enum Status {
+        // 비동기 주문 접수만 끝난 상태. 작업 풀이 가격을 매기고 재고 차감을 넣기 전이라 금액은 0 이다
+        PENDING,
+        // 주문은 저장했고 상품 서비스의 재고 차감 응답을 기다리는 중
+        STOCK_PENDING,
+        // 재고 차감에 실패해 주문이 성립하지 않음(차감된 재고는 보상 호출로 되돌림)
+        STOCK_FAILED,
         CREATED,
         PAID,
+        // 결제 취소/재고 복원 호출 중. 같은 취소 요청을 다시 보내면 이어서 진행한다
+        CANCEL_PENDING,
         CANCELLED
     }
 }
@@ -25,6 +25,14 @@ public class OrderItem {
     private final Instant deletedAt;
     private final String deletedBy;
 
+    public OrderItem priced(String productName, long unitPrice, long lineTotal) {
+        return toBuilder()
+                .productName(productName)
+                .unitPrice(unitPrice)
+                .lineTotal(lineTotal)
+                .build();
+    }
+
     OrderItemBuilder toBuilder() {
         return OrderItem.builder()
                 .id(id)
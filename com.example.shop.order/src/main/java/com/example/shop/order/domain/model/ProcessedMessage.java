@@ -0,0 +1,29 @@
+package com.example.shop.order.domain.model;
+
+import java.time.Instant;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * 다른 서비스의 아웃박스 릴레이가 보낸 메시지 중 이미 처리한 것.
+ * 릴레이는 응답을 받지 못하면 같은 메시지 ID 로 다시 보내므로, 처리 결과와 같은 트랜잭션에 남겨 두 번 반영하지 않는다.
+ */
+@Getter
+@Builder
+@EqualsAndHashCode(of = "id")
+public class ProcessedMessage {
+
+    private final UUID id;
+    private final String type;
+    private final Instant createdAt;
+    private final String createdBy;
+
+    public static ProcessedMessage of(UUID messageId, String type) {
+        return ProcessedMessage.builder()
+                .id(messageId)
+                .type(type)
+                .build();
+    }
+}
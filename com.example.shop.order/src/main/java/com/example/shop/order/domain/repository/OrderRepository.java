@@ -1,6 +1,9 @@
 package com.example.shop.order.domain.repository;
 
 import com.example.shop.order.domain.model.Order;
+import com.example.shop.order.domain.vo.OrderSummary;
+import com.example.shop.order.domain.vo.ScrollCursor;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
@@ -12,7 +15,13 @@ public interface OrderRepository {
 
     Optional<Order> findById(UUID orderId);
 
-    Page<Order> findAll(Pageable pageable);
+    // 목록 조회용. 주문 상품은 읽지 않는다. userId 가 null 이면 전체 주문을 대상으로 한다.
+    Page<OrderSummary> findSummaries(UUID userId, Pageable pageable);
 
-    Page<Order> findByUserId(UUID userId, Pageable pageable);
+    // userId 가 null 이면 전체 주문을 대상으로 (createdAt, id) 내림차순으로 cursor 다음부터 limit 건 조회한다.
+    List<OrderSummary> findSummaryScroll(UUID userId, ScrollCursor cursor, int limit);
+
+    long count();
+
+    long countByUserId(UUID userId);
 }
@@ -0,0 +1,26 @@
+package com.example.shop.order.domain.repository;
+
+import com.example.shop.order.domain.model.OutboxMessage;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface OutboxMessageRepository {
+
+    OutboxMessage save(OutboxMessage outboxMessage);
+
+    Optional<OutboxMessage> findById(UUID outboxMessageId);
+
+    List<OutboxMessage> findDue(Instant now, int limit);
+
+    /**
+     * 보낼 시각이 된 PENDING 메시지의 다음 시도 시각을 leaseUntil 로 미뤄 선점한다.
+     * 여러 인스턴스의 릴레이가 같은 메시지를 동시에 보내지 않도록, 선점에 성공한 쪽만 true 를 받는다.
+     */
+    boolean claim(UUID outboxMessageId, Instant now, Instant leaseUntil);
+
+    boolean existsPendingByAggregateId(UUID aggregateId);
+
+    int deleteSentBefore(Instant before);
+}
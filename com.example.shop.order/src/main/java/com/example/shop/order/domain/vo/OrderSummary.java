@@ -0,0 +1,24 @@
+package com.example.shop.order.domain.vo;
+
+import com.example.shop.order.domain.model.Order;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * 주문 목록 화면에 필요한 요약 정보. 주문 상품은 읽지 않고 주문에 함께 저장한 상품 수만 가진다.
+ */
+@Getter
+@Builder
+@EqualsAndHashCode(of = {"id", "status", "totalAmount", "itemCount", "createdAt", "updatedAt"})
+public class OrderSummary {
+
+    private final UUID id;
+    private final Order.Status status;
+    private final Long totalAmount;
+    private final Integer itemCount;
+    private final Instant createdAt;
+    private final Instant updatedAt;
+}
@@ -0,0 +1,51 @@
+package com.example.shop.order.domain.vo;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * 목록을 (createdAt desc, id desc) 순서로 이어서 조회할 때 마지막으로 본 행의 위치.
+ * 클라이언트에는 내부 값을 드러내지 않도록 base64url 토큰으로 주고받는다.
+ */
+@Getter
+@Builder
+@EqualsAndHashCode
+public class ScrollCursor {
+
+    private static final int TOKEN_BYTES = Long.BYTES + Integer.BYTES + Long.BYTES + Long.BYTES;
+
+    private final Instant createdAt;
+    private final UUID id;
+
+    public String encode() {
+        ByteBuffer byteBuffer = ByteBuffer.allocate(TOKEN_BYTES)
+                .putLong(createdAt.getEpochSecond())
+                .putInt(createdAt.getNano())
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(byteBuffer.array());
+    }
+
+    // 형식이 맞지 않는 토큰은 IllegalArgumentException 으로 알린다
+    public static ScrollCursor decode(String token) {
+        byte[] bytes = Base64.getUrlDecoder().decode(token);
+        if (bytes.length != TOKEN_BYTES) {
+            throw new IllegalArgumentException("invalid scroll cursor");
+        }
+        ByteBuffer byteBuffer = ByteBuffer.wrap(bytes);
+        long epochSecond = byteBuffer.getLong();
+        int nano = byteBuffer.getInt();
+        if (nano < 0 || nano > 999_999_999 || epochSecond < Instant.MIN.getEpochSecond() || epochSecond > Instant.MAX.getEpochSecond()) {
+            throw new IllegalArgumentException("invalid scroll cursor");
+        }
+        return ScrollCursor.builder()
+                .createdAt(Instant.ofEpochSecond(epochSecond, nano))
+                .id(new UUID(byteBuffer.getLong(), byteBuffer.getLong()))
+                .build();
+    }
+}
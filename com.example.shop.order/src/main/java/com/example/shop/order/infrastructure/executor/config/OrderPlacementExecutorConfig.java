@@ -0,0 +1,51 @@
+package com.example.shop.order.infrastructure.executor.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+
+/**
+ * 비동기로 접수한 주문의 가격 계산과 재고 차감을 처리하는 작업 풀.
+ * 큐가 가득 차면 작업을 받지 않고, 받지 못한 주문은 아웃박스 릴레이 스케줄러가 이어서 처리한다.
+ */
+@Configuration
+public class OrderPlacementExecutorConfig {
+
+    public static final String ORDER_PLACEMENT_EXECUTOR = "orderPlacementExecutor";
+
+    @Bean(name = ORDER_PLACEMENT_EXECUTOR)
+    public ThreadPoolTaskExecutor orderPlacementExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${shop.order.placement.core-pool-size:4}") int corePoolSize,
+            @Value("${shop.order.placement.max-pool-size:8}") int maxPoolSize,
+            @Value("${shop.order.placement.queue-capacity:200}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("order-placement-");
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        // 종료 중에 남은 작업은 아웃박스에 남아 있으므로 잠깐만 기다린다
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+
+        // executor.queued(큐 깊이), executor.active, executor.pool.max 등을 name=order.placement 태그로 남긴다
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), "order.placement", List.of()).bindTo(meterRegistry);
+        Gauge.builder("order.placement.worker.utilization", executor, OrderPlacementExecutorConfig::utilization)
+                .description("주문 접수 작업 풀 사용률(실행 중 작업 수 / 최대 작업자 수)")
+                .register(meterRegistry);
+        return executor;
+    }
+
+    private static double utilization(ThreadPoolTaskExecutor executor) {
+        int maxPoolSize = executor.getMaxPoolSize();
+        return maxPoolSize == 0 ? 0.0 : (double) executor.getActiveCount() / maxPoolSize;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.shop.order.infrastructure.jpa.entity;
+
+import com.example.shop.global.infrastructure.jpa.entity.BaseEntity;
+import com.example.shop.order.domain.model.IdempotencyRecord;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicInsert;
+import org.hibernate.annotations.DynamicUpdate;
+
+@Entity
+@Table(
+        name = "ORDER_IDEMPOTENCY",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_order_idempotency_user_key", columnNames = {"user_id", "idempotency_key"})
+        },
+        indexes = {
+                @Index(name = "idx_order_idempotency_expires_at", columnList = "expires_at")
+        }
+)
+@DynamicInsert
+@DynamicUpdate
+@Getter
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@EqualsAndHashCode(of = "id", callSuper = false)
+public class IdempotencyRecordEntity extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(name = "id", nullable = false, unique = true)
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "idempotency_key", nullable = false)
+    private String idempotencyKey;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private IdempotencyRecord.Status status = IdempotencyRecord.Status.IN_PROGRESS;
+
+    @Column(name = "resource_id")
+    private UUID resourceId;
+
+    @Column(name = "resource_status", length = 32)
+    private String resourceStatus;
+
+    @Column(name = "locked_until", nullable = false)
+    private Instant lockedUntil;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    public void complete(UUID resourceId, String resourceStatus) {
+        this.status = IdempotencyRecord.Status.COMPLETED;
+        this.resourceId = resourceId;
+        this.resourceStatus = resourceStatus;
+    }
+}
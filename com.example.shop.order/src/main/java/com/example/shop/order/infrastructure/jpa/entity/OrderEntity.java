@@ -10,6 +10,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import java.util.ArrayList;
@@ -25,7 +26,13 @@ import org.hibernate.annotations.DynamicInsert;
 import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
-@Table(name = "`ORDER`")
+@Table(
+        name = "`ORDER`",
+        indexes = {
+                @Index(name = "idx_order_created_at_id", columnList = "created_at, id"),
+                @Index(name = "idx_order_user_id_created_at_id", columnList = "user_id, created_at, id")
+        }
+)
 @DynamicInsert
 @DynamicUpdate
 @Getter
@@ -51,6 +58,10 @@ public class OrderEntity extends BaseEntity {
     @Column(name = "total_amount", nullable = false)
     private Long totalAmount = 0L;
 
+    // 목록 조회가 ORDER_ITEM 을 읽지 않도록 주문 상품 수를 함께 저장한다
+    @Column(name = "item_count")
+    private Integer itemCount;
+
     @Builder.Default
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<OrderItemEntity> orderItemList = new ArrayList<>();
@@ -79,6 +90,10 @@ public class OrderEntity extends BaseEntity {
         this.totalAmount = totalAmount;
     }
 
+    public void updateItemCount(Integer itemCount) {
+        this.itemCount = itemCount;
+    }
+
     public void assignUser(UUID userId) {
         this.userId = userId;
     }
@@ -96,8 +111,12 @@ public class OrderEntity extends BaseEntity {
     }
 
     public enum Status {
+        PENDING,
+        STOCK_PENDING,
+        STOCK_FAILED,
         CREATED,
         PAID,
+        CANCEL_PENDING,
         CANCELLED
     }
 
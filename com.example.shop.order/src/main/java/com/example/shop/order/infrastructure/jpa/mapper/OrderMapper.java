@@ -3,8 +3,10 @@ package com.example.shop.order.infrastructure.jpa.mapper;
 import com.example.shop.order.domain.model.Order;
 import com.example.shop.order.domain.model.OrderItem;
 import com.example.shop.order.domain.vo.OrderPayment;
+import com.example.shop.order.domain.vo.OrderSummary;
 import com.example.shop.order.infrastructure.jpa.entity.OrderEntity;
 import com.example.shop.order.infrastructure.jpa.entity.OrderItemEntity;
+import com.example.shop.order.infrastructure.jpa.projection.OrderSummaryProjection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -44,6 +46,20 @@ public class OrderMapper {
                 .build();
     }
 
+    public OrderSummary toSummary(OrderSummaryProjection projection) {
+        if (projection == null) {
+            return null;
+        }
+        return OrderSummary.builder()
+                .id(projection.getId())
+                .status(toDomain(projection.getStatus()))
+                .totalAmount(projection.getTotalAmount())
+                .itemCount(projection.getItemCount())
+                .createdAt(projection.getCreatedAt())
+                .updatedAt(projection.getUpdatedAt())
+                .build();
+    }
+
     private OrderItem toDomain(OrderItemEntity entity) {
         if (entity == null) {
             return null;
@@ -85,6 +101,7 @@ public class OrderMapper {
                 .id(order.getId())
                 .status(toEntity(order.getStatus()))
                 .totalAmount(order.getTotalAmount())
+                .itemCount(order.getOrderItemList().size())
                 .userId(order.getUserId())
                 .paymentId(order.getPayment() != null ? order.getPayment().getId() : null)
                 .paymentStatus(toEntity(order.getPayment() != null ? order.getPayment().getStatus() : null))
@@ -118,6 +135,7 @@ public class OrderMapper {
             entity.assignPayment(null, null, null, null);
         }
         syncOrderItems(order, entity);
+        entity.updateItemCount(entity.getOrderItemList().size());
     }
 
     private void syncOrderItems(Order order, OrderEntity entity) {
@@ -0,0 +1,21 @@
+package com.example.shop.order.infrastructure.jpa.projection;
+
+import com.example.shop.order.infrastructure.jpa.entity.OrderEntity;
+import java.time.Instant;
+import java.util.UUID;
+
+// 주문 목록 조회에서 ORDER 의 요약 컬럼만 읽는다
+public interface OrderSummaryProjection {
+
+    UUID getId();
+
+    OrderEntity.Status getStatus();
+
+    Long getTotalAmount();
+
+    Integer getItemCount();
+
+    Instant getCreatedAt();
+
+    Instant getUpdatedAt();
+}
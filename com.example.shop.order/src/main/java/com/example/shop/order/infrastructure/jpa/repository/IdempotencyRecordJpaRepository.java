@@ -0,0 +1,48 @@
+package com.example.shop.order.infrastructure.jpa.repository;
+
+import com.example.shop.order.domain.model.IdempotencyRecord;
+import com.example.shop.order.infrastructure.jpa.entity.IdempotencyRecordEntity;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface IdempotencyRecordJpaRepository extends JpaRepository<IdempotencyRecordEntity, UUID> {
+
+    Optional<IdempotencyRecordEntity> findByUserIdAndIdempotencyKey(UUID userId, String idempotencyKey);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update IdempotencyRecordEntity r
+            set r.lockedUntil = :lockedUntil
+            where r.id = :id
+              and r.status = :status
+              and r.lockedUntil < :now
+            """)
+    int takeOver(
+            @Param("id") UUID id,
+            @Param("status") IdempotencyRecord.Status status,
+            @Param("now") Instant now,
+            @Param("lockedUntil") Instant lockedUntil
+    );
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update IdempotencyRecordEntity r
+            set r.lockedUntil = :lockedUntil
+            where r.id = :id
+              and r.status = :status
+            """)
+    int extendLock(
+            @Param("id") UUID id,
+            @Param("status") IdempotencyRecord.Status status,
+            @Param("lockedUntil") Instant lockedUntil
+    );
+
+    @Modifying
+    @Query("delete from IdempotencyRecordEntity r where r.expiresAt <= :now")
+    int deleteByExpiresAtLessThanEqual(@Param("now") Instant now);
+}
@@ -1,12 +1,56 @@
 package com.example.shop.order.infrastructure.jpa.repository;
 
 import com.example.shop.order.infrastructure.jpa.entity.OrderEntity;
+import com.example.shop.order.infrastructure.jpa.projection.OrderSummaryProjection;
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface OrderJpaRepository extends JpaRepository<OrderEntity, UUID> {
 
-    Page<OrderEntity> findByUserId(UUID userId, Pageable pageable);
+    long countByUserId(UUID userId);
+
+    @Query(
+            value = """
+                    select o.id as id, o.status as status, o.totalAmount as totalAmount, o.itemCount as itemCount,
+                           o.createdAt as createdAt, o.updatedAt as updatedAt
+                    from OrderEntity o
+                    where (:userId is null or o.userId = :userId)
+                    """,
+            countQuery = """
+                    select count(o) from OrderEntity o
+                    where (:userId is null or o.userId = :userId)
+                    """
+    )
+    Page<OrderSummaryProjection> findSummaries(@Param("userId") UUID userId, Pageable pageable);
+
+    @Query("""
+            select o.id as id, o.status as status, o.totalAmount as totalAmount, o.itemCount as itemCount,
+                   o.createdAt as createdAt, o.updatedAt as updatedAt
+            from OrderEntity o
+            where (:userId is null or o.userId = :userId)
+            order by o.createdAt desc, o.id desc
+            """)
+    List<OrderSummaryProjection> findSummaryScrollFirst(@Param("userId") UUID userId, Limit limit);
+
+    @Query("""
+            select o.id as id, o.status as status, o.totalAmount as totalAmount, o.itemCount as itemCount,
+                   o.createdAt as createdAt, o.updatedAt as updatedAt
+            from OrderEntity o
+            where (:userId is null or o.userId = :userId)
+              and (o.createdAt < :createdAt or (o.createdAt = :createdAt and o.id < :id))
+            order by o.createdAt desc, o.id desc
+            """)
+    List<OrderSummaryProjection> findSummaryScrollAfter(
+            @Param("userId") UUID userId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            Limit limit
+    );
 }
@@ -2,11 +2,16 @@ package com.example.shop.order.infrastructure.jpa.repository;
 
 import com.example.shop.order.domain.model.Order;
 import com.example.shop.order.domain.repository.OrderRepository;
+import com.example.shop.order.domain.vo.OrderSummary;
+import com.example.shop.order.domain.vo.ScrollCursor;
 import com.example.shop.order.infrastructure.jpa.entity.OrderEntity;
 import com.example.shop.order.infrastructure.jpa.mapper.OrderMapper;
+import com.example.shop.order.infrastructure.jpa.projection.OrderSummaryProjection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
@@ -42,14 +47,28 @@ public class OrderRepositoryImpl implements OrderRepository {
     }
 
     @Override
-    public Page<Order> findAll(Pageable pageable) {
-        return orderJpaRepository.findAll(pageable)
-                .map(orderMapper::toDomain);
+    public Page<OrderSummary> findSummaries(UUID userId, Pageable pageable) {
+        return orderJpaRepository.findSummaries(userId, pageable)
+                .map(orderMapper::toSummary);
     }
 
     @Override
-    public Page<Order> findByUserId(UUID userId, Pageable pageable) {
-        return orderJpaRepository.findByUserId(userId, pageable)
-                .map(orderMapper::toDomain);
+    public List<OrderSummary> findSummaryScroll(UUID userId, ScrollCursor cursor, int limit) {
+        List<OrderSummaryProjection> projectionList = cursor == null
+                ? orderJpaRepository.findSummaryScrollFirst(userId, Limit.of(limit))
+                : orderJpaRepository.findSummaryScrollAfter(userId, cursor.getCreatedAt(), cursor.getId(), Limit.of(limit));
+        return projectionList.stream()
+                .map(orderMapper::toSummary)
+                .toList();
+    }
+
+    @Override
+    public long count() {
+        return orderJpaRepository.count();
+    }
+
+    @Override
+    public long countByUserId(UUID userId) {
+        return orderJpaRepository.countByUserId(userId);
     }
 }
@@ -0,0 +1,73 @@
+package com.example.shop.order.infrastructure.jpa.repository;
+
+import com.example.shop.order.domain.model.OutboxMessage;
+import com.example.shop.order.domain.repository.OutboxMessageRepository;
+import com.example.shop.order.infrastructure.jpa.entity.OutboxMessageEntity;
+import com.example.shop.order.infrastructure.jpa.mapper.OutboxMessageMapper;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class OutboxMessageRepositoryImpl implements OutboxMessageRepository {
+
+    private final OutboxMessageJpaRepository outboxMessageJpaRepository;
+    private final OutboxMessageMapper outboxMessageMapper;
+
+    @Override
+    @Transactional
+    public OutboxMessage save(OutboxMessage outboxMessage) {
+        OutboxMessageEntity entity;
+        if (outboxMessage.getId() != null) {
+            entity = outboxMessageJpaRepository.findById(outboxMessage.getId())
+                    .orElseGet(() -> outboxMessageMapper.toEntity(outboxMessage));
+            outboxMessageMapper.applyDomain(outboxMessage, entity);
+        } else {
+            entity = outboxMessageMapper.toEntity(outboxMessage);
+        }
+        OutboxMessageEntity saved = outboxMessageJpaRepository.save(entity);
+        return outboxMessageMapper.toDomain(saved);
+    }
+
+    @Override
+    public Optional<OutboxMessage> findById(UUID outboxMessageId) {
+        return outboxMessageJpaRepository.findById(outboxMessageId)
+                .map(outboxMessageMapper::toDomain);
+    }
+
+    @Override
+    public List<OutboxMessage> findDue(Instant now, int limit) {
+        return outboxMessageJpaRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(
+                        OutboxMessage.Status.PENDING,
+                        now,
+                        Limit.of(limit)
+                )
+                .stream()
+                .map(outboxMessageMapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public boolean claim(UUID outboxMessageId, Instant now, Instant leaseUntil) {
+        return outboxMessageJpaRepository.claim(outboxMessageId, OutboxMessage.Status.PENDING, now, leaseUntil) == 1;
+    }
+
+    @Override
+    public boolean existsPendingByAggregateId(UUID aggregateId) {
+        return outboxMessageJpaRepository.existsByAggregateIdAndStatus(aggregateId, OutboxMessage.Status.PENDING);
+    }
+
+    @Override
+    @Transactional
+    public int deleteSentBefore(Instant before) {
+        return outboxMessageJpaRepository.deleteByStatusAndUpdatedAtBefore(OutboxMessage.Status.SENT, before);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.shop.order.infrastructure.jpa.repository;
+
+import com.example.shop.order.domain.model.ProcessedMessage;
+import com.example.shop.order.domain.repository.ProcessedMessageRepository;
+import com.example.shop.order.infrastructure.jpa.entity.ProcessedMessageEntity;
+import com.example.shop.order.infrastructure.jpa.mapper.ProcessedMessageMapper;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ProcessedMessageRepositoryImpl implements ProcessedMessageRepository {
+
+    private final ProcessedMessageJpaRepository processedMessageJpaRepository;
+    private final ProcessedMessageMapper processedMessageMapper;
+
+    // 같은 메시지가 동시에 처리되면 늦게 커밋하는 쪽이 기본 키 충돌로 롤백되고, 보낸 쪽의 재시도에서 처리 완료로 응답한다
+    @Override
+    @Transactional
+    public ProcessedMessage save(ProcessedMessage processedMessage) {
+        ProcessedMessageEntity saved = processedMessageJpaRepository.save(processedMessageMapper.toEntity(processedMessage));
+        return processedMessageMapper.toDomain(saved);
+    }
+
+    @Override
+    public boolean existsById(UUID messageId) {
+        return processedMessageJpaRepository.existsById(messageId);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.shop.order.infrastructure.resttemplate.config;
 
+import com.example.shop.order.infrastructure.resttemplate.interceptor.IdentityPropagationInterceptor;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,13 +14,15 @@ public class RestTemplateConfig {
 
     @Bean
     @LoadBalanced
-    public RestTemplate restTemplate() {
+    public RestTemplate restTemplate(IdentityPropagationInterceptor identityPropagationInterceptor) {
         HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory();
         Duration connectTimeout = Duration.ofSeconds(4);
         Duration readTimeout =  Duration.ofSeconds(4);
         factory.setConnectTimeout((int) connectTimeout.toMillis());
         factory.setReadTimeout((int) readTimeout.toMillis());
-        return new RestTemplate(factory);
+        RestTemplate restTemplate = new RestTemplate(factory);
+        restTemplate.getInterceptors().add(identityPropagationInterceptor);
+        return restTemplate;
     }
 
 }
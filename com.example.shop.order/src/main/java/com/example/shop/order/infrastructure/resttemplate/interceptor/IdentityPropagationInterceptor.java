@@ -0,0 +1,50 @@
+package com.example.shop.order.infrastructure.resttemplate.interceptor;
+
+import com.example.shop.order.infrastructure.security.auth.CustomUserDetails;
+import com.example.shop.order.infrastructure.security.identity.IdentityTokenCodec;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+
+/**
+ * 게이트웨이가 서명한 identity 헤더로 요청이 들어온 경우, 내부 호출에도 accessJwt 대신 같은 헤더를 전달한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdentityPropagationInterceptor implements ClientHttpRequestInterceptor {
+
+    private final IdentityTokenCodec identityTokenCodec;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String identityToken = resolveIdentityToken();
+        if (StringUtils.hasText(identityToken)) {
+            HttpHeaders headers = request.getHeaders();
+            headers.remove(HttpHeaders.AUTHORIZATION);
+            headers.set(identityTokenCodec.getHeaderName(), identityToken);
+        }
+        return execution.execute(request, body);
+    }
+
+    private String resolveIdentityToken() {
+        if (!identityTokenCodec.isEnabled()) {
+            return null;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof CustomUserDetails userDetails)) {
+            return null;
+        }
+        return userDetails.getIdentityToken();
+    }
+}
@@ -2,6 +2,7 @@ package com.example.shop.order.infrastructure.resttemplate.payment.client;
 
 import com.example.shop.global.presentation.dto.ApiDto;
 import com.example.shop.order.application.client.PaymentClientV1;
+import com.example.shop.order.infrastructure.security.identity.ServiceIdentityIssuer;
 import com.example.shop.order.presentation.advice.OrderError;
 import com.example.shop.order.presentation.advice.OrderException;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -32,6 +33,8 @@ public class PaymentRestTemplateClientV1 implements PaymentClientV1 {
     private static final String POST_INTERNAL_PAYMENT_CANCEL_URL =
             PAYMENT_SERVICE_BASE_URL + "/internal/v1/payments/{paymentId}/cancel";
 
+    private static final String MESSAGE_ID_HEADER = "X-Message-Id";
+
     private static final ParameterizedTypeReference<ApiDto<Object>> API_DTO_OBJECT_TYPE =
             new ParameterizedTypeReference<>() {
             };
@@ -40,12 +43,14 @@ public class PaymentRestTemplateClientV1 implements PaymentClientV1 {
 
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final ServiceIdentityIssuer serviceIdentityIssuer;
 
     @Override
     @CircuitBreaker(name = "paymentCancel")
     @Retry(name = "paymentCancel")
-    public void postInternalPaymentsCancel(UUID paymentId, String accessJwt) {
-        HttpHeaders headers = createJsonHeadersWithAuthorization(accessJwt);
+    public void postInternalPaymentsCancel(UUID messageId, UUID paymentId, UUID userId) {
+        HttpHeaders headers = createJsonHeadersWithIdentity(userId);
+        headers.set(MESSAGE_ID_HEADER, messageId.toString());
         HttpEntity<Void> httpEntity = new HttpEntity<>(headers);
 
         try {
@@ -88,13 +93,14 @@ public class PaymentRestTemplateClientV1 implements PaymentClientV1 {
         return new OrderException(OrderError.ORDER_PAYMENT_HTTP_ERROR);
     }
 
-    private HttpHeaders createJsonHeadersWithAuthorization(String accessJwt) {
-        if (!StringUtils.hasText(accessJwt)) {
+    // 아웃박스 릴레이 호출은 보관한 토큰 없이, 요청한 사용자의 identity 를 새로 서명해 보낸다
+    private HttpHeaders createJsonHeadersWithIdentity(UUID userId) {
+        if (userId == null) {
             throw new OrderException(OrderError.ORDER_FORBIDDEN);
         }
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(accessJwt);
+        headers.set(serviceIdentityIssuer.getHeaderName(), serviceIdentityIssuer.issue(userId));
         return headers;
     }
 }
@@ -2,10 +2,13 @@ package com.example.shop.order.infrastructure.resttemplate.product.client;
 
 import com.example.shop.global.presentation.dto.ApiDto;
 import com.example.shop.order.application.client.ProductClientV1;
+import com.example.shop.order.infrastructure.resttemplate.product.dto.request.ReqPostInternalProductsBatchDtoV1;
 import com.example.shop.order.infrastructure.resttemplate.product.dto.request.ReqPostInternalProductsReleaseStockDtoV1;
 import com.example.shop.order.infrastructure.resttemplate.product.dto.request.ReqPostInternalProductsReturnStockDtoV1;
 import com.example.shop.order.infrastructure.resttemplate.product.dto.response.ResGetProductDtoV1;
 import com.example.shop.order.infrastructure.resttemplate.product.dto.response.ResGetProductsDtoV1;
+import com.example.shop.order.infrastructure.resttemplate.product.dto.response.ResPostInternalProductsBatchDtoV1;
+import com.example.shop.order.infrastructure.security.identity.ServiceIdentityIssuer;
 import com.example.shop.order.presentation.advice.OrderError;
 import com.example.shop.order.presentation.advice.OrderException;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -27,6 +30,7 @@ import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.List;
 import java.util.UUID;
 
 @Slf4j
@@ -37,15 +41,22 @@ public class ProductRestTemplateClientV1 implements ProductClientV1 {
     private static final String PRODUCT_SERVICE_BASE_URL = "http://product-service";
     private static final String GET_PRODUCTS_URL = PRODUCT_SERVICE_BASE_URL + "/v1/products";
     private static final String GET_PRODUCT_URL = PRODUCT_SERVICE_BASE_URL + "/v1/products/{productId}";
+    private static final String POST_BATCH_URL = PRODUCT_SERVICE_BASE_URL + "/internal/v1/products/batch";
     private static final String POST_RELEASE_STOCK_URL = PRODUCT_SERVICE_BASE_URL + "/internal/v1/products/release-stock";
     private static final String POST_RETURN_STOCK_URL = PRODUCT_SERVICE_BASE_URL + "/internal/v1/products/return-stock";
 
+    // 상품 서비스는 같은 메시지 ID 로 다시 온 재고 요청을 처리 완료로 응답한다
+    private static final String MESSAGE_ID_HEADER = "X-Message-Id";
+
     private static final ParameterizedTypeReference<ApiDto<ResGetProductsDtoV1>> RES_GET_PRODUCTS_TYPE =
             new ParameterizedTypeReference<>() {
             };
     private static final ParameterizedTypeReference<ApiDto<ResGetProductDtoV1>> RES_GET_PRODUCT_TYPE =
             new ParameterizedTypeReference<>() {
             };
+    private static final ParameterizedTypeReference<ApiDto<ResPostInternalProductsBatchDtoV1>> RES_POST_BATCH_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
     private static final ParameterizedTypeReference<ApiDto<Object>> API_DTO_OBJECT_TYPE =
             new ParameterizedTypeReference<>() {
             };
@@ -54,6 +65,7 @@ public class ProductRestTemplateClientV1 implements ProductClientV1 {
 
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final ServiceIdentityIssuer serviceIdentityIssuer;
 
     @Override
     @CircuitBreaker(name = "productRead")
@@ -96,11 +108,49 @@ public class ProductRestTemplateClientV1 implements ProductClientV1 {
         }
     }
 
+    @Override
+    @CircuitBreaker(name = "productRead")
+    @Retry(name = "productRead")
+    public ResPostInternalProductsBatchDtoV1 getProductsByIds(List<UUID> productIds, String accessJwt) {
+        return postBatch(productIds, createJsonHeadersWithAuthorization(accessJwt));
+    }
+
+    @Override
+    @CircuitBreaker(name = "productRead")
+    @Retry(name = "productRead")
+    public ResPostInternalProductsBatchDtoV1 getProductsByIds(List<UUID> productIds, UUID userId) {
+        return postBatch(productIds, createJsonHeadersWithIdentity(userId));
+    }
+
+    private ResPostInternalProductsBatchDtoV1 postBatch(List<UUID> productIds, HttpHeaders headers) {
+        HttpEntity<ReqPostInternalProductsBatchDtoV1> httpEntity = new HttpEntity<>(
+                ReqPostInternalProductsBatchDtoV1.builder()
+                        .productIds(productIds)
+                        .build(),
+                headers
+        );
+
+        try {
+            ResponseEntity<ApiDto<ResPostInternalProductsBatchDtoV1>> responseEntity = restTemplate.exchange(
+                    POST_BATCH_URL,
+                    HttpMethod.POST,
+                    httpEntity,
+                    RES_POST_BATCH_TYPE
+            );
+            return extractData(responseEntity);
+        } catch (HttpStatusCodeException exception) {
+            throw mapException(exception);
+        } catch (RestClientException exception) {
+            throw new OrderException(OrderError.ORDER_PRODUCT_REST_CLIENT_ERROR);
+        }
+    }
+
     @Override
     @CircuitBreaker(name = "productStock")
     @Retry(name = "productStock")
-    public void postInternalProductsReleaseStock(ReqPostInternalProductsReleaseStockDtoV1 reqDto, String accessJwt) {
-        HttpHeaders headers = createJsonHeadersWithAuthorization(accessJwt);
+    public void postInternalProductsReleaseStock(UUID messageId, ReqPostInternalProductsReleaseStockDtoV1 reqDto, UUID userId) {
+        HttpHeaders headers = createJsonHeadersWithIdentity(userId);
+        headers.set(MESSAGE_ID_HEADER, messageId.toString());
         HttpEntity<ReqPostInternalProductsReleaseStockDtoV1> httpEntity = new HttpEntity<>(reqDto, headers);
 
         try {
@@ -120,8 +170,9 @@ public class ProductRestTemplateClientV1 implements ProductClientV1 {
     @Override
     @CircuitBreaker(name = "productStock")
     @Retry(name = "productStock")
-    public void postInternalProductsReturnStock(ReqPostInternalProductsReturnStockDtoV1 reqDto, String accessJwt) {
-        HttpHeaders headers = createJsonHeadersWithAuthorization(accessJwt);
+    public void postInternalProductsReturnStock(UUID messageId, ReqPostInternalProductsReturnStockDtoV1 reqDto, UUID userId) {
+        HttpHeaders headers = createJsonHeadersWithIdentity(userId);
+        headers.set(MESSAGE_ID_HEADER, messageId.toString());
         HttpEntity<ReqPostInternalProductsReturnStockDtoV1> httpEntity = new HttpEntity<>(reqDto, headers);
 
         try {
@@ -191,4 +242,15 @@ public class ProductRestTemplateClientV1 implements ProductClientV1 {
         headers.setBearerAuth(accessJwt);
         return headers;
     }
+
+    // 아웃박스 릴레이 호출은 보관한 토큰 없이, 요청한 사용자의 identity 를 새로 서명해 보낸다
+    private HttpHeaders createJsonHeadersWithIdentity(UUID userId) {
+        if (userId == null) {
+            throw new OrderException(OrderError.ORDER_FORBIDDEN);
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(serviceIdentityIssuer.getHeaderName(), serviceIdentityIssuer.issue(userId));
+        return headers;
+    }
 }
@@ -0,0 +1,14 @@
+package com.example.shop.order.infrastructure.resttemplate.product.dto.request;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Builder
+public class ReqPostInternalProductsBatchDtoV1 {
+
+    private final List<UUID> productIds;
+}
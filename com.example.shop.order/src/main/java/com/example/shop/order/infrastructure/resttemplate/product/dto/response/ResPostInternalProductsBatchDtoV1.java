@@ -0,0 +1,20 @@
+package com.example.shop.order.infrastructure.resttemplate.product.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ResPostInternalProductsBatchDtoV1 {
+
+    private List<ResGetProductDtoV1.ProductDto> productList;
+}
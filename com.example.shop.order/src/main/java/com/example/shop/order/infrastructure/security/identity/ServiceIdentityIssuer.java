@@ -0,0 +1,45 @@
+package com.example.shop.order.infrastructure.security.identity;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 아웃박스 릴레이처럼 요청자의 토큰 없이 내부 API 를 호출할 때, 요청한 사용자의 identity 를 짧은 유효기간으로 서명한다.
+ * 역할은 싣지 않으므로 인증 여부만 확인하는 내부 API 호출에만 쓴다.
+ */
+@Component
+public class ServiceIdentityIssuer {
+
+    private final IdentityTokenCodec identityTokenCodec;
+    private final long ttlSeconds;
+
+    public ServiceIdentityIssuer(
+            IdentityTokenCodec identityTokenCodec,
+            @Value("${shop.security.identity.service-ttl-millis:60000}") long ttlMillis
+    ) {
+        this.identityTokenCodec = identityTokenCodec;
+        this.ttlSeconds = Math.max(1L, ttlMillis / 1000L);
+    }
+
+    public String getHeaderName() {
+        return identityTokenCodec.getHeaderName();
+    }
+
+    /**
+     * @throws IllegalStateException identity 전달(shop.security.identity.enabled)이 꺼져 있는 경우
+     */
+    public String issue(UUID userId) {
+        long now = Instant.now().getEpochSecond();
+        return identityTokenCodec.encode(
+                TrustedIdentity.builder()
+                        .userId(userId.toString())
+                        .roleList(List.of())
+                        .issuedAtEpochSecond(now)
+                        .expiresAtEpochSecond(now + ttlSeconds)
+                        .build()
+        );
+    }
+}
@@ -20,13 +20,18 @@ public enum OrderError implements GlobalError {
     ORDER_BAD_REQUEST(HttpStatus.BAD_REQUEST, "잘못된 주문 요청입니다."),
     ORDER_ALREADY_CANCELLED(HttpStatus.BAD_REQUEST, "이미 취소된 주문입니다."),
     ORDER_ALREADY_PAID(HttpStatus.BAD_REQUEST, "이미 결제가 완료된 주문입니다."),
+    ORDER_INVALID_STATUS(HttpStatus.BAD_REQUEST, "현재 주문 상태에서는 처리할 수 없습니다."),
+    ORDER_NOT_PAYABLE(HttpStatus.BAD_REQUEST, "재고 차감에 실패했거나 취소 중인 주문은 결제할 수 없습니다."),
     ORDER_PAYMENT_AMOUNT_MISMATCH(HttpStatus.BAD_REQUEST, "결제 금액이 주문 금액과 일치하지 않습니다."),
     ORDER_PAYMENT_NOT_FOUND(HttpStatus.NOT_FOUND, "결제 정보를 찾을 수 없습니다."),
     ORDER_PAYMENT_ALREADY_CANCELLED(HttpStatus.BAD_REQUEST, "이미 취소된 결제입니다."),
     ORDER_PRODUCT_HTTP_ERROR(HttpStatus.BAD_REQUEST, "상품 서비스 HTTP 응답 처리 중 오류가 발생했습니다."),
     ORDER_PRODUCT_REST_CLIENT_ERROR(HttpStatus.BAD_REQUEST, "상품 서비스 호출 중 오류가 발생했습니다."),
     ORDER_PAYMENT_HTTP_ERROR(HttpStatus.BAD_REQUEST, "결제 서비스 HTTP 응답 처리 중 오류가 발생했습니다."),
-    ORDER_PAYMENT_REST_CLIENT_ERROR(HttpStatus.BAD_REQUEST, "결제 서비스 호출 중 오류가 발생했습니다.");
+    ORDER_PAYMENT_REST_CLIENT_ERROR(HttpStatus.BAD_REQUEST, "결제 서비스 호출 중 오류가 발생했습니다."),
+    ORDER_IDEMPOTENCY_KEY_INVALID(HttpStatus.BAD_REQUEST, "Idempotency-Key 형식이 올바르지 않습니다."),
+    ORDER_IDEMPOTENCY_KEY_REUSED(HttpStatus.UNPROCESSABLE_ENTITY, "같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다."),
+    ORDER_IDEMPOTENCY_IN_PROGRESS(HttpStatus.CONFLICT, "같은 Idempotency-Key 의 요청을 처리하고 있습니다. 잠시 후 다시 시도해주세요.");
 
     private final HttpStatus httpStatus;
     private final String errorMessage;
@@ -10,6 +10,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -22,10 +23,11 @@ public class InternalOrderControllerV1 {
 
     @PostMapping("/{id}/complete")
     public ResponseEntity<ApiDto<Object>> postInternalOrdersComplete(
+            @RequestHeader(value = "X-Message-Id", required = false) UUID messageId,
             @PathVariable("id") UUID orderId,
             @RequestBody @Valid ReqPostInternalOrderCompleteDtoV1 reqDto
     ) {
-        orderServiceV1.postInternalOrdersComplete(orderId, reqDto);
+        orderServiceV1.postInternalOrdersComplete(messageId, orderId, reqDto);
         return ResponseEntity.ok(
                 ApiDto.builder()
                         .message(orderId + " 주문이 결제 완료되었습니다.")
@@ -6,9 +6,11 @@ import com.example.shop.order.infrastructure.security.auth.CustomUserDetails;
 import com.example.shop.order.presentation.dto.request.ReqPostOrdersDtoV1;
 import com.example.shop.order.presentation.dto.response.ResGetOrderDtoV1;
 import com.example.shop.order.presentation.dto.response.ResGetOrdersDtoV1;
+import com.example.shop.order.presentation.dto.response.ResGetOrdersScrollDtoV1;
 import com.example.shop.order.presentation.dto.response.ResPostOrdersDtoV1;
 import jakarta.validation.Valid;
 
+import java.net.URI;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
@@ -19,7 +21,9 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -42,6 +46,27 @@ public class OrderControllerV1 {
         );
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiDto<ResGetOrdersScrollDtoV1>> getOrdersScroll(
+            @AuthenticationPrincipal CustomUserDetails customUserDetails,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal
+    ) {
+        ResGetOrdersScrollDtoV1 responseBody = orderServiceV1.getOrdersScroll(
+                customUserDetails.getId(),
+                customUserDetails.getRoleList(),
+                cursor,
+                size,
+                includeTotal
+        );
+        return ResponseEntity.ok(
+                ApiDto.<ResGetOrdersScrollDtoV1>builder()
+                        .data(responseBody)
+                        .build()
+        );
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiDto<ResGetOrderDtoV1>> getOrder(
             @AuthenticationPrincipal CustomUserDetails customUserDetails,
@@ -58,11 +83,13 @@ public class OrderControllerV1 {
     @PostMapping
     public ResponseEntity<ApiDto<ResPostOrdersDtoV1>> postOrders(
             @AuthenticationPrincipal CustomUserDetails customUserDetails,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody @Valid ReqPostOrdersDtoV1 reqDto
     ) {
         ResPostOrdersDtoV1 responseBody = orderServiceV1.postOrders(
                 customUserDetails.getId(),
                 customUserDetails.getAccessJwt(),
+                idempotencyKey,
                 reqDto
         );
         return ResponseEntity.ok(
@@ -73,6 +100,28 @@ public class OrderControllerV1 {
         );
     }
 
+    // 주문을 접수만 하고 202 로 응답한다. 처리 결과는 GET /v1/orders/{id} 의 status 로 확인한다
+    @PostMapping("/async")
+    public ResponseEntity<ApiDto<ResPostOrdersDtoV1>> postOrdersAsync(
+            @AuthenticationPrincipal CustomUserDetails customUserDetails,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody @Valid ReqPostOrdersDtoV1 reqDto
+    ) {
+        ResPostOrdersDtoV1 responseBody = orderServiceV1.postOrdersAsync(
+                customUserDetails.getId(),
+                idempotencyKey,
+                reqDto
+        );
+        return ResponseEntity.accepted()
+                .location(URI.create("/v1/orders/" + responseBody.getOrder().getId()))
+                .body(
+                        ApiDto.<ResPostOrdersDtoV1>builder()
+                                .message("주문이 접수되었습니다.")
+                                .data(responseBody)
+                                .build()
+                );
+    }
+
     @PostMapping("/{id}/cancel")
     public ResponseEntity<ApiDto<Object>> postOrderCancel(
             @AuthenticationPrincipal CustomUserDetails customUserDetails,
@@ -81,12 +130,11 @@ public class OrderControllerV1 {
         orderServiceV1.postOrderCancel(
                 customUserDetails.getId(),
                 customUserDetails.getRoleList(),
-                customUserDetails.getAccessJwt(),
                 orderId
         );
         return ResponseEntity.ok(
                 ApiDto.builder()
-                        .message(orderId + " 주문이 취소되었습니다.")
+                        .message(orderId + " 주문 취소가 접수되었습니다.")
                         .build()
         );
     }
@@ -1,7 +1,7 @@
 package com.example.shop.order.presentation.dto.response;
 
-import com.example.shop.order.domain.model.Order;
 import com.example.shop.order.domain.model.Order.Status;
+import com.example.shop.order.domain.vo.OrderSummary;
 import java.time.Instant;
 import java.util.List;
 import lombok.Builder;
@@ -17,7 +17,7 @@ public class ResGetOrdersDtoV1 {
 
     private final OrderPageDto orderPage;
 
-    public static ResGetOrdersDtoV1 of(Page<Order> orderPage) {
+    public static ResGetOrdersDtoV1 of(Page<OrderSummary> orderPage) {
         return ResGetOrdersDtoV1.builder()
                 .orderPage(new OrderPageDto(orderPage))
                 .build();
@@ -27,7 +27,7 @@ public class ResGetOrdersDtoV1 {
     @ToString
     public static class OrderPageDto extends PagedModel<OrderPageDto.OrderDto> {
 
-        public OrderPageDto(Page<Order> orderPage) {
+        public OrderPageDto(Page<OrderSummary> orderPage) {
             super(
                     new PageImpl<>(
                             OrderDto.from(orderPage.getContent()),
@@ -48,22 +48,24 @@ public class ResGetOrdersDtoV1 {
             private final String id;
             private final Status status;
             private final Long totalAmount;
+            private final Integer itemCount;
             private final Instant createdAt;
             private final Instant updatedAt;
 
-            private static List<OrderDto> from(List<Order> orderList) {
-                return orderList.stream()
+            private static List<OrderDto> from(List<OrderSummary> orderSummaryList) {
+                return orderSummaryList.stream()
                         .map(OrderDto::from)
                         .toList();
             }
 
-            public static OrderDto from(Order order) {
+            public static OrderDto from(OrderSummary orderSummary) {
                 return OrderDto.builder()
-                        .id(String.valueOf(order.getId()))
-                        .status(order.getStatus())
-                        .totalAmount(order.getTotalAmount())
-                        .createdAt(order.getCreatedAt())
-                        .updatedAt(order.getUpdatedAt())
+                        .id(String.valueOf(orderSummary.getId()))
+                        .status(orderSummary.getStatus())
+                        .totalAmount(orderSummary.getTotalAmount())
+                        .itemCount(orderSummary.getItemCount())
+                        .createdAt(orderSummary.getCreatedAt())
+                        .updatedAt(orderSummary.getUpdatedAt())
                         .build();
             }
         }
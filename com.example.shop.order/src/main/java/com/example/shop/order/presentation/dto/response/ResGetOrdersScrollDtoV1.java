@@ -0,0 +1,40 @@
+package com.example.shop.order.presentation.dto.response;
+
+import com.example.shop.order.domain.vo.OrderSummary;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ResGetOrdersScrollDtoV1 {
+
+    private final OrderScrollDto orderScroll;
+
+    public static ResGetOrdersScrollDtoV1 of(List<OrderSummary> orderSummaryList, String nextCursor, Long totalElements) {
+        return ResGetOrdersScrollDtoV1.builder()
+                .orderScroll(OrderScrollDto.builder()
+                        .content(orderSummaryList.stream()
+                                .map(ResGetOrdersDtoV1.OrderPageDto.OrderDto::from)
+                                .toList())
+                        .nextCursor(nextCursor)
+                        .hasNext(nextCursor != null)
+                        .totalElements(totalElements)
+                        .build())
+                .build();
+    }
+
+    @Getter
+    @Builder
+    public static class OrderScrollDto {
+
+        private final List<ResGetOrdersDtoV1.OrderPageDto.OrderDto> content;
+
+        // 다음 목록 조회 시 cursor 로 그대로 전달한다. 마지막 목록이면 null.
+        private final String nextCursor;
+        private final Boolean hasNext;
+
+        // includeTotal=true 로 요청한 경우에만 채운다
+        private final Long totalElements;
+    }
+}
@@ -4,6 +4,7 @@ import com.example.shop.order.domain.model.Order;
 import com.example.shop.order.domain.model.OrderItem;
 import java.time.Instant;
 import java.util.List;
+import java.util.UUID;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -19,15 +20,30 @@ public class ResPostOrdersDtoV1 {
                 .build();
     }
 
+    // 비동기 접수 응답과 Idempotency-Key 재응답은 주문 ID 와 상태만으로 만든다
+    public static ResPostOrdersDtoV1 of(UUID orderId, String status) {
+        return ResPostOrdersDtoV1.builder()
+                .order(
+                        OrderDto.builder()
+                                .id(String.valueOf(orderId))
+                                .status(status)
+                                .build()
+                )
+                .build();
+    }
+
     @Getter
     @Builder
     public static class OrderDto {
 
         private final String id;
+        // 재고 차감은 비동기로 진행되므로 생성 직후에는 STOCK_PENDING, 비동기 접수 직후에는 PENDING 이다
+        private final String status;
 
         public static OrderDto from(Order order) {
             return OrderDto.builder()
                     .id(String.valueOf(order.getId()))
+                    .status(order.getStatus() == null ? null : order.getStatus().name())
                     .build();
         }
     }
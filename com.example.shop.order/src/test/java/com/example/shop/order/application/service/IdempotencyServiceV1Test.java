@@ -0,0 +1,375 @@
+package com.example.shop.order.application.service;
+
+import com.example.shop.order.domain.model.IdempotencyRecord;
+import com.example.shop.order.domain.repository.IdempotencyRecordRepository;
+import com.example.shop.order.domain.vo.IdempotentResult;
+import com.example.shop.order.presentation.advice.OrderError;
+import com.example.shop.order.presentation.advice.OrderException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyServiceV1Test {
+
+    private static final long LOCK_MILLIS = 30_000L;
+    private static final long WAIT_TIMEOUT_MILLIS = 2_000L;
+    private static final long POLL_INTERVAL_MILLIS = 10L;
+    private static final long TTL_MILLIS = 86_400_000L;
+    private static final int CONCURRENT_REQUEST_COUNT = 8;
+
+    private InMemoryIdempotencyRecordRepository idempotencyRecordRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyServiceV1 idempotencyServiceV1;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyRecordRepository = new InMemoryIdempotencyRecordRepository();
+        meterRegistry = new SimpleMeterRegistry();
+        idempotencyServiceV1 = createIdempotencyService(WAIT_TIMEOUT_MILLIS);
+    }
+
+    @Test
+    @DisplayName("Idempotency-Key 가 없으면 기록 없이 바로 처리한다")
+    void execute_withoutKey_runsActionWithoutRecord() {
+        AtomicInteger actionCount = new AtomicInteger();
+
+        idempotencyServiceV1.execute(UUID.randomUUID(), null, "request", countingAction(actionCount));
+
+        assertThat(actionCount.get()).isEqualTo(1);
+        assertThat(idempotencyRecordRepository.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("처리가 끝난 키로 다시 요청하면 다시 처리하지 않고 처음 결과를 돌려준다")
+    void execute_completedKey_replaysStoredResult() {
+        UUID userId = UUID.randomUUID();
+        AtomicInteger actionCount = new AtomicInteger();
+
+        IdempotentResult firstResult = idempotencyServiceV1.execute(userId, "key-1", "request", countingAction(actionCount));
+        IdempotentResult replayedResult = idempotencyServiceV1.execute(userId, "key-1", "request", countingAction(actionCount));
+
+        assertThat(actionCount.get()).isEqualTo(1);
+        assertThat(replayedResult).isEqualTo(firstResult);
+        assertThat(meterRegistry.get("order.idempotency.requests").tag("result", "replayed").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("같은 키라도 사용자가 다르면 따로 처리한다")
+    void execute_sameKeyOtherUser_runsAgain() {
+        AtomicInteger actionCount = new AtomicInteger();
+
+        idempotencyServiceV1.execute(UUID.randomUUID(), "key-1", "request", countingAction(actionCount));
+        idempotencyServiceV1.execute(UUID.randomUUID(), "key-1", "request", countingAction(actionCount));
+
+        assertThat(actionCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("같은 키로 다른 요청을 보내면 ORDER_IDEMPOTENCY_KEY_REUSED 예외가 발생한다")
+    void execute_sameKeyDifferentRequest_throwsReused() {
+        UUID userId = UUID.randomUUID();
+        AtomicInteger actionCount = new AtomicInteger();
+        idempotencyServiceV1.execute(userId, "key-1", "request-a", countingAction(actionCount));
+
+        assertThatThrownBy(() -> idempotencyServiceV1.execute(userId, "key-1", "request-b", countingAction(actionCount)))
+                .isInstanceOf(OrderException.class)
+                .hasFieldOrPropertyWithValue("error", OrderError.ORDER_IDEMPOTENCY_KEY_REUSED);
+        assertThat(actionCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("처리에 실패하면 기록을 지워 같은 키로 다시 시도할 수 있다")
+    void execute_failedAction_allowsRetryWithSameKey() {
+        UUID userId = UUID.randomUUID();
+        AtomicInteger actionCount = new AtomicInteger();
+
+        assertThatThrownBy(() -> idempotencyServiceV1.execute(userId, "key-1", "request", () -> {
+            throw new OrderException(OrderError.ORDER_PRODUCT_STOCK_NOT_ENOUGH);
+        }))
+                .isInstanceOf(OrderException.class);
+        assertThat(idempotencyRecordRepository.size()).isZero();
+
+        idempotencyServiceV1.execute(userId, "key-1", "request", countingAction(actionCount));
+
+        assertThat(actionCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("같은 키로 동시에 들어온 요청은 한 번만 처리하고 나머지는 원래 요청의 결과를 기다려 받는다")
+    void execute_concurrentDuplicates_runOnceAndShareResult() throws Exception {
+        UUID userId = UUID.randomUUID();
+        AtomicInteger actionCount = new AtomicInteger();
+        CountDownLatch startLatch = new CountDownLatch(1);
+        Supplier<IdempotentResult> slowAction = () -> {
+            actionCount.incrementAndGet();
+            sleep(200L);
+            return IdempotentResult.builder()
+                    .resourceId(UUID.randomUUID())
+                    .resourceStatus("STOCK_PENDING")
+                    .build();
+        };
+
+        ExecutorService executorService = Executors.newFixedThreadPool(CONCURRENT_REQUEST_COUNT);
+        try {
+            List<Future<IdempotentResult>> futureList = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUEST_COUNT; i++) {
+                futureList.add(executorService.submit(() -> {
+                    startLatch.await();
+                    return idempotencyServiceV1.execute(userId, "key-1", "request", slowAction);
+                }));
+            }
+            startLatch.countDown();
+
+            List<IdempotentResult> resultList = new ArrayList<>();
+            for (Future<IdempotentResult> future : futureList) {
+                resultList.add(future.get(5, TimeUnit.SECONDS));
+            }
+
+            assertThat(actionCount.get()).isEqualTo(1);
+            assertThat(resultList).allMatch(result -> result.equals(resultList.get(0)));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("원래 요청이 대기 시간 안에 끝나지 않으면 ORDER_IDEMPOTENCY_IN_PROGRESS 예외가 발생한다")
+    void execute_inProgressBeyondWaitTimeout_throwsInProgress() {
+        UUID userId = UUID.randomUUID();
+        Instant now = Instant.now();
+        idempotencyRecordRepository.create(
+                IdempotencyRecord.inProgress(
+                        userId,
+                        "key-1",
+                        IdempotencyServiceV1.hash("request"),
+                        now.plusSeconds(60),
+                        now.plusSeconds(3600)
+                )
+        );
+        IdempotencyServiceV1 shortWaitService = createIdempotencyService(100L);
+        AtomicInteger actionCount = new AtomicInteger();
+
+        assertThatThrownBy(() -> shortWaitService.execute(userId, "key-1", "request", countingAction(actionCount)))
+                .isInstanceOf(OrderException.class)
+                .hasFieldOrPropertyWithValue("error", OrderError.ORDER_IDEMPOTENCY_IN_PROGRESS);
+        assertThat(actionCount.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("처리하던 인스턴스가 죽어 처리 기한이 지난 IN_PROGRESS 기록은 이어받아 처리한다")
+    void execute_lockExpired_takesOverAndRuns() {
+        UUID userId = UUID.randomUUID();
+        Instant now = Instant.now();
+        idempotencyRecordRepository.create(
+                IdempotencyRecord.inProgress(
+                        userId,
+                        "key-1",
+                        IdempotencyServiceV1.hash("request"),
+                        now.minusSeconds(1),
+                        now.plusSeconds(3600)
+                )
+        );
+        AtomicInteger actionCount = new AtomicInteger();
+
+        idempotencyServiceV1.execute(userId, "key-1", "request", countingAction(actionCount));
+
+        assertThat(actionCount.get()).isEqualTo(1);
+        assertThat(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(userId, "key-1"))
+                .get()
+                .extracting(IdempotencyRecord::isCompleted)
+                .isEqualTo(true);
+    }
+
+    @Test
+    @DisplayName("원래 요청이 처리 기한보다 오래 걸려도 살아 있으면 기다리던 요청이 이어받지 않고 같은 결과를 받는다")
+    void execute_slowOriginal_isNotTakenOver() throws Exception {
+        IdempotencyServiceV1 shortLockService = new IdempotencyServiceV1(
+                idempotencyRecordRepository,
+                meterRegistry,
+                150L,
+                WAIT_TIMEOUT_MILLIS,
+                POLL_INTERVAL_MILLIS,
+                TTL_MILLIS
+        );
+        UUID userId = UUID.randomUUID();
+        AtomicInteger actionCount = new AtomicInteger();
+        CountDownLatch originalStartedLatch = new CountDownLatch(1);
+        // 하위 서비스 재시도로 처리 기한(150ms)의 네 배가 걸리는 요청
+        Supplier<IdempotentResult> slowAction = () -> {
+            actionCount.incrementAndGet();
+            originalStartedLatch.countDown();
+            sleep(600L);
+            return IdempotentResult.builder()
+                    .resourceId(UUID.randomUUID())
+                    .resourceStatus("STOCK_PENDING")
+                    .build();
+        };
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<IdempotentResult> original = executorService.submit(() ->
+                    shortLockService.execute(userId, "key-1", "request", slowAction));
+            assertThat(originalStartedLatch.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<IdempotentResult> duplicate = executorService.submit(() ->
+                    shortLockService.execute(userId, "key-1", "request", slowAction));
+
+            IdempotentResult originalResult = original.get(5, TimeUnit.SECONDS);
+            IdempotentResult duplicateResult = duplicate.get(5, TimeUnit.SECONDS);
+
+            assertThat(actionCount.get()).isEqualTo(1);
+            assertThat(duplicateResult).isEqualTo(originalResult);
+        } finally {
+            executorService.shutdownNow();
+            shortLockService.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("너무 긴 Idempotency-Key 는 ORDER_IDEMPOTENCY_KEY_INVALID 예외가 발생한다")
+    void execute_tooLongKey_throwsInvalid() {
+        assertThatThrownBy(() -> idempotencyServiceV1.execute(
+                UUID.randomUUID(),
+                "k".repeat(256),
+                "request",
+                countingAction(new AtomicInteger())
+        ))
+                .isInstanceOf(OrderException.class)
+                .hasFieldOrPropertyWithValue("error", OrderError.ORDER_IDEMPOTENCY_KEY_INVALID);
+    }
+
+    private IdempotencyServiceV1 createIdempotencyService(long waitTimeoutMillis) {
+        return new IdempotencyServiceV1(
+                idempotencyRecordRepository,
+                meterRegistry,
+                LOCK_MILLIS,
+                waitTimeoutMillis,
+                POLL_INTERVAL_MILLIS,
+                TTL_MILLIS
+        );
+    }
+
+    private static Supplier<IdempotentResult> countingAction(AtomicInteger actionCount) {
+        return () -> {
+            actionCount.incrementAndGet();
+            return IdempotentResult.builder()
+                    .resourceId(UUID.randomUUID())
+                    .resourceStatus("STOCK_PENDING")
+                    .build();
+        };
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    // 사용자와 키의 유니크 제약을 흉내 내는 저장소
+    static class InMemoryIdempotencyRecordRepository implements IdempotencyRecordRepository {
+
+        private final Map<String, IdempotencyRecord> recordMap = new ConcurrentHashMap<>();
+
+        @Override
+        public synchronized Optional<IdempotencyRecord> create(IdempotencyRecord idempotencyRecord) {
+            String key = keyOf(idempotencyRecord.getUserId(), idempotencyRecord.getIdempotencyKey());
+            if (recordMap.containsKey(key)) {
+                return Optional.empty();
+            }
+            IdempotencyRecord saved = copy(idempotencyRecord, UUID.randomUUID(), idempotencyRecord.getLockedUntil());
+            recordMap.put(key, saved);
+            return Optional.of(saved);
+        }
+
+        @Override
+        public synchronized IdempotencyRecord save(IdempotencyRecord idempotencyRecord) {
+            recordMap.put(keyOf(idempotencyRecord.getUserId(), idempotencyRecord.getIdempotencyKey()), idempotencyRecord);
+            return idempotencyRecord;
+        }
+
+        @Override
+        public synchronized Optional<IdempotencyRecord> findByUserIdAndIdempotencyKey(UUID userId, String idempotencyKey) {
+            return Optional.ofNullable(recordMap.get(keyOf(userId, idempotencyKey)));
+        }
+
+        @Override
+        public synchronized boolean takeOver(UUID idempotencyRecordId, Instant now, Instant lockedUntil) {
+            for (Map.Entry<String, IdempotencyRecord> entry : recordMap.entrySet()) {
+                IdempotencyRecord idempotencyRecord = entry.getValue();
+                if (idempotencyRecord.getId().equals(idempotencyRecordId) && idempotencyRecord.isLockExpired(now)) {
+                    entry.setValue(copy(idempotencyRecord, idempotencyRecordId, lockedUntil));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public synchronized boolean extendLock(UUID idempotencyRecordId, Instant lockedUntil) {
+            for (Map.Entry<String, IdempotencyRecord> entry : recordMap.entrySet()) {
+                IdempotencyRecord idempotencyRecord = entry.getValue();
+                if (idempotencyRecord.getId().equals(idempotencyRecordId) && !idempotencyRecord.isCompleted()) {
+                    entry.setValue(copy(idempotencyRecord, idempotencyRecordId, lockedUntil));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public synchronized void deleteById(UUID idempotencyRecordId) {
+            recordMap.values().removeIf(idempotencyRecord -> idempotencyRecord.getId().equals(idempotencyRecordId));
+        }
+
+        @Override
+        public synchronized int deleteExpiredBefore(Instant now) {
+            int before = recordMap.size();
+            recordMap.values().removeIf(idempotencyRecord -> idempotencyRecord.isExpired(now));
+            return before - recordMap.size();
+        }
+
+        int size() {
+            return recordMap.size();
+        }
+
+        private static String keyOf(UUID userId, String idempotencyKey) {
+            return userId + ":" + idempotencyKey;
+        }
+
+        private static IdempotencyRecord copy(IdempotencyRecord idempotencyRecord, UUID id, Instant lockedUntil) {
+            return IdempotencyRecord.builder()
+                    .id(id)
+                    .userId(idempotencyRecord.getUserId())
+                    .idempotencyKey(idempotencyRecord.getIdempotencyKey())
+                    .requestHash(idempotencyRecord.getRequestHash())
+                    .status(idempotencyRecord.getStatus())
+                    .resourceId(idempotencyRecord.getResourceId())
+                    .resourceStatus(idempotencyRecord.getResourceStatus())
+                    .lockedUntil(lockedUntil)
+                    .expiresAt(idempotencyRecord.getExpiresAt())
+                    .build();
+        }
+    }
+}
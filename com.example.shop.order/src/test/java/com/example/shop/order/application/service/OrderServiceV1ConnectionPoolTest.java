@@ -0,0 +1,229 @@
+package com.example.shop.order.application.service;
+
+import com.example.shop.order.application.client.ProductClientV1;
+import com.example.shop.order.domain.model.Order;
+import com.example.shop.order.domain.model.OutboxMessage;
+import com.example.shop.order.domain.repository.OrderRepository;
+import com.example.shop.order.domain.repository.OutboxMessageRepository;
+import com.example.shop.order.infrastructure.jpa.config.audit.CustomAuditAware;
+import com.example.shop.order.infrastructure.jpa.config.audit.JpaAuditConfig;
+import com.example.shop.order.infrastructure.jpa.mapper.IdempotencyRecordMapper;
+import com.example.shop.order.infrastructure.jpa.mapper.OrderMapper;
+import com.example.shop.order.infrastructure.jpa.mapper.OutboxMessageMapper;
+import com.example.shop.order.infrastructure.jpa.mapper.ProcessedMessageMapper;
+import com.example.shop.order.infrastructure.jpa.repository.IdempotencyRecordRepositoryImpl;
+import com.example.shop.order.infrastructure.jpa.repository.OrderRepositoryImpl;
+import com.example.shop.order.infrastructure.jpa.repository.OutboxMessageRepositoryImpl;
+import com.example.shop.order.infrastructure.jpa.repository.ProcessedMessageRepositoryImpl;
+import com.example.shop.order.infrastructure.resttemplate.product.dto.request.ReqPostInternalProductsReleaseStockDtoV1;
+import com.example.shop.order.infrastructure.resttemplate.product.dto.request.ReqPostInternalProductsReturnStockDtoV1;
+import com.example.shop.order.infrastructure.resttemplate.product.dto.response.ResGetProductDtoV1;
+import com.example.shop.order.infrastructure.resttemplate.product.dto.response.ResGetProductsDtoV1;
+import com.example.shop.order.infrastructure.resttemplate.product.dto.response.ResPostInternalProductsBatchDtoV1;
+import com.example.shop.order.presentation.dto.request.ReqPostOrdersDtoV1;
+import com.example.shop.order.presentation.dto.response.ResPostOrdersDtoV1;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 상품 서비스가 느려도 주문 생성이 DB 커넥션을 잡고 기다리지 않는지 확인한다.
+ * 풀 크기(2)보다 많은 주문이 동시에 상품 조회 응답을 기다리는 동안, 빌려 간 커넥션이 없어야 하고 조회 요청도 바로 처리되어야 한다.
+ * 재고 차감은 아웃박스 릴레이가 보내므로 주문은 STOCK_PENDING 과 재고 차감 메시지로 남는다.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:order-pool-test;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=" + OrderServiceV1ConnectionPoolTest.POOL_SIZE,
+        "spring.datasource.hikari.connection-timeout=1000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+        OrderServiceV1.class,
+        OrderPricingServiceV1.class,
+        IdempotencyServiceV1.class,
+        IdempotencyRecordRepositoryImpl.class,
+        IdempotencyRecordMapper.class,
+        OrderRepositoryImpl.class,
+        OrderMapper.class,
+        OutboxMessageRepositoryImpl.class,
+        OutboxMessageMapper.class,
+        ProcessedMessageRepositoryImpl.class,
+        ProcessedMessageMapper.class,
+        JpaAuditConfig.class,
+        CustomAuditAware.class,
+        OrderServiceV1ConnectionPoolTest.ProductClientConfig.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderServiceV1ConnectionPoolTest {
+
+    static final int POOL_SIZE = 2;
+    private static final int CONCURRENT_ORDER_COUNT = 8;
+
+    private static final Logger log = LoggerFactory.getLogger(OrderServiceV1ConnectionPoolTest.class);
+
+    @Autowired
+    private OrderServiceV1 orderServiceV1;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private BlockingProductClient productClient;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("상품 조회 응답을 기다리는 주문이 풀 크기보다 많아도 커넥션을 빌려 두지 않는다")
+    void postOrders_slowProductService_doesNotHoldConnections() throws Exception {
+        HikariPoolMXBean poolMXBean = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        ExecutorService executorService = Executors.newFixedThreadPool(CONCURRENT_ORDER_COUNT);
+        List<Future<ResPostOrdersDtoV1>> futureList = new ArrayList<>();
+        try {
+            for (int i = 0; i < CONCURRENT_ORDER_COUNT; i++) {
+                futureList.add(executorService.submit(() ->
+                        orderServiceV1.postOrders(UUID.randomUUID(), "access-token", null, createOrderRequest())
+                ));
+            }
+
+            // 트랜잭션 안에서 기다렸다면 풀 크기만큼만 여기까지 들어오고 나머지는 커넥션 대기 시간 초과로 실패한다
+            assertThat(productClient.lookupEnteredLatch.await(10, TimeUnit.SECONDS)).isTrue();
+            int activeConnections = poolMXBean.getActiveConnections();
+            int awaitingThreads = poolMXBean.getThreadsAwaitingConnection();
+
+            long readStartNanos = System.nanoTime();
+            orderRepository.findSummaries(null, PageRequest.of(0, 20));
+            long readMillis = (System.nanoTime() - readStartNanos) / 1_000_000L;
+            log.info("while {} orders wait on product-service - active connections: {}, awaiting threads: {}, read: {} ms",
+                    CONCURRENT_ORDER_COUNT, activeConnections, awaitingThreads, readMillis);
+
+            assertThat(activeConnections).isZero();
+            assertThat(awaitingThreads).isZero();
+        } finally {
+            productClient.lookupLatch.countDown();
+        }
+
+        for (Future<ResPostOrdersDtoV1> future : futureList) {
+            UUID orderId = UUID.fromString(future.get(10, TimeUnit.SECONDS).getOrder().getId());
+            assertThat(orderRepository.findById(orderId).orElseThrow().getStatus()).isEqualTo(Order.Status.STOCK_PENDING);
+        }
+        List<OutboxMessage> dueMessageList = outboxMessageRepository.findDue(Instant.now(), CONCURRENT_ORDER_COUNT * 2);
+        assertThat(dueMessageList).hasSize(CONCURRENT_ORDER_COUNT);
+        assertThat(dueMessageList).allMatch(message -> OutboxMessage.Type.PRODUCT_RELEASE_STOCK.equals(message.getType()));
+        executorService.shutdownNow();
+    }
+
+    private static ReqPostOrdersDtoV1 createOrderRequest() {
+        return ReqPostOrdersDtoV1.builder()
+                .order(ReqPostOrdersDtoV1.OrderDto.builder()
+                        .orderItemList(List.of(ReqPostOrdersDtoV1.OrderDto.OrderItemDto.builder()
+                                .productId(UUID.randomUUID())
+                                .quantity(1L)
+                                .build()))
+                        .build())
+                .build();
+    }
+
+    @TestConfiguration
+    static class ProductClientConfig {
+
+        @Bean
+        BlockingProductClient productClient() {
+            return new BlockingProductClient();
+        }
+
+        @Bean
+        OrderPlacementServiceV1 orderPlacementServiceV1() {
+            return mock(OrderPlacementServiceV1.class);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    // 모든 주문이 상품 조회 호출에 들어올 때까지 응답을 붙잡아 두는 느린 상품 서비스
+    static class BlockingProductClient implements ProductClientV1 {
+
+        private final CountDownLatch lookupEnteredLatch = new CountDownLatch(CONCURRENT_ORDER_COUNT);
+        private final CountDownLatch lookupLatch = new CountDownLatch(1);
+
+        @Override
+        public ResGetProductsDtoV1 getProducts(Integer page, Integer size, String sort, String name) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ResGetProductDtoV1 getProduct(UUID productId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ResPostInternalProductsBatchDtoV1 getProductsByIds(List<UUID> productIds, String accessJwt) {
+            lookupEnteredLatch.countDown();
+            try {
+                lookupLatch.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(exception);
+            }
+            return ResPostInternalProductsBatchDtoV1.builder()
+                    .productList(productIds.stream()
+                            .map(productId -> ResGetProductDtoV1.ProductDto.builder()
+                                    .id(productId.toString())
+                                    .name("상품-" + productId)
+                                    .price(1_000L)
+                                    .stock(100L)
+                                    .build())
+                            .toList())
+                    .build();
+        }
+
+        @Override
+        public ResPostInternalProductsBatchDtoV1 getProductsByIds(List<UUID> productIds, UUID userId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void postInternalProductsReleaseStock(UUID messageId, ReqPostInternalProductsReleaseStockDtoV1 reqDto, UUID userId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void postInternalProductsReturnStock(UUID messageId, ReqPostInternalProductsReturnStockDtoV1 reqDto, UUID userId) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
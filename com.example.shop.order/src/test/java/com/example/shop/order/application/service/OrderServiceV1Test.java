@@ -0,0 +1,431 @@
+package com.example.shop.order.application.service;
+
+import com.example.shop.order.application.client.ProductClientV1;
+import com.example.shop.order.domain.model.Order;
+import com.example.shop.order.domain.model.OutboxMessage;
+import com.example.shop.order.domain.repository.IdempotencyRecordRepository;
+import com.example.shop.order.domain.repository.OrderRepository;
+import com.example.shop.order.domain.repository.OutboxMessageRepository;
+import com.example.shop.order.domain.repository.ProcessedMessageRepository;
+import com.example.shop.order.domain.vo.OrderPayment;
+import com.example.shop.order.domain.vo.OrderSummary;
+import com.example.shop.order.domain.vo.ScrollCursor;
+import com.example.shop.order.infrastructure.resttemplate.product.dto.request.ReqPostInternalProductsReleaseStockDtoV1;
+import com.example.shop.order.infrastructure.resttemplate.product.dto.request.ReqPostInternalProductsReturnStockDtoV1;
+import com.example.shop.order.infrastructure.resttemplate.product.dto.response.ResGetProductDtoV1;
+import com.example.shop.order.infrastructure.resttemplate.product.dto.response.ResGetProductsDtoV1;
+import com.example.shop.order.infrastructure.resttemplate.product.dto.response.ResPostInternalProductsBatchDtoV1;
+import com.example.shop.order.presentation.advice.OrderError;
+import com.example.shop.order.presentation.advice.OrderException;
+import com.example.shop.order.presentation.dto.request.ReqPostInternalOrderCompleteDtoV1;
+import com.example.shop.order.presentation.dto.request.ReqPostOrdersDtoV1;
+import com.example.shop.order.presentation.dto.response.ResGetOrdersScrollDtoV1;
+import com.example.shop.order.presentation.dto.response.ResPostOrdersDtoV1;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class OrderServiceV1Test {
+
+    private static final long PRODUCT_LOOKUP_DELAY_MILLIS = 300L;
+    private static final int CART_SIZE = 20;
+
+    private OrderRepository orderRepository;
+    private OutboxMessageRepository outboxMessageRepository;
+    private ProcessedMessageRepository processedMessageRepository;
+    private OrderPlacementServiceV1 orderPlacementServiceV1;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        outboxMessageRepository = mock(OutboxMessageRepository.class);
+        processedMessageRepository = mock(ProcessedMessageRepository.class);
+        orderPlacementServiceV1 = mock(OrderPlacementServiceV1.class);
+        given(orderRepository.save(any(Order.class))).willAnswer(invocation -> invocation.getArgument(0));
+        given(outboxMessageRepository.save(any(OutboxMessage.class))).willAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("주문 생성 시 장바구니 크기와 무관하게 상품 조회 1회만 호출하고 재고 차감은 호출하지 않으며 약 1회 왕복 시간 안에 끝난다")
+    void postOrders_fetchesProductsInOneCall() {
+        SlowProductClient productClient = new SlowProductClient(Set.of());
+        OrderServiceV1 orderServiceV1 = createOrderService(productClient);
+        ReqPostOrdersDtoV1 reqDto = createOrderRequest(CART_SIZE);
+
+        long startNanos = System.nanoTime();
+        orderServiceV1.postOrders(UUID.randomUUID(), "access-token", null, reqDto);
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000L;
+
+        assertThat(productClient.readCallCount.get()).isEqualTo(1);
+        assertThat(productClient.releaseStockCallCount.get()).isZero();
+        assertThat(elapsedMillis).isLessThan(PRODUCT_LOOKUP_DELAY_MILLIS * 3);
+    }
+
+    @Test
+    @DisplayName("일괄 조회 결과에 없는 상품이 있으면 ORDER_PRODUCT_CAN_NOT_FOUND 로 실패한다")
+    void postOrders_missingProduct_throwsProductCanNotFound() {
+        ReqPostOrdersDtoV1 reqDto = createOrderRequest(CART_SIZE);
+        UUID missingProductId = reqDto.getOrder().getOrderItemList().get(CART_SIZE - 1).getProductId();
+        OrderServiceV1 orderServiceV1 = createOrderService(new SlowProductClient(Set.of(missingProductId)));
+
+        assertThatThrownBy(() -> orderServiceV1.postOrders(UUID.randomUUID(), "access-token", null, reqDto))
+                .isInstanceOf(OrderException.class)
+                .hasFieldOrPropertyWithValue("error", OrderError.ORDER_PRODUCT_CAN_NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("일반 사용자의 주문 스크롤 조회는 본인 주문만 대상으로 하고, 한 건 더 있으면 다음 커서를 만든다")
+    void getOrdersScroll_ownOrdersWithNextCursor() {
+        UUID authUserId = UUID.randomUUID();
+        List<OrderSummary> orderSummaryList = IntStream.range(0, 3)
+                .mapToObj(i -> OrderSummary.builder()
+                        .id(UUID.randomUUID())
+                        .createdAt(Instant.parse("2025-01-01T00:00:00Z").minusSeconds(i))
+                        .build())
+                .toList();
+        given(orderRepository.findSummaryScroll(eq(authUserId), isNull(), eq(3))).willReturn(orderSummaryList);
+        OrderServiceV1 orderServiceV1 = createOrderService(mock(ProductClientV1.class));
+
+        ResGetOrdersScrollDtoV1 result = orderServiceV1.getOrdersScroll(authUserId, List.of("USER"), null, 2, false);
+
+        assertThat(result.getOrderScroll().getContent()).hasSize(2);
+        assertThat(result.getOrderScroll().getHasNext()).isTrue();
+        assertThat(result.getOrderScroll().getTotalElements()).isNull();
+        ScrollCursor nextCursor = ScrollCursor.decode(result.getOrderScroll().getNextCursor());
+        assertThat(nextCursor.getId()).isEqualTo(orderSummaryList.get(1).getId());
+        assertThat(nextCursor.getCreatedAt()).isEqualTo(orderSummaryList.get(1).getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("해석할 수 없는 커서로 주문 스크롤을 조회하면 ORDER_BAD_REQUEST 로 실패한다")
+    void getOrdersScroll_invalidCursor_throwsBadRequest() {
+        OrderServiceV1 orderServiceV1 = createOrderService(mock(ProductClientV1.class));
+
+        assertThatThrownBy(() -> orderServiceV1.getOrdersScroll(UUID.randomUUID(), List.of("USER"), "not-a-cursor", 20, false))
+                .isInstanceOf(OrderException.class)
+                .hasFieldOrPropertyWithValue("error", OrderError.ORDER_BAD_REQUEST);
+    }
+
+    @Test
+    @DisplayName("주문 생성은 재고 차감을 직접 호출하지 않고 STOCK_PENDING 주문과 재고 차감 아웃박스 메시지를 남긴다")
+    void postOrders_enqueuesReleaseStock() {
+        ProductClientV1 productClient = createProductClient();
+        OrderServiceV1 orderServiceV1 = createOrderService(productClient);
+
+        UUID authUserId = UUID.randomUUID();
+
+        ResPostOrdersDtoV1 result = orderServiceV1.postOrders(authUserId, "access-token", null, createOrderRequest(2));
+
+        assertThat(result.getOrder().getStatus()).isEqualTo(Order.Status.STOCK_PENDING.name());
+        assertThat(savedStatuses(1)).containsExactly(Order.Status.STOCK_PENDING);
+        OutboxMessage outboxMessage = savedOutboxMessage();
+        assertThat(outboxMessage.getType()).isEqualTo(OutboxMessage.Type.PRODUCT_RELEASE_STOCK);
+        assertThat(outboxMessage.getStatus()).isEqualTo(OutboxMessage.Status.PENDING);
+        assertThat(outboxMessage.getUserId()).isEqualTo(authUserId);
+        verify(productClient, never()).postInternalProductsReleaseStock(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("비동기 주문 접수는 상품을 조회하지 않고 PENDING 주문과 ORDER_PLACE 메시지를 저장한 뒤 작업 풀에 넘긴다")
+    void postOrdersAsync_savesPendingOrderAndSubmits() {
+        ProductClientV1 productClient = mock(ProductClientV1.class);
+        UUID messageId = UUID.randomUUID();
+        given(outboxMessageRepository.save(any(OutboxMessage.class))).willAnswer(invocation -> {
+            OutboxMessage outboxMessage = invocation.getArgument(0);
+            return OutboxMessage.builder()
+                    .id(messageId)
+                    .aggregateId(outboxMessage.getAggregateId())
+                    .type(outboxMessage.getType())
+                    .status(outboxMessage.getStatus())
+                    .build();
+        });
+        OrderServiceV1 orderServiceV1 = createOrderService(productClient);
+
+        ResPostOrdersDtoV1 result = orderServiceV1.postOrdersAsync(UUID.randomUUID(), null, createOrderRequest(3));
+
+        assertThat(result.getOrder().getStatus()).isEqualTo(Order.Status.PENDING.name());
+        assertThat(savedStatuses(1)).containsExactly(Order.Status.PENDING);
+        assertThat(savedOutboxMessage().getType()).isEqualTo(OutboxMessage.Type.ORDER_PLACE);
+        verify(orderPlacementServiceV1).submit(messageId);
+        verify(productClient, never()).getProductsByIds(any(), any(String.class));
+        verify(productClient, never()).getProductsByIds(any(), any(UUID.class));
+    }
+
+    @Test
+    @DisplayName("비동기 주문 접수도 중복 상품은 저장 전에 거절한다")
+    void postOrdersAsync_duplicatedProduct_throwsBeforeSave() {
+        UUID productId = UUID.randomUUID();
+        ReqPostOrdersDtoV1 reqDto = ReqPostOrdersDtoV1.builder()
+                .order(ReqPostOrdersDtoV1.OrderDto.builder()
+                        .orderItemList(List.of(
+                                ReqPostOrdersDtoV1.OrderDto.OrderItemDto.builder().productId(productId).quantity(1L).build(),
+                                ReqPostOrdersDtoV1.OrderDto.OrderItemDto.builder().productId(productId).quantity(2L).build()
+                        ))
+                        .build())
+                .build();
+        OrderServiceV1 orderServiceV1 = createOrderService(mock(ProductClientV1.class));
+
+        assertThatThrownBy(() -> orderServiceV1.postOrdersAsync(UUID.randomUUID(), null, reqDto))
+                .isInstanceOf(OrderException.class)
+                .hasFieldOrPropertyWithValue("error", OrderError.ORDER_PRODUCT_DUPLICATED);
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(orderPlacementServiceV1, never()).submit(any());
+    }
+
+    @Test
+    @DisplayName("결제가 끝난 주문을 취소하면 CANCEL_PENDING 으로 바꾸고 결제 취소 아웃박스 메시지를 남긴다")
+    void postOrderCancel_paidOrder_enqueuesPaymentCancel() {
+        UUID authUserId = UUID.randomUUID();
+        UUID orderId = UUID.randomUUID();
+        given(orderRepository.findById(orderId)).willReturn(Optional.of(Order.builder()
+                .id(orderId)
+                .userId(authUserId)
+                .status(Order.Status.PAID)
+                .payment(OrderPayment.builder()
+                        .id(UUID.randomUUID())
+                        .status(OrderPayment.Status.COMPLETED)
+                        .build())
+                .build()));
+        OrderServiceV1 orderServiceV1 = createOrderService(mock(ProductClientV1.class));
+
+        orderServiceV1.postOrderCancel(authUserId, List.of("USER"), orderId);
+
+        assertThat(savedStatuses(1)).containsExactly(Order.Status.CANCEL_PENDING);
+        OutboxMessage outboxMessage = savedOutboxMessage();
+        assertThat(outboxMessage.getAggregateId()).isEqualTo(orderId);
+        assertThat(outboxMessage.getType()).isEqualTo(OutboxMessage.Type.PAYMENT_CANCEL);
+    }
+
+    @Test
+    @DisplayName("결제 전 주문을 취소하면 결제 취소 없이 재고 복원 아웃박스 메시지를 남긴다")
+    void postOrderCancel_createdOrder_enqueuesReturnStock() {
+        UUID authUserId = UUID.randomUUID();
+        UUID orderId = UUID.randomUUID();
+        given(orderRepository.findById(orderId)).willReturn(Optional.of(Order.builder()
+                .id(orderId)
+                .userId(authUserId)
+                .status(Order.Status.CREATED)
+                .build()));
+        OrderServiceV1 orderServiceV1 = createOrderService(mock(ProductClientV1.class));
+
+        orderServiceV1.postOrderCancel(authUserId, List.of("USER"), orderId);
+
+        assertThat(savedOutboxMessage().getType()).isEqualTo(OutboxMessage.Type.PRODUCT_RETURN_STOCK);
+    }
+
+    @Test
+    @DisplayName("보낼 메시지가 남아 있는 CANCEL_PENDING 주문을 다시 취소하면 아무것도 추가하지 않는다")
+    void postOrderCancel_cancelPendingWithPendingMessage_doesNothing() {
+        UUID authUserId = UUID.randomUUID();
+        UUID orderId = UUID.randomUUID();
+        given(orderRepository.findById(orderId)).willReturn(Optional.of(Order.builder()
+                .id(orderId)
+                .userId(authUserId)
+                .status(Order.Status.CANCEL_PENDING)
+                .build()));
+        given(outboxMessageRepository.existsPendingByAggregateId(orderId)).willReturn(true);
+        OrderServiceV1 orderServiceV1 = createOrderService(mock(ProductClientV1.class));
+
+        orderServiceV1.postOrderCancel(authUserId, List.of("USER"), orderId);
+
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(outboxMessageRepository, never()).save(any(OutboxMessage.class));
+    }
+
+    @Test
+    @DisplayName("재고 차감이 끝나지 않은 주문은 취소할 수 없다")
+    void postOrderCancel_stockPending_throwsInvalidStatus() {
+        UUID authUserId = UUID.randomUUID();
+        UUID orderId = UUID.randomUUID();
+        given(orderRepository.findById(orderId)).willReturn(Optional.of(Order.builder()
+                .id(orderId)
+                .userId(authUserId)
+                .status(Order.Status.STOCK_PENDING)
+                .build()));
+        OrderServiceV1 orderServiceV1 = createOrderService(mock(ProductClientV1.class));
+
+        assertThatThrownBy(() -> orderServiceV1.postOrderCancel(authUserId, List.of("USER"), orderId))
+                .isInstanceOf(OrderException.class)
+                .hasFieldOrPropertyWithValue("error", OrderError.ORDER_INVALID_STATUS);
+        verify(outboxMessageRepository, never()).save(any(OutboxMessage.class));
+    }
+
+    @Test
+    @DisplayName("이미 처리한 결제 완료 메시지가 다시 오면 주문을 건드리지 않고 성공으로 끝난다")
+    void postInternalOrdersComplete_processedMessage_skips() {
+        UUID messageId = UUID.randomUUID();
+        given(processedMessageRepository.existsById(messageId)).willReturn(true);
+        OrderServiceV1 orderServiceV1 = createOrderService(mock(ProductClientV1.class));
+
+        orderServiceV1.postInternalOrdersComplete(
+                messageId,
+                UUID.randomUUID(),
+                ReqPostInternalOrderCompleteDtoV1.builder()
+                        .payment(ReqPostInternalOrderCompleteDtoV1.PaymentDto.builder().build())
+                        .build()
+        );
+
+        verify(orderRepository, never()).findById(any());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("재고 차감에 실패한 주문의 결제 완료 요청은 ORDER_NOT_PAYABLE 로 거절해 결제 서비스가 결제를 취소하게 한다")
+    void postInternalOrdersComplete_stockFailed_throwsNotPayable() {
+        UUID orderId = UUID.randomUUID();
+        given(orderRepository.findById(orderId)).willReturn(Optional.of(Order.builder()
+                .id(orderId)
+                .userId(UUID.randomUUID())
+                .status(Order.Status.STOCK_FAILED)
+                .build()));
+        OrderServiceV1 orderServiceV1 = createOrderService(mock(ProductClientV1.class));
+
+        assertThatThrownBy(() -> orderServiceV1.postInternalOrdersComplete(
+                UUID.randomUUID(),
+                orderId,
+                ReqPostInternalOrderCompleteDtoV1.builder()
+                        .payment(ReqPostInternalOrderCompleteDtoV1.PaymentDto.builder().build())
+                        .build()
+        ))
+                .isInstanceOf(OrderException.class)
+                .hasFieldOrPropertyWithValue("error", OrderError.ORDER_NOT_PAYABLE);
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    private OrderServiceV1 createOrderService(ProductClientV1 productClient) {
+        return new OrderServiceV1(
+                orderRepository,
+                outboxMessageRepository,
+                processedMessageRepository,
+                new OrderPricingServiceV1(productClient),
+                orderPlacementServiceV1,
+                new IdempotencyServiceV1(mock(IdempotencyRecordRepository.class), new SimpleMeterRegistry(), 30_000L, 1_000L, 10L, 86_400_000L),
+                TransactionOperations.withoutTransaction()
+        );
+    }
+
+    private OutboxMessage savedOutboxMessage() {
+        ArgumentCaptor<OutboxMessage> outboxMessageCaptor = ArgumentCaptor.forClass(OutboxMessage.class);
+        verify(outboxMessageRepository).save(outboxMessageCaptor.capture());
+        return outboxMessageCaptor.getValue();
+    }
+
+    private List<Order.Status> savedStatuses(int saveCount) {
+        ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
+        verify(orderRepository, times(saveCount)).save(orderCaptor.capture());
+        return orderCaptor.getAllValues().stream()
+                .map(Order::getStatus)
+                .toList();
+    }
+
+    private static ProductClientV1 createProductClient() {
+        ProductClientV1 productClient = mock(ProductClientV1.class);
+        given(productClient.getProductsByIds(any(), any(String.class))).willAnswer(invocation -> {
+            List<UUID> productIds = invocation.getArgument(0);
+            return ResPostInternalProductsBatchDtoV1.builder()
+                    .productList(productIds.stream()
+                            .map(productId -> ResGetProductDtoV1.ProductDto.builder()
+                                    .id(productId.toString())
+                                    .name("상품-" + productId)
+                                    .price(1_000L)
+                                    .stock(100L)
+                                    .build())
+                            .toList())
+                    .build();
+        });
+        return productClient;
+    }
+
+    private static ReqPostOrdersDtoV1 createOrderRequest(int cartSize) {
+        List<ReqPostOrdersDtoV1.OrderDto.OrderItemDto> orderItemList = IntStream.range(0, cartSize)
+                .mapToObj(index -> ReqPostOrdersDtoV1.OrderDto.OrderItemDto.builder()
+                        .productId(UUID.randomUUID())
+                        .quantity(1L)
+                        .build())
+                .toList();
+        return ReqPostOrdersDtoV1.builder()
+                .order(ReqPostOrdersDtoV1.OrderDto.builder()
+                        .orderItemList(orderItemList)
+                        .build())
+                .build();
+    }
+
+    private static class SlowProductClient implements ProductClientV1 {
+
+        private final Set<UUID> missingProductIdSet;
+        private final AtomicInteger readCallCount = new AtomicInteger();
+        private final AtomicInteger releaseStockCallCount = new AtomicInteger();
+
+        private SlowProductClient(Set<UUID> missingProductIdSet) {
+            this.missingProductIdSet = missingProductIdSet;
+        }
+
+        @Override
+        public ResGetProductsDtoV1 getProducts(Integer page, Integer size, String sort, String name) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ResGetProductDtoV1 getProduct(UUID productId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ResPostInternalProductsBatchDtoV1 getProductsByIds(List<UUID> productIds, String accessJwt) {
+            readCallCount.incrementAndGet();
+            try {
+                Thread.sleep(PRODUCT_LOOKUP_DELAY_MILLIS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(exception);
+            }
+            return ResPostInternalProductsBatchDtoV1.builder()
+                    .productList(productIds.stream()
+                            .filter(productId -> !missingProductIdSet.contains(productId))
+                            .map(productId -> ResGetProductDtoV1.ProductDto.builder()
+                                    .id(productId.toString())
+                                    .name("상품-" + productId)
+                                    .price(1_000L)
+                                    .stock(100L)
+                                    .build())
+                            .toList())
+                    .build();
+        }
+
+        @Override
+        public ResPostInternalProductsBatchDtoV1 getProductsByIds(List<UUID> productIds, UUID userId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void postInternalProductsReleaseStock(UUID messageId, ReqPostInternalProductsReleaseStockDtoV1 reqDto, UUID userId) {
+            releaseStockCallCount.incrementAndGet();
+        }
+
+        @Override
+        public void postInternalProductsReturnStock(UUID messageId, ReqPostInternalProductsReturnStockDtoV1 reqDto, UUID userId) {
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.shop.order.application.service;
+
+import com.example.shop.order.application.client.PaymentClientV1;
+import com.example.shop.order.application.client.ProductClientV1;
+import com.example.shop.order.domain.model.Order;
+import com.example.shop.order.domain.model.OrderItem;
+import com.example.shop.order.domain.model.OutboxMessage;
+import com.example.shop.order.domain.repository.OrderRepository;
+import com.example.shop.order.domain.repository.OutboxMessageRepository;
+import com.example.shop.order.domain.vo.OrderPayment;
+import com.example.shop.order.infrastructure.resttemplate.product.dto.response.ResGetProductDtoV1;
+import com.example.shop.order.infrastructure.resttemplate.product.dto.response.ResPostInternalProductsBatchDtoV1;
+import com.example.shop.order.presentation.advice.OrderError;
+import com.example.shop.order.presentation.advice.OrderException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class OutboxRelayServiceV1Test {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long INITIAL_BACKOFF_MILLIS = 1_000L;
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    private OutboxMessageRepository outboxMessageRepository;
+    private OrderRepository orderRepository;
+    private ProductClientV1 productClient;
+    private PaymentClientV1 paymentClient;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelayServiceV1 outboxRelayServiceV1;
+
+    @BeforeEach
+    void setUp() {
+        outboxMessageRepository = mock(OutboxMessageRepository.class);
+        orderRepository = mock(OrderRepository.class);
+        productClient = mock(ProductClientV1.class);
+        paymentClient = mock(PaymentClientV1.class);
+        meterRegistry = new SimpleMeterRegistry();
+        given(outboxMessageRepository.claim(any(), any(), any())).willReturn(true);
+        given(outboxMessageRepository.save(any(OutboxMessage.class))).willAnswer(invocation -> invocation.getArgument(0));
+        given(orderRepository.save(any(Order.class))).willAnswer(invocation -> invocation.getArgument(0));
+        outboxRelayServiceV1 = new OutboxRelayServiceV1(
+                outboxMessageRepository,
+                orderRepository,
+                new OrderPricingServiceV1(productClient),
+                productClient,
+                paymentClient,
+                TransactionOperations.withoutTransaction(),
+                meterRegistry,
+                100,
+                MAX_ATTEMPTS,
+                INITIAL_BACKOFF_MILLIS,
+                60_000L,
+                30_000L,
+                604_800_000L
+        );
+    }
+
+    @Test
+    @DisplayName("재고 차감이 전달되면 메시지를 SENT 로 바꾸고 주문을 CREATED 로 옮긴다")
+    void relay_releaseStockDelivered_marksOrderCreated() {
+        Order order = givenOrder(Order.Status.STOCK_PENDING, null);
+        OutboxMessage message = givenMessage(order.getId(), OutboxMessage.Type.PRODUCT_RELEASE_STOCK, 0);
+
+        outboxRelayServiceV1.relay(message.getId());
+
+        verify(productClient).postInternalProductsReleaseStock(eq(message.getId()), any(), eq(USER_ID));
+        OutboxMessage savedMessage = savedOutboxMessages().get(0);
+        assertThat(savedMessage.getStatus()).isEqualTo(OutboxMessage.Status.SENT);
+        assertThat(savedMessage.getUserId()).isEqualTo(USER_ID);
+        assertThat(savedOrder().getStatus()).isEqualTo(Order.Status.CREATED);
+        assertThat(meterRegistry.get("order.outbox.relay").tag("result", "sent").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("비동기 접수 주문의 가격을 매기면 STOCK_PENDING 으로 옮기고 재고 차감 메시지를 이어서 넣는다")
+    void relay_orderPlaceDelivered_pricesOrderAndEnqueuesReleaseStock() {
+        Order order = givenOrder(Order.Status.PENDING, null);
+        OutboxMessage message = givenMessage(order.getId(), OutboxMessage.Type.ORDER_PLACE, 0);
+        UUID productId = order.getOrderItemList().get(0).getProductId();
+        given(productClient.getProductsByIds(List.of(productId), USER_ID)).willReturn(
+                ResPostInternalProductsBatchDtoV1.builder()
+                        .productList(List.of(ResGetProductDtoV1.ProductDto.builder()
+                                .id(productId.toString())
+                                .name("가격이 매겨진 상품")
+                                .price(2_500L)
+                                .stock(10L)
+                                .build()))
+                        .build()
+        );
+
+        outboxRelayServiceV1.relay(message.getId());
+
+        Order pricedOrder = savedOrder();
+        assertThat(pricedOrder.getStatus()).isEqualTo(Order.Status.STOCK_PENDING);
+        assertThat(pricedOrder.getTotalAmount()).isEqualTo(2_500L);
+        assertThat(pricedOrder.getOrderItemList().get(0).getProductName()).isEqualTo("가격이 매겨진 상품");
+        List<OutboxMessage> savedMessages = savedOutboxMessages();
+        assertThat(savedMessages.get(0).getStatus()).isEqualTo(OutboxMessage.Status.SENT);
+        assertThat(savedMessages.get(1).getType()).isEqualTo(OutboxMessage.Type.PRODUCT_RELEASE_STOCK);
+        assertThat(savedMessages.get(1).getUserId()).isEqualTo(USER_ID);
+    }
+
+    @Test
+    @DisplayName("비동기 접수 주문의 상품이 없으면 다시 계산하지 않고 STOCK_FAILED 로 끝낸다")
+    void relay_orderPlaceProductMissing_marksStockFailed() {
+        Order order = givenOrder(Order.Status.PENDING, null);
+        OutboxMessage message = givenMessage(order.getId(), OutboxMessage.Type.ORDER_PLACE, 0);
+        given(productClient.getProductsByIds(any(), any(UUID.class))).willReturn(
+                ResPostInternalProductsBatchDtoV1.builder()
+                        .productList(List.of())
+                        .build()
+        );
+
+        outboxRelayServiceV1.relay(message.getId());
+
+        assertThat(savedOutboxMessages()).hasSize(1);
+        assertThat(savedOrder().getStatus()).isEqualTo(Order.Status.STOCK_FAILED);
+        assertThat(meterRegistry.get("order.placement.latency").tag("result", "failed").timer().count()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("재고 부족으로 거절되면 다시 보내지 않고 주문을 STOCK_FAILED 로 남긴다")
+    void relay_releaseStockRejected_marksStockFailed() {
+        Order order = givenOrder(Order.Status.STOCK_PENDING, null);
+        OutboxMessage message = givenMessage(order.getId(), OutboxMessage.Type.PRODUCT_RELEASE_STOCK, 0);
+        willThrow(new OrderException(OrderError.ORDER_PRODUCT_STOCK_NOT_ENOUGH))
+                .given(productClient).postInternalProductsReleaseStock(any(), any(), any());
+
+        outboxRelayServiceV1.relay(message.getId());
+
+        List<OutboxMessage> savedMessages = savedOutboxMessages();
+        assertThat(savedMessages).hasSize(1);
+        assertThat(savedMessages.get(0).getStatus()).isEqualTo(OutboxMessage.Status.SENT);
+        assertThat(savedOrder().getStatus()).isEqualTo(Order.Status.STOCK_FAILED);
+    }
+
+    @Test
+    @DisplayName("일시적인 실패면 시도 횟수에 따라 두 배씩 늘린 대기 뒤로 재시도를 미룬다")
+    void relay_transientFailure_schedulesRetryWithBackoff() {
+        Order order = givenOrder(Order.Status.STOCK_PENDING, null);
+        OutboxMessage message = givenMessage(order.getId(), OutboxMessage.Type.PRODUCT_RELEASE_STOCK, 1);
+        willThrow(new OrderException(OrderError.ORDER_PRODUCT_REST_CLIENT_ERROR))
+                .given(productClient).postInternalProductsReleaseStock(any(), any(), any());
+
+        Instant before = Instant.now();
+        outboxRelayServiceV1.relay(message.getId());
+
+        OutboxMessage savedMessage = savedOutboxMessages().get(0);
+        assertThat(savedMessage.getStatus()).isEqualTo(OutboxMessage.Status.PENDING);
+        assertThat(savedMessage.getAttemptCount()).isEqualTo(2);
+        assertThat(savedMessage.getNextAttemptAt()).isAfterOrEqualTo(before.plus(Duration.ofMillis(INITIAL_BACKOFF_MILLIS * 2)));
+        assertThat(savedMessage.getLastError()).isEqualTo(OrderError.ORDER_PRODUCT_REST_CLIENT_ERROR.getErrorCode());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("재고 차감이 재시도를 모두 쓰면 FAILED 로 멈추고 재고 복원 메시지를 이어서 넣는다")
+    void relay_releaseStockExhausted_enqueuesReturnStock() {
+        Order order = givenOrder(Order.Status.STOCK_PENDING, null);
+        OutboxMessage message = givenMessage(order.getId(), OutboxMessage.Type.PRODUCT_RELEASE_STOCK, MAX_ATTEMPTS - 1);
+        willThrow(new OrderException(OrderError.ORDER_PRODUCT_REST_CLIENT_ERROR))
+                .given(productClient).postInternalProductsReleaseStock(any(), any(), any());
+
+        outboxRelayServiceV1.relay(message.getId());
+
+        List<OutboxMessage> savedMessages = savedOutboxMessages();
+        assertThat(savedMessages).hasSize(2);
+        assertThat(savedMessages.get(0).getStatus()).isEqualTo(OutboxMessage.Status.FAILED);
+        assertThat(savedMessages.get(1).getType()).isEqualTo(OutboxMessage.Type.PRODUCT_RETURN_STOCK);
+        assertThat(savedMessages.get(1).getStatus()).isEqualTo(OutboxMessage.Status.PENDING);
+        assertThat(savedMessages.get(1).getAggregateId()).isEqualTo(order.getId());
+    }
+
+    @Test
+    @DisplayName("결제 취소가 전달되면 결제를 취소 상태로 바꾸고 재고 복원 메시지를 넣는다")
+    void relay_paymentCancelDelivered_enqueuesReturnStock() {
+        UUID paymentId = UUID.randomUUID();
+        Order order = givenOrder(Order.Status.CANCEL_PENDING, OrderPayment.builder()
+                .id(paymentId)
+                .status(OrderPayment.Status.COMPLETED)
+                .build());
+        OutboxMessage message = givenMessage(order.getId(), OutboxMessage.Type.PAYMENT_CANCEL, 0);
+
+        outboxRelayServiceV1.relay(message.getId());
+
+        verify(paymentClient).postInternalPaymentsCancel(message.getId(), paymentId, USER_ID);
+        assertThat(savedOrder().getPayment().getStatus()).isEqualTo(OrderPayment.Status.CANCELLED);
+        List<OutboxMessage> savedMessages = savedOutboxMessages();
+        assertThat(savedMessages).hasSize(2);
+        assertThat(savedMessages.get(1).getType()).isEqualTo(OutboxMessage.Type.PRODUCT_RETURN_STOCK);
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 먼저 선점한 메시지는 보내지 않는다")
+    void relay_notClaimed_skips() {
+        UUID outboxMessageId = UUID.randomUUID();
+        given(outboxMessageRepository.claim(eq(outboxMessageId), any(), any())).willReturn(false);
+
+        outboxRelayServiceV1.relay(outboxMessageId);
+
+        verify(outboxMessageRepository, never()).findById(any());
+        verify(productClient, never()).postInternalProductsReleaseStock(any(), any(), any());
+    }
+
+    private Order givenOrder(Order.Status status, OrderPayment orderPayment) {
+        UUID orderId = UUID.randomUUID();
+        Order order = Order.builder()
+                .id(orderId)
+                .userId(UUID.randomUUID())
+                .status(status)
+                .createdAt(Instant.now())
+                .totalAmount(1_000L)
+                .payment(orderPayment)
+                .orderItemList(List.of(OrderItem.builder()
+                        .productId(UUID.randomUUID())
+                        .productName("상품")
+                        .unitPrice(1_000L)
+                        .quantity(1L)
+                        .lineTotal(1_000L)
+                        .build()))
+                .build();
+        given(orderRepository.findById(orderId)).willReturn(Optional.of(order));
+        return order;
+    }
+
+    private OutboxMessage givenMessage(UUID orderId, OutboxMessage.Type type, int attemptCount) {
+        OutboxMessage message = OutboxMessage.builder()
+                .id(UUID.randomUUID())
+                .aggregateId(orderId)
+                .type(type)
+                .status(OutboxMessage.Status.PENDING)
+                .attemptCount(attemptCount)
+                .nextAttemptAt(Instant.now())
+                .userId(USER_ID)
+                .build();
+        given(outboxMessageRepository.findById(message.getId())).willReturn(Optional.of(message));
+        return message;
+    }
+
+    private List<OutboxMessage> savedOutboxMessages() {
+        ArgumentCaptor<OutboxMessage> outboxMessageCaptor = ArgumentCaptor.forClass(OutboxMessage.class);
+        verify(outboxMessageRepository, atLeastOnce()).save(outboxMessageCaptor.capture());
+        return outboxMessageCaptor.getAllValues();
+    }
+
+    private Order savedOrder() {
+        ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
+        verify(orderRepository).save(orderCaptor.capture());
+        return orderCaptor.getValue();
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.shop.order.infrastructure.jpa.repository;
+
+import com.example.shop.order.domain.model.Order;
+import com.example.shop.order.domain.model.OrderItem;
+import com.example.shop.order.domain.repository.OrderRepository;
+import com.example.shop.order.domain.vo.OrderSummary;
+import com.example.shop.order.infrastructure.jpa.config.audit.CustomAuditAware;
+import com.example.shop.order.infrastructure.jpa.config.audit.JpaAuditConfig;
+import com.example.shop.order.infrastructure.jpa.entity.OrderItemEntity;
+import com.example.shop.order.infrastructure.jpa.mapper.OrderMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 주문 상품이 50개씩 든 주문 목록 한 페이지를 읽을 때, 엔티티를 모두 읽어 도메인으로 바꾸던 방식과 요약 조회를 비교한다.
+ * 쿼리 수는 Hibernate 통계로, 할당량은 현재 스레드의 할당 바이트로, 지연 시간은 반복 평균으로 잰다.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:order-summary-benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.default_batch_fetch_size=500"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+        OrderRepositoryImpl.class,
+        OrderMapper.class,
+        JpaAuditConfig.class,
+        CustomAuditAware.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderSummaryQueryBenchmarkTest {
+
+    private static final int ORDER_COUNT = 40;
+    private static final int ITEMS_PER_ORDER = 50;
+    private static final int PAGE_SIZE = 20;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURE_ROUNDS = 50;
+
+    private static final Logger log = LoggerFactory.getLogger(OrderSummaryQueryBenchmarkTest.class);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderJpaRepository orderJpaRepository;
+
+    @Autowired
+    private OrderMapper orderMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        orderJpaRepository.deleteAll();
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            orderRepository.save(createOrder());
+        }
+    }
+
+    @Test
+    @DisplayName("요약 조회는 주문 상품을 읽지 않아 전체 조회보다 쿼리 수와 할당량이 적다")
+    void findSummaries_skipsOrderItems() {
+        Pageable pageable = PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt"));
+        // 요약 조회 이전의 목록 조회: 읽기 전용 트랜잭션 안에서 엔티티와 주문 상품을 모두 읽어 도메인으로 바꾼다
+        TransactionTemplate readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate.setReadOnly(true);
+
+        Measurement fullMeasurement = measure(() -> readOnlyTransactionTemplate.execute(status ->
+                orderJpaRepository.findAll(pageable).map(orderMapper::toDomain)
+        ));
+        Measurement summaryMeasurement = measure(() -> orderRepository.findSummaries(null, pageable));
+
+        log.info("order list page ({} orders x {} items) - full: {}, summary: {}",
+                PAGE_SIZE, ITEMS_PER_ORDER, fullMeasurement, summaryMeasurement);
+
+        // 요약 조회는 목록 쿼리와 전체 건수 쿼리만 보내고 ORDER_ITEM 은 읽지 않는다
+        assertThat(summaryMeasurement.statementCount).isEqualTo(2L);
+        assertThat(summaryMeasurement.orderItemLoadCount).isZero();
+        assertThat(fullMeasurement.statementCount).isGreaterThan(summaryMeasurement.statementCount);
+        assertThat(fullMeasurement.orderItemLoadCount).isEqualTo((long) PAGE_SIZE * ITEMS_PER_ORDER);
+        assertThat(summaryMeasurement.allocatedBytes).isLessThan(fullMeasurement.allocatedBytes / 2);
+
+        Page<OrderSummary> summaryPage = orderRepository.findSummaries(null, pageable);
+        assertThat(summaryPage.getTotalElements()).isEqualTo(ORDER_COUNT);
+        assertThat(summaryPage.getContent()).hasSize(PAGE_SIZE);
+        assertThat(summaryPage.getContent()).allMatch(orderSummary -> orderSummary.getItemCount() == ITEMS_PER_ORDER);
+    }
+
+    // 반복 한 번(목록 한 페이지)당 평균을 돌려준다
+    private Measurement measure(Supplier<Page<?>> pageQuery) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            pageQuery.get();
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long allocatedBytesBefore = currentThreadAllocatedBytes();
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            pageQuery.get();
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long allocatedBytes = currentThreadAllocatedBytes() - allocatedBytesBefore;
+        return new Measurement(
+                statistics.getPrepareStatementCount() / MEASURE_ROUNDS,
+                statistics.getEntityStatistics(OrderItemEntity.class.getName()).getLoadCount() / MEASURE_ROUNDS,
+                allocatedBytes / MEASURE_ROUNDS,
+                elapsedNanos / MEASURE_ROUNDS
+        );
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static Order createOrder() {
+        List<OrderItem> orderItemList = IntStream.range(0, ITEMS_PER_ORDER)
+                .mapToObj(i -> OrderItem.builder()
+                        .productId(UUID.randomUUID())
+                        .productName("상품-" + i)
+                        .unitPrice(1_000L)
+                        .quantity(1L)
+                        .lineTotal(1_000L)
+                        .build())
+                .toList();
+        return Order.builder()
+                .userId(UUID.randomUUID())
+                .status(Order.Status.CREATED)
+                .totalAmount(1_000L * ITEMS_PER_ORDER)
+                .orderItemList(orderItemList)
+                .build();
+    }
+
+    private static class Measurement {
+
+        private final long statementCount;
+        private final long orderItemLoadCount;
+        private final long allocatedBytes;
+        private final long latencyNanos;
+
+        private Measurement(long statementCount, long orderItemLoadCount, long allocatedBytes, long latencyNanos) {
+            this.statementCount = statementCount;
+            this.orderItemLoadCount = orderItemLoadCount;
+            this.allocatedBytes = allocatedBytes;
+            this.latencyNanos = latencyNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "statements=" + statementCount
+                    + ", orderItemLoads=" + orderItemLoadCount
+                    + ", allocated=" + allocatedBytes / 1024 + " KiB"
+                    + ", latency=" + latencyNanos / 1_000 + " us";
+        }
+    }
+}
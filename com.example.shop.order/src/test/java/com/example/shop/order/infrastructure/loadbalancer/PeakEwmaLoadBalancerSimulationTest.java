@@ -0,0 +1,139 @@
+package com.example.shop.order.infrastructure.loadbalancer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.LinkedMultiValueMap;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 가상 시계 위에서 느린 인스턴스 1대 + 정상 인스턴스 4대에 요청을 흘려 보내는 시뮬레이션.
+ * 라운드 로빈은 요청의 20% 가 느린 인스턴스로 가므로 p99 가 느린 인스턴스의 지연 시간이 된다.
+ */
+class PeakEwmaLoadBalancerSimulationTest {
+
+    private static final int REQUEST_COUNT = 20_000;
+    private static final long ARRIVAL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FAST_LATENCY_MILLIS = 10;
+    private static final long SLOW_LATENCY_MILLIS = 250;
+
+    private final List<ServiceInstance> instances = List.of(
+            instance("product-slow"),
+            instance("product-1"),
+            instance("product-2"),
+            instance("product-3"),
+            instance("product-4")
+    );
+
+    @Test
+    @DisplayName("느린 인스턴스가 섞여 있을 때 Peak EWMA 는 라운드 로빈보다 p99 지연 시간이 크게 낮다")
+    void peakEwma_improvesP99_comparedToRoundRobin() {
+        long roundRobinP99 = p99(simulateRoundRobin());
+        long peakEwmaP99 = p99(simulatePeakEwma());
+
+        assertThat(roundRobinP99).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(SLOW_LATENCY_MILLIS / 2));
+        assertThat(peakEwmaP99).isLessThan(TimeUnit.MILLISECONDS.toNanos(FAST_LATENCY_MILLIS * 2));
+    }
+
+    private List<Long> simulateRoundRobin() {
+        Random latencyRandom = new Random(42L);
+        List<Long> latencies = new ArrayList<>(REQUEST_COUNT);
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            latencies.add(latencyOf(instances.get(i % instances.size()), latencyRandom));
+        }
+        return latencies;
+    }
+
+    private List<Long> simulatePeakEwma() {
+        AtomicLong clock = new AtomicLong();
+        PeakEwmaLoadBalancer loadBalancer = new PeakEwmaLoadBalancer(
+                null,
+                Duration.ofSeconds(5),
+                Duration.ofMillis(50),
+                Duration.ofSeconds(1),
+                clock::get
+        );
+        Random latencyRandom = new Random(42L);
+        PriorityQueue<InFlightRequest> inFlightRequests = new PriorityQueue<>(Comparator.comparingLong(InFlightRequest::completesAtNanos));
+        List<Long> latencies = new ArrayList<>(REQUEST_COUNT);
+
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            long now = i * ARRIVAL_INTERVAL_NANOS;
+            completeUntil(loadBalancer, inFlightRequests, clock, now);
+            clock.set(now);
+
+            Request<Object> request = newRequest();
+            Response<ServiceInstance> response = loadBalancer.select(instances);
+            loadBalancer.onStartRequest(request, response);
+
+            long latency = latencyOf(response.getServer(), latencyRandom);
+            latencies.add(latency);
+            inFlightRequests.add(new InFlightRequest(now + latency, request, response));
+        }
+        completeUntil(loadBalancer, inFlightRequests, clock, Long.MAX_VALUE);
+        return latencies;
+    }
+
+    private static void completeUntil(PeakEwmaLoadBalancer loadBalancer, PriorityQueue<InFlightRequest> inFlightRequests,
+                                      AtomicLong clock, long until) {
+        while (!inFlightRequests.isEmpty() && inFlightRequests.peek().completesAtNanos() <= until) {
+            InFlightRequest completed = inFlightRequests.poll();
+            clock.set(completed.completesAtNanos());
+            loadBalancer.onComplete(new CompletionContext<>(
+                    CompletionContext.Status.SUCCESS,
+                    completed.request(),
+                    completed.response()
+            ));
+        }
+    }
+
+    private static long latencyOf(ServiceInstance instance, Random latencyRandom) {
+        long baseMillis = instance.getInstanceId().endsWith("slow") ? SLOW_LATENCY_MILLIS : FAST_LATENCY_MILLIS;
+        double jitter = 0.8 + latencyRandom.nextDouble() * 0.4;
+        return (long) (TimeUnit.MILLISECONDS.toNanos(baseMillis) * jitter);
+    }
+
+    private static long p99(List<Long> latencies) {
+        List<Long> sorted = latencies.stream().sorted().toList();
+        return sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+    }
+
+    private static Request<Object> newRequest() {
+        RequestData requestData = new RequestData(
+                HttpMethod.GET,
+                URI.create("http://product-service/v1/products"),
+                new HttpHeaders(),
+                new LinkedMultiValueMap<>(),
+                new HashMap<>()
+        );
+        return new DefaultRequest<>(new RequestDataContext(requestData));
+    }
+
+    private static ServiceInstance instance(String instanceId) {
+        return new DefaultServiceInstance(instanceId, "product-service", instanceId, 8080, false);
+    }
+
+    private record InFlightRequest(long completesAtNanos, Request<Object> request, Response<ServiceInstance> response) {
+    }
+}
@@ -14,6 +14,7 @@ import com.epages.restdocs.apispec.ResourceSnippetParameters;
 import com.example.shop.order.application.service.OrderServiceV1;
 import com.example.shop.order.domain.vo.OrderPayment;
 import com.example.shop.order.infrastructure.security.auth.CustomUserDetails;
+import com.example.shop.order.infrastructure.security.identity.IdentityTokenCodec;
 import com.example.shop.order.infrastructure.security.jwt.JwtProperties;
 import com.example.shop.order.presentation.dto.request.ReqPostInternalOrderCompleteDtoV1;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -88,6 +89,11 @@ class InternalOrderControllerV1Test {
         JwtProperties jwtProperties() {
             return new JwtProperties("Authorization", "Bearer ", "access-token");
         }
+
+        @Bean
+        IdentityTokenCodec identityTokenCodec() {
+            return new IdentityTokenCodec(false, "X-Shop-Identity", "");
+        }
     }
 
     @Test
@@ -105,7 +111,7 @@ class InternalOrderControllerV1Test {
                 )
                 .build();
 
-        willDoNothing().given(orderServiceV1).postInternalOrdersComplete(eq(orderId), any(ReqPostInternalOrderCompleteDtoV1.class));
+        willDoNothing().given(orderServiceV1).postInternalOrdersComplete(any(), eq(orderId), any(ReqPostInternalOrderCompleteDtoV1.class));
 
         mockMvc.perform(
                         RestDocumentationRequestBuilders.post("/internal/v1/orders/{id}/complete", orderId)
@@ -8,6 +8,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willDoNothing;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -22,6 +23,7 @@ import com.example.shop.order.presentation.dto.request.ReqPostOrdersDtoV1;
 import com.example.shop.order.presentation.dto.response.ResGetOrderDtoV1;
 import com.example.shop.order.presentation.dto.response.ResGetOrdersDtoV1;
 import com.example.shop.order.presentation.dto.response.ResPostOrdersDtoV1;
+import com.example.shop.order.infrastructure.security.identity.IdentityTokenCodec;
 import com.example.shop.order.infrastructure.security.jwt.JwtProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.Instant;
@@ -101,6 +103,11 @@ class OrderControllerV1Test {
         JwtProperties jwtProperties() {
             return new JwtProperties("Authorization", "Bearer ", "access-token");
         }
+
+        @Bean
+        IdentityTokenCodec identityTokenCodec() {
+            return new IdentityTokenCodec(false, "X-Shop-Identity", "");
+        }
     }
 
     @Test
@@ -112,12 +119,14 @@ class OrderControllerV1Test {
                                 .id(UUID.randomUUID().toString())
                                 .status(Order.Status.CREATED)
                                 .totalAmount(10_000L)
+                                .itemCount(2)
                                 .createdAt(Instant.now())
                                 .build(),
                         ResGetOrdersDtoV1.OrderPageDto.OrderDto.builder()
                                 .id(UUID.randomUUID().toString())
                                 .status(Order.Status.PAID)
                                 .totalAmount(20_000L)
+                                .itemCount(1)
                                 .createdAt(Instant.now())
                                 .build()
                 ))
@@ -132,6 +141,7 @@ class OrderControllerV1Test {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data.orderPage.content", hasSize(2)))
                 .andExpect(jsonPath("$.data.orderPage.content[0].status", equalTo("CREATED")))
+                .andExpect(jsonPath("$.data.orderPage.content[0].itemCount", equalTo(2)))
                 .andDo(
                         MockMvcRestDocumentationWrapper.document(
                                 "order-get-orders",
@@ -230,21 +240,26 @@ class OrderControllerV1Test {
                 .order(
                         ResPostOrdersDtoV1.OrderDto.builder()
                                 .id(savedOrderId)
+                                .status("STOCK_PENDING")
                                 .build()
                 )
                 .build();
-        given(orderServiceV1.postOrders(any(), eq(TEST_ACCESS_JWT), any(ReqPostOrdersDtoV1.class))).willReturn(response);
+        String idempotencyKey = "order-create-0001";
+        given(orderServiceV1.postOrders(any(), eq(TEST_ACCESS_JWT), eq(idempotencyKey), any(ReqPostOrdersDtoV1.class)))
+                .willReturn(response);
 
         mockMvc.perform(
                         RestDocumentationRequestBuilders.post("/v1/orders")
                                 .with(user(TEST_USER_DETAILS))
                                 .header(HttpHeaders.AUTHORIZATION, DUMMY_BEARER_TOKEN)
+                                .header("Idempotency-Key", idempotencyKey)
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .content(objectMapper.writeValueAsString(request))
                 )
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message", equalTo("주문이 생성되었습니다.")))
                 .andExpect(jsonPath("$.data.order.id", equalTo(savedOrderId)))
+                .andExpect(jsonPath("$.data.order.status", equalTo("STOCK_PENDING")))
                 .andDo(
                         MockMvcRestDocumentationWrapper.document(
                                 "order-create-order",
@@ -254,7 +269,55 @@ class OrderControllerV1Test {
                                         ResourceSnippetParameters.builder()
                                                 .tag("Order V1")
                                                 .summary("주문 생성")
-                                                .description("새로운 주문을 생성합니다.")
+                                                .description("새로운 주문을 생성합니다. Idempotency-Key 헤더를 보내면 같은 키로 다시 보낸 요청에는 처음 응답을 그대로 돌려줍니다.")
+                                                .build()
+                                )
+                        )
+                );
+    }
+
+    @Test
+    @DisplayName("비동기 주문 접수 요청 시 202 와 함께 PENDING 주문 ID 와 조회 경로를 반환한다")
+    void createOrderAsync_returnsAccepted() throws Exception {
+        ReqPostOrdersDtoV1 request = ReqPostOrdersDtoV1.builder()
+                .order(
+                        ReqPostOrdersDtoV1.OrderDto.builder()
+                                .orderItemList(List.of(
+                                        ReqPostOrdersDtoV1.OrderDto.OrderItemDto.builder()
+                                                .productId(UUID.fromString("aaaaaaaa-aaaa-aaaa-aaaa-aaaaaaaaaaaa"))
+                                                .quantity(1L)
+                                                .build()
+                                ))
+                                .build()
+                )
+                .build();
+
+        UUID savedOrderId = UUID.randomUUID();
+        given(orderServiceV1.postOrdersAsync(any(), any(), any(ReqPostOrdersDtoV1.class)))
+                .willReturn(ResPostOrdersDtoV1.of(savedOrderId, "PENDING"));
+
+        mockMvc.perform(
+                        RestDocumentationRequestBuilders.post("/v1/orders/async")
+                                .with(user(TEST_USER_DETAILS))
+                                .header(HttpHeaders.AUTHORIZATION, DUMMY_BEARER_TOKEN)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request))
+                )
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/v1/orders/" + savedOrderId))
+                .andExpect(jsonPath("$.message", equalTo("주문이 접수되었습니다.")))
+                .andExpect(jsonPath("$.data.order.id", equalTo(savedOrderId.toString())))
+                .andExpect(jsonPath("$.data.order.status", equalTo("PENDING")))
+                .andDo(
+                        MockMvcRestDocumentationWrapper.document(
+                                "order-create-order-async",
+                                Preprocessors.preprocessRequest(Preprocessors.prettyPrint()),
+                                Preprocessors.preprocessResponse(Preprocessors.prettyPrint()),
+                                ResourceDocumentation.resource(
+                                        ResourceSnippetParameters.builder()
+                                                .tag("Order V1")
+                                                .summary("주문 비동기 접수")
+                                                .description("주문을 접수만 하고 202 로 응답합니다. 가격 계산과 재고 차감 결과는 주문 상세 조회의 status 로 확인합니다.")
                                                 .build()
                                 )
                         )
@@ -266,7 +329,7 @@ class OrderControllerV1Test {
     void postOrder_Cancel_returnsSuccessMessage() throws Exception {
         UUID orderId = UUID.fromString("bbbbbbbb-0000-0000-0000-bbbbbbbb0000");
 
-        willDoNothing().given(orderServiceV1).postOrderCancel(any(), anyList(), eq(TEST_ACCESS_JWT), eq(orderId));
+        willDoNothing().given(orderServiceV1).postOrderCancel(any(), anyList(), eq(orderId));
 
         mockMvc.perform(
                         RestDocumentationRequestBuilders.post("/v1/orders/{id}/cancel", orderId)
@@ -274,7 +337,7 @@ class OrderControllerV1Test {
                                 .header(HttpHeaders.AUTHORIZATION, DUMMY_BEARER_TOKEN)
                 )
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.message", equalTo(orderId + " 주문이 취소되었습니다.")))
+                .andExpect(jsonPath("$.message", equalTo(orderId + " 주문 취소가 접수되었습니다.")))
                 .andDo(
                         MockMvcRestDocumentationWrapper.document(
                                 "order-cancel-order",
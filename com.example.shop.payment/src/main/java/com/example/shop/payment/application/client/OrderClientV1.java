@@ -5,5 +5,6 @@ import java.util.UUID;
 
 public interface OrderClientV1 {
 
-    void postInternalOrdersComplete(UUID orderId, ReqPostInternalOrderCompleteDtoV1 reqDto, String accessJwt);
+    // 아웃박스 릴레이가 보낸다. 토큰 대신 요청한 사용자(userId)의 identity 로 인증한다.
+    void postInternalOrdersComplete(UUID messageId, UUID orderId, ReqPostInternalOrderCompleteDtoV1 reqDto, UUID userId);
 }
@@ -0,0 +1,189 @@
+package com.example.shop.payment.application.service;
+
+import com.example.shop.payment.domain.model.IdempotencyRecord;
+import com.example.shop.payment.domain.repository.IdempotencyRecordRepository;
+import com.example.shop.payment.domain.vo.IdempotentResult;
+import com.example.shop.payment.presentation.advice.PaymentError;
+import com.example.shop.payment.presentation.advice.PaymentException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Idempotency-Key 가 붙은 생성 요청을 사용자와 키 단위로 한 번만 처리한다.
+ * 처리가 끝난 키로 다시 오면 저장해 둔 결과를 돌려주고, 처리 중인 키로 동시에 오면 원래 요청이 끝날 때까지 기다렸다가 같은 결과를 돌려준다.
+ * 처리에 실패하면 기록을 지워, 클라이언트가 같은 키로 다시 시도할 수 있게 한다.
+ * 처리하는 동안에는 처리 기한을 계속 늘리므로, 기한이 지나 다른 요청이 이어받는 것은 처리하던 인스턴스가 죽었을 때뿐이다.
+ */
+@Slf4j
+@Service
+public class IdempotencyServiceV1 {
+
+    private static final int IDEMPOTENCY_KEY_MAX_LENGTH = 255;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final MeterRegistry meterRegistry;
+    private final Duration lockDuration;
+    private final Duration waitTimeout;
+    private final long pollIntervalMillis;
+    private final Duration ttl;
+    private final ScheduledExecutorService heartbeatExecutor;
+
+    public IdempotencyServiceV1(
+            IdempotencyRecordRepository idempotencyRecordRepository,
+            MeterRegistry meterRegistry,
+            @Value("${shop.idempotency.lock-millis:30000}") long lockMillis,
+            @Value("${shop.idempotency.wait-timeout-millis:10000}") long waitTimeoutMillis,
+            @Value("${shop.idempotency.poll-interval-millis:50}") long pollIntervalMillis,
+            @Value("${shop.idempotency.ttl-millis:86400000}") long ttlMillis
+    ) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.meterRegistry = meterRegistry;
+        this.lockDuration = Duration.ofMillis(lockMillis);
+        this.waitTimeout = Duration.ofMillis(waitTimeoutMillis);
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.ttl = Duration.ofMillis(ttlMillis);
+        this.heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatExecutor.shutdownNow();
+    }
+
+    public IdempotentResult execute(
+            UUID userId,
+            String idempotencyKey,
+            String request,
+            Supplier<IdempotentResult> action
+    ) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > IDEMPOTENCY_KEY_MAX_LENGTH) {
+            throw new PaymentException(PaymentError.PAYMENT_IDEMPOTENCY_KEY_INVALID);
+        }
+
+        String requestHash = hash(request);
+        Instant deadline = Instant.now().plus(waitTimeout);
+        while (true) {
+            Instant now = Instant.now();
+            Optional<IdempotencyRecord> createdRecord = idempotencyRecordRepository.create(
+                    IdempotencyRecord.inProgress(userId, idempotencyKey, requestHash, now.plus(lockDuration), now.plus(ttl))
+            );
+            if (createdRecord.isPresent()) {
+                return run(createdRecord.get(), action);
+            }
+
+            // 기록이 없으면 앞선 요청이 실패해 지운 것이므로 다음 차례에 다시 저장을 시도한다
+            Optional<IdempotencyRecord> existingRecord = idempotencyRecordRepository.findByUserIdAndIdempotencyKey(
+                    userId,
+                    idempotencyKey
+            );
+            if (existingRecord.isPresent()) {
+                IdempotencyRecord idempotencyRecord = existingRecord.get();
+                if (idempotencyRecord.isExpired(now)) {
+                    idempotencyRecordRepository.deleteById(idempotencyRecord.getId());
+                } else {
+                    if (!idempotencyRecord.matches(requestHash)) {
+                        count("reused");
+                        throw new PaymentException(PaymentError.PAYMENT_IDEMPOTENCY_KEY_REUSED);
+                    }
+                    if (idempotencyRecord.isCompleted()) {
+                        count("replayed");
+                        return IdempotentResult.builder()
+                                .resourceId(idempotencyRecord.getResourceId())
+                                .resourceStatus(idempotencyRecord.getResourceStatus())
+                                .build();
+                    }
+                    // 처리하던 인스턴스가 죽어 기한이 더 늘어나지 않았으면 이어받아 직접 처리한다
+                    if (
+                            idempotencyRecord.isLockExpired(now)
+                                    && idempotencyRecordRepository.takeOver(idempotencyRecord.getId(), now, now.plus(lockDuration))
+                    ) {
+                        return run(idempotencyRecord, action);
+                    }
+                }
+            }
+
+            if (!now.isBefore(deadline)) {
+                count("timeout");
+                throw new PaymentException(PaymentError.PAYMENT_IDEMPOTENCY_IN_PROGRESS);
+            }
+            waitForOriginal();
+        }
+    }
+
+    public int purgeExpired() {
+        return idempotencyRecordRepository.deleteExpiredBefore(Instant.now());
+    }
+
+    private IdempotentResult run(IdempotencyRecord idempotencyRecord, Supplier<IdempotentResult> action) {
+        ScheduledFuture<?> heartbeat = startHeartbeat(idempotencyRecord.getId());
+        IdempotentResult result;
+        try {
+            result = action.get();
+        } catch (RuntimeException exception) {
+            idempotencyRecordRepository.deleteById(idempotencyRecord.getId());
+            throw exception;
+        } finally {
+            heartbeat.cancel(false);
+        }
+        idempotencyRecordRepository.save(idempotencyRecord.complete(result.getResourceId(), result.getResourceStatus()));
+        count("executed");
+        return result;
+    }
+
+    // 하위 서비스 재시도로 처리가 기한보다 길어져도 이어받히지 않도록, 기한의 1/3 마다 기한을 다시 잡는다
+    private ScheduledFuture<?> startHeartbeat(UUID idempotencyRecordId) {
+        long periodMillis = Math.max(1L, lockDuration.toMillis() / 3);
+        return heartbeatExecutor.scheduleAtFixedRate(() -> {
+            try {
+                idempotencyRecordRepository.extendLock(idempotencyRecordId, Instant.now().plus(lockDuration));
+            } catch (RuntimeException exception) {
+                log.warn("idempotency lock extension failed - id: {}", idempotencyRecordId, exception);
+            }
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void waitForOriginal() {
+        try {
+            Thread.sleep(pollIntervalMillis);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new PaymentException(PaymentError.PAYMENT_IDEMPOTENCY_IN_PROGRESS);
+        }
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("payment.idempotency.requests", "result", result).increment();
+    }
+
+    static String hash(String request) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(String.valueOf(request).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
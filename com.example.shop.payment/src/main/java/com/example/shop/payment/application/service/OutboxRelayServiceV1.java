@@ -0,0 +1,201 @@
+package com.example.shop.payment.application.service;
+
+import com.example.shop.payment.application.client.OrderClientV1;
+import com.example.shop.payment.domain.model.OutboxMessage;
+import com.example.shop.payment.domain.model.Payment;
+import com.example.shop.payment.domain.repository.OutboxMessageRepository;
+import com.example.shop.payment.domain.repository.PaymentRepository;
+import com.example.shop.payment.infrastructure.resttemplate.order.dto.request.ReqPostInternalOrderCompleteDtoV1;
+import com.example.shop.payment.presentation.advice.PaymentError;
+import com.example.shop.payment.presentation.advice.PaymentException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * 결제 아웃박스에 쌓인 주문 결제 완료 요청을 주문 서비스로 보낸다.
+ * 주문 서비스는 메시지 ID 로 중복을 걸러내므로, 응답을 받지 못한 메시지는 같은 ID 로 다시 보낸다(최소 한 번 전달).
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class OutboxRelayServiceV1 {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final PaymentRepository paymentRepository;
+    private final OrderClientV1 orderClientV1;
+    private final TransactionOperations transactionOperations;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final Duration retention;
+
+    public OutboxRelayServiceV1(
+            OutboxMessageRepository outboxMessageRepository,
+            PaymentRepository paymentRepository,
+            OrderClientV1 orderClientV1,
+            TransactionOperations transactionOperations,
+            MeterRegistry meterRegistry,
+            @Value("${shop.outbox.relay.batch-size:100}") int batchSize,
+            @Value("${shop.outbox.relay.max-attempts:10}") int maxAttempts,
+            @Value("${shop.outbox.relay.initial-backoff-millis:1000}") long initialBackoffMillis,
+            @Value("${shop.outbox.relay.max-backoff-millis:300000}") long maxBackoffMillis,
+            @Value("${shop.outbox.relay.lease-millis:30000}") long leaseMillis,
+            @Value("${shop.outbox.relay.retention-millis:604800000}") long retentionMillis
+    ) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.paymentRepository = paymentRepository;
+        this.orderClientV1 = orderClientV1;
+        this.transactionOperations = transactionOperations;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofMillis(initialBackoffMillis);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMillis);
+        this.lease = Duration.ofMillis(leaseMillis);
+        this.retention = Duration.ofMillis(retentionMillis);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public List<UUID> findDueMessageIds() {
+        return outboxMessageRepository.findDue(Instant.now(), batchSize)
+                .stream()
+                .map(OutboxMessage::getId)
+                .toList();
+    }
+
+    // 메시지를 선점한 뒤 보낸다. 주문 서비스를 호출하는 동안에는 DB 커넥션을 잡지 않는다.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void relay(UUID outboxMessageId) {
+        Instant now = Instant.now();
+        if (!outboxMessageRepository.claim(outboxMessageId, now, now.plus(lease))) {
+            return;
+        }
+        OutboxMessage message = outboxMessageRepository.findById(outboxMessageId).orElse(null);
+        if (message == null) {
+            return;
+        }
+        Payment payment = paymentRepository.findById(message.getAggregateId()).orElse(null);
+        if (payment == null) {
+            outboxMessageRepository.save(message.markFailed(PaymentError.PAYMENT_NOT_FOUND.name()));
+            count(message, "failed");
+            return;
+        }
+
+        try {
+            orderClientV1.postInternalOrdersComplete(
+                    message.getId(),
+                    payment.getOrderId(),
+                    buildOrderCompleteRequest(payment),
+                    message.getUserId()
+            );
+        } catch (RuntimeException exception) {
+            handleFailure(message, exception);
+            return;
+        }
+
+        outboxMessageRepository.save(message.markSent());
+        count(message, "sent");
+    }
+
+    @Transactional
+    public int purgeSentMessages() {
+        return outboxMessageRepository.deleteSentBefore(Instant.now().minus(retention));
+    }
+
+    private void handleFailure(OutboxMessage message, RuntimeException exception) {
+        String error = describe(exception);
+
+        // 금액 불일치, 이미 취소/결제된 주문, 재고 차감에 실패했거나 취소 중인 주문처럼
+        // 다시 보내도 결과가 같은 경우에는 받은 결제를 취소한다
+        if (isRejected(exception)) {
+            cancelPayment(message, message.markSent());
+            log.info("outbox message rejected, payment cancelled - id: {}, paymentId: {}, error: {}",
+                    message.getId(), message.getAggregateId(), error);
+            count(message, "rejected");
+            return;
+        }
+
+        // 주문이 아직 재고 차감 중(ORDER_INVALID_STATUS)이거나 주문 서비스가 응답하지 않으면 간격을 늘려 다시 보낸다.
+        // 재시도를 모두 쓰면 주문은 결제 완료가 되지 않으므로, 결제만 완료로 남지 않도록 취소한다.
+        int attemptCount = message.getAttemptCount() + 1;
+        if (attemptCount >= maxAttempts) {
+            cancelPayment(message, message.markFailed(error));
+            log.error("outbox message failed after {} attempts, payment cancelled - id: {}, paymentId: {}, error: {}",
+                    attemptCount, message.getId(), message.getAggregateId(), error, exception);
+            count(message, "failed");
+            return;
+        }
+
+        Duration backoff = backoff(attemptCount);
+        outboxMessageRepository.save(message.markRetry(Instant.now().plus(backoff), error));
+        log.warn("outbox message delivery failed, retry in {} ms - id: {}, attempt: {}, error: {}",
+                backoff.toMillis(), message.getId(), attemptCount, error);
+        count(message, "retry");
+    }
+
+    private void cancelPayment(OutboxMessage message, OutboxMessage completedMessage) {
+        transactionOperations.executeWithoutResult(status -> {
+            outboxMessageRepository.save(completedMessage);
+            paymentRepository.findById(message.getAggregateId())
+                    .filter(payment -> Payment.Status.COMPLETED.equals(payment.getStatus()))
+                    .ifPresent(payment -> paymentRepository.save(payment.markCancelled()));
+        });
+    }
+
+    private static boolean isRejected(RuntimeException exception) {
+        return exception instanceof PaymentException paymentException
+                && (PaymentError.PAYMENT_INVALID_AMOUNT.equals(paymentException.getError())
+                || PaymentError.PAYMENT_ORDER_BAD_REQUEST.equals(paymentException.getError()));
+    }
+
+    // 시도 횟수마다 두 배로 늘리되 최대 대기 시간을 넘지 않는다
+    private Duration backoff(int attemptCount) {
+        long multiplier = 1L << Math.min(attemptCount - 1, 20);
+        long backoffMillis = initialBackoff.toMillis() * multiplier;
+        return Duration.ofMillis(Math.min(backoffMillis, maxBackoff.toMillis()));
+    }
+
+    private void count(OutboxMessage message, String result) {
+        Counter.builder("payment.outbox.relay")
+                .description("결제 아웃박스 메시지 전달 결과")
+                .tag("type", message.getType().name())
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String describe(RuntimeException exception) {
+        if (exception instanceof PaymentException paymentException) {
+            return paymentException.getError().getErrorCode();
+        }
+        return exception.getClass().getSimpleName() + ": " + exception.getMessage();
+    }
+
+    private static ReqPostInternalOrderCompleteDtoV1 buildOrderCompleteRequest(Payment payment) {
+        return ReqPostInternalOrderCompleteDtoV1.builder()
+                .payment(
+                        ReqPostInternalOrderCompleteDtoV1.PaymentDto.builder()
+                                .paymentId(payment.getId())
+                                .amount(payment.getAmount())
+                                .method(payment.getMethod())
+                                .build()
+                )
+                .build();
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.shop.payment.application.service;
 
-import com.example.shop.payment.application.client.OrderClientV1;
+import com.example.shop.payment.domain.model.OutboxMessage;
 import com.example.shop.payment.domain.model.Payment;
+import com.example.shop.payment.domain.model.ProcessedMessage;
+import com.example.shop.payment.domain.repository.OutboxMessageRepository;
 import com.example.shop.payment.domain.repository.PaymentRepository;
-import com.example.shop.payment.infrastructure.resttemplate.order.dto.request.ReqPostInternalOrderCompleteDtoV1;
+import com.example.shop.payment.domain.repository.ProcessedMessageRepository;
+import com.example.shop.payment.domain.vo.IdempotentResult;
 import com.example.shop.payment.presentation.advice.PaymentError;
 import com.example.shop.payment.presentation.advice.PaymentException;
 import com.example.shop.payment.presentation.dto.request.ReqPostPaymentsDtoV1;
@@ -12,15 +15,22 @@ import com.example.shop.payment.presentation.dto.response.ResPostPaymentsDtoV1;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class PaymentServiceV1 {
 
+    private static final String PROCESSED_MESSAGE_TYPE_PAYMENT_CANCEL = "PAYMENT_CANCEL";
+
     private final PaymentRepository paymentRepository;
-    private final OrderClientV1 orderClientV1;
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ProcessedMessageRepository processedMessageRepository;
+    private final IdempotencyServiceV1 idempotencyServiceV1;
+    private final TransactionOperations transactionOperations;
 
     public ResGetPaymentDtoV1 getPayment(UUID authUserId, UUID paymentId) {
         Payment payment = findPayment(paymentId);
@@ -28,36 +38,47 @@ public class PaymentServiceV1 {
         return ResGetPaymentDtoV1.of(payment);
     }
 
-    @Transactional
-    public ResPostPaymentsDtoV1 postPayments(UUID authUserId, String accessJwt, ReqPostPaymentsDtoV1 reqDto) {
-        // TODO 결제 처리 로직 추가
-        Payment payment = Payment.builder()
-                .orderId(reqDto.getPayment().getOrderId())
-                .userId(authUserId)
-                .status(Payment.Status.COMPLETED)
-                .method(reqDto.getPayment().getMethod())
-                .amount(reqDto.getPayment().getAmount())
-                .transactionKey(UUID.randomUUID().toString())
-                .build();
-        Payment savedPayment = paymentRepository.save(payment);
-        orderClientV1.postInternalOrdersComplete(
-                savedPayment.getOrderId(),
-                ReqPostInternalOrderCompleteDtoV1.builder()
-                        .payment(
-                                ReqPostInternalOrderCompleteDtoV1.PaymentDto.builder()
-                                        .paymentId(savedPayment.getId())
-                                        .amount(savedPayment.getAmount())
-                                        .method(savedPayment.getMethod())
-                                        .build()
-                        )
-                        .build(),
-                accessJwt
+    // 주문 결제 완료 처리는 결제와 같은 트랜잭션에 남긴 아웃박스 메시지로 릴레이가 보낸다.
+    // Idempotency-Key 기록은 결제 트랜잭션과 따로 저장해야 처리 중인 키를 다른 요청이 바로 볼 수 있으므로, 결제 저장만 트랜잭션으로 묶는다.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResPostPaymentsDtoV1 postPayments(
+            UUID authUserId,
+            String idempotencyKey,
+            ReqPostPaymentsDtoV1 reqDto
+    ) {
+        IdempotentResult result = idempotencyServiceV1.execute(
+                authUserId,
+                idempotencyKey,
+                describeRequest(reqDto),
+                () -> transactionOperations.execute(status -> {
+                    // TODO 결제 처리 로직 추가
+                    Payment payment = Payment.builder()
+                            .orderId(reqDto.getPayment().getOrderId())
+                            .userId(authUserId)
+                            .status(Payment.Status.COMPLETED)
+                            .method(reqDto.getPayment().getMethod())
+                            .amount(reqDto.getPayment().getAmount())
+                            .transactionKey(UUID.randomUUID().toString())
+                            .build();
+                    Payment savedPayment = paymentRepository.save(payment);
+                    outboxMessageRepository.save(
+                            OutboxMessage.pending(savedPayment.getId(), OutboxMessage.Type.ORDER_COMPLETE, authUserId)
+                    );
+                    return IdempotentResult.builder()
+                            .resourceId(savedPayment.getId())
+                            .resourceStatus(savedPayment.getStatus().name())
+                            .build();
+                })
         );
-        return ResPostPaymentsDtoV1.of(savedPayment);
+        return ResPostPaymentsDtoV1.of(result.getResourceId());
     }
 
     @Transactional
-    public void postInternalPaymentsCancel(UUID paymentId) {
+    public void postInternalPaymentsCancel(UUID messageId, UUID paymentId) {
+        // 주문 서비스 릴레이가 응답을 받지 못해 다시 보낸 메시지는 이미 반영했으므로 그대로 성공으로 응답한다
+        if (messageId != null && processedMessageRepository.existsById(messageId)) {
+            return;
+        }
         Payment payment = findPayment(paymentId);
         if (Payment.Status.CANCELLED.equals(payment.getStatus())) {
             throw new PaymentException(PaymentError.PAYMENT_ALREADY_CANCELLED);
@@ -65,6 +86,15 @@ public class PaymentServiceV1 {
         // TODO 결제 취소 처리 로직 추가
         Payment cancelledPayment = payment.markCancelled();
         paymentRepository.save(cancelledPayment);
+        if (messageId != null) {
+            processedMessageRepository.save(ProcessedMessage.of(messageId, PROCESSED_MESSAGE_TYPE_PAYMENT_CANCEL));
+        }
+    }
+
+    // 같은 키로 다른 결제를 보냈는지 가려낼 수 있도록 결제 대상과 수단, 금액을 적는다
+    private String describeRequest(ReqPostPaymentsDtoV1 reqDto) {
+        ReqPostPaymentsDtoV1.PaymentDto reqPayment = reqDto.getPayment();
+        return "POST /v1/payments|" + reqPayment.getOrderId() + '|' + reqPayment.getMethod() + '|' + reqPayment.getAmount();
     }
 
     private Payment findPayment(UUID paymentId) {
@@ -0,0 +1,96 @@
+package com.example.shop.payment.domain.model;
+
+import java.time.Instant;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * 사용자와 Idempotency-Key 한 쌍에 대해 처음 처리한 요청과 그 결과를 남긴다.
+ * 응답 본문 대신 만든 자원의 ID 와 상태만 기록하고, 같은 키로 다시 오면 이 값으로 첫 응답을 그대로 다시 만든다.
+ */
+@Getter
+@Builder
+@EqualsAndHashCode(of = "id")
+public class IdempotencyRecord {
+
+    private final UUID id;
+    private final UUID userId;
+    private final String idempotencyKey;
+    // 같은 키로 다른 요청을 보냈는지 가려내기 위한 요청 본문 해시
+    private final String requestHash;
+    private final Status status;
+    private final UUID resourceId;
+    private final String resourceStatus;
+    // 처리 중인 요청이 이 시각까지 끝나지 않으면 처리하던 인스턴스가 죽었다고 보고 다른 요청이 이어받는다
+    private final Instant lockedUntil;
+    private final Instant expiresAt;
+    private final Instant createdAt;
+    private final String createdBy;
+    private final Instant updatedAt;
+    private final String updatedBy;
+
+    public static IdempotencyRecord inProgress(
+            UUID userId,
+            String idempotencyKey,
+            String requestHash,
+            Instant lockedUntil,
+            Instant expiresAt
+    ) {
+        return IdempotencyRecord.builder()
+                .userId(userId)
+                .idempotencyKey(idempotencyKey)
+                .requestHash(requestHash)
+                .status(Status.IN_PROGRESS)
+                .lockedUntil(lockedUntil)
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    public IdempotencyRecord complete(UUID resourceId, String resourceStatus) {
+        return toBuilder()
+                .status(Status.COMPLETED)
+                .resourceId(resourceId)
+                .resourceStatus(resourceStatus)
+                .build();
+    }
+
+    public boolean isCompleted() {
+        return status == Status.COMPLETED;
+    }
+
+    public boolean matches(String requestHash) {
+        return this.requestHash != null && this.requestHash.equals(requestHash);
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+
+    public boolean isLockExpired(Instant now) {
+        return lockedUntil != null && lockedUntil.isBefore(now);
+    }
+
+    IdempotencyRecordBuilder toBuilder() {
+        return IdempotencyRecord.builder()
+                .id(id)
+                .userId(userId)
+                .idempotencyKey(idempotencyKey)
+                .requestHash(requestHash)
+                .status(status)
+                .resourceId(resourceId)
+                .resourceStatus(resourceStatus)
+                .lockedUntil(lockedUntil)
+                .expiresAt(expiresAt)
+                .createdAt(createdAt)
+                .createdBy(createdBy)
+                .updatedAt(updatedAt)
+                .updatedBy(updatedBy);
+    }
+
+    public enum Status {
+        IN_PROGRESS,
+        COMPLETED
+    }
+}
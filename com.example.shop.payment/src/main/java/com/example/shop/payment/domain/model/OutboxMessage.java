@@ -0,0 +1,106 @@
+package com.example.shop.payment.domain.model;
+
+import java.time.Instant;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * 결제 저장과 같은 트랜잭션에 남기는 주문 서비스 호출 요청.
+ * 호출 내용은 결제(aggregateId)에 모두 있으므로 종류만 기록하고, 릴레이가 보낼 때 결제를 읽어 요청을 만든다.
+ */
+@Getter
+@Builder
+@EqualsAndHashCode(of = "id")
+public class OutboxMessage {
+
+    private static final int LAST_ERROR_MAX_LENGTH = 500;
+
+    private final UUID id;
+    private final UUID aggregateId;
+    private final Type type;
+    private final Status status;
+    private final Integer attemptCount;
+    private final Instant nextAttemptAt;
+    private final String lastError;
+    // 요청한 사용자 ID. 릴레이는 토큰을 보관하지 않고, 보낼 때 이 사용자의 identity 를 새로 서명해 인증한다
+    private final UUID userId;
+    private final Instant createdAt;
+    private final String createdBy;
+    private final Instant updatedAt;
+    private final String updatedBy;
+
+    public static OutboxMessage pending(UUID aggregateId, Type type, UUID userId) {
+        return OutboxMessage.builder()
+                .aggregateId(aggregateId)
+                .type(type)
+                .status(Status.PENDING)
+                .attemptCount(0)
+                .nextAttemptAt(Instant.now())
+                .userId(userId)
+                .build();
+    }
+
+    public int getAttemptCount() {
+        return attemptCount == null ? 0 : attemptCount;
+    }
+
+    public OutboxMessage markSent() {
+        return toBuilder()
+                .status(Status.SENT)
+                .attemptCount(getAttemptCount() + 1)
+                .lastError(null)
+                .build();
+    }
+
+    public OutboxMessage markRetry(Instant nextAttemptAt, String error) {
+        return toBuilder()
+                .attemptCount(getAttemptCount() + 1)
+                .nextAttemptAt(nextAttemptAt)
+                .lastError(truncate(error))
+                .build();
+    }
+
+    public OutboxMessage markFailed(String error) {
+        return toBuilder()
+                .status(Status.FAILED)
+                .attemptCount(getAttemptCount() + 1)
+                .lastError(truncate(error))
+                .build();
+    }
+
+    OutboxMessageBuilder toBuilder() {
+        return OutboxMessage.builder()
+                .id(id)
+                .aggregateId(aggregateId)
+                .type(type)
+                .status(status)
+                .attemptCount(attemptCount)
+                .nextAttemptAt(nextAttemptAt)
+                .lastError(lastError)
+                .userId(userId)
+                .createdAt(createdAt)
+                .createdBy(createdBy)
+                .updatedAt(updatedAt)
+                .updatedBy(updatedBy);
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= LAST_ERROR_MAX_LENGTH) {
+            return error;
+        }
+        return error.substring(0, LAST_ERROR_MAX_LENGTH);
+    }
+
+    public enum Type {
+        ORDER_COMPLETE
+    }
+
+    public enum Status {
+        PENDING,
+        SENT,
+        // 재시도 횟수를 모두 쓴 메시지. 자동으로 다시 보내지 않는다
+        FAILED
+    }
+}
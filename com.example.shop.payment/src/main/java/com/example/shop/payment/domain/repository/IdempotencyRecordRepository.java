@@ -0,0 +1,33 @@
+package com.example.shop.payment.domain.repository;
+
+import com.example.shop.payment.domain.model.IdempotencyRecord;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface IdempotencyRecordRepository {
+
+    /**
+     * 사용자와 키가 같은 기록이 없을 때만 저장한다.
+     * 동시에 같은 키로 들어온 요청 중 한 쪽만 저장된 기록을 받고, 나머지는 빈 값을 받아 먼저 저장된 기록을 기다린다.
+     */
+    Optional<IdempotencyRecord> create(IdempotencyRecord idempotencyRecord);
+
+    IdempotencyRecord save(IdempotencyRecord idempotencyRecord);
+
+    Optional<IdempotencyRecord> findByUserIdAndIdempotencyKey(UUID userId, String idempotencyKey);
+
+    /**
+     * 처리 기한(lockedUntil)이 지난 IN_PROGRESS 기록의 기한을 새로 잡아 이어받는다. 이어받은 쪽만 true 를 받는다.
+     */
+    boolean takeOver(UUID idempotencyRecordId, Instant now, Instant lockedUntil);
+
+    /**
+     * 처리 중인 IN_PROGRESS 기록의 처리 기한을 늘린다. 처리하는 동안 주기적으로 불러, 느리지만 살아 있는 요청을 다른 요청이 이어받지 않게 한다.
+     */
+    boolean extendLock(UUID idempotencyRecordId, Instant lockedUntil);
+
+    void deleteById(UUID idempotencyRecordId);
+
+    int deleteExpiredBefore(Instant now);
+}
@@ -0,0 +1,18 @@
+package com.example.shop.payment.domain.vo;
+
+import java.util.UUID;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * 멱등 처리한 요청이 만든 자원. 같은 Idempotency-Key 로 다시 온 요청에는 이 값으로 첫 응답을 다시 만들어 돌려준다.
+ */
+@Getter
+@Builder
+@EqualsAndHashCode(of = {"resourceId", "resourceStatus"})
+public class IdempotentResult {
+
+    private final UUID resourceId;
+    private final String resourceStatus;
+}
@@ -0,0 +1,89 @@
+package com.example.shop.payment.infrastructure.jpa.entity;
+
+import com.example.shop.global.infrastructure.jpa.entity.BaseEntity;
+import com.example.shop.payment.domain.model.OutboxMessage;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicInsert;
+import org.hibernate.annotations.DynamicUpdate;
+
+@Entity
+@Table(
+        name = "PAYMENT_OUTBOX",
+        indexes = {
+                @Index(name = "idx_payment_outbox_status_next_attempt", columnList = "status, next_attempt_at"),
+                @Index(name = "idx_payment_outbox_aggregate_id", columnList = "aggregate_id")
+        }
+)
+@DynamicInsert
+@DynamicUpdate
+@Getter
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@EqualsAndHashCode(of = "id", callSuper = false)
+public class OutboxMessageEntity extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(name = "id", nullable = false, unique = true)
+    private UUID id;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private UUID aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 32)
+    private OutboxMessage.Type type;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private OutboxMessage.Status status = OutboxMessage.Status.PENDING;
+
+    @Builder.Default
+    @Column(name = "attempt_count", nullable = false)
+    private Integer attemptCount = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "user_id")
+    private UUID userId;
+
+    public void updateDelivery(
+            OutboxMessage.Status status,
+            Integer attemptCount,
+            Instant nextAttemptAt,
+            String lastError
+    ) {
+        if (status != null) {
+            this.status = status;
+        }
+        if (attemptCount != null) {
+            this.attemptCount = attemptCount;
+        }
+        if (nextAttemptAt != null) {
+            this.nextAttemptAt = nextAttemptAt;
+        }
+        this.lastError = lastError;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.shop.payment.infrastructure.jpa.mapper;
+
+import com.example.shop.payment.domain.model.IdempotencyRecord;
+import com.example.shop.payment.infrastructure.jpa.entity.IdempotencyRecordEntity;
+import org.springframework.stereotype.Component;
+
+@Component
+public class IdempotencyRecordMapper {
+
+    public IdempotencyRecord toDomain(IdempotencyRecordEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        return IdempotencyRecord.builder()
+                .id(entity.getId())
+                .userId(entity.getUserId())
+                .idempotencyKey(entity.getIdempotencyKey())
+                .requestHash(entity.getRequestHash())
+                .status(entity.getStatus())
+                .resourceId(entity.getResourceId())
+                .resourceStatus(entity.getResourceStatus())
+                .lockedUntil(entity.getLockedUntil())
+                .expiresAt(entity.getExpiresAt())
+                .createdAt(entity.getCreatedAt())
+                .createdBy(entity.getCreatedBy())
+                .updatedAt(entity.getUpdatedAt())
+                .updatedBy(entity.getUpdatedBy())
+                .build();
+    }
+
+    public IdempotencyRecordEntity toEntity(IdempotencyRecord domain) {
+        if (domain == null) {
+            return null;
+        }
+        return IdempotencyRecordEntity.builder()
+                .id(domain.getId())
+                .userId(domain.getUserId())
+                .idempotencyKey(domain.getIdempotencyKey())
+                .requestHash(domain.getRequestHash())
+                .status(domain.getStatus())
+                .resourceId(domain.getResourceId())
+                .resourceStatus(domain.getResourceStatus())
+                .lockedUntil(domain.getLockedUntil())
+                .expiresAt(domain.getExpiresAt())
+                .build();
+    }
+
+    public void applyDomain(IdempotencyRecord domain, IdempotencyRecordEntity entity) {
+        if (domain == null || entity == null) {
+            return;
+        }
+        if (domain.isCompleted()) {
+            entity.complete(domain.getResourceId(), domain.getResourceStatus());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.shop.payment.infrastructure.jpa.mapper;
+
+import com.example.shop.payment.domain.model.OutboxMessage;
+import com.example.shop.payment.infrastructure.jpa.entity.OutboxMessageEntity;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OutboxMessageMapper {
+
+    public OutboxMessage toDomain(OutboxMessageEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        return OutboxMessage.builder()
+                .id(entity.getId())
+                .aggregateId(entity.getAggregateId())
+                .type(entity.getType())
+                .status(entity.getStatus())
+                .attemptCount(entity.getAttemptCount())
+                .nextAttemptAt(entity.getNextAttemptAt())
+                .lastError(entity.getLastError())
+                .userId(entity.getUserId())
+                .createdAt(entity.getCreatedAt())
+                .createdBy(entity.getCreatedBy())
+                .updatedAt(entity.getUpdatedAt())
+                .updatedBy(entity.getUpdatedBy())
+                .build();
+    }
+
+    public OutboxMessageEntity toEntity(OutboxMessage domain) {
+        if (domain == null) {
+            return null;
+        }
+        return OutboxMessageEntity.builder()
+                .id(domain.getId())
+                .aggregateId(domain.getAggregateId())
+                .type(domain.getType())
+                .status(domain.getStatus())
+                .attemptCount(domain.getAttemptCount())
+                .nextAttemptAt(domain.getNextAttemptAt())
+                .lastError(domain.getLastError())
+                .userId(domain.getUserId())
+                .build();
+    }
+
+    public void applyDomain(OutboxMessage domain, OutboxMessageEntity entity) {
+        if (domain == null || entity == null) {
+            return;
+        }
+        entity.updateDelivery(
+                domain.getStatus(),
+                domain.getAttemptCount(),
+                domain.getNextAttemptAt(),
+                domain.getLastError()
+        );
+    }
+}
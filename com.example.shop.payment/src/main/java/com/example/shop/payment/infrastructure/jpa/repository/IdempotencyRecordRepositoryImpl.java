@@ -0,0 +1,91 @@
+package com.example.shop.payment.infrastructure.jpa.repository;
+
+import com.example.shop.payment.domain.model.IdempotencyRecord;
+import com.example.shop.payment.domain.repository.IdempotencyRecordRepository;
+import com.example.shop.payment.infrastructure.jpa.entity.IdempotencyRecordEntity;
+import com.example.shop.payment.infrastructure.jpa.mapper.IdempotencyRecordMapper;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class IdempotencyRecordRepositoryImpl implements IdempotencyRecordRepository {
+
+    private final IdempotencyRecordJpaRepository idempotencyRecordJpaRepository;
+    private final IdempotencyRecordMapper idempotencyRecordMapper;
+
+    // 유니크 제약 위반으로 롤백된 트랜잭션에 호출한 쪽이 묶이지 않도록, 저장은 자체 트랜잭션에서 끝내고 저장 여부만 돌려준다
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<IdempotencyRecord> create(IdempotencyRecord idempotencyRecord) {
+        try {
+            IdempotencyRecordEntity saved = idempotencyRecordJpaRepository.saveAndFlush(
+                    idempotencyRecordMapper.toEntity(idempotencyRecord)
+            );
+            return Optional.of(idempotencyRecordMapper.toDomain(saved));
+        } catch (DataIntegrityViolationException exception) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    @Transactional
+    public IdempotencyRecord save(IdempotencyRecord idempotencyRecord) {
+        IdempotencyRecordEntity entity;
+        if (idempotencyRecord.getId() != null) {
+            entity = idempotencyRecordJpaRepository.findById(idempotencyRecord.getId())
+                    .orElseGet(() -> idempotencyRecordMapper.toEntity(idempotencyRecord));
+            idempotencyRecordMapper.applyDomain(idempotencyRecord, entity);
+        } else {
+            entity = idempotencyRecordMapper.toEntity(idempotencyRecord);
+        }
+        IdempotencyRecordEntity saved = idempotencyRecordJpaRepository.save(entity);
+        return idempotencyRecordMapper.toDomain(saved);
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> findByUserIdAndIdempotencyKey(UUID userId, String idempotencyKey) {
+        return idempotencyRecordJpaRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey)
+                .map(idempotencyRecordMapper::toDomain);
+    }
+
+    @Override
+    @Transactional
+    public boolean takeOver(UUID idempotencyRecordId, Instant now, Instant lockedUntil) {
+        return idempotencyRecordJpaRepository.takeOver(
+                idempotencyRecordId,
+                IdempotencyRecord.Status.IN_PROGRESS,
+                now,
+                lockedUntil
+        ) == 1;
+    }
+
+    @Override
+    @Transactional
+    public boolean extendLock(UUID idempotencyRecordId, Instant lockedUntil) {
+        return idempotencyRecordJpaRepository.extendLock(
+                idempotencyRecordId,
+                IdempotencyRecord.Status.IN_PROGRESS,
+                lockedUntil
+        ) == 1;
+    }
+
+    @Override
+    @Transactional
+    public void deleteById(UUID idempotencyRecordId) {
+        idempotencyRecordJpaRepository.deleteById(idempotencyRecordId);
+    }
+
+    @Override
+    @Transactional
+    public int deleteExpiredBefore(Instant now) {
+        return idempotencyRecordJpaRepository.deleteByExpiresAtLessThanEqual(now);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.shop.payment.infrastructure.jpa.repository;
+
+import com.example.shop.payment.domain.model.OutboxMessage;
+import com.example.shop.payment.infrastructure.jpa.entity.OutboxMessageEntity;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface OutboxMessageJpaRepository extends JpaRepository<OutboxMessageEntity, UUID> {
+
+    List<OutboxMessageEntity> findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(
+            OutboxMessage.Status status,
+            Instant now,
+            Limit limit
+    );
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update OutboxMessageEntity m
+            set m.nextAttemptAt = :leaseUntil
+            where m.id = :id
+              and m.status = :status
+              and m.nextAttemptAt <= :now
+            """)
+    int claim(
+            @Param("id") UUID id,
+            @Param("status") OutboxMessage.Status status,
+            @Param("now") Instant now,
+            @Param("leaseUntil") Instant leaseUntil
+    );
+
+    @Modifying
+    @Query("delete from OutboxMessageEntity m where m.status = :status and m.updatedAt < :before")
+    int deleteByStatusAndUpdatedAtBefore(@Param("status") OutboxMessage.Status status, @Param("before") Instant before);
+}
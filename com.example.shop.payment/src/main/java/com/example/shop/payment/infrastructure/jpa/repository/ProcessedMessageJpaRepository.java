@@ -0,0 +1,8 @@
+package com.example.shop.payment.infrastructure.jpa.repository;
+
+import com.example.shop.payment.infrastructure.jpa.entity.ProcessedMessageEntity;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ProcessedMessageJpaRepository extends JpaRepository<ProcessedMessageEntity, UUID> {
+}
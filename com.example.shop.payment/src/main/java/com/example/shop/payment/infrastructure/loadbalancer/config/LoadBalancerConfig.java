@@ -0,0 +1,9 @@
+package com.example.shop.payment.infrastructure.loadbalancer.config;
+
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@LoadBalancerClients(defaultConfiguration = PeakEwmaLoadBalancerClientConfig.class)
+public class LoadBalancerConfig {
+}
@@ -3,6 +3,7 @@ package com.example.shop.payment.infrastructure.resttemplate.order.client;
 import com.example.shop.global.presentation.dto.ApiDto;
 import com.example.shop.payment.application.client.OrderClientV1;
 import com.example.shop.payment.infrastructure.resttemplate.order.dto.request.ReqPostInternalOrderCompleteDtoV1;
+import com.example.shop.payment.infrastructure.security.identity.ServiceIdentityIssuer;
 import com.example.shop.payment.presentation.advice.PaymentError;
 import com.example.shop.payment.presentation.advice.PaymentException;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -32,6 +33,9 @@ public class OrderRestTemplateClientV1 implements OrderClientV1 {
     private static final String POST_INTERNAL_ORDER_COMPLETE_URL =
             ORDER_SERVICE_BASE_URL + "/internal/v1/orders/{orderId}/complete";
 
+    // 주문 서비스는 같은 메시지 ID 로 다시 온 결제 완료 요청을 처리 완료로 응답한다
+    private static final String MESSAGE_ID_HEADER = "X-Message-Id";
+
     private static final ParameterizedTypeReference<ApiDto<Object>> API_DTO_OBJECT_TYPE =
             new ParameterizedTypeReference<>() {
             };
@@ -40,11 +44,13 @@ public class OrderRestTemplateClientV1 implements OrderClientV1 {
 
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final ServiceIdentityIssuer serviceIdentityIssuer;
 
     @Override
     @CircuitBreaker(name = "orderComplete")
-    public void postInternalOrdersComplete(UUID orderId, ReqPostInternalOrderCompleteDtoV1 reqDto, String accessJwt) {
-        HttpHeaders headers = createJsonHeadersWithAuthorization(accessJwt);
+    public void postInternalOrdersComplete(UUID messageId, UUID orderId, ReqPostInternalOrderCompleteDtoV1 reqDto, UUID userId) {
+        HttpHeaders headers = createJsonHeadersWithIdentity(userId);
+        headers.set(MESSAGE_ID_HEADER, messageId.toString());
         HttpEntity<ReqPostInternalOrderCompleteDtoV1> httpEntity = new HttpEntity<>(reqDto, headers);
 
         try {
@@ -81,7 +87,8 @@ public class OrderRestTemplateClientV1 implements OrderClientV1 {
                 }
                 if ("ORDER_NOT_FOUND".equals(errorCode)
                         || "ORDER_ALREADY_CANCELLED".equals(errorCode)
-                        || "ORDER_ALREADY_PAID".equals(errorCode)) {
+                        || "ORDER_ALREADY_PAID".equals(errorCode)
+                        || "ORDER_NOT_PAYABLE".equals(errorCode)) {
                     return new PaymentException(PaymentError.PAYMENT_ORDER_BAD_REQUEST);
                 }
             } catch (Exception parseException) {
@@ -91,13 +98,14 @@ public class OrderRestTemplateClientV1 implements OrderClientV1 {
         return new PaymentException(PaymentError.PAYMENT_ORDER_HTTP_ERROR);
     }
 
-    private HttpHeaders createJsonHeadersWithAuthorization(String accessJwt) {
-        if (!StringUtils.hasText(accessJwt)) {
+    // 아웃박스 릴레이 호출은 보관한 토큰 없이, 요청한 사용자의 identity 를 새로 서명해 보낸다
+    private HttpHeaders createJsonHeadersWithIdentity(UUID userId) {
+        if (userId == null) {
             throw new PaymentException(PaymentError.PAYMENT_FORBIDDEN);
         }
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(accessJwt);
+        headers.set(serviceIdentityIssuer.getHeaderName(), serviceIdentityIssuer.issue(userId));
         return headers;
     }
 }
@@ -0,0 +1,31 @@
+package com.example.shop.payment.infrastructure.scheduler;
+
+import com.example.shop.payment.application.service.IdempotencyServiceV1;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 보관 기간이 지난 Idempotency-Key 기록을 지운다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyRecordPurger {
+
+    private final IdempotencyServiceV1 idempotencyServiceV1;
+
+    @Scheduled(
+            initialDelayString = "${shop.idempotency.purge-interval-millis:3600000}",
+            fixedDelayString = "${shop.idempotency.purge-interval-millis:3600000}"
+    )
+    public void purge() {
+        try {
+            int deletedCount = idempotencyServiceV1.purgeExpired();
+            log.info("expired idempotency records purged - count: {}", deletedCount);
+        } catch (RuntimeException exception) {
+            log.warn("idempotency record purge failed", exception);
+        }
+    }
+}
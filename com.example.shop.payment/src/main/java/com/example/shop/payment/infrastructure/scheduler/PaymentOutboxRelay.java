@@ -0,0 +1,51 @@
+package com.example.shop.payment.infrastructure.scheduler;
+
+import com.example.shop.payment.application.service.OutboxRelayServiceV1;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 결제 아웃박스에서 보낼 시각이 된 메시지를 배치 단위로 꺼내 보낸다.
+ * 배치가 가득 차 있으면 밀린 메시지가 더 있다고 보고 바로 다음 배치를 이어서 비운다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PaymentOutboxRelay {
+
+    private final OutboxRelayServiceV1 outboxRelayServiceV1;
+
+    @Scheduled(fixedDelayString = "${shop.outbox.relay.interval-millis:500}")
+    public void relay() {
+        List<UUID> messageIdList;
+        do {
+            messageIdList = outboxRelayServiceV1.findDueMessageIds();
+            for (UUID messageId : messageIdList) {
+                try {
+                    outboxRelayServiceV1.relay(messageId);
+                } catch (RuntimeException exception) {
+                    // 선점 기간이 지나면 다음 주기에 다시 보낸다
+                    log.warn("outbox relay failed - messageId: {}", messageId, exception);
+                }
+            }
+        } while (messageIdList.size() >= outboxRelayServiceV1.getBatchSize());
+    }
+
+    @Scheduled(
+            initialDelayString = "${shop.outbox.relay.purge-interval-millis:3600000}",
+            fixedDelayString = "${shop.outbox.relay.purge-interval-millis:3600000}"
+    )
+    public void purge() {
+        try {
+            int deletedCount = outboxRelayServiceV1.purgeSentMessages();
+            log.info("sent outbox messages purged - count: {}", deletedCount);
+        } catch (RuntimeException exception) {
+            log.warn("outbox purge failed", exception);
+        }
+    }
+
+}
@@ -3,6 +3,7 @@ package com.example.shop.payment.infrastructure.security.filter;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.example.shop.payment.infrastructure.security.auth.CustomUserDetails;
+import com.example.shop.payment.infrastructure.security.identity.IdentityTokenCodec;
 import com.example.shop.payment.infrastructure.security.jwt.JwtProperties;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -23,9 +24,17 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
 
     private final JwtProperties jwtProperties;
 
+    private final IdentityTokenCodec identityTokenCodec;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
+        String identityToken = identityTokenCodec.isEnabled() ? request.getHeader(identityTokenCodec.getHeaderName()) : null;
+        if (StringUtils.hasText(identityToken)) {
+            doFilterWithIdentity(request, response, filterChain, identityToken);
+            return;
+        }
+
         String authorizationHeader = request.getHeader(jwtProperties.getAccessHeaderName());
         if (!StringUtils.hasText(authorizationHeader) || !authorizationHeader.startsWith(jwtProperties.getHeaderPrefix())) {
             filterChain.doFilter(request, response);
@@ -43,9 +52,36 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
             return;
         }
 
+        authenticate(userDetails);
+        filterChain.doFilter(request, response);
+    }
+
+    // 게이트웨이가 서명한 identity 헤더가 있으면 JWT 디코딩 없이 MAC 확인만으로 인증한다.
+    private void doFilterWithIdentity(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                                      String identityToken) throws ServletException, IOException {
+        CustomUserDetails userDetails;
+        try {
+            userDetails = CustomUserDetails.of(identityTokenCodec.decode(identityToken), identityToken, resolveAccessJwt(request));
+        } catch (RuntimeException exception) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        authenticate(userDetails);
+        filterChain.doFilter(request, response);
+    }
+
+    private String resolveAccessJwt(HttpServletRequest request) {
+        String authorizationHeader = request.getHeader(jwtProperties.getAccessHeaderName());
+        if (!StringUtils.hasText(authorizationHeader) || !authorizationHeader.startsWith(jwtProperties.getHeaderPrefix())) {
+            return null;
+        }
+        return authorizationHeader.substring(jwtProperties.getHeaderPrefix().length());
+    }
+
+    private static void authenticate(CustomUserDetails userDetails) {
         UsernamePasswordAuthenticationToken authenticationToken =
                 new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
         SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-        filterChain.doFilter(request, response);
     }
 }
@@ -0,0 +1,22 @@
+package com.example.shop.payment.infrastructure.security.identity;
+
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class TrustedIdentity {
+
+    private final String userId;
+    private final List<String> roleList;
+    private final long issuedAtEpochSecond;
+    private final long expiresAtEpochSecond;
+
+    public List<String> getRoleList() {
+        return roleList == null ? List.of() : roleList;
+    }
+}
@@ -17,7 +17,10 @@ public enum PaymentError implements GlobalError {
     PAYMENT_ALREADY_CANCELLED(HttpStatus.BAD_REQUEST, "이미 취소된 결제입니다."),
     PAYMENT_ORDER_BAD_REQUEST(HttpStatus.BAD_REQUEST, "결제와 관련된 주문 정보가 올바르지 않습니다."),
     PAYMENT_ORDER_HTTP_ERROR(HttpStatus.BAD_REQUEST, "주문 서비스 HTTP 응답 처리 중 오류가 발생했습니다."),
-    PAYMENT_ORDER_REST_CLIENT_ERROR(HttpStatus.BAD_REQUEST, "주문 서비스 호출 중 오류가 발생했습니다.");
+    PAYMENT_ORDER_REST_CLIENT_ERROR(HttpStatus.BAD_REQUEST, "주문 서비스 호출 중 오류가 발생했습니다."),
+    PAYMENT_IDEMPOTENCY_KEY_INVALID(HttpStatus.BAD_REQUEST, "Idempotency-Key 형식이 올바르지 않습니다."),
+    PAYMENT_IDEMPOTENCY_KEY_REUSED(HttpStatus.UNPROCESSABLE_ENTITY, "같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다."),
+    PAYMENT_IDEMPOTENCY_IN_PROGRESS(HttpStatus.CONFLICT, "같은 Idempotency-Key 의 요청을 처리하고 있습니다. 잠시 후 다시 시도해주세요.");
 
     private final HttpStatus httpStatus;
     private final String errorMessage;
@@ -7,6 +7,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -19,9 +20,10 @@ public class InternalPaymentControllerV1 {
 
     @PostMapping("/{id}/cancel")
     public ResponseEntity<ApiDto<Object>> postInternalPaymentsCancel(
+            @RequestHeader(value = "X-Message-Id", required = false) UUID messageId,
             @PathVariable("id") UUID paymentId
     ) {
-        paymentServiceV1.postInternalPaymentsCancel(paymentId);
+        paymentServiceV1.postInternalPaymentsCancel(messageId, paymentId);
         return ResponseEntity.ok(
                 ApiDto.builder()
                         .message(paymentId + " 결제가 취소되었습니다.")
@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -41,11 +42,12 @@ public class PaymentControllerV1 {
     @PostMapping
     public ResponseEntity<ApiDto<ResPostPaymentsDtoV1>> postPayments(
             @AuthenticationPrincipal CustomUserDetails customUserDetails,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody @Valid ReqPostPaymentsDtoV1 reqDto
     ) {
         ResPostPaymentsDtoV1 responseBody = paymentServiceV1.postPayments(
                 customUserDetails.getId(),
-                customUserDetails.getAccessJwt(),
+                idempotencyKey,
                 reqDto
         );
         return ResponseEntity.ok(
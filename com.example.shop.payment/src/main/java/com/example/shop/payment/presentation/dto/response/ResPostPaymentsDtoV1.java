@@ -2,6 +2,7 @@ package com.example.shop.payment.presentation.dto.response;
 
 import com.example.shop.payment.domain.model.Payment;
 import java.time.Instant;
+import java.util.UUID;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -17,6 +18,17 @@ public class ResPostPaymentsDtoV1 {
                 .build();
     }
 
+    // Idempotency-Key 재응답은 저장해 둔 결제 ID 로 만든다
+    public static ResPostPaymentsDtoV1 of(UUID paymentId) {
+        return ResPostPaymentsDtoV1.builder()
+                .payment(
+                        PaymentDto.builder()
+                                .id(String.valueOf(paymentId))
+                                .build()
+                )
+                .build();
+    }
+
     @Getter
     @Builder
     public static class PaymentDto {
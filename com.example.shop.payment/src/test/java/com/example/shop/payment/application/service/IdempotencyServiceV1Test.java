@@ -0,0 +1,215 @@
+package com.example.shop.payment.application.service;
+
+import com.example.shop.payment.domain.model.IdempotencyRecord;
+import com.example.shop.payment.domain.repository.IdempotencyRecordRepository;
+import com.example.shop.payment.domain.vo.IdempotentResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyServiceV1Test {
+
+    private static final long LOCK_MILLIS = 150L;
+    private static final long WAIT_TIMEOUT_MILLIS = 2_000L;
+    private static final long POLL_INTERVAL_MILLIS = 10L;
+    private static final long TTL_MILLIS = 86_400_000L;
+
+    private InMemoryIdempotencyRecordRepository idempotencyRecordRepository;
+    private IdempotencyServiceV1 idempotencyServiceV1;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyRecordRepository = new InMemoryIdempotencyRecordRepository();
+        idempotencyServiceV1 = new IdempotencyServiceV1(
+                idempotencyRecordRepository,
+                new SimpleMeterRegistry(),
+                LOCK_MILLIS,
+                WAIT_TIMEOUT_MILLIS,
+                POLL_INTERVAL_MILLIS,
+                TTL_MILLIS
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        idempotencyServiceV1.shutdown();
+    }
+
+    @Test
+    @DisplayName("원래 요청이 처리 기한보다 오래 걸려도 살아 있으면 기다리던 요청이 이어받지 않고 같은 결과를 받는다")
+    void execute_slowOriginal_isNotTakenOver() throws Exception {
+        UUID userId = UUID.randomUUID();
+        AtomicInteger actionCount = new AtomicInteger();
+        CountDownLatch originalStartedLatch = new CountDownLatch(1);
+        // 주문 서비스 호출 재시도로 처리 기한(150ms)의 네 배가 걸리는 결제 요청
+        Supplier<IdempotentResult> slowAction = () -> {
+            actionCount.incrementAndGet();
+            originalStartedLatch.countDown();
+            sleep(600L);
+            return IdempotentResult.builder()
+                    .resourceId(UUID.randomUUID())
+                    .resourceStatus("COMPLETED")
+                    .build();
+        };
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<IdempotentResult> original = executorService.submit(() ->
+                    idempotencyServiceV1.execute(userId, "key-1", "request", slowAction));
+            assertThat(originalStartedLatch.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<IdempotentResult> duplicate = executorService.submit(() ->
+                    idempotencyServiceV1.execute(userId, "key-1", "request", slowAction));
+
+            IdempotentResult originalResult = original.get(5, TimeUnit.SECONDS);
+            IdempotentResult duplicateResult = duplicate.get(5, TimeUnit.SECONDS);
+
+            assertThat(actionCount.get()).isEqualTo(1);
+            assertThat(duplicateResult).isEqualTo(originalResult);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("처리하던 인스턴스가 죽어 처리 기한이 지난 IN_PROGRESS 기록은 이어받아 처리한다")
+    void execute_lockExpired_takesOverAndRuns() {
+        UUID userId = UUID.randomUUID();
+        Instant now = Instant.now();
+        idempotencyRecordRepository.create(
+                IdempotencyRecord.inProgress(
+                        userId,
+                        "key-1",
+                        IdempotencyServiceV1.hash("request"),
+                        now.minusSeconds(1),
+                        now.plusSeconds(3600)
+                )
+        );
+        AtomicInteger actionCount = new AtomicInteger();
+
+        idempotencyServiceV1.execute(userId, "key-1", "request", countingAction(actionCount));
+
+        assertThat(actionCount.get()).isEqualTo(1);
+        assertThat(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(userId, "key-1"))
+                .get()
+                .extracting(IdempotencyRecord::isCompleted)
+                .isEqualTo(true);
+    }
+
+    private static Supplier<IdempotentResult> countingAction(AtomicInteger actionCount) {
+        return () -> {
+            actionCount.incrementAndGet();
+            return IdempotentResult.builder()
+                    .resourceId(UUID.randomUUID())
+                    .resourceStatus("COMPLETED")
+                    .build();
+        };
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    // 사용자와 키의 유니크 제약을 흉내 내는 저장소
+    static class InMemoryIdempotencyRecordRepository implements IdempotencyRecordRepository {
+
+        private final Map<String, IdempotencyRecord> recordMap = new ConcurrentHashMap<>();
+
+        @Override
+        public synchronized Optional<IdempotencyRecord> create(IdempotencyRecord idempotencyRecord) {
+            String key = keyOf(idempotencyRecord.getUserId(), idempotencyRecord.getIdempotencyKey());
+            if (recordMap.containsKey(key)) {
+                return Optional.empty();
+            }
+            IdempotencyRecord saved = copy(idempotencyRecord, UUID.randomUUID(), idempotencyRecord.getLockedUntil());
+            recordMap.put(key, saved);
+            return Optional.of(saved);
+        }
+
+        @Override
+        public synchronized IdempotencyRecord save(IdempotencyRecord idempotencyRecord) {
+            recordMap.put(keyOf(idempotencyRecord.getUserId(), idempotencyRecord.getIdempotencyKey()), idempotencyRecord);
+            return idempotencyRecord;
+        }
+
+        @Override
+        public synchronized Optional<IdempotencyRecord> findByUserIdAndIdempotencyKey(UUID userId, String idempotencyKey) {
+            return Optional.ofNullable(recordMap.get(keyOf(userId, idempotencyKey)));
+        }
+
+        @Override
+        public synchronized boolean takeOver(UUID idempotencyRecordId, Instant now, Instant lockedUntil) {
+            for (Map.Entry<String, IdempotencyRecord> entry : recordMap.entrySet()) {
+                IdempotencyRecord idempotencyRecord = entry.getValue();
+                if (idempotencyRecord.getId().equals(idempotencyRecordId) && idempotencyRecord.isLockExpired(now)) {
+                    entry.setValue(copy(idempotencyRecord, idempotencyRecordId, lockedUntil));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public synchronized boolean extendLock(UUID idempotencyRecordId, Instant lockedUntil) {
+            for (Map.Entry<String, IdempotencyRecord> entry : recordMap.entrySet()) {
+                IdempotencyRecord idempotencyRecord = entry.getValue();
+                if (idempotencyRecord.getId().equals(idempotencyRecordId) && !idempotencyRecord.isCompleted()) {
+                    entry.setValue(copy(idempotencyRecord, idempotencyRecordId, lockedUntil));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public synchronized void deleteById(UUID idempotencyRecordId) {
+            recordMap.values().removeIf(idempotencyRecord -> idempotencyRecord.getId().equals(idempotencyRecordId));
+        }
+
+        @Override
+        public synchronized int deleteExpiredBefore(Instant now) {
+            int before = recordMap.size();
+            recordMap.values().removeIf(idempotencyRecord -> idempotencyRecord.isExpired(now));
+            return before - recordMap.size();
+        }
+
+        private static String keyOf(UUID userId, String idempotencyKey) {
+            return userId + ":" + idempotencyKey;
+        }
+
+        private static IdempotencyRecord copy(IdempotencyRecord idempotencyRecord, UUID id, Instant lockedUntil) {
+            return IdempotencyRecord.builder()
+                    .id(id)
+                    .userId(idempotencyRecord.getUserId())
+                    .idempotencyKey(idempotencyRecord.getIdempotencyKey())
+                    .requestHash(idempotencyRecord.getRequestHash())
+                    .status(idempotencyRecord.getStatus())
+                    .resourceId(idempotencyRecord.getResourceId())
+                    .resourceStatus(idempotencyRecord.getResourceStatus())
+                    .lockedUntil(lockedUntil)
+                    .expiresAt(idempotencyRecord.getExpiresAt())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.shop.payment.application.service;
+
+import com.example.shop.payment.application.client.OrderClientV1;
+import com.example.shop.payment.domain.model.OutboxMessage;
+import com.example.shop.payment.domain.model.Payment;
+import com.example.shop.payment.domain.repository.OutboxMessageRepository;
+import com.example.shop.payment.domain.repository.PaymentRepository;
+import com.example.shop.payment.presentation.advice.PaymentError;
+import com.example.shop.payment.presentation.advice.PaymentException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class OutboxRelayServiceV1Test {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private OutboxMessageRepository outboxMessageRepository;
+    private PaymentRepository paymentRepository;
+    private OrderClientV1 orderClient;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelayServiceV1 outboxRelayServiceV1;
+
+    @BeforeEach
+    void setUp() {
+        outboxMessageRepository = mock(OutboxMessageRepository.class);
+        paymentRepository = mock(PaymentRepository.class);
+        orderClient = mock(OrderClientV1.class);
+        meterRegistry = new SimpleMeterRegistry();
+        given(outboxMessageRepository.claim(any(), any(), any())).willReturn(true);
+        given(outboxMessageRepository.save(any(OutboxMessage.class))).willAnswer(invocation -> invocation.getArgument(0));
+        given(paymentRepository.save(any(Payment.class))).willAnswer(invocation -> invocation.getArgument(0));
+        outboxRelayServiceV1 = new OutboxRelayServiceV1(
+                outboxMessageRepository,
+                paymentRepository,
+                orderClient,
+                TransactionOperations.withoutTransaction(),
+                meterRegistry,
+                100,
+                MAX_ATTEMPTS,
+                1_000L,
+                60_000L,
+                30_000L,
+                604_800_000L
+        );
+    }
+
+    @Test
+    @DisplayName("재고 차감에 실패했거나 취소 중인 주문이라 거절되면 다시 보내지 않고 결제를 취소한다")
+    void relay_orderNotPayable_cancelsPayment() {
+        Payment payment = givenPayment();
+        OutboxMessage message = givenMessage(payment.getId(), 0);
+        willThrow(new PaymentException(PaymentError.PAYMENT_ORDER_BAD_REQUEST))
+                .given(orderClient).postInternalOrdersComplete(any(), any(), any(), any());
+
+        outboxRelayServiceV1.relay(message.getId());
+
+        assertThat(savedOutboxMessages().get(0).getStatus()).isEqualTo(OutboxMessage.Status.SENT);
+        assertThat(savedPayment().getStatus()).isEqualTo(Payment.Status.CANCELLED);
+        assertThat(meterRegistry.get("payment.outbox.relay").tag("result", "rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("주문이 아직 재고 차감 중이면 결제를 그대로 두고 다시 보낸다")
+    void relay_orderStockPending_schedulesRetry() {
+        Payment payment = givenPayment();
+        OutboxMessage message = givenMessage(payment.getId(), 0);
+        willThrow(new PaymentException(PaymentError.PAYMENT_ORDER_HTTP_ERROR))
+                .given(orderClient).postInternalOrdersComplete(any(), any(), any(), any());
+
+        outboxRelayServiceV1.relay(message.getId());
+
+        OutboxMessage savedMessage = savedOutboxMessages().get(0);
+        assertThat(savedMessage.getStatus()).isEqualTo(OutboxMessage.Status.PENDING);
+        assertThat(savedMessage.getAttemptCount()).isEqualTo(1);
+        verify(paymentRepository, never()).save(any(Payment.class));
+    }
+
+    @Test
+    @DisplayName("재시도를 모두 쓰면 FAILED 로 멈추고 결제가 완료로 남지 않도록 취소한다")
+    void relay_exhausted_cancelsPayment() {
+        Payment payment = givenPayment();
+        OutboxMessage message = givenMessage(payment.getId(), MAX_ATTEMPTS - 1);
+        willThrow(new PaymentException(PaymentError.PAYMENT_ORDER_HTTP_ERROR))
+                .given(orderClient).postInternalOrdersComplete(any(), any(), any(), any());
+
+        outboxRelayServiceV1.relay(message.getId());
+
+        assertThat(savedOutboxMessages().get(0).getStatus()).isEqualTo(OutboxMessage.Status.FAILED);
+        assertThat(savedPayment().getStatus()).isEqualTo(Payment.Status.CANCELLED);
+        assertThat(meterRegistry.get("payment.outbox.relay").tag("result", "failed").counter().count()).isEqualTo(1.0);
+    }
+
+    private Payment givenPayment() {
+        Payment payment = Payment.builder()
+                .id(UUID.randomUUID())
+                .orderId(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .status(Payment.Status.COMPLETED)
+                .method(Payment.Method.CARD)
+                .amount(1_000L)
+                .build();
+        given(paymentRepository.findById(payment.getId())).willReturn(Optional.of(payment));
+        return payment;
+    }
+
+    private OutboxMessage givenMessage(UUID paymentId, int attemptCount) {
+        OutboxMessage message = OutboxMessage.builder()
+                .id(UUID.randomUUID())
+                .aggregateId(paymentId)
+                .type(OutboxMessage.Type.ORDER_COMPLETE)
+                .status(OutboxMessage.Status.PENDING)
+                .attemptCount(attemptCount)
+                .nextAttemptAt(Instant.now())
+                .userId(UUID.randomUUID())
+                .build();
+        given(outboxMessageRepository.findById(message.getId())).willReturn(Optional.of(message));
+        return message;
+    }
+
+    private List<OutboxMessage> savedOutboxMessages() {
+        ArgumentCaptor<OutboxMessage> outboxMessageCaptor = ArgumentCaptor.forClass(OutboxMessage.class);
+        verify(outboxMessageRepository, atLeastOnce()).save(outboxMessageCaptor.capture());
+        return outboxMessageCaptor.getAllValues();
+    }
+
+    private Payment savedPayment() {
+        ArgumentCaptor<Payment> paymentCaptor = ArgumentCaptor.forClass(Payment.class);
+        verify(paymentRepository).save(paymentCaptor.capture());
+        return paymentCaptor.getValue();
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.shop.payment.presentation.controller;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.willDoNothing;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
@@ -12,6 +13,7 @@ import com.epages.restdocs.apispec.ResourceDocumentation;
 import com.epages.restdocs.apispec.ResourceSnippetParameters;
 import com.example.shop.payment.application.service.PaymentServiceV1;
 import com.example.shop.payment.infrastructure.security.auth.CustomUserDetails;
+import com.example.shop.payment.infrastructure.security.identity.IdentityTokenCodec;
 import com.example.shop.payment.infrastructure.security.jwt.JwtProperties;
 import java.util.List;
 import java.util.UUID;
@@ -83,6 +85,11 @@ class InternalPaymentControllerV1Test {
         JwtProperties jwtProperties() {
             return new JwtProperties("Authorization", "Bearer ", "access-token");
         }
+
+        @Bean
+        IdentityTokenCodec identityTokenCodec() {
+            return new IdentityTokenCodec(false, "X-Shop-Identity", "");
+        }
     }
 
     @Test
@@ -90,7 +97,7 @@ class InternalPaymentControllerV1Test {
     void postInternalPaymentsCancel_returnsMessage() throws Exception {
         UUID paymentId = UUID.fromString("aaaaaaaa-aaaa-aaaa-aaaa-aaaaaaaaaaaa");
 
-        willDoNothing().given(paymentServiceV1).postInternalPaymentsCancel(eq(paymentId));
+        willDoNothing().given(paymentServiceV1).postInternalPaymentsCancel(any(), eq(paymentId));
 
         mockMvc.perform(
                         RestDocumentationRequestBuilders.post("/internal/v1/payments/{id}/cancel", paymentId)
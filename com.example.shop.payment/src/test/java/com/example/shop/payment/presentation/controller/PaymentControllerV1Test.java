@@ -15,6 +15,7 @@ import com.epages.restdocs.apispec.SimpleType;
 import com.example.shop.payment.application.service.PaymentServiceV1;
 import com.example.shop.payment.domain.model.Payment;
 import com.example.shop.payment.infrastructure.security.auth.CustomUserDetails;
+import com.example.shop.payment.infrastructure.security.identity.IdentityTokenCodec;
 import com.example.shop.payment.infrastructure.security.jwt.JwtProperties;
 import com.example.shop.payment.presentation.dto.request.ReqPostPaymentsDtoV1;
 import com.example.shop.payment.presentation.dto.response.ResGetPaymentDtoV1;
@@ -95,6 +96,11 @@ class PaymentControllerV1Test {
         JwtProperties jwtProperties() {
             return new JwtProperties("Authorization", "Bearer ", "access-token");
         }
+
+        @Bean
+        IdentityTokenCodec identityTokenCodec() {
+            return new IdentityTokenCodec(false, "X-Shop-Identity", "");
+        }
     }
 
     @Test
@@ -165,12 +171,15 @@ class PaymentControllerV1Test {
                                 .build()
                 )
                 .build();
-        given(paymentServiceV1.postPayments(any(), eq(TEST_ACCESS_JWT), any(ReqPostPaymentsDtoV1.class))).willReturn(response);
+        String idempotencyKey = "payment-create-0001";
+        given(paymentServiceV1.postPayments(any(), eq(idempotencyKey), any(ReqPostPaymentsDtoV1.class)))
+                .willReturn(response);
 
         mockMvc.perform(
                         RestDocumentationRequestBuilders.post("/v1/payments")
                                 .with(user(TEST_USER_DETAILS))
                                 .header(HttpHeaders.AUTHORIZATION, DUMMY_BEARER_TOKEN)
+                                .header("Idempotency-Key", idempotencyKey)
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .content(objectMapper.writeValueAsString(request))
                 )
@@ -186,7 +195,7 @@ class PaymentControllerV1Test {
                                         ResourceSnippetParameters.builder()
                                                 .tag("Payment V1")
                                                 .summary("결제 생성")
-                                                .description("주문에 대해 결제를 생성합니다.")
+                                                .description("주문에 대해 결제를 생성합니다. Idempotency-Key 헤더를 보내면 같은 키로 다시 보낸 요청에는 처음 응답을 그대로 돌려줍니다.")
                                                 .build()
                                 )
                         )
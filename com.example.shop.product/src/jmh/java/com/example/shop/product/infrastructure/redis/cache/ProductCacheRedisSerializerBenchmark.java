@@ -0,0 +1,94 @@
+package com.example.shop.product.infrastructure.redis.cache;
+
+import com.example.shop.product.presentation.dto.response.ResGetProductDtoV1;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProductCacheRedisSerializerBenchmark {
+
+    private ProductCacheRedisSerializer productCacheRedisSerializer;
+    private GenericJackson2JsonRedisSerializer genericJackson2JsonRedisSerializer;
+    private ResGetProductDtoV1 product;
+    private byte[] binaryPayload;
+    private byte[] jsonPayload;
+
+    @Setup
+    public void setUp() {
+        productCacheRedisSerializer = new ProductCacheRedisSerializer();
+        // DTO 에 기본 생성자가 없으므로 생성자 파라미터 이름으로 역직렬화하도록 모듈을 등록한다
+        genericJackson2JsonRedisSerializer = GenericJackson2JsonRedisSerializer.builder()
+                .objectMapper(new ObjectMapper().registerModule(new ParameterNamesModule()))
+                .defaultTyping(true)
+                .build();
+        // 저장 크기는 ProductCacheRedisSerializerTest 에서 같은 값으로 확인한다
+        product = ResGetProductDtoV1.builder()
+                .product(ResGetProductDtoV1.ProductDto.builder()
+                        .id(UUID.randomUUID().toString())
+                        .name("한정판 스니커즈 270mm")
+                        .price(189_000L)
+                        .stock(1_250L)
+                        .build())
+                .build();
+        binaryPayload = productCacheRedisSerializer.serialize(product);
+        jsonPayload = genericJackson2JsonRedisSerializer.serialize(product);
+    }
+
+    @Benchmark
+    public byte[] binaryEncode(PayloadSize payloadSize) {
+        byte[] payload = productCacheRedisSerializer.serialize(product);
+        payloadSize.binaryBytes = payload.length;
+        return payload;
+    }
+
+    @Benchmark
+    public ResGetProductDtoV1 binaryDecode() {
+        return productCacheRedisSerializer.deserialize(binaryPayload);
+    }
+
+    @Benchmark
+    public byte[] genericJsonEncode(PayloadSize payloadSize) {
+        byte[] payload = genericJackson2JsonRedisSerializer.serialize(product);
+        payloadSize.jsonBytes = payload.length;
+        return payload;
+    }
+
+    @Benchmark
+    public Object genericJsonDecode() {
+        return genericJackson2JsonRedisSerializer.deserialize(jsonPayload);
+    }
+
+    /**
+     * 인코딩 결과의 바이트 수를 JMH 결과에 보조 지표(binaryBytes, jsonBytes)로 함께 남긴다.
+     * 값은 반복마다 마지막 인코딩 크기로 덮어쓰므로 단일 스레드에서는 요청 하나의 저장 크기와 같다.
+     * 두 인코드 결과를 한 줄씩 비교할 수 있도록 반복 시작 시 양쪽 크기를 모두 채워 둔다.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        public long binaryBytes;
+        public long jsonBytes;
+
+        @Setup(Level.Iteration)
+        public void setUp(ProductCacheRedisSerializerBenchmark benchmark) {
+            binaryBytes = benchmark.binaryPayload.length;
+            jsonBytes = benchmark.jsonPayload.length;
+        }
+    }
+}
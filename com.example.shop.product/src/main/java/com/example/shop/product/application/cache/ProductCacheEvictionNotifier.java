@@ -0,0 +1,9 @@
+package com.example.shop.product.application.cache;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ProductCacheEvictionNotifier {
+
+    void notifyEvicted(List<UUID> productIds);
+}
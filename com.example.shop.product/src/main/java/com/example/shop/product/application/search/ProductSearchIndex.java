@@ -0,0 +1,21 @@
+package com.example.shop.product.application.search;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+public interface ProductSearchIndex {
+
+    // 이름에 query 가 포함된 상품 ID 를 순위대로 반환한다. 인덱스가 준비되지 않았거나 답할 수 없는 질의면 비어 있다.
+    Optional<List<UUID>> search(String query);
+
+    // 트랜잭션 안에서 호출하면 커밋된 뒤에 반영한다.
+    void put(UUID productId, String name);
+
+    void remove(UUID productId);
+
+    // loader 가 읽어 온 전체 상품 이름으로 인덱스를 새로 만든다. 읽는 동안 들어온 변경은 새 인덱스에도 반영된다.
+    int rebuild(Supplier<Map<UUID, String>> loader);
+}
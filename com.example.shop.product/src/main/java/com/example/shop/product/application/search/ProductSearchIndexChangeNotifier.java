@@ -0,0 +1,9 @@
+package com.example.shop.product.application.search;
+
+import java.util.UUID;
+
+public interface ProductSearchIndexChangeNotifier {
+
+    // 다른 인스턴스의 검색 인덱스에도 반영되도록 알린다. 트랜잭션 안에서 호출하면 커밋된 뒤에 알린다.
+    void notifyPut(UUID productId, String name);
+}
@@ -1,56 +1,143 @@
 package com.example.shop.product.application.service;
 
+import com.example.shop.product.application.cache.ProductCacheEvictionNotifier;
+import com.example.shop.product.application.search.ProductSearchIndex;
+import com.example.shop.product.application.search.ProductSearchIndexChangeNotifier;
+import com.example.shop.product.application.stock.ProductStockReservation;
+import com.example.shop.product.application.stock.ProductStockReservationResult;
 import com.example.shop.product.domain.model.Product;
+import com.example.shop.product.domain.model.ProcessedMessage;
 import com.example.shop.product.domain.model.ProductStock;
 import com.example.shop.product.domain.model.ProductStock.ProductStockType;
+import com.example.shop.product.domain.repository.ProcessedMessageRepository;
 import com.example.shop.product.domain.repository.ProductRepository;
+import com.example.shop.product.domain.repository.ProductStockBucketRepository;
 import com.example.shop.product.domain.repository.ProductStockRepository;
+import com.example.shop.product.domain.vo.ScrollCursor;
+import com.example.shop.product.infrastructure.constants.CacheNames;
 import com.example.shop.product.presentation.advice.ProductError;
 import com.example.shop.product.presentation.advice.ProductException;
+import com.example.shop.product.presentation.dto.request.ReqPostInternalProductsBatchDtoV1;
 import com.example.shop.product.presentation.dto.request.ReqPostInternalProductsReleaseStockDtoV1;
 import com.example.shop.product.presentation.dto.request.ReqPostInternalProductsReturnStockDtoV1;
 import com.example.shop.product.presentation.dto.request.ReqPostProductsDtoV1;
+import com.example.shop.product.presentation.dto.request.ReqPutProductStockBucketsDtoV1;
+import com.example.shop.product.presentation.dto.request.ReqPutProductStockReservationDtoV1;
 import com.example.shop.product.presentation.dto.response.ResGetProductDtoV1;
 import com.example.shop.product.presentation.dto.response.ResGetProductsDtoV1;
+import com.example.shop.product.presentation.dto.response.ResGetProductsScrollDtoV1;
+import com.example.shop.product.presentation.dto.response.ResPostInternalProductsBatchDtoV1;
 import com.example.shop.product.presentation.dto.response.ResPostProductsDtoV1;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ProductServiceV1 {
 
-    private static final String PRODUCT_CACHE_NAME = "product";
+    private static final int SCROLL_MAX_SIZE = 100;
+    private static final int SEARCH_INDEX_LOAD_SIZE = 1000;
+    private static final String PROCESSED_MESSAGE_TYPE_RELEASE_STOCK = "PRODUCT_RELEASE_STOCK";
+    private static final String PROCESSED_MESSAGE_TYPE_RETURN_STOCK = "PRODUCT_RETURN_STOCK";
 
     private final ProductRepository productRepository;
     private final ProductStockRepository productStockRepository;
+    private final ProductStockBucketRepository productStockBucketRepository;
+    private final ProcessedMessageRepository processedMessageRepository;
 
     private final CacheManager cacheManager;
+    private final ProductCacheEvictionNotifier productCacheEvictionNotifier;
+    private final ProductStockReservation productStockReservation;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductSearchIndexChangeNotifier productSearchIndexChangeNotifier;
+    private final MeterRegistry meterRegistry;
 
     public ResGetProductsDtoV1 getProducts(Pageable pageable, String name) {
         String normalizedName = normalize(name);
-        Page<Product> productPage = normalizedName == null
-                ? productRepository.findAll(pageable)
+        if (normalizedName == null) {
+            return ResGetProductsDtoV1.of(productRepository.findAll(pageable));
+        }
+
+        // 정렬을 지정하지 않은 이름 검색은 인덱스 순위대로 돌려주고, 인덱스가 답하지 못하면 DB 에서 찾는다
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Optional<List<UUID>> indexedProductIds = pageable.getSort().isUnsorted()
+                ? productSearchIndex.search(normalizedName)
+                : Optional.empty();
+        Page<Product> productPage = indexedProductIds.isPresent()
+                ? findProductPageByIds(indexedProductIds.get(), pageable)
                 : productRepository.findByNameContainingIgnoreCase(normalizedName, pageable);
+        sample.stop(Timer.builder("product.search")
+                .description("상품 이름 검색 시간")
+                .tag("source", indexedProductIds.isPresent() ? "index" : "database")
+                .register(meterRegistry));
         return ResGetProductsDtoV1.of(productPage);
     }
 
-    @Cacheable(cacheNames = PRODUCT_CACHE_NAME, key = "#productId")
+    // OFFSET 과 매 요청 count 없이 마지막으로 본 (createdAt, id) 다음부터 조회한다.
+    public ResGetProductsScrollDtoV1 getProductsScroll(String cursor, int size, String name, boolean includeTotal) {
+        if (size < 1 || size > SCROLL_MAX_SIZE) {
+            throw new ProductException(ProductError.PRODUCT_BAD_REQUEST);
+        }
+        String normalizedName = normalize(name);
+
+        // 한 건 더 읽어 다음 목록이 있는지 판단한다
+        List<Product> productList = productRepository.findScroll(normalizedName, decodeCursor(cursor), size + 1);
+        String nextCursor = null;
+        if (productList.size() > size) {
+            productList = productList.subList(0, size);
+            Product lastProduct = productList.get(size - 1);
+            nextCursor = ScrollCursor.builder()
+                    .createdAt(lastProduct.getCreatedAt())
+                    .id(lastProduct.getId())
+                    .build()
+                    .encode();
+        }
+
+        Long totalElements = null;
+        if (includeTotal) {
+            totalElements = normalizedName == null
+                    ? productRepository.count()
+                    : productRepository.countByNameContainingIgnoreCase(normalizedName);
+        }
+        return ResGetProductsScrollDtoV1.of(productList, nextCursor, totalElements);
+    }
+
+    @Cacheable(cacheNames = CacheNames.PRODUCT, key = "#productId", sync = true)
     public ResGetProductDtoV1 getProduct(UUID productId) {
         return ResGetProductDtoV1.of(findProductById(productId));
     }
 
+    // 존재하지 않는 ID 는 결과에서 빠지며, 누락 여부는 호출한 쪽에서 판단한다.
+    public ResPostInternalProductsBatchDtoV1 postInternalProductsBatch(ReqPostInternalProductsBatchDtoV1 reqDto) {
+        List<UUID> productIds = reqDto.getProductIds().stream().distinct().toList();
+        return ResPostInternalProductsBatchDtoV1.of(productRepository.findByIdIn(productIds));
+    }
+
     @Transactional
     public ResPostProductsDtoV1 postProducts(ReqPostProductsDtoV1 reqDto) {
         ReqPostProductsDtoV1.ProductDto reqProduct = reqDto.getProduct();
@@ -65,87 +152,391 @@ public class ProductServiceV1 {
                 .stock(reqProduct.getStock())
                 .build();
         Product savedProduct = productRepository.save(newProduct);
+        productSearchIndex.put(savedProduct.getId(), savedProduct.getName());
+        productSearchIndexChangeNotifier.notifyPut(savedProduct.getId(), savedProduct.getName());
         return ResPostProductsDtoV1.of(savedProduct);
     }
 
     @Transactional
-    public void postInternalProductsReleaseStock(ReqPostInternalProductsReleaseStockDtoV1 reqDto) {
-        if (productStockRepository.existsByOrderIdAndType(reqDto.getOrder().getOrderId(), ProductStockType.RELEASE)) {
+    public void putProductStockReservation(UUID productId, ReqPutProductStockReservationDtoV1 reqDto) {
+        // 전환이 끝날 때까지 DB 조건부 차감이 끼어들지 못하도록 상품 행을 잠근다.
+        Product product = productRepository.findByIdForUpdate(productId)
+                .orElseThrow(() -> new ProductException(ProductError.PRODUCT_CAN_NOT_FOUND));
+        boolean enabled = reqDto.getStockReservation().getEnabled();
+        if (Boolean.valueOf(enabled).equals(product.getStockReservationEnabled())) {
+            return;
+        }
+        if (enabled && product.isStockBucketed()) {
             throw new ProductException(ProductError.PRODUCT_BAD_REQUEST);
         }
 
-        List<UUID> productIds = reqDto.getProductStocks().stream()
-                .map(ReqPostInternalProductsReleaseStockDtoV1.ProductStockDto::getProductId)
-                .toList();
+        // 전환 시점의 DB 재고로 가용 재고를 만들고, 해제하면 이후 요청은 DB 조건부 차감으로 처리한다.
+        // 해제 전에는 아직 반영되지 않은 journal 을 먼저 DB 재고에 옮겨, DB 재고가 예약분만큼 부풀지 않게 한다.
+        if (productStockReservation.isEnabled() && !enabled) {
+            reconcileReservedStocks(productStockReservation.findUnreconciled(productId));
+        }
+        productRepository.save(product.updateStockReservationEnabled(enabled));
+        if (!productStockReservation.isEnabled()) {
+            return;
+        }
+        if (enabled) {
+            productStockReservation.register(productId, product.getStock());
+        } else {
+            productStockReservation.unregister(productId);
+        }
+    }
 
-        List<Product> productList = productRepository.findByIdIn(productIds);
-
-        reqDto.getProductStocks().forEach(productStockDto -> {
-            productList.stream().filter(product -> product.getId().equals(productStockDto.getProductId())).findFirst()
-                    .ifPresent(product -> {
-                        if (product.getStock() < productStockDto.getQuantity()) {
-                            throw new ProductException(ProductError.PRODUCT_BAD_REQUEST);
-                        }
-                        Product updatedProduct = product.update(null, null, product.getStock() - productStockDto.getQuantity());
-                        productRepository.save(updatedProduct);
-                    });
-        });
+    @Transactional
+    public void putProductStockBuckets(UUID productId, ReqPutProductStockBucketsDtoV1 reqDto) {
+        Product product = findProductById(productId);
+        int bucketCount = reqDto.getStockBucket().getCount();
+        int previousBucketCount = product.isStockBucketed() ? product.getStockBucketCount() : 0;
+        if (bucketCount == previousBucketCount) {
+            return;
+        }
+        if (bucketCount > 0 && Boolean.TRUE.equals(product.getStockReservationEnabled())) {
+            throw new ProductException(ProductError.PRODUCT_BAD_REQUEST);
+        }
 
+        long stock = 0L;
+        if (previousBucketCount == 0) {
+            // PRODUCT.stock 을 비워 버킷으로 옮긴다.
+            productStockBucketRepository.rebalance(productId, bucketCount, productRepository.clearStock(productId));
+        } else if (bucketCount == 0) {
+            // 버킷 재고를 모두 합쳐 PRODUCT.stock 으로 되돌린다.
+            stock = productStockBucketRepository.rebalance(productId, 0, 0L);
+        } else {
+            productStockBucketRepository.rebalance(productId, bucketCount, 0L);
+        }
+        productRepository.save(product.updateStockBucketCount(bucketCount).update(null, null, stock));
+
+        evictProductCache(List.of(productId));
+    }
+
+    // 주문 서비스 릴레이가 응답을 받지 못해 같은 메시지 ID 로 다시 보낸 요청은 이미 반영했으므로 성공으로 응답한다.
+    // 처리 기록은 재고 차감과 같은 트랜잭션에 남기므로, 차감이 롤백되면 기록도 남지 않아 다시 보낸 요청을 처음부터 처리한다.
+    @Transactional
+    public void postInternalProductsReleaseStock(UUID messageId, ReqPostInternalProductsReleaseStockDtoV1 reqDto) {
+        if (isProcessedMessage(messageId)) {
+            return;
+        }
+        releaseStock(reqDto);
+        markMessageProcessed(messageId, PROCESSED_MESSAGE_TYPE_RELEASE_STOCK);
+    }
+
+    @Transactional
+    public void postInternalProductsReturnStock(UUID messageId, ReqPostInternalProductsReturnStockDtoV1 reqDto) {
+        if (isProcessedMessage(messageId)) {
+            return;
+        }
+        returnStock(reqDto);
+        markMessageProcessed(messageId, PROCESSED_MESSAGE_TYPE_RETURN_STOCK);
+    }
+
+    private void releaseStock(ReqPostInternalProductsReleaseStockDtoV1 reqDto) {
+        UUID orderId = reqDto.getOrder().getOrderId();
+        if (productStockRepository.existsByOrderIdAndType(orderId, ProductStockType.RELEASE)) {
+            throw new ProductException(ProductError.PRODUCT_BAD_REQUEST);
+        }
+
+        // 같은 상품이 여러 줄로 들어와도 한 번의 조건부 차감으로 처리되도록 수량을 합친다.
+        Map<UUID, Long> productQuantityMap = new LinkedHashMap<>();
         reqDto.getProductStocks().forEach(productStockDto ->
+                productQuantityMap.merge(productStockDto.getProductId(), productStockDto.getQuantity(), Long::sum)
+        );
+
+        List<Product> productList = productRepository.findByIdIn(List.copyOf(productQuantityMap.keySet()));
+        List<Product> reservedProductList = filterReservedProducts(productList);
+        Map<UUID, Long> reservedQuantityMap = extractQuantities(productQuantityMap, reservedProductList);
+        List<Product> bucketedProductList = filterBucketedProducts(productList);
+        Map<UUID, Long> bucketQuantityMap = extractQuantities(productQuantityMap, bucketedProductList);
+        if (!reservedQuantityMap.isEmpty()) {
+            reserveStocks(orderId, reservedQuantityMap, reservedProductList);
+        }
+
+        // 재고 부족 또는 존재하지 않는 상품이 하나라도 있으면 예외로 트랜잭션 전체를 롤백한다.
+        List<UUID> failedProductIds = new ArrayList<>(decreaseBucketStocks(orderId, bucketQuantityMap, bucketedProductList));
+        if (!productQuantityMap.isEmpty()) {
+            failedProductIds.addAll(productRepository.decreaseStockAll(productQuantityMap));
+        }
+        if (!failedProductIds.isEmpty()) {
+            log.info("상품 재고 차감 실패 - orderId: {}, productIds: {}", orderId, failedProductIds);
+            throw new ProductException(ProductError.PRODUCT_STOCK_NOT_ENOUGH);
+        }
+
+        productQuantityMap.putAll(bucketQuantityMap);
+        if (productQuantityMap.isEmpty()) {
+            return;
+        }
+
+        productQuantityMap.forEach((productId, quantity) ->
                 productStockRepository.save(
                         ProductStock.builder()
-                                .productId(productStockDto.getProductId())
-                                .orderId(reqDto.getOrder().getOrderId())
-                                .quantity(productStockDto.getQuantity())
+                                .productId(productId)
+                                .orderId(orderId)
+                                .quantity(quantity)
                                 .type(ProductStockType.RELEASE)
                                 .build()
                 )
         );
 
-        evictProductCache(productIds);
+        evictProductCache(List.copyOf(productQuantityMap.keySet()));
     }
 
-    @Transactional
-    public void postInternalProductsReturnStock(ReqPostInternalProductsReturnStockDtoV1 reqDto) {
-        if (productStockRepository.existsByOrderIdAndType(reqDto.getOrder().getOrderId(), ProductStockType.RETURN)) {
+    private void returnStock(ReqPostInternalProductsReturnStockDtoV1 reqDto) {
+        UUID orderId = reqDto.getOrder().getOrderId();
+        if (productStockRepository.existsByOrderIdAndType(orderId, ProductStockType.RETURN)) {
             throw new ProductException(ProductError.PRODUCT_BAD_REQUEST);
         }
 
-        List<ProductStock> productStockList = productStockRepository.findByOrderId(reqDto.getOrder().getOrderId());
-        List<UUID> productIds = productStockList.stream()
-                .map(ProductStock::getProductId)
-                .toList();
+        Map<UUID, Long> productQuantityMap = new LinkedHashMap<>();
+        productStockRepository.findByOrderId(orderId).stream()
+                .filter(productStock -> productStock.getType() == ProductStockType.RELEASE)
+                .forEach(productStock -> productQuantityMap.put(productStock.getProductId(), productStock.getQuantity()));
+        // 예약 엔진으로 차감한 줄은 아직 ledger 에 반영되지 않았을 수 있다.
+        if (productStockReservation.isEnabled()) {
+            productStockReservation.findReservedQuantities(orderId).forEach(productQuantityMap::putIfAbsent);
+        }
 
-        List<Product> productList = productRepository.findByIdIn(productIds);
+        if (productQuantityMap.isEmpty()) {
+            return;
+        }
 
-        productStockList.forEach(productStock -> {
-            productList.stream().filter(product -> product.getId().equals(productStock.getProductId())).findFirst()
-                    .ifPresent(product -> {
-                        Product updatedProduct = product.update(null, null, product.getStock() + productStock.getQuantity());
-                        productRepository.save(updatedProduct);
-                    });
-        });
+        List<Product> productList = productRepository.findByIdIn(List.copyOf(productQuantityMap.keySet()));
+        List<Product> reservedProductList = filterReservedProducts(productList);
+        Map<UUID, Long> reservedQuantityMap = extractQuantities(productQuantityMap, reservedProductList);
+        List<Product> bucketedProductList = filterBucketedProducts(productList);
+        Map<UUID, Long> bucketQuantityMap = extractQuantities(productQuantityMap, bucketedProductList);
+        if (!reservedQuantityMap.isEmpty()) {
+            restoreStocks(orderId, reservedQuantityMap, reservedProductList);
+        }
+
+        bucketedProductList.forEach(product -> productStockBucketRepository.increaseStock(
+                product.getId(),
+                product.getStockBucketCount(),
+                startBucketIndex(orderId, product.getStockBucketCount()),
+                bucketQuantityMap.get(product.getId())
+        ));
+        if (!productQuantityMap.isEmpty()) {
+            productRepository.adjustStockAll(productQuantityMap);
+        }
+
+        productQuantityMap.putAll(bucketQuantityMap);
+        if (productQuantityMap.isEmpty()) {
+            return;
+        }
 
-        productStockList.forEach(productStock ->
+        productQuantityMap.forEach((productId, quantity) ->
                 productStockRepository.save(
                         ProductStock.builder()
-                                .productId(productStock.getProductId())
-                                .orderId(reqDto.getOrder().getOrderId())
-                                .quantity(productStock.getQuantity())
+                                .productId(productId)
+                                .orderId(orderId)
+                                .quantity(quantity)
                                 .type(ProductStockType.RETURN)
                                 .build()
                 )
         );
 
-        evictProductCache(productIds);
+        evictProductCache(List.copyOf(productQuantityMap.keySet()));
     }
 
-    private void evictProductCache(List<UUID> productIds) {
-        Cache cache = cacheManager.getCache(PRODUCT_CACHE_NAME);
-        if (cache == null) {
+    // 예약 엔진 journal 을 ledger 와 재고에 반영한다. 같은 항목이 다시 들어와도 ledger 가 있으면 건너뛴다.
+    @Transactional
+    public void reconcileReservedStocks(List<ProductStock> productStockList) {
+        Map<UUID, Long> productDeltaMap = new LinkedHashMap<>();
+        productStockList.forEach(productStock -> {
+            if (productStockRepository.existsByProductIdAndOrderIdAndType(
+                    productStock.getProductId(), productStock.getOrderId(), productStock.getType())) {
+                return;
+            }
+            productStockRepository.save(productStock);
+            long delta = productStock.getType() == ProductStockType.RELEASE
+                    ? -productStock.getQuantity()
+                    : productStock.getQuantity();
+            productDeltaMap.merge(productStock.getProductId(), delta, Long::sum);
+        });
+        if (productDeltaMap.isEmpty()) {
             return;
         }
-        productIds.forEach(cache::evict);
+
+        productRepository.adjustStockAll(productDeltaMap);
+        evictProductCache(List.copyOf(productDeltaMap.keySet()));
+    }
+
+    // ledger 가 모두 반영된 PRODUCT.stock 으로 예약 엔진의 가용 재고를 다시 적재한다.
+    public int seedReservedStocks() {
+        List<Product> productList = productRepository.findByStockReservationEnabledTrue();
+        productList.forEach(product -> productStockReservation.seed(product.getId(), product.getStock()));
+        return productList.size();
+    }
+
+    // 전체 상품 이름을 커서 조회로 나눠 읽어 검색 인덱스를 다시 만든다. 페이지마다 짧은 트랜잭션으로 읽는다.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int rebuildProductSearchIndex() {
+        return productSearchIndex.rebuild(() -> {
+            Map<UUID, String> productNameMap = new LinkedHashMap<>();
+            ScrollCursor cursor = null;
+            while (true) {
+                List<Product> productList = productRepository.findScroll(null, cursor, SEARCH_INDEX_LOAD_SIZE);
+                productList.forEach(product -> productNameMap.put(product.getId(), product.getName()));
+                if (productList.size() < SEARCH_INDEX_LOAD_SIZE) {
+                    return productNameMap;
+                }
+                Product lastProduct = productList.get(productList.size() - 1);
+                cursor = ScrollCursor.builder()
+                        .createdAt(lastProduct.getCreatedAt())
+                        .id(lastProduct.getId())
+                        .build();
+            }
+        });
+    }
+
+    public List<UUID> findStockBucketedProductIds() {
+        return productRepository.findByStockBucketCountGreaterThanZero().stream()
+                .map(Product::getId)
+                .toList();
+    }
+
+    // 버킷 수가 설정과 다르거나 버킷 간 재고 차이가 커진 경우에만 다시 고르게 나눈다.
+    @Transactional
+    public boolean rebalanceStockBuckets(UUID productId) {
+        Optional<Product> product = productRepository.findById(productId)
+                .filter(Product::isStockBucketed);
+        if (product.isEmpty()) {
+            return false;
+        }
+        int bucketCount = product.get().getStockBucketCount();
+        if (!isImbalanced(productStockBucketRepository.findStocks(productId), bucketCount)) {
+            return false;
+        }
+        productStockBucketRepository.rebalance(productId, bucketCount, 0L);
+        return true;
+    }
+
+    private boolean isImbalanced(List<Long> stockList, int bucketCount) {
+        if (stockList.size() != bucketCount) {
+            return true;
+        }
+        long totalStock = stockList.stream().mapToLong(Long::longValue).sum();
+        long minStock = stockList.stream().mapToLong(Long::longValue).min().orElse(0L);
+        long maxStock = stockList.stream().mapToLong(Long::longValue).max().orElse(0L);
+        // 고르게 나누면 버킷 간 차이는 1 이하이므로, 평균의 절반보다 크게 벌어지면 다시 나눈다.
+        return maxStock - minStock > Math.max(1L, totalStock / bucketCount / 2);
+    }
+
+    private List<Product> filterReservedProducts(List<Product> productList) {
+        if (!productStockReservation.isEnabled()) {
+            return List.of();
+        }
+        return productList.stream()
+                .filter(product -> Boolean.TRUE.equals(product.getStockReservationEnabled()))
+                .filter(product -> !product.isStockBucketed())
+                .toList();
+    }
+
+    private List<Product> filterBucketedProducts(List<Product> productList) {
+        return productList.stream()
+                .filter(Product::isStockBucketed)
+                .toList();
+    }
+
+    // 주문 ID 로 시작 버킷을 정해, 동시에 들어온 주문들이 서로 다른 버킷 행을 갱신하도록 한다.
+    private List<UUID> decreaseBucketStocks(UUID orderId, Map<UUID, Long> quantityMap, List<Product> productList) {
+        return productList.stream()
+                .filter(product -> !productStockBucketRepository.decreaseStock(
+                        product.getId(),
+                        product.getStockBucketCount(),
+                        startBucketIndex(orderId, product.getStockBucketCount()),
+                        quantityMap.get(product.getId())
+                ))
+                .map(Product::getId)
+                .toList();
+    }
+
+    private int startBucketIndex(UUID orderId, int bucketCount) {
+        return Math.floorMod(orderId.hashCode(), bucketCount);
+    }
+
+    // 예약 대상 상품의 수량을 원본에서 떼어 내 따로 돌려준다. 원본에는 DB 로 처리할 줄만 남는다.
+    private Map<UUID, Long> extractQuantities(Map<UUID, Long> productQuantityMap, List<Product> productList) {
+        Map<UUID, Long> extractedQuantityMap = new LinkedHashMap<>();
+        productList.forEach(product ->
+                extractedQuantityMap.put(product.getId(), productQuantityMap.remove(product.getId()))
+        );
+        return extractedQuantityMap;
+    }
+
+    private void reserveStocks(UUID orderId, Map<UUID, Long> quantityMap, List<Product> productList) {
+        ProductStockReservationResult result = productStockReservation.reserve(orderId, quantityMap);
+        if (result.getStatus() == ProductStockReservationResult.Status.NOT_REGISTERED) {
+            seedStocks(productList, result.getFailedProductIds());
+            result = productStockReservation.reserve(orderId, quantityMap);
+        }
+        if (result.getStatus() == ProductStockReservationResult.Status.DUPLICATED) {
+            throw new ProductException(ProductError.PRODUCT_BAD_REQUEST);
+        }
+        if (!result.isSuccess()) {
+            log.info("상품 재고 예약 실패 - orderId: {}, productIds: {}", orderId, result.getFailedProductIds());
+            throw new ProductException(ProductError.PRODUCT_STOCK_NOT_ENOUGH);
+        }
+    }
+
+    private void restoreStocks(UUID orderId, Map<UUID, Long> quantityMap, List<Product> productList) {
+        ProductStockReservationResult result = productStockReservation.restore(orderId, quantityMap);
+        if (result.getStatus() == ProductStockReservationResult.Status.NOT_REGISTERED) {
+            seedStocks(productList, result.getFailedProductIds());
+            result = productStockReservation.restore(orderId, quantityMap);
+        }
+        if (!result.isSuccess()) {
+            throw new ProductException(ProductError.PRODUCT_BAD_REQUEST);
+        }
+    }
+
+    // Redis 재시작 등으로 가용 재고가 사라진 상품은 DB 재고로 다시 적재한다.
+    private void seedStocks(List<Product> productList, List<UUID> productIds) {
+        productList.stream()
+                .filter(product -> productIds.contains(product.getId()))
+                .forEach(product -> productStockReservation.seed(product.getId(), product.getStock()));
+    }
+
+    // 인덱스가 정한 순서를 유지한 채 요청한 페이지의 상품만 DB 에서 읽는다
+    private Page<Product> findProductPageByIds(List<UUID> productIds, Pageable pageable) {
+        int fromIndex = (int) Math.min(pageable.getOffset(), productIds.size());
+        int toIndex = Math.min(fromIndex + pageable.getPageSize(), productIds.size());
+        List<UUID> pageProductIds = productIds.subList(fromIndex, toIndex);
+        Map<UUID, Product> productMap = productRepository.findByIdIn(pageProductIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<Product> productList = pageProductIds.stream()
+                .map(productMap::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(productList, pageable, productIds.size());
+    }
+
+    // 커밋 전에 지운 L2 는 커밋 전까지 다른 요청이 변경 전 값으로 다시 채울 수 있으므로,
+    // 커밋 후에 한 번 더 지운 다음 L1 무효화를 알린다. 동기화는 등록 순서대로 실행된다.
+    private void evictProductCache(List<UUID> productIds) {
+        Cache cache = cacheManager.getCache(CacheNames.PRODUCT);
+        if (cache != null) {
+            productIds.forEach(cache::evict);
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        evictQuietly(cache, productIds);
+                    }
+                });
+            }
+        }
+        productCacheEvictionNotifier.notifyEvicted(productIds);
+    }
+
+    private void evictQuietly(Cache cache, List<UUID> productIds) {
+        try {
+            productIds.forEach(cache::evict);
+        } catch (RuntimeException exception) {
+            log.warn("product cache evict after commit failed: {}", productIds, exception);
+        }
     }
 
     private void validateDuplicatedName(String name, Optional<UUID> excludeId) {
@@ -157,6 +548,27 @@ public class ProductServiceV1 {
                 });
     }
 
+    private boolean isProcessedMessage(UUID messageId) {
+        return messageId != null && processedMessageRepository.existsById(messageId);
+    }
+
+    private void markMessageProcessed(UUID messageId, String type) {
+        if (messageId != null) {
+            processedMessageRepository.save(ProcessedMessage.of(messageId, type));
+        }
+    }
+
+    private ScrollCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return ScrollCursor.decode(cursor);
+        } catch (IllegalArgumentException exception) {
+            throw new ProductException(ProductError.PRODUCT_BAD_REQUEST);
+        }
+    }
+
     private String normalize(String value) {
         if (value == null) {
             return null;
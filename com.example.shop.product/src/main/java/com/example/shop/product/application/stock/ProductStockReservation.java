@@ -0,0 +1,32 @@
+package com.example.shop.product.application.stock;
+
+import com.example.shop.product.domain.model.ProductStock;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public interface ProductStockReservation {
+
+    boolean isEnabled();
+
+    // 주문의 모든 줄을 한 번에 원자적으로 차감한다. 현재 트랜잭션이 롤백되면 예약도 되돌린다.
+    ProductStockReservationResult reserve(UUID orderId, Map<UUID, Long> productQuantityMap);
+
+    // 주문의 모든 줄을 한 번에 원자적으로 복원한다.
+    ProductStockReservationResult restore(UUID orderId, Map<UUID, Long> productQuantityMap);
+
+    // 아직 ledger 에 반영되지 않았을 수 있는 주문별 예약 수량
+    Map<UUID, Long> findReservedQuantities(UUID orderId);
+
+    // 예약 대상으로 전환할 때 남아 있던 가용 재고를 지우고, 현재 트랜잭션이 커밋된 뒤에 비어 있으면 DB 재고로 적재한다.
+    void register(UUID productId, long stock);
+
+    // 가용 재고가 사라진 경우(Redis 재시작 등)에만 DB 재고로 다시 적재한다.
+    void seed(UUID productId, long stock);
+
+    // 현재 트랜잭션이 커밋된 뒤에 가용 재고를 지운다.
+    void unregister(UUID productId);
+
+    // 아직 ledger 에 반영되지 않은 journal 중 해당 상품의 변동 내역
+    List<ProductStock> findUnreconciled(UUID productId);
+}
@@ -0,0 +1,28 @@
+package com.example.shop.product.application.stock;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ProductStockReservationResult {
+
+    private final Status status;
+
+    // NOT_ENOUGH 이면 재고가 부족한 상품, NOT_REGISTERED 이면 예약 엔진에 재고가 없는 상품 ID
+    @Builder.Default
+    private final List<UUID> failedProductIds = List.of();
+
+    public boolean isSuccess() {
+        return status == Status.SUCCESS;
+    }
+
+    public enum Status {
+        SUCCESS,
+        NOT_ENOUGH,
+        NOT_REGISTERED,
+        DUPLICATED
+    }
+}
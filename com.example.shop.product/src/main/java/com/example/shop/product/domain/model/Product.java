@@ -15,6 +15,8 @@ public class Product {
     private final String name;
     private final Long price;
     private final Long stock;
+    private final Boolean stockReservationEnabled;
+    private final Integer stockBucketCount;
     private final Instant createdAt;
     private final String createdBy;
     private final Instant updatedAt;
@@ -30,6 +32,22 @@ public class Product {
                 .build();
     }
 
+    public Product updateStockReservationEnabled(Boolean stockReservationEnabled) {
+        return toBuilder()
+                .stockReservationEnabled(stockReservationEnabled)
+                .build();
+    }
+
+    public Product updateStockBucketCount(Integer stockBucketCount) {
+        return toBuilder()
+                .stockBucketCount(stockBucketCount)
+                .build();
+    }
+
+    public boolean isStockBucketed() {
+        return stockBucketCount != null && stockBucketCount > 0;
+    }
+
     public Product markDeleted(Instant deletedAt, UUID userId) {
         return toBuilder()
                 .deletedAt(deletedAt)
@@ -43,6 +61,8 @@ public class Product {
                 .name(name)
                 .price(price)
                 .stock(stock)
+                .stockReservationEnabled(stockReservationEnabled)
+                .stockBucketCount(stockBucketCount)
                 .createdAt(createdAt)
                 .createdBy(createdBy)
                 .updatedAt(updatedAt)
@@ -0,0 +1,11 @@
+package com.example.shop.product.domain.repository;
+
+import com.example.shop.product.domain.model.ProcessedMessage;
+import java.util.UUID;
+
+public interface ProcessedMessageRepository {
+
+    ProcessedMessage save(ProcessedMessage processedMessage);
+
+    boolean existsById(UUID messageId);
+}
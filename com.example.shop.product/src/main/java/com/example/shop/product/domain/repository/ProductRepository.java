@@ -1,7 +1,9 @@
 package com.example.shop.product.domain.repository;
 
 import com.example.shop.product.domain.model.Product;
+import com.example.shop.product.domain.vo.ScrollCursor;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
@@ -13,15 +15,36 @@ public interface ProductRepository {
 
     Optional<Product> findById(UUID productId);
 
+    // 행을 잠가(SELECT ... FOR UPDATE) 현재 트랜잭션이 끝날 때까지 다른 재고 변경을 막는다.
+    Optional<Product> findByIdForUpdate(UUID productId);
+
     Optional<Product> findByName(String name);
 
     Page<Product> findAll(Pageable pageable);
 
     Page<Product> findByNameContainingIgnoreCase(String name, Pageable pageable);
 
+    // (createdAt desc, id desc) 순서로 cursor 다음 행부터 최대 limit 건을 조회한다. cursor 가 null 이면 처음부터 조회한다.
+    List<Product> findScroll(String name, ScrollCursor cursor, int limit);
+
+    long countByNameContainingIgnoreCase(String name);
+
     List<Product> findAllById(Iterable<UUID> productIdList);
 
     List<Product> findByIdIn(List<UUID> productIdList);
 
+    List<Product> findByStockReservationEnabledTrue();
+
+    List<Product> findByStockBucketCountGreaterThanZero();
+
     long count();
+
+    // 재고가 충분한 상품만 조건부로 차감하고, 차감되지 않은 상품 ID 목록을 반환한다.
+    List<UUID> decreaseStockAll(Map<UUID, Long> productQuantityMap);
+
+    // 상품별 증감량(음수는 차감)을 조건 없이 반영한다. 예약 엔진이 이미 검증한 변동을 DB 에 옮길 때 사용한다.
+    void adjustStockAll(Map<UUID, Long> productDeltaMap);
+
+    // PRODUCT.stock 을 0 으로 비우고 비우기 전 수량을 반환한다. 재고를 버킷으로 옮길 때 사용한다.
+    long clearStock(UUID productId);
 }
@@ -0,0 +1,23 @@
+package com.example.shop.product.domain.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public interface ProductStockBucketRepository {
+
+    // startIndex 버킷부터 이웃 버킷 순으로 차감하며, 전체 수량을 차감하지 못하면 false 를 반환한다.
+    boolean decreaseStock(UUID productId, int bucketCount, int startIndex, long quantity);
+
+    // startIndex 버킷부터 남아 있는 버킷에 더하며, 버킷이 하나도 없으면 PRODUCT.stock 에 더한다.
+    void increaseStock(UUID productId, int bucketCount, int startIndex, long quantity);
+
+    Map<UUID, Long> sumStockByProductIdIn(Collection<UUID> productIds);
+
+    // 버킷별 재고(인덱스 순서)
+    List<Long> findStocks(UUID productId);
+
+    // 버킷 행을 잠근 뒤 bucketCount 개로 맞추고 (기존 합계 + additionalStock) 을 고르게 나눈다. 나눈 합계를 반환한다.
+    long rebalance(UUID productId, int bucketCount, long additionalStock);
+}
@@ -0,0 +1,10 @@
+package com.example.shop.product.infrastructure.constants;
+
+/**
+ * 서비스의 {@code @Cacheable} 과 Redis 캐시 설정, 무효화 리스너가 함께 쓰는 캐시 이름.
+ */
+public class CacheNames {
+
+    public static final String PRODUCT = "product";
+
+}
@@ -6,6 +6,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import java.util.UUID;
 import lombok.AccessLevel;
@@ -18,7 +19,10 @@ import org.hibernate.annotations.DynamicInsert;
 import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
-@Table(name = "PRODUCT")
+@Table(
+        name = "PRODUCT",
+        indexes = @Index(name = "idx_product_created_at_id", columnList = "created_at, id")
+)
 @DynamicInsert
 @DynamicUpdate
 @Getter
@@ -44,6 +48,16 @@ public class ProductEntity extends BaseEntity {
     @Column(name = "stock", nullable = false)
     private Long stock = 0L;
 
+    // true 이면 재고 차감/복원을 Redis 예약 엔진이 처리하고, stock 컬럼은 reconciler 가 비동기로 반영한다.
+    @Builder.Default
+    @Column(name = "stock_reservation_enabled", nullable = false)
+    private Boolean stockReservationEnabled = false;
+
+    // 0 보다 크면 재고를 PRODUCT_STOCK_BUCKET 의 버킷 행들에 나눠 두고, stock 컬럼은 사용하지 않는다.
+    @Builder.Default
+    @Column(name = "stock_bucket_count", nullable = false)
+    private Integer stockBucketCount = 0;
+
     public void update(String name, Long price, Long stock) {
         if (name != null) {
             this.name = name;
@@ -55,4 +69,16 @@ public class ProductEntity extends BaseEntity {
             this.stock = stock;
         }
     }
+
+    public void updateStockBucketCount(Integer stockBucketCount) {
+        if (stockBucketCount != null) {
+            this.stockBucketCount = stockBucketCount;
+        }
+    }
+
+    public void updateStockReservationEnabled(Boolean stockReservationEnabled) {
+        if (stockReservationEnabled != null) {
+            this.stockReservationEnabled = stockReservationEnabled;
+        }
+    }
 }
@@ -0,0 +1,60 @@
+package com.example.shop.product.infrastructure.jpa.entity;
+
+import com.example.shop.global.infrastructure.jpa.entity.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.util.UUID;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicInsert;
+import org.hibernate.annotations.DynamicUpdate;
+
+@Entity
+@Table(
+        name = "PRODUCT_STOCK_BUCKET",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "uk_product_stock_bucket_product_index",
+                        columnNames = {"product_id", "bucket_index"}
+                )
+        }
+)
+@DynamicInsert
+@DynamicUpdate
+@Getter
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@EqualsAndHashCode(of = "id", callSuper = false)
+public class ProductStockBucketEntity extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(name = "id", nullable = false, unique = true)
+    private UUID id;
+
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    @Column(name = "bucket_index", nullable = false)
+    private Integer bucketIndex;
+
+    @Builder.Default
+    @Column(name = "stock", nullable = false)
+    private Long stock = 0L;
+
+    public void updateStock(Long stock) {
+        if (stock != null) {
+            this.stock = stock;
+        }
+    }
+}
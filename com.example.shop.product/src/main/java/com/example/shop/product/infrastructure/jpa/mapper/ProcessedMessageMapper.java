@@ -0,0 +1,31 @@
+package com.example.shop.product.infrastructure.jpa.mapper;
+
+import com.example.shop.product.domain.model.ProcessedMessage;
+import com.example.shop.product.infrastructure.jpa.entity.ProcessedMessageEntity;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ProcessedMessageMapper {
+
+    public ProcessedMessage toDomain(ProcessedMessageEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        return ProcessedMessage.builder()
+                .id(entity.getId())
+                .type(entity.getType())
+                .createdAt(entity.getCreatedAt())
+                .createdBy(entity.getCreatedBy())
+                .build();
+    }
+
+    public ProcessedMessageEntity toEntity(ProcessedMessage domain) {
+        if (domain == null) {
+            return null;
+        }
+        return ProcessedMessageEntity.builder()
+                .id(domain.getId())
+                .type(domain.getType())
+                .build();
+    }
+}
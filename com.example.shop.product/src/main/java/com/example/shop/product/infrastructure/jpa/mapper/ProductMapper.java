@@ -18,6 +18,8 @@ public class ProductMapper {
                 .name(productEntity.getName())
                 .price(productEntity.getPrice())
                 .stock(productEntity.getStock())
+                .stockReservationEnabled(productEntity.getStockReservationEnabled())
+                .stockBucketCount(productEntity.getStockBucketCount())
                 .createdAt(productEntity.getCreatedAt())
                 .createdBy(productEntity.getCreatedBy())
                 .updatedAt(productEntity.getUpdatedAt())
@@ -36,6 +38,8 @@ public class ProductMapper {
                 .name(product.getName())
                 .price(product.getPrice())
                 .stock(product.getStock())
+                .stockReservationEnabled(Boolean.TRUE.equals(product.getStockReservationEnabled()))
+                .stockBucketCount(product.getStockBucketCount() != null ? product.getStockBucketCount() : 0)
                 .build();
     }
 
@@ -44,6 +48,8 @@ public class ProductMapper {
             return;
         }
         productEntity.update(product.getName(), product.getPrice(), product.getStock());
+        productEntity.updateStockReservationEnabled(product.getStockReservationEnabled());
+        productEntity.updateStockBucketCount(product.getStockBucketCount());
         if (product.getDeletedAt() != null) {
             Optional.ofNullable(toUuid(product.getDeletedBy()))
                     .ifPresent(uuid -> productEntity.markDeleted(product.getDeletedAt(), uuid));
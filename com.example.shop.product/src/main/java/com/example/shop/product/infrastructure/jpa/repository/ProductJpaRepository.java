@@ -1,18 +1,55 @@
 package com.example.shop.product.infrastructure.jpa.repository;
 
 import com.example.shop.product.infrastructure.jpa.entity.ProductEntity;
+import jakarta.persistence.LockModeType;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ProductJpaRepository extends JpaRepository<ProductEntity, UUID> {
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from ProductEntity p where p.id = :id")
+    Optional<ProductEntity> findByIdForUpdate(@Param("id") UUID id);
+
     Optional<ProductEntity> findByName(String name);
 
     Page<ProductEntity> findByNameContainingIgnoreCase(String name, Pageable pageable);
 
+    long countByNameContainingIgnoreCase(String name);
+
+    // (created_at, id) 인덱스를 따라 읽으므로 앞쪽 행을 건너뛰는 OFFSET 비용이 없다
+    @Query("""
+            select p from ProductEntity p
+            where (:name is null or lower(p.name) like lower(concat('%', :name, '%')))
+            order by p.createdAt desc, p.id desc
+            """)
+    List<ProductEntity> findScrollFirst(@Param("name") String name, Limit limit);
+
+    @Query("""
+            select p from ProductEntity p
+            where (:name is null or lower(p.name) like lower(concat('%', :name, '%')))
+              and (p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id))
+            order by p.createdAt desc, p.id desc
+            """)
+    List<ProductEntity> findScrollAfter(
+            @Param("name") String name,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            Limit limit
+    );
+
     List<ProductEntity> findByIdIn(List<UUID> productIdList);
+
+    List<ProductEntity> findByStockReservationEnabledTrue();
+
+    List<ProductEntity> findByStockBucketCountGreaterThan(Integer stockBucketCount);
 }
@@ -2,14 +2,22 @@ package com.example.shop.product.infrastructure.jpa.repository;
 
 import com.example.shop.product.domain.model.Product;
 import com.example.shop.product.domain.repository.ProductRepository;
+import com.example.shop.product.domain.repository.ProductStockBucketRepository;
+import com.example.shop.product.domain.vo.ScrollCursor;
 import com.example.shop.product.infrastructure.jpa.entity.ProductEntity;
 import com.example.shop.product.infrastructure.jpa.mapper.ProductMapper;
+import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,8 +26,20 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional(readOnly = true)
 public class ProductRepositoryImpl implements ProductRepository {
 
+    // 조회 후 저장(read-modify-write) 대신 DB 에서 조건부로 차감해 동시 요청 간 초과 차감(oversell)을 막는다.
+    private static final String DECREASE_STOCK_SQL =
+            "UPDATE PRODUCT SET stock = stock - ? WHERE id = ? AND stock >= ?";
+    private static final String ADJUST_STOCK_SQL =
+            "UPDATE PRODUCT SET stock = stock + ? WHERE id = ?";
+    private static final String FIND_STOCK_FOR_UPDATE_SQL =
+            "SELECT stock FROM PRODUCT WHERE id = ? FOR UPDATE";
+    private static final String CLEAR_STOCK_SQL =
+            "UPDATE PRODUCT SET stock = 0 WHERE id = ?";
+
     private final ProductJpaRepository productJpaRepository;
     private final ProductMapper productMapper;
+    private final ProductStockBucketRepository productStockBucketRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
     @Transactional
@@ -33,51 +53,173 @@ public class ProductRepositoryImpl implements ProductRepository {
             productEntity = productMapper.toEntity(product);
         }
         ProductEntity saved = productJpaRepository.save(productEntity);
-        return productMapper.toDomain(saved);
+        return withBucketStock(productMapper.toDomain(saved));
     }
 
     @Override
     public Optional<Product> findById(UUID productId) {
         return productJpaRepository.findById(productId)
-                .map(productMapper::toDomain);
+                .map(productMapper::toDomain)
+                .map(this::withBucketStock);
+    }
+
+    @Override
+    @Transactional
+    public Optional<Product> findByIdForUpdate(UUID productId) {
+        return productJpaRepository.findByIdForUpdate(productId)
+                .map(productMapper::toDomain)
+                .map(this::withBucketStock);
     }
 
     @Override
     public Optional<Product> findByName(String name) {
         return productJpaRepository.findByName(name)
-                .map(productMapper::toDomain);
+                .map(productMapper::toDomain)
+                .map(this::withBucketStock);
     }
 
     @Override
     public Page<Product> findAll(Pageable pageable) {
-        return productJpaRepository.findAll(pageable)
-                .map(productMapper::toDomain);
+        return withBucketStock(productJpaRepository.findAll(pageable)
+                .map(productMapper::toDomain));
     }
 
     @Override
     public Page<Product> findByNameContainingIgnoreCase(String name, Pageable pageable) {
-        return productJpaRepository.findByNameContainingIgnoreCase(name, pageable)
-                .map(productMapper::toDomain);
+        return withBucketStock(productJpaRepository.findByNameContainingIgnoreCase(name, pageable)
+                .map(productMapper::toDomain));
+    }
+
+    @Override
+    public List<Product> findScroll(String name, ScrollCursor cursor, int limit) {
+        List<ProductEntity> productEntityList = cursor == null
+                ? productJpaRepository.findScrollFirst(name, Limit.of(limit))
+                : productJpaRepository.findScrollAfter(name, cursor.getCreatedAt(), cursor.getId(), Limit.of(limit));
+        return withBucketStock(productEntityList.stream()
+                .map(productMapper::toDomain)
+                .toList());
+    }
+
+    @Override
+    public long countByNameContainingIgnoreCase(String name) {
+        return productJpaRepository.countByNameContainingIgnoreCase(name);
     }
 
     @Override
     public List<Product> findAllById(Iterable<UUID> productIdList) {
-        return productJpaRepository.findAllById(productIdList)
+        return withBucketStock(productJpaRepository.findAllById(productIdList)
                 .stream()
                 .map(productMapper::toDomain)
-                .toList();
+                .toList());
     }
 
     @Override
     public List<Product> findByIdIn(List<UUID> productIdList) {
-        return productJpaRepository.findByIdIn(productIdList)
+        return withBucketStock(productJpaRepository.findByIdIn(productIdList)
+                .stream()
+                .map(productMapper::toDomain)
+                .toList());
+    }
+
+    @Override
+    public List<Product> findByStockReservationEnabledTrue() {
+        return productJpaRepository.findByStockReservationEnabledTrue()
                 .stream()
                 .map(productMapper::toDomain)
                 .toList();
     }
 
+    @Override
+    public List<Product> findByStockBucketCountGreaterThanZero() {
+        return withBucketStock(productJpaRepository.findByStockBucketCountGreaterThan(0)
+                .stream()
+                .map(productMapper::toDomain)
+                .toList());
+    }
+
     @Override
     public long count() {
         return productJpaRepository.count();
     }
+
+    @Override
+    @Transactional
+    public List<UUID> decreaseStockAll(Map<UUID, Long> productQuantityMap) {
+        List<Map.Entry<UUID, Long>> entryList = new ArrayList<>(productQuantityMap.entrySet());
+        int[][] updateCounts = jdbcTemplate.batchUpdate(
+                DECREASE_STOCK_SQL,
+                entryList,
+                entryList.size(),
+                (preparedStatement, entry) -> {
+                    preparedStatement.setLong(1, entry.getValue());
+                    preparedStatement.setObject(2, entry.getKey());
+                    preparedStatement.setLong(3, entry.getValue());
+                }
+        );
+
+        List<UUID> failedProductIds = new ArrayList<>();
+        int index = 0;
+        for (int[] batchCounts : updateCounts) {
+            for (int updateCount : batchCounts) {
+                // SUCCESS_NO_INFO 는 드라이버가 건수를 알려주지 않는 경우로, 실패가 아니므로 성공으로 본다.
+                if (updateCount == 0 || updateCount == Statement.EXECUTE_FAILED) {
+                    failedProductIds.add(entryList.get(index).getKey());
+                }
+                index++;
+            }
+        }
+        return failedProductIds;
+    }
+
+    @Override
+    @Transactional
+    public void adjustStockAll(Map<UUID, Long> productDeltaMap) {
+        List<Map.Entry<UUID, Long>> entryList = new ArrayList<>(productDeltaMap.entrySet());
+        jdbcTemplate.batchUpdate(
+                ADJUST_STOCK_SQL,
+                entryList,
+                entryList.size(),
+                (preparedStatement, entry) -> {
+                    preparedStatement.setLong(1, entry.getValue());
+                    preparedStatement.setObject(2, entry.getKey());
+                }
+        );
+    }
+
+    @Override
+    @Transactional
+    public long clearStock(UUID productId) {
+        // 행을 잠가 두고 비우므로, 그 사이 조건부 차감이 끼어들어 수량이 어긋나지 않는다
+        List<Long> stockList = jdbcTemplate.queryForList(FIND_STOCK_FOR_UPDATE_SQL, Long.class, productId);
+        if (stockList.isEmpty()) {
+            return 0L;
+        }
+        jdbcTemplate.update(CLEAR_STOCK_SQL, productId);
+        return stockList.get(0);
+    }
+
+    // 버킷으로 나뉜 상품은 PRODUCT.stock 대신 버킷 재고의 합을 재고로 보여 준다
+    private Product withBucketStock(Product product) {
+        return withBucketStock(List.of(product)).get(0);
+    }
+
+    private Page<Product> withBucketStock(Page<Product> productPage) {
+        return new PageImpl<>(withBucketStock(productPage.getContent()), productPage.getPageable(), productPage.getTotalElements());
+    }
+
+    private List<Product> withBucketStock(List<Product> productList) {
+        List<UUID> bucketedProductIds = productList.stream()
+                .filter(Product::isStockBucketed)
+                .map(Product::getId)
+                .toList();
+        if (bucketedProductIds.isEmpty()) {
+            return productList;
+        }
+        Map<UUID, Long> bucketStockMap = productStockBucketRepository.sumStockByProductIdIn(bucketedProductIds);
+        return productList.stream()
+                .map(product -> product.isStockBucketed()
+                        ? product.update(null, null, bucketStockMap.getOrDefault(product.getId(), 0L))
+                        : product)
+                .toList();
+    }
 }
@@ -0,0 +1,23 @@
+package com.example.shop.product.infrastructure.jpa.repository;
+
+import com.example.shop.product.infrastructure.jpa.entity.ProductStockBucketEntity;
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ProductStockBucketJpaRepository extends JpaRepository<ProductStockBucketEntity, UUID> {
+
+    List<ProductStockBucketEntity> findByProductIdOrderByBucketIndex(UUID productId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from ProductStockBucketEntity b where b.productId = :productId order by b.bucketIndex")
+    List<ProductStockBucketEntity> findByProductIdForUpdate(@Param("productId") UUID productId);
+
+    @Query("select b.productId, sum(b.stock) from ProductStockBucketEntity b where b.productId in :productIds group by b.productId")
+    List<Object[]> sumStockByProductIdIn(@Param("productIds") Collection<UUID> productIds);
+}
@@ -0,0 +1,128 @@
+package com.example.shop.product.infrastructure.jpa.repository;
+
+import com.example.shop.product.domain.repository.ProductStockBucketRepository;
+import com.example.shop.product.infrastructure.jpa.entity.ProductStockBucketEntity;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ProductStockBucketRepositoryImpl implements ProductStockBucketRepository {
+
+    private static final String DECREASE_STOCK_SQL =
+            "UPDATE PRODUCT_STOCK_BUCKET SET stock = stock - ? WHERE product_id = ? AND bucket_index = ? AND stock >= ?";
+    private static final String INCREASE_STOCK_SQL =
+            "UPDATE PRODUCT_STOCK_BUCKET SET stock = stock + ? WHERE product_id = ? AND bucket_index = ?";
+    private static final String INCREASE_PRODUCT_STOCK_SQL =
+            "UPDATE PRODUCT SET stock = stock + ? WHERE id = ?";
+    private static final String FIND_STOCK_SQL =
+            "SELECT stock FROM PRODUCT_STOCK_BUCKET WHERE product_id = ? AND bucket_index = ?";
+
+    private final ProductStockBucketJpaRepository productStockBucketJpaRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public boolean decreaseStock(UUID productId, int bucketCount, int startIndex, long quantity) {
+        // 대부분은 시작 버킷 하나에서 끝나고, 비어 있으면 이웃 버킷에서 전체 수량을 찾는다
+        for (int offset = 0; offset < bucketCount; offset++) {
+            if (jdbcTemplate.update(DECREASE_STOCK_SQL, quantity, productId, bucketIndex(startIndex, offset, bucketCount), quantity) == 1) {
+                return true;
+            }
+        }
+
+        // 어느 버킷에도 전체 수량이 없으면 남은 재고를 버킷마다 나눠 차감한다(실패 시 호출한 쪽 트랜잭션이 롤백)
+        long remaining = quantity;
+        for (int offset = 0; offset < bucketCount && remaining > 0; offset++) {
+            int bucketIndex = bucketIndex(startIndex, offset, bucketCount);
+            long taken = Math.min(findStock(productId, bucketIndex), remaining);
+            if (taken > 0 && jdbcTemplate.update(DECREASE_STOCK_SQL, taken, productId, bucketIndex, taken) == 1) {
+                remaining -= taken;
+            }
+        }
+        return remaining == 0;
+    }
+
+    @Override
+    @Transactional
+    public void increaseStock(UUID productId, int bucketCount, int startIndex, long quantity) {
+        // 버킷 수가 줄어든 직후라 시작 버킷이 없으면 남아 있는 이웃 버킷에 더한다
+        for (int offset = 0; offset < bucketCount; offset++) {
+            if (jdbcTemplate.update(INCREASE_STOCK_SQL, quantity, productId, bucketIndex(startIndex, offset, bucketCount)) == 1) {
+                return;
+            }
+        }
+        // 버킷을 0 개로 되돌려 재고가 PRODUCT.stock 으로 옮겨진 뒤라면 그쪽에 더한다
+        jdbcTemplate.update(INCREASE_PRODUCT_STOCK_SQL, quantity, productId);
+    }
+
+    @Override
+    public Map<UUID, Long> sumStockByProductIdIn(Collection<UUID> productIds) {
+        Map<UUID, Long> stockMap = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return stockMap;
+        }
+        productStockBucketJpaRepository.sumStockByProductIdIn(productIds)
+                .forEach(row -> stockMap.put((UUID) row[0], ((Number) row[1]).longValue()));
+        return stockMap;
+    }
+
+    @Override
+    public List<Long> findStocks(UUID productId) {
+        return productStockBucketJpaRepository.findByProductIdOrderByBucketIndex(productId)
+                .stream()
+                .map(ProductStockBucketEntity::getStock)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public long rebalance(UUID productId, int bucketCount, long additionalStock) {
+        List<ProductStockBucketEntity> bucketList = productStockBucketJpaRepository.findByProductIdForUpdate(productId);
+        long totalStock = additionalStock + bucketList.stream()
+                .mapToLong(ProductStockBucketEntity::getStock)
+                .sum();
+
+        List<ProductStockBucketEntity> removedBucketList = new ArrayList<>();
+        ProductStockBucketEntity[] buckets = new ProductStockBucketEntity[bucketCount];
+        bucketList.forEach(bucket -> {
+            if (bucket.getBucketIndex() < bucketCount) {
+                buckets[bucket.getBucketIndex()] = bucket;
+            } else {
+                removedBucketList.add(bucket);
+            }
+        });
+        productStockBucketJpaRepository.deleteAll(removedBucketList);
+
+        for (int bucketIndex = 0; bucketIndex < bucketCount; bucketIndex++) {
+            if (buckets[bucketIndex] == null) {
+                buckets[bucketIndex] = ProductStockBucketEntity.builder()
+                        .productId(productId)
+                        .bucketIndex(bucketIndex)
+                        .build();
+            }
+            long share = totalStock / bucketCount + (bucketIndex < totalStock % bucketCount ? 1 : 0);
+            buckets[bucketIndex].updateStock(share);
+        }
+        productStockBucketJpaRepository.saveAll(List.of(buckets));
+        return totalStock;
+    }
+
+    private long findStock(UUID productId, int bucketIndex) {
+        List<Long> stockList = jdbcTemplate.queryForList(FIND_STOCK_SQL, Long.class, productId, bucketIndex);
+        return stockList.isEmpty() ? 0L : stockList.get(0);
+    }
+
+    private int bucketIndex(int startIndex, int offset, int bucketCount) {
+        return (startIndex + offset) % bucketCount;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.shop.product.infrastructure.redis.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 캐시 값과 함께 조기 갱신(XFetch) 판단에 필요한 계산 시간과 만료 시각을 담는다.
+ */
+@Getter
+@AllArgsConstructor
+public class CachedValue {
+
+    private final Object value;
+
+    // 값을 새로 계산하는 데 걸린 시간
+    private final long computeMillis;
+
+    // 0 이면 만료되지 않는다
+    private final long expiresAtMillis;
+
+}
@@ -0,0 +1,62 @@
+package com.example.shop.product.infrastructure.redis.cache;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@link CachedValue} 를 머리글(형식 1 바이트, 계산 시간, 만료 시각) + 캐시별 직렬화기의 값으로 기록한다.
+ * 머리글 형식이 다른 값은 캐시 미스로 본다.
+ */
+public class CachedValueRedisSerializer implements RedisSerializer<CachedValue> {
+
+    static final byte FORMAT = (byte) 0xC1;
+
+    private static final int HEADER_BYTES = 1 + Long.BYTES + Long.BYTES;
+
+    private final RedisSerializer<Object> valueSerializer;
+
+    @SuppressWarnings("unchecked")
+    public CachedValueRedisSerializer(RedisSerializer<?> valueSerializer) {
+        this.valueSerializer = (RedisSerializer<Object>) valueSerializer;
+    }
+
+    @Override
+    public byte[] serialize(CachedValue cachedValue) throws SerializationException {
+        if (cachedValue == null) {
+            return new byte[0];
+        }
+        byte[] valueBytes = valueSerializer.serialize(cachedValue.getValue());
+        int valueLength = valueBytes == null ? 0 : valueBytes.length;
+        ByteBuffer byteBuffer = ByteBuffer.allocate(HEADER_BYTES + valueLength)
+                .put(FORMAT)
+                .putLong(cachedValue.getComputeMillis())
+                .putLong(cachedValue.getExpiresAtMillis());
+        if (valueLength > 0) {
+            byteBuffer.put(valueBytes);
+        }
+        return byteBuffer.array();
+    }
+
+    @Override
+    public CachedValue deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length < HEADER_BYTES || bytes[0] != FORMAT) {
+            return null;
+        }
+        ByteBuffer byteBuffer = ByteBuffer.wrap(bytes, 1, HEADER_BYTES - 1);
+        long computeMillis = byteBuffer.getLong();
+        long expiresAtMillis = byteBuffer.getLong();
+        byte[] valueBytes = new byte[bytes.length - HEADER_BYTES];
+        System.arraycopy(bytes, HEADER_BYTES, valueBytes, 0, valueBytes.length);
+
+        Object value = valueSerializer.deserialize(valueBytes);
+        return value == null ? null : new CachedValue(value, computeMillis, expiresAtMillis);
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return CachedValue.class;
+    }
+
+}
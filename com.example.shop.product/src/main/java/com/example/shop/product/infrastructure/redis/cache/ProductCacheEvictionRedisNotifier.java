@@ -0,0 +1,54 @@
+package com.example.shop.product.infrastructure.redis.cache;
+
+import com.example.shop.product.application.cache.ProductCacheEvictionNotifier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductCacheEvictionRedisNotifier implements ProductCacheEvictionNotifier {
+
+    public static final String PRODUCT_CACHE_EVICT_CHANNEL = "cache:evict:product";
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Override
+    public void notifyEvicted(List<UUID> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        String message = productIds.stream()
+                .map(UUID::toString)
+                .collect(Collectors.joining(","));
+
+        // 커밋 전에 알리면 다른 노드가 변경 전 데이터를 다시 캐시할 수 있으므로 커밋 후에 발행한다
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(message);
+                }
+            });
+            return;
+        }
+        publish(message);
+    }
+
+    private void publish(String message) {
+        try {
+            stringRedisTemplate.convertAndSend(PRODUCT_CACHE_EVICT_CHANNEL, message);
+        } catch (RuntimeException exception) {
+            log.warn("product cache eviction publish failed: {}", message, exception);
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.example.shop.product.infrastructure.redis.cache;
+
+import com.example.shop.product.presentation.dto.response.ResGetProductDtoV1;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * 상품 단건 캐시({@link ResGetProductDtoV1}) 전용 바이너리 직렬화기.
+ * 타입 정보 없이 스키마 버전 1 바이트, 필드 존재 여부 1 바이트, 필드 값 순서로 기록한다.
+ * 버전이 다른 값은 캐시 미스로 보고 새로 조회한 값으로 덮어쓴다.
+ */
+public class ProductCacheRedisSerializer implements RedisSerializer<ResGetProductDtoV1> {
+
+    static final byte SCHEMA_VERSION = 1;
+
+    private static final int PRODUCT_PRESENT = 1;
+    private static final int ID_PRESENT = 1 << 1;
+    private static final int ID_UUID = 1 << 2;
+    private static final int NAME_PRESENT = 1 << 3;
+    private static final int PRICE_PRESENT = 1 << 4;
+    private static final int STOCK_PRESENT = 1 << 5;
+
+    @Override
+    public byte[] serialize(ResGetProductDtoV1 value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        ResGetProductDtoV1.ProductDto product = value.getProduct();
+        UUID uuid = product == null ? null : parseUuid(product.getId());
+
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(byteArrayOutputStream)) {
+            out.writeByte(SCHEMA_VERSION);
+            if (product == null) {
+                out.writeByte(0);
+                return byteArrayOutputStream.toByteArray();
+            }
+            int flags = PRODUCT_PRESENT;
+            flags |= product.getId() == null ? 0 : ID_PRESENT;
+            flags |= uuid == null ? 0 : ID_UUID;
+            flags |= product.getName() == null ? 0 : NAME_PRESENT;
+            flags |= product.getPrice() == null ? 0 : PRICE_PRESENT;
+            flags |= product.getStock() == null ? 0 : STOCK_PRESENT;
+            out.writeByte(flags);
+
+            // 상품 ID 는 대부분 UUID 문자열이므로 36 바이트 문자열 대신 16 바이트로 기록한다
+            if (uuid != null) {
+                out.writeLong(uuid.getMostSignificantBits());
+                out.writeLong(uuid.getLeastSignificantBits());
+            } else if (product.getId() != null) {
+                out.writeUTF(product.getId());
+            }
+            if (product.getName() != null) {
+                out.writeUTF(product.getName());
+            }
+            if (product.getPrice() != null) {
+                out.writeLong(product.getPrice());
+            }
+            if (product.getStock() != null) {
+                out.writeLong(product.getStock());
+            }
+        } catch (IOException exception) {
+            throw new SerializationException("product cache value serialize failed", exception);
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    @Override
+    public ResGetProductDtoV1 deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0 || bytes[0] != SCHEMA_VERSION) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1))) {
+            int flags = in.readUnsignedByte();
+            if ((flags & PRODUCT_PRESENT) == 0) {
+                return ResGetProductDtoV1.builder().build();
+            }
+
+            String id = null;
+            if ((flags & ID_UUID) != 0) {
+                id = new UUID(in.readLong(), in.readLong()).toString();
+            } else if ((flags & ID_PRESENT) != 0) {
+                id = in.readUTF();
+            }
+            return ResGetProductDtoV1.builder()
+                    .product(ResGetProductDtoV1.ProductDto.builder()
+                            .id(id)
+                            .name((flags & NAME_PRESENT) != 0 ? in.readUTF() : null)
+                            .price((flags & PRICE_PRESENT) != 0 ? in.readLong() : null)
+                            .stock((flags & STOCK_PRESENT) != 0 ? in.readLong() : null)
+                            .build())
+                    .build();
+        } catch (IOException exception) {
+            throw new SerializationException("product cache value deserialize failed", exception);
+        }
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return ResGetProductDtoV1.class;
+    }
+
+    private UUID parseUuid(String id) {
+        if (id == null || id.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(id);
+            // 대문자 등 다른 표기는 복원 시 달라지므로 문자열 그대로 기록한다
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException exception) {
+            return null;
+        }
+    }
+
+}
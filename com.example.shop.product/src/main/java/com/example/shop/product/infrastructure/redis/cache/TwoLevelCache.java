@@ -0,0 +1,323 @@
+package com.example.shop.product.infrastructure.redis.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Redis 캐시(L2) 앞에 인스턴스 로컬 Caffeine(L1) 을 선택적으로 둔 캐시.
+ * L1 은 L2 에 저장되는 직렬화 크기로 무게를 매겨 메모리 상한을 지키고,
+ * 다른 인스턴스의 변경은 {@link #evictLocal(Object)} 로 전달받아 L1 에서만 지운다.
+ * <p>
+ * 값은 계산 시간과 만료 시각을 담은 {@link CachedValue} 로 저장해 만료 전에 확률적으로 미리 갱신(XFetch)하고,
+ * {@code @Cacheable(sync = true)} 로 들어온 미스는 인스턴스 안에서는 키별로 한 번만 계산하며
+ * 인스턴스 간에는 Redis 락을 잡은 한 곳만 계산한다.
+ */
+@Slf4j
+public class TwoLevelCache implements Cache {
+
+    private static final String LOCK_KEY_PREFIX = "cache:lock:";
+    private static final long LOCK_POLL_MILLIS = 20L;
+    private static final RedisScript<Long> LOCK_RELEASE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/lock-release.lua"), Long.class);
+
+    private final RedisCache redisCache;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final TwoLevelCacheSettings settings;
+    private final com.github.benmanes.caffeine.cache.Cache<String, CachedValue> localCache;
+    private final Map<String, CompletableFuture<Object>> loadingFutureMap = new ConcurrentHashMap<>();
+    private final AtomicLong invalidationVersion = new AtomicLong();
+
+    private final Counter localHitCounter;
+    private final Counter localMissCounter;
+    private final Counter redisHitCounter;
+    private final Counter redisMissCounter;
+    private final Counter earlyRefreshCounter;
+    private final Counter coalescedCounter;
+
+    public TwoLevelCache(
+            RedisCache redisCache,
+            StringRedisTemplate stringRedisTemplate,
+            MeterRegistry meterRegistry,
+            TwoLevelCacheSettings settings,
+            boolean localEnabled
+    ) {
+        this.redisCache = redisCache;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.settings = settings;
+        this.localCache = localEnabled
+                ? Caffeine.newBuilder()
+                        .expireAfterWrite(settings.getLocalTtl())
+                        .maximumWeight(settings.getLocalMaximumWeightBytes())
+                        .weigher((String key, CachedValue cachedValue) -> weigh(cachedValue))
+                        .build()
+                : null;
+        this.localHitCounter = registerCounter(meterRegistry, "product.cache.gets", "캐시 계층별 조회 결과 수", "tier", "l1", "result", "hit");
+        this.localMissCounter = registerCounter(meterRegistry, "product.cache.gets", "캐시 계층별 조회 결과 수", "tier", "l1", "result", "miss");
+        this.redisHitCounter = registerCounter(meterRegistry, "product.cache.gets", "캐시 계층별 조회 결과 수", "tier", "l2", "result", "hit");
+        this.redisMissCounter = registerCounter(meterRegistry, "product.cache.gets", "캐시 계층별 조회 결과 수", "tier", "l2", "result", "miss");
+        this.earlyRefreshCounter = registerCounter(meterRegistry, "product.cache.loads", "캐시 값 계산 수", "reason", "early-refresh");
+        this.coalescedCounter = registerCounter(meterRegistry, "product.cache.loads", "캐시 값 계산 수", "reason", "coalesced");
+    }
+
+    @Override
+    public String getName() {
+        return redisCache.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return redisCache;
+    }
+
+    // sync 가 아닌 @Cacheable 은 조기 갱신 대상이면 미스로 응답해 호출한 쪽이 다시 계산하고 put 하게 한다
+    @Override
+    public ValueWrapper get(Object key) {
+        CachedValue cachedValue = lookup(key);
+        if (cachedValue == null) {
+            return null;
+        }
+        if (shouldRefreshEarly(cachedValue)) {
+            earlyRefreshCounter.increment();
+            return null;
+        }
+        return new SimpleValueWrapper(cachedValue.getValue());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        CachedValue cachedValue = lookup(key);
+        Object value = cachedValue == null ? null : cachedValue.getValue();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        CachedValue cachedValue = lookup(key);
+        boolean earlyRefresh = cachedValue != null && shouldRefreshEarly(cachedValue);
+        if (cachedValue != null && !earlyRefresh) {
+            return (T) cachedValue.getValue();
+        }
+
+        String localKey = localKey(key);
+        CompletableFuture<Object> loadingFuture = new CompletableFuture<>();
+        CompletableFuture<Object> inFlightFuture = loadingFutureMap.putIfAbsent(localKey, loadingFuture);
+        if (inFlightFuture != null) {
+            // 같은 키를 이미 계산 중이면 아직 유효한 값을 돌려주거나, 값이 없으면 그 결과를 기다린다
+            coalescedCounter.increment();
+            if (cachedValue != null) {
+                return (T) cachedValue.getValue();
+            }
+            try {
+                return (T) inFlightFuture.join();
+            } catch (CompletionException exception) {
+                throw new ValueRetrievalException(key, valueLoader, exception.getCause());
+            }
+        }
+
+        try {
+            if (earlyRefresh) {
+                earlyRefreshCounter.increment();
+            }
+            Object value = loadWithLock(key, cachedValue, valueLoader);
+            loadingFuture.complete(value);
+            return (T) value;
+        } catch (Exception exception) {
+            if (exception instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            loadingFuture.completeExceptionally(exception);
+            throw new ValueRetrievalException(key, valueLoader, exception);
+        } finally {
+            loadingFutureMap.remove(localKey, loadingFuture);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        put(key, value, 0L);
+    }
+
+    @Override
+    public void evict(Object key) {
+        redisCache.evict(key);
+        evictLocal(key);
+    }
+
+    @Override
+    public void clear() {
+        redisCache.clear();
+        invalidationVersion.incrementAndGet();
+        if (localCache != null) {
+            localCache.invalidateAll();
+        }
+    }
+
+    public void evictLocal(Object key) {
+        invalidationVersion.incrementAndGet();
+        if (localCache != null) {
+            localCache.invalidate(localKey(key));
+        }
+    }
+
+    private CachedValue lookup(Object key) {
+        String localKey = localKey(key);
+        if (localCache != null) {
+            CachedValue localValue = localCache.getIfPresent(localKey);
+            if (localValue != null) {
+                localHitCounter.increment();
+                return localValue;
+            }
+            localMissCounter.increment();
+        }
+
+        long version = invalidationVersion.get();
+        CachedValue redisValue = lookupRedis(key);
+        if (redisValue == null) {
+            redisMissCounter.increment();
+            return null;
+        }
+        redisHitCounter.increment();
+        putLocal(localKey, redisValue, version);
+        return redisValue;
+    }
+
+    private CachedValue lookupRedis(Object key) {
+        ValueWrapper valueWrapper = redisCache.get(key);
+        return valueWrapper != null && valueWrapper.get() instanceof CachedValue cachedValue ? cachedValue : null;
+    }
+
+    private Object loadWithLock(Object key, CachedValue cachedValue, Callable<?> valueLoader) throws Exception {
+        String lockKey = LOCK_KEY_PREFIX + getName() + ":" + localKey(key);
+        String lockOwner = UUID.randomUUID().toString();
+        boolean locked = tryLock(lockKey, lockOwner);
+        if (!locked) {
+            // 다른 인스턴스가 계산 중이면 남은 값을 쓰거나, 그 인스턴스가 L2 를 채울 때까지 잠시 기다린다
+            if (cachedValue != null) {
+                return cachedValue.getValue();
+            }
+            CachedValue loadedValue = waitForRedis(key);
+            if (loadedValue != null) {
+                return loadedValue.getValue();
+            }
+        }
+
+        try {
+            long startNanos = System.nanoTime();
+            Object value = valueLoader.call();
+            put(key, value, (System.nanoTime() - startNanos) / 1_000_000L);
+            return value;
+        } finally {
+            if (locked) {
+                unlock(lockKey, lockOwner);
+            }
+        }
+    }
+
+    private boolean tryLock(String lockKey, String lockOwner) {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(lockKey, lockOwner, settings.getLockTtl()));
+        } catch (RuntimeException exception) {
+            // 락을 잡지 못해도 계산은 할 수 있으므로 Redis 장애는 인스턴스 안의 묶음 처리로만 막는다
+            log.warn("cache lock failed - key: {}", lockKey, exception);
+            return false;
+        }
+    }
+
+    private void unlock(String lockKey, String lockOwner) {
+        try {
+            stringRedisTemplate.execute(LOCK_RELEASE_SCRIPT, List.of(lockKey), lockOwner);
+        } catch (RuntimeException exception) {
+            log.warn("cache unlock failed - key: {}", lockKey, exception);
+        }
+    }
+
+    private CachedValue waitForRedis(Object key) throws InterruptedException {
+        long deadlineNanos = System.nanoTime() + settings.getLockWait().toNanos();
+        while (System.nanoTime() < deadlineNanos) {
+            Thread.sleep(LOCK_POLL_MILLIS);
+            CachedValue cachedValue = lookupRedis(key);
+            if (cachedValue != null) {
+                return cachedValue;
+            }
+        }
+        return null;
+    }
+
+    private void put(Object key, Object value, long computeMillis) {
+        if (value == null) {
+            return;
+        }
+        long version = invalidationVersion.get();
+        Duration ttl = redisCache.getCacheConfiguration().getTtlFunction().getTimeToLive(key, value);
+        long expiresAtMillis = ttl.isZero() || ttl.isNegative() ? 0L : System.currentTimeMillis() + ttl.toMillis();
+        CachedValue cachedValue = new CachedValue(value, computeMillis, expiresAtMillis);
+        redisCache.put(key, cachedValue);
+        putLocal(localKey(key), cachedValue, version);
+    }
+
+    // 조회 도중 무효화 메시지가 도착했다면 오래된 값을 로컬에 남기지 않는다
+    private void putLocal(String localKey, CachedValue cachedValue, long version) {
+        if (localCache == null) {
+            return;
+        }
+        localCache.put(localKey, cachedValue);
+        if (version != invalidationVersion.get()) {
+            localCache.invalidate(localKey);
+        }
+    }
+
+    // XFetch: now - computeMillis * beta * ln(rand) >= expiresAt 이면 만료 전에 미리 다시 계산한다
+    private boolean shouldRefreshEarly(CachedValue cachedValue) {
+        if (settings.getEarlyRefreshBeta() <= 0 || cachedValue.getExpiresAtMillis() == 0L) {
+            return false;
+        }
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+        double gapMillis = -Math.max(cachedValue.getComputeMillis(), 1L) * settings.getEarlyRefreshBeta() * Math.log(random);
+        return System.currentTimeMillis() + gapMillis >= cachedValue.getExpiresAtMillis();
+    }
+
+    private int weigh(CachedValue cachedValue) {
+        return redisCache.getCacheConfiguration()
+                .getValueSerializationPair()
+                .write(cachedValue)
+                .remaining();
+    }
+
+    // RedisCache 도 키를 문자열로 바꿔 저장하므로, 무효화 메시지의 문자열 ID 와 같은 키가 되도록 맞춘다
+    private String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private Counter registerCounter(MeterRegistry meterRegistry, String name, String description, String... tags) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("cache", getName())
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.example.shop.product.infrastructure.redis.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link RedisCacheManager} 의 모든 캐시를 {@link TwoLevelCache} 로 감싸는 캐시 매니저.
+ * 조기 갱신과 미스 묶음 처리는 모든 캐시에 적용하고, 로컬 L1 은 지정한 캐시에만 붙인다.
+ * Redis 에는 {@link CachedValue} 가 저장되므로 캐시 설정의 값 직렬화기는 {@link CachedValueRedisSerializer} 로 감싸야 한다.
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final RedisCacheManager redisCacheManager;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final TwoLevelCacheSettings settings;
+    private final Map<String, TwoLevelCache> cacheMap = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(
+            RedisCacheManager redisCacheManager,
+            StringRedisTemplate stringRedisTemplate,
+            MeterRegistry meterRegistry,
+            TwoLevelCacheSettings settings
+    ) {
+        this.redisCacheManager = redisCacheManager;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.settings = settings;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoLevelCache cache = cacheMap.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache redisCache = redisCacheManager.getCache(name);
+        if (redisCache == null) {
+            return null;
+        }
+        return cacheMap.computeIfAbsent(name, cacheName -> new TwoLevelCache(
+                (RedisCache) redisCache,
+                stringRedisTemplate,
+                meterRegistry,
+                settings,
+                settings.getLocalCacheNames().contains(cacheName)
+        ));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return redisCacheManager.getCacheNames();
+    }
+
+    // 다른 인스턴스에서 변경된 키를 이 인스턴스의 L1 에서만 지운다(L2 는 변경한 쪽에서 이미 지웠다)
+    public void evictLocal(String name, Collection<?> keys) {
+        TwoLevelCache cache = cacheMap.get(name);
+        if (cache != null) {
+            keys.forEach(cache::evictLocal);
+        }
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.example.shop.product.infrastructure.redis.cache;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Set;
+
+@Getter
+@Builder
+public class TwoLevelCacheSettings {
+
+    // 로컬 L1 을 붙일 캐시 이름
+    private final Set<String> localCacheNames;
+    private final Duration localTtl;
+    private final long localMaximumWeightBytes;
+
+    // XFetch 조기 갱신 강도(클수록 만료 전에 더 일찍 갱신, 0 이면 끔)
+    private final double earlyRefreshBeta;
+
+    // 인스턴스 간 재계산 락
+    private final Duration lockTtl;
+    private final Duration lockWait;
+
+}
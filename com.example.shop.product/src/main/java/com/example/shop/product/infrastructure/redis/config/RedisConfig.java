@@ -1,7 +1,16 @@
 package com.example.shop.product.infrastructure.redis.config;
 
+import com.example.shop.product.infrastructure.constants.CacheNames;
+import com.example.shop.product.infrastructure.redis.cache.CachedValueRedisSerializer;
+import com.example.shop.product.infrastructure.redis.cache.ProductCacheEvictionRedisNotifier;
+import com.example.shop.product.infrastructure.redis.cache.ProductCacheRedisSerializer;
+import com.example.shop.product.infrastructure.redis.cache.TwoLevelCacheManager;
+import com.example.shop.product.infrastructure.redis.cache.TwoLevelCacheSettings;
+import com.example.shop.product.infrastructure.redis.listener.ProductCacheEvictionListener;
+import com.example.shop.product.infrastructure.redis.listener.ProductSearchIndexListener;
+import com.example.shop.product.infrastructure.redis.search.ProductSearchIndexRedisNotifier;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,11 +19,16 @@ import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
 
 @Configuration
 @EnableCaching
@@ -37,19 +51,84 @@ public class RedisConfig {
         return new LettuceConnectionFactory(config);
     }
 
-    // 캐시 매니저
+    // 캐시 매니저 (Redis 캐시 앞에 인스턴스 로컬 L1 을 두고, 미스 묶음 처리와 조기 갱신을 적용한다)
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
+    public TwoLevelCacheManager cacheManager(
+            RedisConnectionFactory redisConnectionFactory,
+            StringRedisTemplate stringRedisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${shop.product.cache.local-ttl-millis:10000}") long localTtlMillis,
+            @Value("${shop.product.cache.local-maximum-weight-bytes:16777216}") long localMaximumWeightBytes,
+            @Value("${shop.product.cache.early-refresh-beta:1.0}") double earlyRefreshBeta,
+            @Value("${shop.product.cache.lock-ttl-millis:5000}") long lockTtlMillis,
+            @Value("${shop.product.cache.lock-wait-millis:1000}") long lockWaitMillis
+    ) {
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(10)) // 캐시 TTL
+                .disableCachingNullValues()
                 .serializeValuesWith(
                         RedisSerializationContext.SerializationPair
-                                .fromSerializer(new StringRedisSerializer())
+                                .fromSerializer(new CachedValueRedisSerializer(new StringRedisSerializer()))
 //                                .fromSerializer(new GenericJackson2JsonRedisSerializer())
                 );
 
-        return RedisCacheManager.builder(redisConnectionFactory)
+        // 캐시마다 값 형식이 다르므로 캐시 이름별로 직렬화기를 고른다
+        Map<String, RedisCacheConfiguration> cacheConfigurationMap = Map.of(
+                CacheNames.PRODUCT, config
+                        .serializeValuesWith(
+                                RedisSerializationContext.SerializationPair
+                                        .fromSerializer(new CachedValueRedisSerializer(new ProductCacheRedisSerializer()))
+                        )
+        );
+
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
                 .cacheDefaults(config)
+                .withInitialCacheConfigurations(cacheConfigurationMap)
                 .build();
+        // 빈으로 등록하지 않으므로 초기 캐시 설정을 직접 적용한다
+        redisCacheManager.afterPropertiesSet();
+
+        return new TwoLevelCacheManager(
+                redisCacheManager,
+                stringRedisTemplate,
+                meterRegistry,
+                TwoLevelCacheSettings.builder()
+                        .localCacheNames(Set.of(CacheNames.PRODUCT))
+                        .localTtl(Duration.ofMillis(localTtlMillis))
+                        .localMaximumWeightBytes(localMaximumWeightBytes)
+                        .earlyRefreshBeta(earlyRefreshBeta)
+                        .lockTtl(Duration.ofMillis(lockTtlMillis))
+                        .lockWait(Duration.ofMillis(lockWaitMillis))
+                        .build()
+        );
+    }
+
+    @Bean
+    public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory connectionFactory) {
+        StringRedisTemplate stringRedisTemplate = new StringRedisTemplate();
+        stringRedisTemplate.setConnectionFactory(connectionFactory);
+        stringRedisTemplate.setKeySerializer(new StringRedisSerializer());
+        stringRedisTemplate.setValueSerializer(new StringRedisSerializer());
+        return stringRedisTemplate;
+    }
+
+    // 상품 캐시 무효화 구독 (다른 인스턴스의 L1 정리)
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            ProductCacheEvictionListener productCacheEvictionListener,
+            ProductSearchIndexListener productSearchIndexListener
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                productCacheEvictionListener,
+                ChannelTopic.of(ProductCacheEvictionRedisNotifier.PRODUCT_CACHE_EVICT_CHANNEL)
+        );
+        container.addMessageListener(
+                productSearchIndexListener,
+                ChannelTopic.of(ProductSearchIndexRedisNotifier.PRODUCT_SEARCH_INDEX_CHANNEL)
+        );
+        return container;
     }
-}
\ No newline at end of file
+}
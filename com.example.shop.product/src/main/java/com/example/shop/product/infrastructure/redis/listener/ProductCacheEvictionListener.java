@@ -0,0 +1,27 @@
+package com.example.shop.product.infrastructure.redis.listener;
+
+import com.example.shop.product.infrastructure.constants.CacheNames;
+import com.example.shop.product.infrastructure.redis.cache.TwoLevelCacheManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+@Component
+@RequiredArgsConstructor
+public class ProductCacheEvictionListener implements MessageListener {
+
+    private final TwoLevelCacheManager twoLevelCacheManager;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        twoLevelCacheManager.evictLocal(
+                CacheNames.PRODUCT,
+                Arrays.asList(new String(message.getBody(), StandardCharsets.UTF_8).split(","))
+        );
+    }
+
+}
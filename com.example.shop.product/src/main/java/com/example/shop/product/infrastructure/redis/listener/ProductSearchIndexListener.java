@@ -0,0 +1,33 @@
+package com.example.shop.product.infrastructure.redis.listener;
+
+import com.example.shop.product.application.search.ProductSearchIndex;
+import com.example.shop.product.infrastructure.redis.search.ProductSearchIndexRedisNotifier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndexListener implements MessageListener {
+
+    private final ProductSearchIndex productSearchIndex;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split(ProductSearchIndexRedisNotifier.MESSAGE_DELIMITER, 2);
+        if (parts.length < 2) {
+            log.warn("product search index message ignored: {}", body);
+            return;
+        }
+        // 발행한 인스턴스도 자기 메시지를 받지만, 같은 이름으로 다시 넣는 것은 인덱스에서 무시된다
+        productSearchIndex.put(UUID.fromString(parts[0]), parts[1]);
+    }
+
+}
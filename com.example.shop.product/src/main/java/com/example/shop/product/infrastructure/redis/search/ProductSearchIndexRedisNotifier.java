@@ -0,0 +1,49 @@
+package com.example.shop.product.infrastructure.redis.search;
+
+import com.example.shop.product.application.search.ProductSearchIndexChangeNotifier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndexRedisNotifier implements ProductSearchIndexChangeNotifier {
+
+    public static final String PRODUCT_SEARCH_INDEX_CHANNEL = "search:index:product";
+    // 상품 ID 에는 없는 문자라서 이름에 들어 있어도 첫 번째 것만 구분자로 쓴다
+    public static final String MESSAGE_DELIMITER = ",";
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Override
+    public void notifyPut(UUID productId, String name) {
+        String message = productId + MESSAGE_DELIMITER + name;
+
+        // 롤백된 상품이 다른 인스턴스의 인덱스에 남지 않도록 커밋 후에 발행한다
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(message);
+                }
+            });
+            return;
+        }
+        publish(message);
+    }
+
+    private void publish(String message) {
+        try {
+            stringRedisTemplate.convertAndSend(PRODUCT_SEARCH_INDEX_CHANNEL, message);
+        } catch (RuntimeException exception) {
+            log.warn("product search index publish failed: {}", message, exception);
+        }
+    }
+
+}
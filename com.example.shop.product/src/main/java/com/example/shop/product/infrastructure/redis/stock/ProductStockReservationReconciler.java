@@ -0,0 +1,123 @@
+package com.example.shop.product.infrastructure.redis.stock;
+
+import com.example.shop.product.application.service.ProductServiceV1;
+import com.example.shop.product.domain.model.ProductStock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 예약 엔진 journal 을 모아 PRODUCT_STOCK ledger 와 PRODUCT.stock 에 일괄 반영한다.
+ * 여러 인스턴스가 떠 있어도 Redis 락으로 한 번에 하나만 처리하며, Redis 재시작으로 가용 재고가 사라지면 DB 에서 다시 적재한다.
+ */
+@Slf4j
+@Component
+public class ProductStockReservationReconciler {
+
+    private static final String LOCK_KEY = "product:stock:reconcile:lock";
+    // 이 키가 없으면 Redis 가 비워진 것으로 보고 예약 대상 상품의 가용 재고를 다시 적재한다
+    private static final String SEEDED_KEY = "product:stock:seeded";
+
+    private static final RedisScript<Long> LOCK_RELEASE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/lock-release.lua"), Long.class);
+    private static final RedisScript<Long> LOCK_EXTEND_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/lock-extend.lua"), Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ProductServiceV1 productServiceV1;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration lockTtl;
+    private final String lockOwner = UUID.randomUUID().toString();
+
+    public ProductStockReservationReconciler(
+            StringRedisTemplate stringRedisTemplate,
+            ProductServiceV1 productServiceV1,
+            @Value("${shop.product.stock-reservation.enabled:false}") boolean enabled,
+            @Value("${shop.product.stock-reservation.reconcile-batch-size:500}") int batchSize,
+            @Value("${shop.product.stock-reservation.reconcile-lock-ttl-millis:30000}") long lockTtlMillis
+    ) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.productServiceV1 = productServiceV1;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.lockTtl = Duration.ofMillis(lockTtlMillis);
+    }
+
+    @Scheduled(fixedDelayString = "${shop.product.stock-reservation.reconcile-interval-millis:200}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(LOCK_KEY, lockOwner, lockTtl))) {
+                return;
+            }
+            try {
+                seedIfLost();
+                drainJournal();
+            } finally {
+                stringRedisTemplate.execute(LOCK_RELEASE_SCRIPT, List.of(LOCK_KEY), lockOwner);
+            }
+        } catch (RuntimeException exception) {
+            log.warn("stock reservation reconcile failed", exception);
+        }
+    }
+
+    // Redis 재시작 시 journal 도 함께 사라지므로, 이때는 ledger 가 모두 반영된 PRODUCT.stock 이 기준이 된다
+    private void seedIfLost() {
+        if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(SEEDED_KEY))) {
+            return;
+        }
+        int seededCount = productServiceV1.seedReservedStocks();
+        stringRedisTemplate.opsForValue().set(SEEDED_KEY, Long.toString(System.currentTimeMillis()));
+        log.info("stock reservation seeded from database - products: {}", seededCount);
+    }
+
+    private void drainJournal() {
+        while (true) {
+            List<String> journalList = stringRedisTemplate.opsForList()
+                    .range(ProductStockReservationRedis.JOURNAL_KEY, 0, batchSize - 1L);
+            if (journalList == null || journalList.isEmpty()) {
+                return;
+            }
+
+            List<ProductStock> productStockList = journalList.stream()
+                    .map(ProductStockReservationRedis::parseJournal)
+                    .flatMap(Optional::stream)
+                    .toList();
+            productServiceV1.reconcileReservedStocks(productStockList);
+
+            // 밀린 journal 이 많아도 락이 만료되어 다른 인스턴스가 함께 처리하지 않도록 배치마다 락을 연장한다.
+            // 이미 락을 잃었다면 새 소유자가 같은 구간을 읽었을 수 있으므로 지우지 않고 그쪽에 맡긴다.
+            if (!extendLock()) {
+                log.warn("stock reservation reconcile lock lost - remaining journal is left to the lock owner");
+                return;
+            }
+            // DB 반영이 끝난 뒤에 지우므로, 그 사이 중단되면 다음 주기에 다시 처리된다(ledger 유니크 제약으로 중복 반영 없음)
+            stringRedisTemplate.opsForList().trim(ProductStockReservationRedis.JOURNAL_KEY, journalList.size(), -1);
+            if (journalList.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private boolean extendLock() {
+        Long extended = stringRedisTemplate.execute(
+                LOCK_EXTEND_SCRIPT,
+                List.of(LOCK_KEY),
+                lockOwner,
+                Long.toString(lockTtl.toMillis())
+        );
+        return extended != null && extended == 1L;
+    }
+
+}
@@ -0,0 +1,250 @@
+package com.example.shop.product.infrastructure.redis.stock;
+
+import com.example.shop.product.application.stock.ProductStockReservation;
+import com.example.shop.product.application.stock.ProductStockReservationResult;
+import com.example.shop.product.application.stock.ProductStockReservationResult.Status;
+import com.example.shop.product.domain.model.ProductStock;
+import com.example.shop.product.domain.model.ProductStock.ProductStockType;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 상품별 가용 재고를 Redis 에 두고 주문 단위로 차감/복원하는 예약 엔진.
+ * 차감/복원은 Lua 스크립트 한 번으로 주문의 모든 줄을 처리하고, 변동 내역은 journal 에 쌓여
+ * {@link ProductStockReservationReconciler} 가 PRODUCT_STOCK ledger 와 PRODUCT.stock 에 반영한다.
+ */
+@Slf4j
+@Component
+public class ProductStockReservationRedis implements ProductStockReservation {
+
+    public static final String AVAILABLE_KEY_PREFIX = "product:stock:available:";
+    public static final String ORDER_KEY_PREFIX = "product:stock:order:";
+    public static final String PENDING_KEY_PREFIX = "product:stock:pending:";
+    public static final String RESTORED_KEY_PREFIX = "product:stock:restored:";
+    public static final String JOURNAL_KEY = "product:stock:journal";
+    private static final String JOURNAL_DELIMITER = "\\|";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RESERVE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/stock-reserve.lua"), List.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RESTORE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/stock-restore.lua"), List.class);
+    private static final RedisScript<Long> COMMIT_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/stock-reserve-commit.lua"), Long.class);
+    private static final RedisScript<Long> ROLLBACK_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/stock-reserve-rollback.lua"), Long.class);
+
+    private static final long STATUS_SUCCESS = 1L;
+    private static final long STATUS_NOT_ENOUGH = 0L;
+    private static final long STATUS_DUPLICATED = -1L;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Getter
+    private final boolean enabled;
+
+    private final long orderTtlSeconds;
+
+    public ProductStockReservationRedis(
+            StringRedisTemplate stringRedisTemplate,
+            @Value("${shop.product.stock-reservation.enabled:false}") boolean enabled,
+            @Value("${shop.product.stock-reservation.order-ttl-millis:604800000}") long orderTtlMillis
+    ) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.enabled = enabled;
+        this.orderTtlSeconds = Math.max(1L, orderTtlMillis / 1000L);
+    }
+
+    @Override
+    public ProductStockReservationResult reserve(UUID orderId, Map<UUID, Long> productQuantityMap) {
+        List<UUID> productIds = new ArrayList<>(productQuantityMap.keySet());
+        List<String> keys = new ArrayList<>();
+        keys.add(ORDER_KEY_PREFIX + orderId);
+        keys.add(PENDING_KEY_PREFIX + orderId);
+        productIds.forEach(productId -> keys.add(AVAILABLE_KEY_PREFIX + productId));
+
+        ProductStockReservationResult result = execute(RESERVE_SCRIPT, keys, orderId, productIds, productQuantityMap);
+        if (result.isSuccess()) {
+            completeOnTransactionEnd(orderId, keys, buildArgs(orderId, productIds, productQuantityMap));
+        }
+        return result;
+    }
+
+    @Override
+    public ProductStockReservationResult restore(UUID orderId, Map<UUID, Long> productQuantityMap) {
+        List<UUID> productIds = new ArrayList<>(productQuantityMap.keySet());
+        List<String> keys = new ArrayList<>();
+        keys.add(ORDER_KEY_PREFIX + orderId);
+        keys.add(RESTORED_KEY_PREFIX + orderId);
+        keys.add(JOURNAL_KEY);
+        productIds.forEach(productId -> keys.add(AVAILABLE_KEY_PREFIX + productId));
+
+        return execute(RESTORE_SCRIPT, keys, orderId, productIds, productQuantityMap);
+    }
+
+    @Override
+    public Map<UUID, Long> findReservedQuantities(UUID orderId) {
+        Map<UUID, Long> reservedQuantityMap = new LinkedHashMap<>();
+        stringRedisTemplate.<String, String>opsForHash()
+                .entries(ORDER_KEY_PREFIX + orderId)
+                .forEach((productId, quantity) ->
+                        reservedQuantityMap.put(UUID.fromString(productId), Long.parseLong(quantity))
+                );
+        return reservedQuantityMap;
+    }
+
+    // 커밋 전에는 다른 요청이 이 상품을 예약 대상으로 보지 않으므로 이전 전환에서 남았을 수 있는 값을 먼저 지운다.
+    // 커밋 직후 NOT_REGISTERED 를 만난 요청이 seed 로 먼저 적재하고 차감했을 수 있으므로, 커밋 후에는 비어 있을 때만 적재한다.
+    // 두 쪽 모두 행 잠금이 풀린 뒤의 같은 DB 재고로 적재하므로 어느 쪽이 먼저여도 값은 같다.
+    @Override
+    public void register(UUID productId, long stock) {
+        stringRedisTemplate.delete(AVAILABLE_KEY_PREFIX + productId);
+        afterCommit(() -> seed(productId, stock));
+    }
+
+    @Override
+    public void seed(UUID productId, long stock) {
+        stringRedisTemplate.opsForValue().setIfAbsent(AVAILABLE_KEY_PREFIX + productId, Long.toString(stock));
+    }
+
+    @Override
+    public void unregister(UUID productId) {
+        afterCommit(() -> stringRedisTemplate.delete(AVAILABLE_KEY_PREFIX + productId));
+    }
+
+    @Override
+    public List<ProductStock> findUnreconciled(UUID productId) {
+        List<String> journalList = stringRedisTemplate.opsForList().range(JOURNAL_KEY, 0, -1);
+        if (journalList == null) {
+            return List.of();
+        }
+        return journalList.stream()
+                .map(ProductStockReservationRedis::parseJournal)
+                .flatMap(Optional::stream)
+                .filter(productStock -> productId.equals(productStock.getProductId()))
+                .toList();
+    }
+
+    // journal 항목은 'TYPE|orderId|productId|quantity' 형식이다
+    static Optional<ProductStock> parseJournal(String journal) {
+        String[] fields = journal.split(JOURNAL_DELIMITER);
+        try {
+            return Optional.of(
+                    ProductStock.builder()
+                            .type(ProductStockType.valueOf(fields[0]))
+                            .orderId(UUID.fromString(fields[1]))
+                            .productId(UUID.fromString(fields[2]))
+                            .quantity(Long.parseLong(fields[3]))
+                            .build()
+            );
+        } catch (RuntimeException exception) {
+            log.error("invalid stock reservation journal skipped: {}", journal, exception);
+            return Optional.empty();
+        }
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private ProductStockReservationResult execute(
+            RedisScript<List> script,
+            List<String> keys,
+            UUID orderId,
+            List<UUID> productIds,
+            Map<UUID, Long> productQuantityMap
+    ) {
+        List<Long> response = stringRedisTemplate.execute(script, keys, buildArgs(orderId, productIds, productQuantityMap));
+        long status = response.get(0);
+        if (status == STATUS_SUCCESS) {
+            return ProductStockReservationResult.builder()
+                    .status(Status.SUCCESS)
+                    .build();
+        }
+        if (status == STATUS_DUPLICATED) {
+            return ProductStockReservationResult.builder()
+                    .status(Status.DUPLICATED)
+                    .build();
+        }
+        // 나머지 원소는 실패한 줄의 1 부터 시작하는 순번이다
+        List<UUID> failedProductIds = response.subList(1, response.size()).stream()
+                .map(index -> productIds.get(index.intValue() - 1))
+                .toList();
+        return ProductStockReservationResult.builder()
+                .status(status == STATUS_NOT_ENOUGH ? Status.NOT_ENOUGH : Status.NOT_REGISTERED)
+                .failedProductIds(failedProductIds)
+                .build();
+    }
+
+    private Object[] buildArgs(UUID orderId, List<UUID> productIds, Map<UUID, Long> productQuantityMap) {
+        List<String> args = new ArrayList<>();
+        args.add(orderId.toString());
+        args.add(Long.toString(orderTtlSeconds));
+        productIds.forEach(productId -> {
+            args.add(productId.toString());
+            args.add(Long.toString(productQuantityMap.get(productId)));
+        });
+        return args.toArray();
+    }
+
+    // Redis 는 DB 트랜잭션에 참여하지 않으므로, 예약 내역은 pending 에 두었다가 커밋되면 journal 로 넘기고
+    // 롤백되면 가용 재고만 되돌린다. 복원 표시나 RETURN 내역을 남기지 않아 같은 주문의 재시도와 이후 취소가 막히지 않는다.
+    // 커밋 직후 프로세스가 죽으면 pending 이 남아 DB 에는 반영되지 않지만, Redis 가용 재고는 차감된 쪽(초과 판매 없음)에 머문다.
+    private void completeOnTransactionEnd(UUID orderId, List<String> keys, Object[] args) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            commitReservation(orderId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    commitReservation(orderId);
+                } else if (status == STATUS_ROLLED_BACK) {
+                    rollbackReservation(orderId, keys, args);
+                }
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+        action.run();
+    }
+
+    private void commitReservation(UUID orderId) {
+        try {
+            stringRedisTemplate.execute(COMMIT_SCRIPT, List.of(PENDING_KEY_PREFIX + orderId, JOURNAL_KEY));
+        } catch (RuntimeException exception) {
+            log.error("stock reservation commit failed - orderId: {}", orderId, exception);
+        }
+    }
+
+    private void rollbackReservation(UUID orderId, List<String> keys, Object[] args) {
+        try {
+            stringRedisTemplate.execute(ROLLBACK_SCRIPT, keys, args);
+        } catch (RuntimeException exception) {
+            log.error("stock reservation rollback failed - orderId: {}", orderId, exception);
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.example.shop.product.infrastructure.scheduler;
+
+import com.example.shop.product.application.service.ProductServiceV1;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기동 직후 상품 이름 검색 인덱스를 채우고, 이후 주기적으로 다시 만든다.
+ * 다른 인스턴스에서 등록된 상품은 Redis pub/sub 으로 받아 바로 반영하고, 놓친 메시지와 수정/삭제로 비워 둔 인덱스 항목은 다시 만들 때 반영/정리된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndexRebuilder {
+
+    private final ProductServiceV1 productServiceV1;
+
+    @Scheduled(
+            initialDelayString = "${shop.product.search-index.initial-delay-millis:0}",
+            fixedDelayString = "${shop.product.search-index.rebuild-interval-millis:300000}"
+    )
+    public void rebuild() {
+        try {
+            long startMillis = System.currentTimeMillis();
+            int productCount = productServiceV1.rebuildProductSearchIndex();
+            log.info("product search index rebuilt - products: {}, elapsed: {} ms",
+                    productCount, System.currentTimeMillis() - startMillis);
+        } catch (RuntimeException exception) {
+            log.warn("product search index rebuild failed", exception);
+        }
+    }
+
+}
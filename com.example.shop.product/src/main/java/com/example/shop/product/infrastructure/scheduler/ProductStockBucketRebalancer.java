@@ -0,0 +1,34 @@
+package com.example.shop.product.infrastructure.scheduler;
+
+import com.example.shop.product.application.service.ProductServiceV1;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 재고 버킷을 쓰는 상품의 버킷 재고를 주기적으로 다시 고르게 나눈다.
+ * 주문이 몰린 버킷만 먼저 비면 이웃 버킷 탐색이 늘어나므로, 상품별로 짧은 트랜잭션에서 버킷 행을 잠그고 재분배한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductStockBucketRebalancer {
+
+    private final ProductServiceV1 productServiceV1;
+
+    @Scheduled(fixedDelayString = "${shop.product.stock-bucket.rebalance-interval-millis:1000}")
+    public void rebalance() {
+        for (UUID productId : productServiceV1.findStockBucketedProductIds()) {
+            try {
+                if (productServiceV1.rebalanceStockBuckets(productId)) {
+                    log.debug("stock buckets rebalanced - productId: {}", productId);
+                }
+            } catch (RuntimeException exception) {
+                log.warn("stock bucket rebalance failed - productId: {}", productId, exception);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,282 @@
+package com.example.shop.product.infrastructure.search;
+
+import com.example.shop.product.application.search.ProductSearchIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 상품 이름의 3글자 조각(trigram)별로 상품 목록을 들고 있는 메모리 역색인.
+ * 질의의 모든 trigram 을 가진 상품만 후보로 좁힌 뒤 실제 포함 여부를 확인하므로 결과는 DB 의 LIKE '%x%' 와 같다.
+ * 3글자보다 짧은 질의와 첫 적재 전에는 답하지 않으며, 이때 호출한 쪽은 DB 로 조회한다.
+ */
+@Component
+public class ProductNameTrigramIndex implements ProductSearchIndex {
+
+    static final int GRAM_LENGTH = 3;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 첫 적재가 끝나기 전에는 null
+    private IndexData indexData;
+    // 재적재 중에 들어온 변경. 값이 null 이면 삭제다
+    private Map<UUID, String> pendingChangeMap;
+
+    public ProductNameTrigramIndex(MeterRegistry meterRegistry) {
+        Gauge.builder("product.search.index.size", this, ProductNameTrigramIndex::size)
+                .description("상품 이름 검색 인덱스에 들어 있는 상품 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<List<UUID>> search(String query) {
+        String normalizedQuery = query.toLowerCase(Locale.ROOT);
+        if (normalizedQuery.length() < GRAM_LENGTH) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            if (indexData == null) {
+                return Optional.empty();
+            }
+            return Optional.of(indexData.search(normalizedQuery));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(UUID productId, String name) {
+        afterCommit(() -> apply(productId, name));
+    }
+
+    @Override
+    public void remove(UUID productId) {
+        afterCommit(() -> apply(productId, null));
+    }
+
+    @Override
+    public int rebuild(Supplier<Map<UUID, String>> loader) {
+        lock.writeLock().lock();
+        try {
+            pendingChangeMap = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        IndexData rebuiltIndexData = new IndexData();
+        try {
+            loader.get().forEach(rebuiltIndexData::put);
+        } catch (RuntimeException exception) {
+            lock.writeLock().lock();
+            try {
+                pendingChangeMap = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw exception;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingChangeMap.forEach((productId, name) -> applyTo(rebuiltIndexData, productId, name));
+            pendingChangeMap = null;
+            indexData = rebuiltIndexData;
+            return rebuiltIndexData.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int size() {
+        lock.readLock().lock();
+        try {
+            return indexData == null ? 0 : indexData.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(UUID productId, String name) {
+        lock.writeLock().lock();
+        try {
+            if (pendingChangeMap != null) {
+                pendingChangeMap.put(productId, name);
+            }
+            if (indexData != null) {
+                applyTo(indexData, productId, name);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void applyTo(IndexData targetIndexData, UUID productId, String name) {
+        if (name == null) {
+            targetIndexData.remove(productId);
+        } else {
+            targetIndexData.put(productId, name);
+        }
+    }
+
+    // 롤백된 변경이 인덱스에 남지 않도록 커밋 후에 반영한다
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+        action.run();
+    }
+
+    static Set<String> trigrams(String normalizedName) {
+        Set<String> gramSet = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= normalizedName.length(); i++) {
+            gramSet.add(normalizedName.substring(i, i + GRAM_LENGTH));
+        }
+        return gramSet;
+    }
+
+    // 일치 > 접두 > 단어 접두 > 부분 일치 순으로 앞에 둔다
+    static int rank(String normalizedName, String normalizedQuery) {
+        if (normalizedName.equals(normalizedQuery)) {
+            return 0;
+        }
+        if (normalizedName.startsWith(normalizedQuery)) {
+            return 1;
+        }
+        if (normalizedName.contains(" " + normalizedQuery)) {
+            return 2;
+        }
+        return 3;
+    }
+
+    /**
+     * 상품마다 증가하는 문서 번호를 붙이고, trigram 별 문서 번호 목록을 오름차순으로 쌓는다.
+     * 수정/삭제된 상품의 이전 번호는 비워 두기만 하고, 다음 재적재 때 정리된다.
+     */
+    private static class IndexData {
+
+        private final List<UUID> productIdList = new ArrayList<>();
+        // 소문자로 바꾼 이름. 수정/삭제된 문서는 null
+        private final List<String> nameList = new ArrayList<>();
+        private final Map<UUID, Integer> documentIdMap = new HashMap<>();
+        private final Map<String, Postings> postingsMap = new HashMap<>();
+
+        void put(UUID productId, String name) {
+            String normalizedName = name.toLowerCase(Locale.ROOT);
+            // 브로드캐스트로 같은 변경을 다시 받아도 이전 번호를 비워 두지 않도록 그대로 둔다
+            Integer currentDocumentId = documentIdMap.get(productId);
+            if (currentDocumentId != null && normalizedName.equals(nameList.get(currentDocumentId))) {
+                return;
+            }
+            remove(productId);
+            int documentId = productIdList.size();
+            productIdList.add(productId);
+            nameList.add(normalizedName);
+            documentIdMap.put(productId, documentId);
+            trigrams(normalizedName).forEach(gram -> postingsMap.computeIfAbsent(gram, key -> new Postings()).add(documentId));
+        }
+
+        void remove(UUID productId) {
+            Integer documentId = documentIdMap.remove(productId);
+            if (documentId != null) {
+                nameList.set(documentId, null);
+            }
+        }
+
+        int size() {
+            return documentIdMap.size();
+        }
+
+        List<UUID> search(String normalizedQuery) {
+            List<Postings> postingsList = new ArrayList<>();
+            for (String gram : trigrams(normalizedQuery)) {
+                Postings postings = postingsMap.get(gram);
+                if (postings == null) {
+                    return List.of();
+                }
+                postingsList.add(postings);
+            }
+            // 가장 짧은 목록을 기준으로 나머지 목록에 모두 있는 문서만 남긴다
+            postingsList.sort(Comparator.comparingInt(Postings::size));
+            Postings shortestPostings = postingsList.get(0);
+
+            List<Integer> matchedDocumentIdList = new ArrayList<>();
+            for (int i = 0; i < shortestPostings.size(); i++) {
+                int documentId = shortestPostings.get(i);
+                String normalizedName = nameList.get(documentId);
+                if (normalizedName == null || !containsInAll(postingsList, documentId)) {
+                    continue;
+                }
+                // trigram 이 모두 있어도 순서가 다를 수 있으므로 실제로 포함하는지 확인한다
+                if (normalizedName.contains(normalizedQuery)) {
+                    matchedDocumentIdList.add(documentId);
+                }
+            }
+
+            matchedDocumentIdList.sort(
+                    Comparator.<Integer>comparingInt(documentId -> rank(nameList.get(documentId), normalizedQuery))
+                            .thenComparingInt(documentId -> nameList.get(documentId).length())
+                            .thenComparing(nameList::get)
+            );
+            return matchedDocumentIdList.stream()
+                    .map(productIdList::get)
+                    .toList();
+        }
+
+        private static boolean containsInAll(List<Postings> postingsList, int documentId) {
+            for (int i = 1; i < postingsList.size(); i++) {
+                if (!postingsList.get(i).contains(documentId)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static class Postings {
+
+        private int[] documentIds = new int[4];
+        private int size;
+
+        void add(int documentId) {
+            if (size == documentIds.length) {
+                documentIds = Arrays.copyOf(documentIds, size * 2);
+            }
+            documentIds[size++] = documentId;
+        }
+
+        int get(int index) {
+            return documentIds[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean contains(int documentId) {
+            return Arrays.binarySearch(documentIds, 0, size, documentId) >= 0;
+        }
+    }
+}
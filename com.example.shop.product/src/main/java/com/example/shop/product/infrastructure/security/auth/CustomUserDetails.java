@@ -1,6 +1,7 @@
 package com.example.shop.product.infrastructure.security.auth;
 
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.example.shop.product.infrastructure.security.identity.TrustedIdentity;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -26,6 +27,7 @@ public class CustomUserDetails implements UserDetails {
     private String nickname;
     private String email;
     private String accessJwt;
+    private String identityToken;
     private List<String> roleList;
 
     public static CustomUserDetails of(DecodedJWT decodedJwt) {
@@ -40,6 +42,15 @@ public class CustomUserDetails implements UserDetails {
                 .build();
     }
 
+    public static CustomUserDetails of(TrustedIdentity identity, String identityToken, String accessJwt) {
+        return CustomUserDetails.builder()
+                .id(UUID.fromString(identity.getUserId()))
+                .accessJwt(accessJwt)
+                .identityToken(identityToken)
+                .roleList(List.copyOf(identity.getRoleList()))
+                .build();
+    }
+
     public List<String> getRoleList() {
         return roleList == null ? List.of() : Collections.unmodifiableList(roleList);
     }
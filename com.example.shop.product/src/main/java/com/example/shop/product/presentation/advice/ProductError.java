@@ -12,7 +12,8 @@ public enum ProductError implements GlobalError {
     PRODUCT_CAN_NOT_FOUND(HttpStatus.BAD_REQUEST, "해당 상품을 찾을 수 없습니다."),
     PRODUCT_BAD_REQUEST(HttpStatus.BAD_REQUEST, "잘못된 요청입니다."),
     PRODUCT_FORBIDDEN(HttpStatus.FORBIDDEN, "상품에 대한 권한이 없습니다."),
-    PRODUCT_NAME_DUPLICATED(HttpStatus.BAD_REQUEST, "이미 등록된 상품명입니다.");
+    PRODUCT_NAME_DUPLICATED(HttpStatus.BAD_REQUEST, "이미 등록된 상품명입니다."),
+    PRODUCT_STOCK_NOT_ENOUGH(HttpStatus.BAD_REQUEST, "상품 재고가 부족합니다.");
 
     private final HttpStatus httpStatus;
     private final String errorMessage;
@@ -2,13 +2,17 @@ package com.example.shop.product.presentation.controller;
 
 import com.example.shop.global.presentation.dto.ApiDto;
 import com.example.shop.product.application.service.ProductServiceV1;
+import com.example.shop.product.presentation.dto.request.ReqPostInternalProductsBatchDtoV1;
 import com.example.shop.product.presentation.dto.request.ReqPostInternalProductsReleaseStockDtoV1;
 import com.example.shop.product.presentation.dto.request.ReqPostInternalProductsReturnStockDtoV1;
+import com.example.shop.product.presentation.dto.response.ResPostInternalProductsBatchDtoV1;
 import jakarta.validation.Valid;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -19,11 +23,24 @@ public class InternalProductControllerV1 {
 
     private final ProductServiceV1 productServiceV1;
 
+    @PostMapping("/batch")
+    public ResponseEntity<ApiDto<ResPostInternalProductsBatchDtoV1>> postInternalProductsBatch(
+            @RequestBody @Valid ReqPostInternalProductsBatchDtoV1 reqDto
+    ) {
+        ResPostInternalProductsBatchDtoV1 responseBody = productServiceV1.postInternalProductsBatch(reqDto);
+        return ResponseEntity.ok(
+                ApiDto.<ResPostInternalProductsBatchDtoV1>builder()
+                        .data(responseBody)
+                        .build()
+        );
+    }
+
     @PostMapping("/release-stock")
     public ResponseEntity<ApiDto<Object>> postInternalProductsReleaseStock(
+            @RequestHeader(value = "X-Message-Id", required = false) UUID messageId,
             @RequestBody @Valid ReqPostInternalProductsReleaseStockDtoV1 reqDto
     ) {
-        productServiceV1.postInternalProductsReleaseStock(reqDto);
+        productServiceV1.postInternalProductsReleaseStock(messageId, reqDto);
         return ResponseEntity.ok(
                 ApiDto.builder()
                         .message("상품 재고 차감이 완료되었습니다.")
@@ -33,9 +50,10 @@ public class InternalProductControllerV1 {
 
     @PostMapping("/return-stock")
     public ResponseEntity<ApiDto<Object>> postInternalProductsReturnStock(
+            @RequestHeader(value = "X-Message-Id", required = false) UUID messageId,
             @RequestBody @Valid ReqPostInternalProductsReturnStockDtoV1 reqDto
     ) {
-        productServiceV1.postInternalProductsReturnStock(reqDto);
+        productServiceV1.postInternalProductsReturnStock(messageId, reqDto);
         return ResponseEntity.ok(
                 ApiDto.builder()
                         .message("상품 재고 복원이 완료되었습니다.")
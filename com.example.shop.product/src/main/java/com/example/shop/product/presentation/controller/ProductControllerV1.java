@@ -3,8 +3,11 @@ package com.example.shop.product.presentation.controller;
 import com.example.shop.global.presentation.dto.ApiDto;
 import com.example.shop.product.application.service.ProductServiceV1;
 import com.example.shop.product.presentation.dto.request.ReqPostProductsDtoV1;
+import com.example.shop.product.presentation.dto.request.ReqPutProductStockBucketsDtoV1;
+import com.example.shop.product.presentation.dto.request.ReqPutProductStockReservationDtoV1;
 import com.example.shop.product.presentation.dto.response.ResGetProductDtoV1;
 import com.example.shop.product.presentation.dto.response.ResGetProductsDtoV1;
+import com.example.shop.product.presentation.dto.response.ResGetProductsScrollDtoV1;
 import com.example.shop.product.presentation.dto.response.ResPostProductsDtoV1;
 import jakarta.validation.Valid;
 import java.util.UUID;
@@ -15,6 +18,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -40,6 +44,21 @@ public class ProductControllerV1 {
         );
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiDto<ResGetProductsScrollDtoV1>> getProductsScroll(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "name", required = false) String name,
+            @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal
+    ) {
+        ResGetProductsScrollDtoV1 responseBody = productServiceV1.getProductsScroll(cursor, size, name, includeTotal);
+        return ResponseEntity.ok(
+                ApiDto.<ResGetProductsScrollDtoV1>builder()
+                        .data(responseBody)
+                        .build()
+        );
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiDto<ResGetProductDtoV1>> getProduct(@PathVariable("id") UUID productId) {
         ResGetProductDtoV1 responseBody = productServiceV1.getProduct(productId);
@@ -62,4 +81,30 @@ public class ProductControllerV1 {
                         .build()
         );
     }
+
+    @PutMapping("/{id}/stock-reservation")
+    public ResponseEntity<ApiDto<Object>> putProductStockReservation(
+            @PathVariable("id") UUID productId,
+            @RequestBody @Valid ReqPutProductStockReservationDtoV1 reqDto
+    ) {
+        productServiceV1.putProductStockReservation(productId, reqDto);
+        return ResponseEntity.ok(
+                ApiDto.builder()
+                        .message("상품 재고 예약 설정이 변경되었습니다.")
+                        .build()
+        );
+    }
+
+    @PutMapping("/{id}/stock-buckets")
+    public ResponseEntity<ApiDto<Object>> putProductStockBuckets(
+            @PathVariable("id") UUID productId,
+            @RequestBody @Valid ReqPutProductStockBucketsDtoV1 reqDto
+    ) {
+        productServiceV1.putProductStockBuckets(productId, reqDto);
+        return ResponseEntity.ok(
+                ApiDto.builder()
+                        .message("상품 재고 버킷 설정이 변경되었습니다.")
+                        .build()
+        );
+    }
 }
@@ -0,0 +1,20 @@
+package com.example.shop.product.presentation.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Builder
+public class ReqPostInternalProductsBatchDtoV1 {
+
+    @NotEmpty(message = "상품 ID는 최소 1개 이상이어야 합니다.")
+    @Size(max = 500, message = "한 번에 조회할 수 있는 상품은 최대 500개입니다.")
+    private List<@NotNull(message = "상품 ID를 입력해주세요.") UUID> productIds;
+
+}
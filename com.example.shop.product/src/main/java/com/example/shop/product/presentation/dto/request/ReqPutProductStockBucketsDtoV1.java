@@ -0,0 +1,33 @@
+package com.example.shop.product.presentation.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReqPutProductStockBucketsDtoV1 {
+
+    @NotNull(message = "재고 버킷 설정을 입력해주세요.")
+    @Valid
+    private StockBucketDto stockBucket;
+
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StockBucketDto {
+
+        @NotNull(message = "재고 버킷 수를 입력해주세요.")
+        @Min(value = 0, message = "재고 버킷 수는 0 이상이어야 합니다.")
+        @Max(value = 256, message = "재고 버킷 수는 256 이하여야 합니다.")
+        private Integer count;
+    }
+}
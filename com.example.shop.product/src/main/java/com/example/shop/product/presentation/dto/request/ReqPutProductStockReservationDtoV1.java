@@ -0,0 +1,29 @@
+package com.example.shop.product.presentation.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReqPutProductStockReservationDtoV1 {
+
+    @NotNull(message = "재고 예약 설정을 입력해주세요.")
+    @Valid
+    private StockReservationDto stockReservation;
+
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StockReservationDto {
+
+        @NotNull(message = "재고 예약 사용 여부를 입력해주세요.")
+        private Boolean enabled;
+    }
+}
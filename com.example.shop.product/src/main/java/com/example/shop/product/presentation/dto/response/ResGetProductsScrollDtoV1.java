@@ -0,0 +1,40 @@
+package com.example.shop.product.presentation.dto.response;
+
+import com.example.shop.product.domain.model.Product;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ResGetProductsScrollDtoV1 {
+
+    private final ProductScrollDto productScroll;
+
+    public static ResGetProductsScrollDtoV1 of(List<Product> productList, String nextCursor, Long totalElements) {
+        return ResGetProductsScrollDtoV1.builder()
+                .productScroll(ProductScrollDto.builder()
+                        .content(productList.stream()
+                                .map(ResGetProductsDtoV1.ProductPageDto.ProductDto::from)
+                                .toList())
+                        .nextCursor(nextCursor)
+                        .hasNext(nextCursor != null)
+                        .totalElements(totalElements)
+                        .build())
+                .build();
+    }
+
+    @Getter
+    @Builder
+    public static class ProductScrollDto {
+
+        private final List<ResGetProductsDtoV1.ProductPageDto.ProductDto> content;
+
+        // 다음 목록 조회 시 cursor 로 그대로 전달한다. 마지막 목록이면 null.
+        private final String nextCursor;
+        private final Boolean hasNext;
+
+        // includeTotal=true 로 요청한 경우에만 채운다
+        private final Long totalElements;
+    }
+}
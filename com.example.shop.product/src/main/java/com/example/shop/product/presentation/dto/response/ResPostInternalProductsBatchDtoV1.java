@@ -0,0 +1,41 @@
+package com.example.shop.product.presentation.dto.response;
+
+import com.example.shop.product.domain.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class ResPostInternalProductsBatchDtoV1 {
+
+    private final List<ProductDto> productList;
+
+    public static ResPostInternalProductsBatchDtoV1 of(List<Product> productList) {
+        return ResPostInternalProductsBatchDtoV1.builder()
+                .productList(productList.stream().map(ProductDto::from).toList())
+                .build();
+    }
+
+    @Getter
+    @Builder
+    @AllArgsConstructor
+    public static class ProductDto {
+        private final String id;
+        private final String name;
+        private final Long price;
+        private final Long stock;
+
+        public static ProductDto from(Product product) {
+            return ProductDto.builder()
+                    .id(String.valueOf(product.getId()))
+                    .name(product.getName())
+                    .price(product.getPrice())
+                    .stock(product.getStock())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+local pending_key = KEYS[1]
+local journal_key = KEYS[2]
+
+local entries = redis.call('LRANGE', pending_key, 0, -1)
+for i = 1, #entries do
+    redis.call('RPUSH', journal_key, entries[i])
+end
+redis.call('DEL', pending_key)
+
+return #entries
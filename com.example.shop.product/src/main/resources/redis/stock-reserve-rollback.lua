@@ -0,0 +1,15 @@
+local order_key = KEYS[1]
+local pending_key = KEYS[2]
+local line_count = #KEYS - 2
+
+-- journal 로 넘어간(커밋된) 예약은 되돌리지 않는다
+if redis.call('EXISTS', pending_key) == 0 then
+    return 0
+end
+
+for i = 1, line_count do
+    redis.call('INCRBY', KEYS[2 + i], ARGV[2 + i * 2])
+end
+redis.call('DEL', order_key, pending_key)
+
+return 1
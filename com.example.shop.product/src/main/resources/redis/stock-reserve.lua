@@ -0,0 +1,39 @@
+local order_key = KEYS[1]
+local pending_key = KEYS[2]
+local order_id = ARGV[1]
+local order_ttl_seconds = tonumber(ARGV[2])
+local line_count = #KEYS - 2
+
+if redis.call('EXISTS', order_key) == 1 then
+    return { -1 }
+end
+
+local not_registered = { -2 }
+local not_enough = { 0 }
+for i = 1, line_count do
+    local available = redis.call('GET', KEYS[2 + i])
+    if not available then
+        table.insert(not_registered, i)
+    elseif tonumber(available) < tonumber(ARGV[2 + i * 2]) then
+        table.insert(not_enough, i)
+    end
+end
+
+if #not_registered > 1 then
+    return not_registered
+end
+if #not_enough > 1 then
+    return not_enough
+end
+
+for i = 1, line_count do
+    local product_id = ARGV[1 + i * 2]
+    local quantity = ARGV[2 + i * 2]
+    redis.call('DECRBY', KEYS[2 + i], quantity)
+    redis.call('HSET', order_key, product_id, quantity)
+    redis.call('RPUSH', pending_key, 'RELEASE|' .. order_id .. '|' .. product_id .. '|' .. quantity)
+end
+redis.call('EXPIRE', order_key, order_ttl_seconds)
+redis.call('EXPIRE', pending_key, order_ttl_seconds)
+
+return { 1 }
@@ -0,0 +1,30 @@
+local order_key = KEYS[1]
+local restored_key = KEYS[2]
+local journal_key = KEYS[3]
+local order_id = ARGV[1]
+local order_ttl_seconds = tonumber(ARGV[2])
+local line_count = #KEYS - 3
+
+local not_registered = { -2 }
+for i = 1, line_count do
+    if redis.call('EXISTS', KEYS[3 + i]) == 0 then
+        table.insert(not_registered, i)
+    end
+end
+if #not_registered > 1 then
+    return not_registered
+end
+
+if not redis.call('SET', restored_key, '1', 'NX', 'EX', order_ttl_seconds) then
+    return { -1 }
+end
+
+for i = 1, line_count do
+    local product_id = ARGV[1 + i * 2]
+    local quantity = ARGV[2 + i * 2]
+    redis.call('INCRBY', KEYS[3 + i], quantity)
+    redis.call('RPUSH', journal_key, 'RETURN|' .. order_id .. '|' .. product_id .. '|' .. quantity)
+end
+redis.call('DEL', order_key)
+
+return { 1 }
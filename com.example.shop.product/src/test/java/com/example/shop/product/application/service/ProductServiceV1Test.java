@@ -0,0 +1,362 @@
+package com.example.shop.product.application.service;
+
+import com.example.shop.product.application.cache.ProductCacheEvictionNotifier;
+import com.example.shop.product.application.search.ProductSearchIndex;
+import com.example.shop.product.application.search.ProductSearchIndexChangeNotifier;
+import com.example.shop.product.application.stock.ProductStockReservation;
+import com.example.shop.product.application.stock.ProductStockReservationResult;
+import com.example.shop.product.domain.model.ProcessedMessage;
+import com.example.shop.product.domain.model.Product;
+import com.example.shop.product.domain.model.ProductStock;
+import com.example.shop.product.domain.repository.ProcessedMessageRepository;
+import com.example.shop.product.domain.repository.ProductRepository;
+import com.example.shop.product.domain.repository.ProductStockBucketRepository;
+import com.example.shop.product.domain.repository.ProductStockRepository;
+import com.example.shop.product.infrastructure.constants.CacheNames;
+import com.example.shop.product.presentation.advice.ProductError;
+import com.example.shop.product.presentation.advice.ProductException;
+import com.example.shop.product.presentation.dto.request.ReqPostInternalProductsReleaseStockDtoV1;
+import com.example.shop.product.presentation.dto.request.ReqPostProductsDtoV1;
+import com.example.shop.product.presentation.dto.request.ReqPutProductStockBucketsDtoV1;
+import com.example.shop.product.presentation.dto.request.ReqPutProductStockReservationDtoV1;
+import com.example.shop.product.presentation.dto.response.ResGetProductsDtoV1;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ProductServiceV1Test {
+
+    private static final UUID ORDER_ID = UUID.randomUUID();
+    private static final UUID MESSAGE_ID = UUID.randomUUID();
+    private static final UUID RESERVED_PRODUCT_ID = UUID.randomUUID();
+    private static final UUID DATABASE_PRODUCT_ID = UUID.randomUUID();
+
+    private ProductRepository productRepository;
+    private ProductStockRepository productStockRepository;
+    private ProductStockBucketRepository productStockBucketRepository;
+    private ProcessedMessageRepository processedMessageRepository;
+    private ProductStockReservation productStockReservation;
+    private ProductSearchIndex productSearchIndex;
+    private ProductSearchIndexChangeNotifier productSearchIndexChangeNotifier;
+    private ConcurrentMapCacheManager cacheManager;
+    private ProductCacheEvictionNotifier productCacheEvictionNotifier;
+    private ProductServiceV1 productServiceV1;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        productStockRepository = mock(ProductStockRepository.class);
+        productStockBucketRepository = mock(ProductStockBucketRepository.class);
+        processedMessageRepository = mock(ProcessedMessageRepository.class);
+        productStockReservation = mock(ProductStockReservation.class);
+        productSearchIndex = mock(ProductSearchIndex.class);
+        productSearchIndexChangeNotifier = mock(ProductSearchIndexChangeNotifier.class);
+        cacheManager = new ConcurrentMapCacheManager();
+        productCacheEvictionNotifier = mock(ProductCacheEvictionNotifier.class);
+        productServiceV1 = new ProductServiceV1(
+                productRepository,
+                productStockRepository,
+                productStockBucketRepository,
+                processedMessageRepository,
+                cacheManager,
+                productCacheEvictionNotifier,
+                productStockReservation,
+                productSearchIndex,
+                productSearchIndexChangeNotifier,
+                new SimpleMeterRegistry()
+        );
+
+        given(productStockReservation.isEnabled()).willReturn(true);
+        given(productRepository.findByIdIn(any())).willReturn(List.of(
+                createProduct(RESERVED_PRODUCT_ID, true),
+                createProduct(DATABASE_PRODUCT_ID, false)
+        ));
+        given(productRepository.decreaseStockAll(anyMap())).willReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("예약 대상 상품은 예약 엔진으로, 나머지는 DB 조건부 차감으로 처리한다")
+    void postInternalProductsReleaseStock_splitsReservedAndDatabaseLines() {
+        given(productStockReservation.reserve(eq(ORDER_ID), anyMap())).willReturn(result(ProductStockReservationResult.Status.SUCCESS));
+
+        productServiceV1.postInternalProductsReleaseStock(MESSAGE_ID, createReleaseRequest());
+
+        verify(productStockReservation).reserve(ORDER_ID, Map.of(RESERVED_PRODUCT_ID, 2L));
+        verify(productRepository).decreaseStockAll(Map.of(DATABASE_PRODUCT_ID, 3L));
+        verify(productStockRepository, times(1)).save(argThat(productStock -> productStock.getProductId().equals(DATABASE_PRODUCT_ID)));
+        verify(productStockRepository, never()).save(argThat(productStock -> productStock.getProductId().equals(RESERVED_PRODUCT_ID)));
+        verify(processedMessageRepository).save(argThat(processedMessage -> processedMessage.getId().equals(MESSAGE_ID)));
+    }
+
+    @Test
+    @DisplayName("이미 처리한 메시지 ID 로 다시 온 재고 차감 요청은 차감 없이 성공한다")
+    void postInternalProductsReleaseStock_processedMessage_skips() {
+        given(processedMessageRepository.existsById(MESSAGE_ID)).willReturn(true);
+
+        productServiceV1.postInternalProductsReleaseStock(MESSAGE_ID, createReleaseRequest());
+
+        verify(productStockReservation, never()).reserve(any(), anyMap());
+        verify(productRepository, never()).decreaseStockAll(anyMap());
+        verify(processedMessageRepository, never()).save(any(ProcessedMessage.class));
+    }
+
+    @Test
+    @DisplayName("예약 엔진에 가용 재고가 없으면 DB 재고로 다시 적재한 뒤 한 번 더 예약한다")
+    void postInternalProductsReleaseStock_notRegistered_seedsAndRetries() {
+        given(productStockReservation.reserve(eq(ORDER_ID), anyMap())).willReturn(
+                ProductStockReservationResult.builder()
+                        .status(ProductStockReservationResult.Status.NOT_REGISTERED)
+                        .failedProductIds(List.of(RESERVED_PRODUCT_ID))
+                        .build(),
+                result(ProductStockReservationResult.Status.SUCCESS)
+        );
+
+        productServiceV1.postInternalProductsReleaseStock(MESSAGE_ID, createReleaseRequest());
+
+        verify(productStockReservation).seed(RESERVED_PRODUCT_ID, 10L);
+        verify(productStockReservation, times(2)).reserve(eq(ORDER_ID), anyMap());
+    }
+
+    @Test
+    @DisplayName("예약 엔진에서 재고가 부족하면 DB 차감 없이 PRODUCT_STOCK_NOT_ENOUGH 로 실패한다")
+    void postInternalProductsReleaseStock_notEnough_throwsStockNotEnough() {
+        given(productStockReservation.reserve(eq(ORDER_ID), anyMap())).willReturn(
+                ProductStockReservationResult.builder()
+                        .status(ProductStockReservationResult.Status.NOT_ENOUGH)
+                        .failedProductIds(List.of(RESERVED_PRODUCT_ID))
+                        .build()
+        );
+
+        assertThatThrownBy(() -> productServiceV1.postInternalProductsReleaseStock(MESSAGE_ID, createReleaseRequest()))
+                .isInstanceOf(ProductException.class)
+                .hasFieldOrPropertyWithValue("error", ProductError.PRODUCT_STOCK_NOT_ENOUGH);
+        verify(productRepository, never()).decreaseStockAll(anyMap());
+        verify(productStockRepository, never()).save(any(ProductStock.class));
+    }
+
+    @Test
+    @DisplayName("버킷으로 나뉜 상품은 주문 ID 로 정한 시작 버킷부터 차감하고 ledger 를 남긴다")
+    void postInternalProductsReleaseStock_bucketedProduct_decreasesBucketStock() {
+        given(productRepository.findByIdIn(any())).willReturn(List.of(
+                createProduct(RESERVED_PRODUCT_ID, false).updateStockBucketCount(16),
+                createProduct(DATABASE_PRODUCT_ID, false)
+        ));
+        given(productStockBucketRepository.decreaseStock(eq(RESERVED_PRODUCT_ID), eq(16), anyInt(), eq(2L))).willReturn(true);
+
+        productServiceV1.postInternalProductsReleaseStock(MESSAGE_ID, createReleaseRequest());
+
+        verify(productStockBucketRepository).decreaseStock(RESERVED_PRODUCT_ID, 16, Math.floorMod(ORDER_ID.hashCode(), 16), 2L);
+        verify(productRepository).decreaseStockAll(Map.of(DATABASE_PRODUCT_ID, 3L));
+        verify(productStockRepository, times(2)).save(any(ProductStock.class));
+    }
+
+    @Test
+    @DisplayName("버킷 재고가 부족하면 PRODUCT_STOCK_NOT_ENOUGH 로 실패한다")
+    void postInternalProductsReleaseStock_bucketNotEnough_throwsStockNotEnough() {
+        given(productRepository.findByIdIn(any())).willReturn(List.of(
+                createProduct(RESERVED_PRODUCT_ID, false).updateStockBucketCount(4),
+                createProduct(DATABASE_PRODUCT_ID, false)
+        ));
+        given(productStockBucketRepository.decreaseStock(any(), anyInt(), anyInt(), anyLong())).willReturn(false);
+
+        assertThatThrownBy(() -> productServiceV1.postInternalProductsReleaseStock(MESSAGE_ID, createReleaseRequest()))
+                .isInstanceOf(ProductException.class)
+                .hasFieldOrPropertyWithValue("error", ProductError.PRODUCT_STOCK_NOT_ENOUGH);
+        verify(productStockRepository, never()).save(any(ProductStock.class));
+    }
+
+    @Test
+    @DisplayName("검색 인덱스가 답하면 인덱스 순위대로 요청한 페이지의 상품만 DB 에서 읽는다")
+    void getProducts_indexReady_hydratesRankedPage() {
+        UUID firstProductId = UUID.randomUUID();
+        UUID secondProductId = UUID.randomUUID();
+        UUID thirdProductId = UUID.randomUUID();
+        given(productSearchIndex.search("apple")).willReturn(Optional.of(List.of(firstProductId, secondProductId, thirdProductId)));
+        given(productRepository.findByIdIn(List.of(secondProductId, thirdProductId))).willReturn(List.of(
+                createProduct(thirdProductId, false),
+                createProduct(secondProductId, false)
+        ));
+
+        ResGetProductsDtoV1 result = productServiceV1.getProducts(PageRequest.of(1, 2), " apple ");
+
+        assertThat(result.getProductPage().getContent())
+                .extracting(ResGetProductsDtoV1.ProductPageDto.ProductDto::getId)
+                .containsExactly(secondProductId.toString(), thirdProductId.toString());
+        assertThat(result.getProductPage().getMetadata().totalElements()).isEqualTo(3L);
+        verify(productRepository, never()).findByNameContainingIgnoreCase(any(), any());
+    }
+
+    @Test
+    @DisplayName("검색 인덱스가 준비되지 않았으면 DB 부분 일치 조회로 대신한다")
+    void getProducts_indexWarming_fallsBackToDatabase() {
+        PageRequest pageRequest = PageRequest.of(0, 20);
+        given(productSearchIndex.search("apple")).willReturn(Optional.empty());
+        given(productRepository.findByNameContainingIgnoreCase("apple", pageRequest)).willReturn(Page.empty(pageRequest));
+
+        productServiceV1.getProducts(pageRequest, "apple");
+
+        verify(productRepository).findByNameContainingIgnoreCase("apple", pageRequest);
+    }
+
+    @Test
+    @DisplayName("예약 엔진 전환은 상품 행을 잠근 채 읽은 재고로 가용 재고를 만든다")
+    void putProductStockReservation_enable_registersLockedStock() {
+        given(productRepository.findByIdForUpdate(DATABASE_PRODUCT_ID)).willReturn(Optional.of(createProduct(DATABASE_PRODUCT_ID, false)));
+
+        productServiceV1.putProductStockReservation(DATABASE_PRODUCT_ID, createStockReservationRequest(true));
+
+        verify(productRepository, never()).findById(DATABASE_PRODUCT_ID);
+        verify(productStockReservation).register(DATABASE_PRODUCT_ID, 10L);
+    }
+
+    @Test
+    @DisplayName("예약 엔진 해제 전에 반영되지 않은 journal 을 DB 재고에 옮긴다")
+    void putProductStockReservation_disable_reconcilesJournalFirst() {
+        ProductStock pendingRelease = ProductStock.builder()
+                .productId(RESERVED_PRODUCT_ID)
+                .orderId(ORDER_ID)
+                .type(ProductStock.ProductStockType.RELEASE)
+                .quantity(2L)
+                .build();
+        given(productRepository.findByIdForUpdate(RESERVED_PRODUCT_ID)).willReturn(Optional.of(createProduct(RESERVED_PRODUCT_ID, true)));
+        given(productStockReservation.findUnreconciled(RESERVED_PRODUCT_ID)).willReturn(List.of(pendingRelease));
+
+        productServiceV1.putProductStockReservation(RESERVED_PRODUCT_ID, createStockReservationRequest(false));
+
+        InOrder inOrder = inOrder(productRepository, productStockReservation);
+        inOrder.verify(productRepository).adjustStockAll(Map.of(RESERVED_PRODUCT_ID, -2L));
+        inOrder.verify(productRepository).save(argThat(product -> !product.getStockReservationEnabled()));
+        inOrder.verify(productStockReservation).unregister(RESERVED_PRODUCT_ID);
+    }
+
+    @Test
+    @DisplayName("커밋 전까지 다른 요청이 L2 에 다시 채운 변경 전 값은 커밋 후 L1 무효화를 알리기 전에 한 번 더 지운다")
+    void evictProductCache_evictsAgainAfterCommitBeforeBroadcast() {
+        Cache cache = cacheManager.getCache(CacheNames.PRODUCT);
+        cache.put(DATABASE_PRODUCT_ID, "before");
+        given(productRepository.findById(DATABASE_PRODUCT_ID)).willReturn(Optional.of(createProduct(DATABASE_PRODUCT_ID, false)));
+        AtomicBoolean cachedWhenBroadcast = new AtomicBoolean(true);
+        willAnswer(invocation -> {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cachedWhenBroadcast.set(cache.get(DATABASE_PRODUCT_ID) != null);
+                }
+            });
+            return null;
+        }).given(productCacheEvictionNotifier).notifyEvicted(List.of(DATABASE_PRODUCT_ID));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            productServiceV1.putProductStockBuckets(DATABASE_PRODUCT_ID, ReqPutProductStockBucketsDtoV1.builder()
+                    .stockBucket(ReqPutProductStockBucketsDtoV1.StockBucketDto.builder().count(2).build())
+                    .build());
+            assertThat(cache.get(DATABASE_PRODUCT_ID)).isNull();
+
+            cache.put(DATABASE_PRODUCT_ID, "stale");
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(cache.get(DATABASE_PRODUCT_ID)).isNull();
+        assertThat(cachedWhenBroadcast.get()).isFalse();
+    }
+
+    private static ProductStockReservationResult result(ProductStockReservationResult.Status status) {
+        return ProductStockReservationResult.builder()
+                .status(status)
+                .build();
+    }
+
+    @Test
+    @DisplayName("상품을 등록하면 이 인스턴스의 검색 인덱스에 넣고 다른 인스턴스에도 알린다")
+    void postProducts_putsIntoSearchIndexAndNotifies() {
+        UUID productId = UUID.randomUUID();
+        given(productRepository.findByName("새 상품")).willReturn(Optional.empty());
+        given(productRepository.save(any(Product.class))).willAnswer(invocation -> Product.builder()
+                .id(productId)
+                .name(invocation.<Product>getArgument(0).getName())
+                .price(1000L)
+                .stock(10L)
+                .build());
+
+        productServiceV1.postProducts(ReqPostProductsDtoV1.builder()
+                .product(ReqPostProductsDtoV1.ProductDto.builder()
+                        .name(" 새 상품 ")
+                        .price(1000L)
+                        .stock(10L)
+                        .build())
+                .build());
+
+        InOrder inOrder = inOrder(productSearchIndex, productSearchIndexChangeNotifier);
+        inOrder.verify(productSearchIndex).put(productId, "새 상품");
+        inOrder.verify(productSearchIndexChangeNotifier).notifyPut(productId, "새 상품");
+    }
+
+    private static Product createProduct(UUID productId, boolean stockReservationEnabled) {
+        return Product.builder()
+                .id(productId)
+                .name("상품-" + productId)
+                .price(1000L)
+                .stock(10L)
+                .stockReservationEnabled(stockReservationEnabled)
+                .build();
+    }
+
+    private static ReqPostInternalProductsReleaseStockDtoV1 createReleaseRequest() {
+        return ReqPostInternalProductsReleaseStockDtoV1.builder()
+                .order(ReqPostInternalProductsReleaseStockDtoV1.OrderDto.builder()
+                        .orderId(ORDER_ID)
+                        .build())
+                .productStocks(List.of(
+                        ReqPostInternalProductsReleaseStockDtoV1.ProductStockDto.builder()
+                                .productId(RESERVED_PRODUCT_ID)
+                                .quantity(2L)
+                                .build(),
+                        ReqPostInternalProductsReleaseStockDtoV1.ProductStockDto.builder()
+                                .productId(DATABASE_PRODUCT_ID)
+                                .quantity(3L)
+                                .build()
+                ))
+                .build();
+    }
+
+    private static ReqPutProductStockReservationDtoV1 createStockReservationRequest(boolean enabled) {
+        return ReqPutProductStockReservationDtoV1.builder()
+                .stockReservation(ReqPutProductStockReservationDtoV1.StockReservationDto.builder()
+                        .enabled(enabled)
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.shop.product.infrastructure.jpa.repository;
+
+import com.example.shop.product.domain.model.Product;
+import com.example.shop.product.domain.vo.ScrollCursor;
+import com.example.shop.product.infrastructure.jpa.config.audit.CustomAuditAware;
+import com.example.shop.product.infrastructure.jpa.config.audit.JpaAuditConfig;
+import com.example.shop.product.infrastructure.jpa.mapper.ProductMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({
+        ProductRepositoryImpl.class,
+        ProductStockBucketRepositoryImpl.class,
+        ProductMapper.class,
+        JpaAuditConfig.class,
+        CustomAuditAware.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductRepositoryImplScrollTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductRepositoryImplScrollTest.class);
+
+    private static final int BENCHMARK_ROW_COUNT = 1_000_000;
+    private static final int BENCHMARK_PAGE_SIZE = 20;
+    private static final int BENCHMARK_DEEP_PAGE = 10_000;
+
+    @Autowired
+    private ProductRepositoryImpl productRepository;
+
+    @Autowired
+    private ProductJpaRepository productJpaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        productJpaRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("커서를 따라 끝까지 조회하면 모든 상품을 최신순으로 중복 없이 한 번씩 반환한다")
+    void findScroll_walksAllRowsWithoutDuplicates() {
+        for (int i = 0; i < 25; i++) {
+            productRepository.save(Product.builder()
+                    .name("scroll-product-" + i)
+                    .price(1000L)
+                    .stock(10L)
+                    .build());
+        }
+
+        List<Product> scrolledProductList = new ArrayList<>();
+        ScrollCursor cursor = null;
+        while (true) {
+            List<Product> productList = productRepository.findScroll(null, cursor, 7);
+            if (productList.isEmpty()) {
+                break;
+            }
+            scrolledProductList.addAll(productList);
+            Product lastProduct = productList.get(productList.size() - 1);
+            cursor = ScrollCursor.builder()
+                    .createdAt(lastProduct.getCreatedAt())
+                    .id(lastProduct.getId())
+                    .build();
+        }
+
+        Set<UUID> productIdSet = new HashSet<>();
+        scrolledProductList.forEach(product -> productIdSet.add(product.getId()));
+        assertThat(scrolledProductList).hasSize(25);
+        assertThat(productIdSet).hasSize(25);
+        for (int i = 1; i < scrolledProductList.size(); i++) {
+            Product previous = scrolledProductList.get(i - 1);
+            Product current = scrolledProductList.get(i);
+            assertThat(previous.getCreatedAt()).isAfterOrEqualTo(current.getCreatedAt());
+        }
+    }
+
+    @Test
+    @DisplayName("이름 조건은 커서 조회와 개수 조회에 똑같이 적용된다")
+    void findScroll_appliesNameFilter() {
+        productRepository.save(Product.builder().name("Apple Juice").price(1000L).stock(1L).build());
+        productRepository.save(Product.builder().name("apple pie").price(1000L).stock(1L).build());
+        productRepository.save(Product.builder().name("Banana").price(1000L).stock(1L).build());
+
+        List<Product> productList = productRepository.findScroll("apple", null, 10);
+
+        assertThat(productList).extracting(Product::getName).containsExactlyInAnyOrder("Apple Juice", "apple pie");
+        assertThat(productRepository.countByNameContainingIgnoreCase("apple")).isEqualTo(2L);
+    }
+
+    // 100만 건에서 첫 페이지와 10,000 번째 페이지를 OFFSET 방식과 커서 방식으로 비교한다. -Dbenchmark=true 일 때만 실행한다.
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("OFFSET 페이지 조회와 커서 조회의 첫 페이지, 깊은 페이지 응답 시간을 비교한다")
+    void findScroll_comparedToOffsetPaging() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> entityManager.createNativeQuery("""
+                        insert into PRODUCT (id, name, price, stock, stock_reservation_enabled, stock_bucket_count, created_at)
+                        select random_uuid(), concat('bench-', x), 1000, 10, false, 0,
+                               dateadd('SECOND', x, timestamp with time zone '2025-01-01 00:00:00+00')
+                        from system_range(1, ?)
+                        """)
+                .setParameter(1, BENCHMARK_ROW_COUNT)
+                .executeUpdate());
+
+        PageRequest firstPageRequest = PageRequest.of(0, BENCHMARK_PAGE_SIZE, Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")));
+        PageRequest deepPageRequest = PageRequest.of(BENCHMARK_DEEP_PAGE - 1, BENCHMARK_PAGE_SIZE, firstPageRequest.getSort());
+        long offsetFirstMillis = measure(() -> productRepository.findAll(firstPageRequest));
+        long offsetDeepMillis = measure(() -> productRepository.findAll(deepPageRequest));
+
+        // 깊은 페이지의 커서는 바로 앞 페이지 마지막 행에서 얻는다(실제로는 직전 응답의 nextCursor).
+        Product lastOfPreviousPage = productRepository.findAll(
+                PageRequest.of(BENCHMARK_DEEP_PAGE - 2, BENCHMARK_PAGE_SIZE, firstPageRequest.getSort())
+        ).getContent().get(BENCHMARK_PAGE_SIZE - 1);
+        ScrollCursor deepCursor = ScrollCursor.builder()
+                .createdAt(lastOfPreviousPage.getCreatedAt())
+                .id(lastOfPreviousPage.getId())
+                .build();
+        long scrollFirstMillis = measure(() -> productRepository.findScroll(null, null, BENCHMARK_PAGE_SIZE + 1));
+        long scrollDeepMillis = measure(() -> productRepository.findScroll(null, deepCursor, BENCHMARK_PAGE_SIZE + 1));
+
+        log.info("offset paging - page 1: {} ms, page {}: {} ms (count query included)",
+                offsetFirstMillis, BENCHMARK_DEEP_PAGE, offsetDeepMillis);
+        log.info("cursor scroll - page 1: {} ms, page {}: {} ms",
+                scrollFirstMillis, BENCHMARK_DEEP_PAGE, scrollDeepMillis);
+
+        assertThat(productRepository.findScroll(null, deepCursor, BENCHMARK_PAGE_SIZE))
+                .extracting(Product::getId)
+                .containsExactlyElementsOf(productRepository.findAll(deepPageRequest).getContent().stream()
+                        .map(Product::getId)
+                        .toList());
+    }
+
+    private long measure(Supplier<?> query) {
+        // 첫 실행은 쿼리 계획과 캐시 준비 비용이 섞이므로 한 번 버린다
+        query.get();
+        long startNanos = System.nanoTime();
+        query.get();
+        return (System.nanoTime() - startNanos) / 1_000_000L;
+    }
+}
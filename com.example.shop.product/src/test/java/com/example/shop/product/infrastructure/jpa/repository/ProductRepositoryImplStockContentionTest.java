@@ -0,0 +1,181 @@
+package com.example.shop.product.infrastructure.jpa.repository;
+
+import com.example.shop.product.domain.model.Product;
+import com.example.shop.product.infrastructure.jpa.config.audit.CustomAuditAware;
+import com.example.shop.product.infrastructure.jpa.config.audit.JpaAuditConfig;
+import com.example.shop.product.infrastructure.jpa.mapper.ProductMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({
+        ProductRepositoryImpl.class,
+        ProductStockBucketRepositoryImpl.class,
+        ProductMapper.class,
+        JpaAuditConfig.class,
+        CustomAuditAware.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductRepositoryImplStockContentionTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductRepositoryImplStockContentionTest.class);
+
+    private static final long INITIAL_STOCK = 100L;
+    private static final int THREAD_COUNT = 16;
+    private static final int ATTEMPT_COUNT = 400;
+
+    @Autowired
+    private ProductRepositoryImpl productRepository;
+
+    @Autowired
+    private ProductJpaRepository productJpaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        productJpaRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("동시에 같은 상품 재고를 차감해도 조건부 차감은 초기 재고 이상으로 판매하지 않는다")
+    void decreaseStockAll_underContention_neverOversells() throws Exception {
+        UUID productId = saveProduct("hot-product", INITIAL_STOCK);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        ContentionResult result = runContention(() -> Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                productRepository.decreaseStockAll(Map.of(productId, 1L)).isEmpty()
+        )));
+
+        long finalStock = productJpaRepository.findById(productId).orElseThrow().getStock();
+        log.info("conditional decrement - sold: {}, final stock: {}, throughput: {} ops/s",
+                result.successCount(), finalStock, result.throughput());
+
+        assertThat(result.successCount()).isEqualTo(INITIAL_STOCK);
+        assertThat(finalStock).isZero();
+    }
+
+    @Test
+    @DisplayName("기존 조회 후 저장 방식과 조건부 차감 방식의 처리량과 초과 판매 수량을 비교한다")
+    void decreaseStockAll_comparedToReadModifyWrite() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        UUID readModifyWriteProductId = saveProduct("read-modify-write-product", INITIAL_STOCK);
+        ContentionResult readModifyWriteResult = runContention(() -> Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            Product product = productRepository.findByIdIn(List.of(readModifyWriteProductId)).get(0);
+            if (product.getStock() < 1L) {
+                return false;
+            }
+            productRepository.save(product.update(null, null, product.getStock() - 1L));
+            return true;
+        })));
+        long readModifyWriteStock = productJpaRepository.findById(readModifyWriteProductId).orElseThrow().getStock();
+
+        UUID conditionalProductId = saveProduct("conditional-product", INITIAL_STOCK);
+        ContentionResult conditionalResult = runContention(() -> Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                productRepository.decreaseStockAll(Map.of(conditionalProductId, 1L)).isEmpty()
+        )));
+        long conditionalStock = productJpaRepository.findById(conditionalProductId).orElseThrow().getStock();
+
+        // 조회 후 저장 방식은 갱신 손실로 인해 판매 수량이 실제 차감량보다 많아질 수 있다(초과 판매).
+        log.info("read-modify-write - sold: {}, oversold: {}, throughput: {} ops/s",
+                readModifyWriteResult.successCount(),
+                readModifyWriteResult.successCount() - (INITIAL_STOCK - readModifyWriteStock),
+                readModifyWriteResult.throughput());
+        log.info("conditional decrement - sold: {}, oversold: {}, throughput: {} ops/s",
+                conditionalResult.successCount(),
+                conditionalResult.successCount() - (INITIAL_STOCK - conditionalStock),
+                conditionalResult.throughput());
+
+        assertThat(conditionalResult.successCount()).isEqualTo(INITIAL_STOCK - conditionalStock);
+        assertThat(conditionalStock).isZero();
+    }
+
+    @Test
+    @DisplayName("여러 상품을 한 번에 차감할 때 재고가 부족하거나 존재하지 않는 상품만 실패 목록으로 반환한다")
+    void decreaseStockAll_reportsFailedLines() {
+        UUID enoughProductId = saveProduct("enough-product", 10L);
+        UUID shortProductId = saveProduct("short-product", 1L);
+        UUID unknownProductId = UUID.randomUUID();
+
+        Map<UUID, Long> productQuantityMap = new LinkedHashMap<>();
+        productQuantityMap.put(enoughProductId, 3L);
+        productQuantityMap.put(shortProductId, 2L);
+        productQuantityMap.put(unknownProductId, 1L);
+
+        List<UUID> failedProductIds = productRepository.decreaseStockAll(productQuantityMap);
+
+        assertThat(failedProductIds).containsExactly(shortProductId, unknownProductId);
+        assertThat(productJpaRepository.findById(shortProductId).orElseThrow().getStock()).isEqualTo(1L);
+    }
+
+    private UUID saveProduct(String name, long stock) {
+        return productRepository.save(
+                Product.builder()
+                        .name(name)
+                        .price(1000L)
+                        .stock(stock)
+                        .build()
+        ).getId();
+    }
+
+    private ContentionResult runContention(Supplier<Boolean> attempt) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        AtomicInteger successCount = new AtomicInteger();
+        List<Future<?>> futureList = new ArrayList<>();
+        try {
+            for (int i = 0; i < ATTEMPT_COUNT; i++) {
+                futureList.add(executorService.submit(() -> {
+                    startLatch.await();
+                    try {
+                        if (attempt.get()) {
+                            successCount.incrementAndGet();
+                        }
+                    } catch (RuntimeException e) {
+                        // 잠금 대기 시간 초과 등으로 실패한 시도는 판매되지 않은 것으로 본다.
+                    }
+                    return null;
+                }));
+            }
+            long startNanos = System.nanoTime();
+            startLatch.countDown();
+            for (Future<?> future : futureList) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            long elapsedNanos = System.nanoTime() - startNanos;
+            return new ContentionResult(successCount.get(), ATTEMPT_COUNT * 1_000_000_000L / Math.max(elapsedNanos, 1L));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private record ContentionResult(long successCount, long throughput) {
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.shop.product.infrastructure.jpa.repository;
+
+import com.example.shop.product.domain.model.Product;
+import com.example.shop.product.infrastructure.jpa.config.audit.CustomAuditAware;
+import com.example.shop.product.infrastructure.jpa.config.audit.JpaAuditConfig;
+import com.example.shop.product.infrastructure.jpa.mapper.ProductMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({
+        ProductRepositoryImpl.class,
+        ProductStockBucketRepositoryImpl.class,
+        ProductMapper.class,
+        JpaAuditConfig.class,
+        CustomAuditAware.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductStockBucketRepositoryImplContentionTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductStockBucketRepositoryImplContentionTest.class);
+
+    private static final long INITIAL_STOCK = 200L;
+    private static final int THREAD_COUNT = 16;
+    private static final int ATTEMPT_COUNT = 400;
+
+    @Autowired
+    private ProductRepositoryImpl productRepository;
+
+    @Autowired
+    private ProductStockBucketRepositoryImpl productStockBucketRepository;
+
+    @Autowired
+    private ProductJpaRepository productJpaRepository;
+
+    @Autowired
+    private ProductStockBucketJpaRepository productStockBucketJpaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        productStockBucketJpaRepository.deleteAllInBatch();
+        productJpaRepository.deleteAllInBatch();
+    }
+
+    @ParameterizedTest(name = "bucket count {0}")
+    @ValueSource(ints = {1, 4, 16, 64})
+    @DisplayName("버킷 수와 관계없이 동시 차감은 초기 재고만큼만 판매하고, 버킷 수별 처리량을 기록한다")
+    void decreaseStock_underContention_neverOversells(int bucketCount) throws Exception {
+        UUID productId = saveProduct("bucket-product-" + bucketCount);
+        productStockBucketRepository.rebalance(productId, bucketCount, INITIAL_STOCK);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        AtomicInteger successCount = new AtomicInteger();
+        List<Future<?>> futureList = new ArrayList<>();
+        long elapsedNanos;
+        try {
+            for (int i = 0; i < ATTEMPT_COUNT; i++) {
+                futureList.add(executorService.submit(() -> {
+                    startLatch.await();
+                    // 주문마다 다른 시작 버킷을 쓰도록 임의의 주문 ID 로 시작 위치를 정한다
+                    int startIndex = Math.floorMod(UUID.randomUUID().hashCode(), bucketCount);
+                    try {
+                        if (Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                                productStockBucketRepository.decreaseStock(productId, bucketCount, startIndex, 1L)
+                        ))) {
+                            successCount.incrementAndGet();
+                        }
+                    } catch (RuntimeException e) {
+                        // 잠금 대기 시간 초과 등으로 실패한 시도는 판매되지 않은 것으로 본다.
+                    }
+                    return null;
+                }));
+            }
+            long startNanos = System.nanoTime();
+            startLatch.countDown();
+            for (Future<?> future : futureList) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            elapsedNanos = System.nanoTime() - startNanos;
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        long remainingStock = productStockBucketRepository.findStocks(productId).stream()
+                .mapToLong(Long::longValue)
+                .sum();
+        log.info("stock buckets {} - sold: {}, remaining: {}, throughput: {} ops/s",
+                bucketCount, successCount.get(), remainingStock,
+                ATTEMPT_COUNT * 1_000_000_000L / Math.max(elapsedNanos, 1L));
+
+        assertThat(successCount.get()).isEqualTo(INITIAL_STOCK);
+        assertThat(remainingStock).isZero();
+    }
+
+    @Test
+    @DisplayName("시작 버킷에 수량이 모자라면 이웃 버킷에서 나눠 차감한다")
+    void decreaseStock_spillsOverToNeighbourBuckets() {
+        UUID productId = saveProduct("spill-product");
+        productStockBucketRepository.rebalance(productId, 4, 8L);
+
+        boolean decreased = productStockBucketRepository.decreaseStock(productId, 4, 3, 5L);
+
+        assertThat(decreased).isTrue();
+        assertThat(productStockBucketRepository.findStocks(productId)).containsExactly(0L, 1L, 2L, 0L);
+    }
+
+    @Test
+    @DisplayName("재분배는 버킷 수를 바꿔도 전체 재고를 유지하고, 상품 조회는 버킷 합계를 재고로 보여준다")
+    void rebalance_keepsTotalStock() {
+        UUID productId = saveProduct("rebalance-product");
+        productStockBucketRepository.rebalance(productId, 4, 10L);
+        productRepository.save(productRepository.findByIdIn(List.of(productId)).get(0).updateStockBucketCount(4));
+
+        long totalStock = productStockBucketRepository.rebalance(productId, 3, 0L);
+
+        assertThat(totalStock).isEqualTo(10L);
+        assertThat(productStockBucketRepository.findStocks(productId)).containsExactly(4L, 3L, 3L);
+        assertThat(productRepository.findByIdIn(List.of(productId)).get(0).getStock()).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("버킷을 0 개로 되돌린 뒤 들어온 반환은 실패하지 않고 PRODUCT.stock 에 더한다")
+    void increaseStock_withoutBuckets_fallsBackToProductStock() {
+        UUID productId = saveProduct("unbucketed-product");
+        productStockBucketRepository.rebalance(productId, 4, 10L);
+        productRepository.adjustStockAll(Map.of(productId, productStockBucketRepository.rebalance(productId, 0, 0L)));
+
+        // 버킷 4 개일 때 읽은 상품 정보로 반환이 들어온 상황
+        productStockBucketRepository.increaseStock(productId, 4, 1, 3L);
+
+        assertThat(productStockBucketRepository.findStocks(productId)).isEmpty();
+        assertThat(productRepository.findByIdIn(List.of(productId)).get(0).getStock()).isEqualTo(13L);
+    }
+
+    private UUID saveProduct(String name) {
+        return productRepository.save(
+                Product.builder()
+                        .name(name)
+                        .price(1000L)
+                        .stock(0L)
+                        .build()
+        ).getId();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.shop.product.infrastructure.redis.cache;
+
+import com.example.shop.product.presentation.dto.response.ResGetProductDtoV1;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductCacheRedisSerializerTest {
+
+    private final ProductCacheRedisSerializer productCacheRedisSerializer = new ProductCacheRedisSerializer();
+
+    @Test
+    @DisplayName("직렬화한 상품 캐시 값을 그대로 복원한다")
+    void serialize_roundTrip() {
+        ResGetProductDtoV1 product = createProduct(UUID.randomUUID().toString(), "상품-1", 1000L, 10L);
+
+        ResGetProductDtoV1 restored = productCacheRedisSerializer.deserialize(productCacheRedisSerializer.serialize(product));
+
+        assertThat(restored.getProduct()).usingRecursiveComparison().isEqualTo(product.getProduct());
+    }
+
+    @Test
+    @DisplayName("비어 있는 필드와 UUID 형식이 아닌 ID 도 그대로 복원한다")
+    void serialize_roundTrip_nullFieldsAndNonUuidId() {
+        ResGetProductDtoV1 product = createProduct("not-a-uuid", null, null, 0L);
+
+        ResGetProductDtoV1 restored = productCacheRedisSerializer.deserialize(productCacheRedisSerializer.serialize(product));
+
+        assertThat(restored.getProduct()).usingRecursiveComparison().isEqualTo(product.getProduct());
+    }
+
+    @Test
+    @DisplayName("스키마 버전이 다른 값은 캐시 미스로 본다")
+    void deserialize_unknownVersion_returnsNull() {
+        byte[] bytes = productCacheRedisSerializer.serialize(createProduct(UUID.randomUUID().toString(), "상품-1", 1000L, 10L));
+        bytes[0] = (byte) (ProductCacheRedisSerializer.SCHEMA_VERSION + 1);
+
+        assertThat(productCacheRedisSerializer.deserialize(bytes)).isNull();
+    }
+
+    @Test
+    @DisplayName("타입 정보가 붙는 JSON 직렬화보다 작은 값을 저장한다")
+    void serialize_smallerThanGenericJson() {
+        ResGetProductDtoV1 product = createProduct(UUID.randomUUID().toString(), "상품-1", 1000L, 10L);
+
+        byte[] binaryPayload = productCacheRedisSerializer.serialize(product);
+        byte[] jsonPayload = new GenericJackson2JsonRedisSerializer().serialize(product);
+
+        assertThat(binaryPayload.length).isLessThan(jsonPayload.length / 3);
+    }
+
+    @Test
+    @DisplayName("벤치마크와 같은 상품 값은 버전·플래그 2 바이트, UUID 16 바이트, 이름, 가격·재고 16 바이트로 저장한다")
+    void serialize_benchmarkPayloadSize() {
+        String name = "한정판 스니커즈 270mm";
+        ResGetProductDtoV1 product = createProduct(UUID.randomUUID().toString(), name, 189_000L, 1_250L);
+
+        byte[] binaryPayload = productCacheRedisSerializer.serialize(product);
+
+        // 이름은 writeUTF 로 길이 2 바이트 뒤에 UTF-8 로 기록된다
+        assertThat(binaryPayload).hasSize(2 + 16 + 2 + name.getBytes(StandardCharsets.UTF_8).length + 16);
+    }
+
+    private static ResGetProductDtoV1 createProduct(String id, String name, Long price, Long stock) {
+        return ResGetProductDtoV1.builder()
+                .product(ResGetProductDtoV1.ProductDto.builder()
+                        .id(id)
+                        .name(name)
+                        .price(price)
+                        .stock(stock)
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.shop.product.infrastructure.redis.cache;
+
+import com.example.shop.product.presentation.dto.response.ResGetProductDtoV1;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class TwoLevelCacheTest {
+
+    private static final UUID PRODUCT_ID = UUID.randomUUID();
+
+    private RedisCache redisCache;
+    private StringRedisTemplate stringRedisTemplate;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisCache = mock(RedisCache.class);
+        given(redisCache.getName()).willReturn("product");
+        given(redisCache.getCacheConfiguration()).willReturn(
+                RedisCacheConfiguration.defaultCacheConfig()
+                        .entryTtl(Duration.ofMinutes(10))
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair
+                                .fromSerializer(new CachedValueRedisSerializer(new ProductCacheRedisSerializer())))
+        );
+
+        stringRedisTemplate = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+        given(stringRedisTemplate.opsForValue()).willReturn(valueOperations);
+        given(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).willReturn(true);
+
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("L2 에서 찾은 값은 L1 에 남아 다음 조회부터 Redis 를 거치지 않는다")
+    void get_afterRedisHit_servesFromLocal() {
+        TwoLevelCache twoLevelCache = createCache(0.0);
+        ResGetProductDtoV1 product = createProduct();
+        given(redisCache.get(PRODUCT_ID)).willReturn(cached(product, System.currentTimeMillis() + 600_000L));
+
+        twoLevelCache.get(PRODUCT_ID);
+        Object cachedValue = twoLevelCache.get(PRODUCT_ID).get();
+
+        assertThat(cachedValue).isSameAs(product);
+        verify(redisCache, times(1)).get(PRODUCT_ID);
+        assertThat(count("l1", "hit")).isEqualTo(1.0);
+        assertThat(count("l1", "miss")).isEqualTo(1.0);
+        assertThat(count("l2", "hit")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("무효화 메시지로 L1 만 지우면 다음 조회는 Redis 에서 다시 읽는다")
+    void evictLocal_dropsLocalEntryOnly() {
+        TwoLevelCache twoLevelCache = createCache(0.0);
+        given(redisCache.get(PRODUCT_ID)).willReturn(cached(createProduct(), System.currentTimeMillis() + 600_000L));
+        twoLevelCache.get(PRODUCT_ID);
+
+        twoLevelCache.evictLocal(PRODUCT_ID.toString());
+        twoLevelCache.get(PRODUCT_ID);
+
+        verify(redisCache, times(2)).get(PRODUCT_ID);
+        verify(redisCache, never()).evict(PRODUCT_ID);
+    }
+
+    @Test
+    @DisplayName("두 계층 모두 없으면 L2 미스로 집계하고 null 을 반환한다")
+    void get_missOnBothTiers() {
+        TwoLevelCache twoLevelCache = createCache(0.0);
+
+        assertThat(twoLevelCache.get(PRODUCT_ID)).isNull();
+        assertThat(count("l1", "miss")).isEqualTo(1.0);
+        assertThat(count("l2", "miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("같은 키의 동시 미스는 한 번만 계산하고 나머지는 그 결과를 받는다")
+    void get_concurrentMisses_loadOnce() throws Exception {
+        TwoLevelCache twoLevelCache = createCache(0.0);
+        ResGetProductDtoV1 product = createProduct();
+        AtomicInteger loadCount = new AtomicInteger();
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        List<Future<ResGetProductDtoV1>> futureList = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                futureList.add(executorService.submit(() -> {
+                    startLatch.await();
+                    return twoLevelCache.get(PRODUCT_ID, () -> {
+                        loadCount.incrementAndGet();
+                        Thread.sleep(200L);
+                        return product;
+                    });
+                }));
+            }
+            startLatch.countDown();
+            for (Future<ResGetProductDtoV1> future : futureList) {
+                assertThat(future.get(5, TimeUnit.SECONDS)).isSameAs(product);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertThat(loadCount.get()).isEqualTo(1);
+        verify(redisCache, times(1)).put(any(), any(CachedValue.class));
+    }
+
+    @Test
+    @DisplayName("만료가 가까운 값은 조기 갱신 확률에 따라 만료 전에 다시 계산한다")
+    void get_nearExpiry_refreshesEarly() {
+        TwoLevelCache twoLevelCache = createCache(1_000_000.0);
+        ResGetProductDtoV1 staleProduct = createProduct();
+        ResGetProductDtoV1 freshProduct = createProduct();
+        given(redisCache.get(PRODUCT_ID)).willReturn(cached(staleProduct, System.currentTimeMillis() + 1_000L));
+
+        ResGetProductDtoV1 result = twoLevelCache.get(PRODUCT_ID, () -> freshProduct);
+
+        assertThat(result).isSameAs(freshProduct);
+        assertThat(meterRegistry.get("product.cache.loads").tag("reason", "early-refresh").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 락을 잡고 조기 갱신 중이면 아직 유효한 값을 그대로 쓴다")
+    @SuppressWarnings("unchecked")
+    void get_nearExpiry_lockedElsewhere_servesCachedValue() {
+        ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+        given(stringRedisTemplate.opsForValue()).willReturn(valueOperations);
+        given(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).willReturn(false);
+        TwoLevelCache twoLevelCache = createCache(1_000_000.0);
+        ResGetProductDtoV1 staleProduct = createProduct();
+        given(redisCache.get(PRODUCT_ID)).willReturn(cached(staleProduct, System.currentTimeMillis() + 1_000L));
+
+        ResGetProductDtoV1 result = twoLevelCache.get(PRODUCT_ID, () -> createProduct());
+
+        assertThat(result).isSameAs(staleProduct);
+        verify(redisCache, never()).put(any(), any());
+    }
+
+    private TwoLevelCache createCache(double earlyRefreshBeta) {
+        return new TwoLevelCache(
+                redisCache,
+                stringRedisTemplate,
+                meterRegistry,
+                TwoLevelCacheSettings.builder()
+                        .localCacheNames(Set.of("product"))
+                        .localTtl(Duration.ofMinutes(1))
+                        .localMaximumWeightBytes(1024L * 1024L)
+                        .earlyRefreshBeta(earlyRefreshBeta)
+                        .lockTtl(Duration.ofSeconds(5))
+                        .lockWait(Duration.ofMillis(100))
+                        .build(),
+                true
+        );
+    }
+
+    private double count(String tier, String result) {
+        return meterRegistry.get("product.cache.gets")
+                .tag("cache", "product")
+                .tag("tier", tier)
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+
+    private static SimpleValueWrapper cached(ResGetProductDtoV1 product, long expiresAtMillis) {
+        return new SimpleValueWrapper(new CachedValue(product, 50L, expiresAtMillis));
+    }
+
+    private static ResGetProductDtoV1 createProduct() {
+        return ResGetProductDtoV1.builder()
+                .product(ResGetProductDtoV1.ProductDto.builder()
+                        .id(PRODUCT_ID.toString())
+                        .name("상품-1")
+                        .price(1000L)
+                        .stock(10L)
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.shop.product.infrastructure.redis.listener;
+
+import com.example.shop.product.infrastructure.redis.search.ProductSearchIndexRedisNotifier;
+import com.example.shop.product.infrastructure.search.ProductNameTrigramIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexListenerTest {
+
+    private static final UUID EXISTING_ID = UUID.randomUUID();
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductNameTrigramIndex productNameTrigramIndex;
+    private ProductSearchIndexListener productSearchIndexListener;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        productNameTrigramIndex = new ProductNameTrigramIndex(meterRegistry);
+        productNameTrigramIndex.rebuild(() -> Map.of(EXISTING_ID, "Apple Juice"));
+        productSearchIndexListener = new ProductSearchIndexListener(productNameTrigramIndex);
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스에서 등록한 상품을 재적재를 기다리지 않고 바로 검색한다")
+    void putMessage_isSearchableImmediately() {
+        UUID productId = UUID.randomUUID();
+
+        productSearchIndexListener.onMessage(message(productId + ",Apple Pie, Large"), null);
+
+        assertThat(productNameTrigramIndex.search("pie, la")).contains(List.of(productId));
+        assertThat(productNameTrigramIndex.search("apple").orElseThrow()).containsExactlyInAnyOrder(EXISTING_ID, productId);
+    }
+
+    @Test
+    @DisplayName("자기 인스턴스가 발행한 메시지를 다시 받아도 인덱스 상품 수는 그대로다")
+    void repeatedMessage_keepsSingleEntry() {
+        productSearchIndexListener.onMessage(message(EXISTING_ID + ",Apple Juice"), null);
+        productSearchIndexListener.onMessage(message(EXISTING_ID + ",APPLE JUICE"), null);
+
+        assertThat(meterRegistry.get("product.search.index.size").gauge().value()).isEqualTo(1.0);
+        assertThat(productNameTrigramIndex.search("juice")).contains(List.of(EXISTING_ID));
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(
+                ProductSearchIndexRedisNotifier.PRODUCT_SEARCH_INDEX_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+}
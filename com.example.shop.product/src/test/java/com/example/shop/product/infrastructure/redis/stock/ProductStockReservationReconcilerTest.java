@@ -0,0 +1,112 @@
+package com.example.shop.product.infrastructure.redis.stock;
+
+import com.example.shop.product.application.service.ProductServiceV1;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@Testcontainers(disabledWithoutDocker = true)
+class ProductStockReservationReconcilerTest {
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private static final String LOCK_KEY = "product:stock:reconcile:lock";
+    private static final int BATCH_SIZE = 2;
+    private static final long LOCK_TTL_MILLIS = 30_000L;
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate stringRedisTemplate;
+
+    private ProductServiceV1 productServiceV1;
+    private ProductStockReservationReconciler productStockReservationReconciler;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        stringRedisTemplate.delete(stringRedisTemplate.keys("*"));
+        stringRedisTemplate.opsForValue().set("product:stock:seeded", "0");
+        List<String> journalList = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE * 3; i++) {
+            journalList.add("RELEASE|" + UUID.randomUUID() + "|" + UUID.randomUUID() + "|1");
+        }
+        stringRedisTemplate.opsForList().rightPushAll(ProductStockReservationRedis.JOURNAL_KEY, journalList);
+
+        productServiceV1 = mock(ProductServiceV1.class);
+        productStockReservationReconciler = new ProductStockReservationReconciler(
+                stringRedisTemplate,
+                productServiceV1,
+                true,
+                BATCH_SIZE,
+                LOCK_TTL_MILLIS
+        );
+    }
+
+    @Test
+    @DisplayName("배치를 반영할 때마다 락 TTL 을 다시 늘려 밀린 journal 을 끝까지 처리한다")
+    void reconcile_extendsLockAfterEachBatch() {
+        List<Long> lockTtlMillisList = new ArrayList<>();
+        willAnswer(invocation -> {
+            lockTtlMillisList.add(stringRedisTemplate.getExpire(LOCK_KEY, TimeUnit.MILLISECONDS));
+            // 배치 처리에 시간이 걸려 락 만료가 다가온 상황
+            stringRedisTemplate.expire(LOCK_KEY, 1L, TimeUnit.SECONDS);
+            return null;
+        }).given(productServiceV1).reconcileReservedStocks(anyList());
+
+        productStockReservationReconciler.reconcile();
+
+        verify(productServiceV1, times(3)).reconcileReservedStocks(anyList());
+        assertThat(lockTtlMillisList).allMatch(ttlMillis -> ttlMillis > 1_000L);
+        assertThat(stringRedisTemplate.opsForList().size(ProductStockReservationRedis.JOURNAL_KEY)).isZero();
+        assertThat(stringRedisTemplate.hasKey(LOCK_KEY)).isFalse();
+    }
+
+    @Test
+    @DisplayName("처리 중 락을 잃으면 반영한 구간을 지우지 않고 멈춰 새 락 소유자에게 맡긴다")
+    void reconcile_lockLost_stopsWithoutTrimming() {
+        willAnswer(invocation -> {
+            // 락이 만료되어 다른 인스턴스가 가져간 상황
+            stringRedisTemplate.opsForValue().set(LOCK_KEY, "other-instance");
+            return null;
+        }).given(productServiceV1).reconcileReservedStocks(anyList());
+
+        productStockReservationReconciler.reconcile();
+
+        verify(productServiceV1, times(1)).reconcileReservedStocks(anyList());
+        assertThat(stringRedisTemplate.opsForList().size(ProductStockReservationRedis.JOURNAL_KEY)).isEqualTo(BATCH_SIZE * 3L);
+        assertThat(stringRedisTemplate.opsForValue().get(LOCK_KEY)).isEqualTo("other-instance");
+    }
+
+}
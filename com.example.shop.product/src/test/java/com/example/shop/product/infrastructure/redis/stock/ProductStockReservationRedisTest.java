@@ -0,0 +1,286 @@
+package com.example.shop.product.infrastructure.redis.stock;
+
+import com.example.shop.product.application.stock.ProductStockReservationResult;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Lua 스크립트를 실제 Redis 에서 실행하고, 스크립트가 남긴 키 상태를 확인한다
+@Testcontainers(disabledWithoutDocker = true)
+class ProductStockReservationRedisTest {
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate stringRedisTemplate;
+
+    private static final UUID ORDER_ID = UUID.randomUUID();
+    private static final UUID PRODUCT_ID = UUID.randomUUID();
+    private static final UUID OTHER_PRODUCT_ID = UUID.randomUUID();
+    private static final String AVAILABLE_KEY = ProductStockReservationRedis.AVAILABLE_KEY_PREFIX + PRODUCT_ID;
+    private static final String OTHER_AVAILABLE_KEY = ProductStockReservationRedis.AVAILABLE_KEY_PREFIX + OTHER_PRODUCT_ID;
+    private static final String ORDER_KEY = ProductStockReservationRedis.ORDER_KEY_PREFIX + ORDER_ID;
+    private static final String PENDING_KEY = ProductStockReservationRedis.PENDING_KEY_PREFIX + ORDER_ID;
+    private static final String RESTORED_KEY = ProductStockReservationRedis.RESTORED_KEY_PREFIX + ORDER_ID;
+    private static final String RELEASE_JOURNAL = "RELEASE|" + ORDER_ID + "|" + PRODUCT_ID + "|3";
+    private static final String RETURN_JOURNAL = "RETURN|" + ORDER_ID + "|" + PRODUCT_ID + "|3";
+
+    private ProductStockReservationRedis productStockReservationRedis;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        stringRedisTemplate.delete(stringRedisTemplate.keys("*"));
+        stringRedisTemplate.opsForValue().set(AVAILABLE_KEY, "10");
+        productStockReservationRedis = new ProductStockReservationRedis(stringRedisTemplate, true, 604_800_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("커밋되면 pending 의 예약 내역이 journal 로 넘어가고 주문별 예약 수량이 남는다")
+    void reserve_committed_movesPendingToJournal() {
+        ProductStockReservationResult result = reserveInTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(available(AVAILABLE_KEY)).isEqualTo(7L);
+        assertThat(journal()).containsExactly(RELEASE_JOURNAL);
+        assertThat(stringRedisTemplate.hasKey(PENDING_KEY)).isFalse();
+        assertThat(productStockReservationRedis.findReservedQuantities(ORDER_ID)).isEqualTo(Map.of(PRODUCT_ID, 3L));
+        assertThat(stringRedisTemplate.getExpire(ORDER_KEY)).isPositive();
+    }
+
+    @Test
+    @DisplayName("커밋 전에는 예약 내역이 pending 에만 있다")
+    void reserve_beforeCommit_keepsEntriesPending() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        productStockReservationRedis.reserve(ORDER_ID, Map.of(PRODUCT_ID, 3L));
+
+        assertThat(stringRedisTemplate.opsForList().range(PENDING_KEY, 0, -1)).containsExactly(RELEASE_JOURNAL);
+        assertThat(journal()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("한 줄이라도 재고가 부족하면 어느 줄도 차감하지 않고 부족한 상품을 알려 준다")
+    void reserve_notEnough_leavesAllLinesUntouched() {
+        stringRedisTemplate.opsForValue().set(OTHER_AVAILABLE_KEY, "1");
+
+        ProductStockReservationResult result = productStockReservationRedis.reserve(
+                ORDER_ID,
+                orderedMap(PRODUCT_ID, 3L, OTHER_PRODUCT_ID, 2L)
+        );
+
+        assertThat(result.getStatus()).isEqualTo(ProductStockReservationResult.Status.NOT_ENOUGH);
+        assertThat(result.getFailedProductIds()).containsExactly(OTHER_PRODUCT_ID);
+        assertThat(available(AVAILABLE_KEY)).isEqualTo(10L);
+        assertThat(available(OTHER_AVAILABLE_KEY)).isEqualTo(1L);
+        assertThat(stringRedisTemplate.hasKey(ORDER_KEY)).isFalse();
+        assertThat(stringRedisTemplate.hasKey(PENDING_KEY)).isFalse();
+        assertThat(journal()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("가용 재고가 없는 상품이 있으면 NOT_REGISTERED 로 그 상품을 알려 준다")
+    void reserve_notRegistered_reportsMissingProduct() {
+        ProductStockReservationResult result = productStockReservationRedis.reserve(
+                ORDER_ID,
+                orderedMap(PRODUCT_ID, 3L, OTHER_PRODUCT_ID, 2L)
+        );
+
+        assertThat(result.getStatus()).isEqualTo(ProductStockReservationResult.Status.NOT_REGISTERED);
+        assertThat(result.getFailedProductIds()).containsExactly(OTHER_PRODUCT_ID);
+        assertThat(available(AVAILABLE_KEY)).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("같은 주문을 다시 예약하면 DUPLICATED 로 거절하고 더 차감하지 않는다")
+    void reserve_sameOrder_isDuplicated() {
+        productStockReservationRedis.reserve(ORDER_ID, Map.of(PRODUCT_ID, 3L));
+
+        ProductStockReservationResult result = productStockReservationRedis.reserve(ORDER_ID, Map.of(PRODUCT_ID, 3L));
+
+        assertThat(result.getStatus()).isEqualTo(ProductStockReservationResult.Status.DUPLICATED);
+        assertThat(available(AVAILABLE_KEY)).isEqualTo(7L);
+        assertThat(journal()).containsExactly(RELEASE_JOURNAL);
+    }
+
+    @Test
+    @DisplayName("롤백된 예약은 복원 표시나 journal 없이 되돌려져 같은 주문의 재시도와 이후 취소가 모두 성공한다")
+    void reserve_rolledBackThenRetried_canBeRestoredLater() {
+        ProductStockReservationResult rolledBack = reserveInTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(rolledBack.isSuccess()).isTrue();
+        assertThat(available(AVAILABLE_KEY)).isEqualTo(10L);
+        assertThat(journal()).isEmpty();
+        assertThat(stringRedisTemplate.hasKey(ORDER_KEY)).isFalse();
+        assertThat(stringRedisTemplate.hasKey(PENDING_KEY)).isFalse();
+        assertThat(stringRedisTemplate.hasKey(RESTORED_KEY)).isFalse();
+
+        ProductStockReservationResult retried = reserveInTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(retried.isSuccess()).isTrue();
+        assertThat(available(AVAILABLE_KEY)).isEqualTo(7L);
+        assertThat(journal()).containsExactly(RELEASE_JOURNAL);
+
+        ProductStockReservationResult restored = productStockReservationRedis.restore(ORDER_ID, Map.of(PRODUCT_ID, 3L));
+
+        assertThat(restored.getStatus()).isEqualTo(ProductStockReservationResult.Status.SUCCESS);
+        assertThat(available(AVAILABLE_KEY)).isEqualTo(10L);
+        assertThat(journal()).containsExactly(RELEASE_JOURNAL, RETURN_JOURNAL);
+        assertThat(stringRedisTemplate.hasKey(ORDER_KEY)).isFalse();
+    }
+
+    @Test
+    @DisplayName("이미 journal 로 넘어간 예약은 롤백 스크립트가 되돌리지 않는다")
+    void rollback_afterCommit_isIgnored() {
+        TransactionSynchronizationManager.initSynchronization();
+        productStockReservationRedis.reserve(ORDER_ID, Map.of(PRODUCT_ID, 3L));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(available(AVAILABLE_KEY)).isEqualTo(7L);
+        assertThat(journal()).containsExactly(RELEASE_JOURNAL);
+    }
+
+    @Test
+    @DisplayName("같은 주문을 두 번 복원해도 가용 재고와 RETURN 내역은 한 번만 늘어난다")
+    void restore_twice_isIdempotent() {
+        productStockReservationRedis.reserve(ORDER_ID, Map.of(PRODUCT_ID, 3L));
+
+        ProductStockReservationResult first = productStockReservationRedis.restore(ORDER_ID, Map.of(PRODUCT_ID, 3L));
+        ProductStockReservationResult second = productStockReservationRedis.restore(ORDER_ID, Map.of(PRODUCT_ID, 3L));
+
+        assertThat(first.getStatus()).isEqualTo(ProductStockReservationResult.Status.SUCCESS);
+        assertThat(second.getStatus()).isEqualTo(ProductStockReservationResult.Status.DUPLICATED);
+        assertThat(available(AVAILABLE_KEY)).isEqualTo(10L);
+        assertThat(journal()).containsExactly(RELEASE_JOURNAL, RETURN_JOURNAL);
+        assertThat(stringRedisTemplate.getExpire(RESTORED_KEY)).isPositive();
+    }
+
+    @Test
+    @DisplayName("가용 재고가 없는 상품은 복원하지 않고 복원 표시도 남기지 않는다")
+    void restore_notRegistered_leavesNoMarker() {
+        stringRedisTemplate.delete(AVAILABLE_KEY);
+
+        ProductStockReservationResult result = productStockReservationRedis.restore(ORDER_ID, Map.of(PRODUCT_ID, 3L));
+
+        assertThat(result.getStatus()).isEqualTo(ProductStockReservationResult.Status.NOT_REGISTERED);
+        assertThat(result.getFailedProductIds()).containsExactly(PRODUCT_ID);
+        assertThat(stringRedisTemplate.hasKey(RESTORED_KEY)).isFalse();
+        assertThat(journal()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("트랜잭션 밖의 예약은 바로 journal 로 넘어간다")
+    void reserve_withoutTransaction_commitsImmediately() {
+        productStockReservationRedis.reserve(ORDER_ID, Map.of(PRODUCT_ID, 3L));
+
+        assertThat(journal()).containsExactly(RELEASE_JOURNAL);
+        assertThat(stringRedisTemplate.hasKey(PENDING_KEY)).isFalse();
+    }
+
+    @Test
+    @DisplayName("전환 커밋 직후 다른 요청이 먼저 적재하고 차감했다면, 늦게 실행된 register 가 차감 전 재고로 덮어쓰지 않는다")
+    void register_afterConcurrentSeedAndReserve_keepsDecrementedStock() {
+        stringRedisTemplate.delete(AVAILABLE_KEY);
+        TransactionSynchronizationManager.initSynchronization();
+        productStockReservationRedis.register(PRODUCT_ID, 10L);
+        List<TransactionSynchronization> switchOnSynchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // 커밋은 끝났지만 register 의 afterCommit 이 돌기 전에 release-stock 요청이 NOT_REGISTERED 를 만나 적재 후 차감한다
+        ProductStockReservationResult notRegistered = productStockReservationRedis.reserve(ORDER_ID, Map.of(PRODUCT_ID, 3L));
+        productStockReservationRedis.seed(PRODUCT_ID, 10L);
+        ProductStockReservationResult reserved = productStockReservationRedis.reserve(ORDER_ID, Map.of(PRODUCT_ID, 3L));
+        switchOnSynchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(notRegistered.getStatus()).isEqualTo(ProductStockReservationResult.Status.NOT_REGISTERED);
+        assertThat(reserved.isSuccess()).isTrue();
+        assertThat(available(AVAILABLE_KEY)).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("이전 전환에서 남은 가용 재고는 커밋 전에 지우고 커밋 후 DB 재고로 다시 적재한다")
+    void register_replacesLeftoverStock() {
+        stringRedisTemplate.opsForValue().set(AVAILABLE_KEY, "99");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            productStockReservationRedis.register(PRODUCT_ID, 10L);
+
+            assertThat(stringRedisTemplate.hasKey(AVAILABLE_KEY)).isFalse();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(available(AVAILABLE_KEY)).isEqualTo(10L);
+    }
+
+    private ProductStockReservationResult reserveInTransaction(int status) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            ProductStockReservationResult result = productStockReservationRedis.reserve(ORDER_ID, Map.of(PRODUCT_ID, 3L));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(status));
+            return result;
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static long available(String key) {
+        return Long.parseLong(stringRedisTemplate.opsForValue().get(key));
+    }
+
+    private static List<String> journal() {
+        return stringRedisTemplate.opsForList().range(ProductStockReservationRedis.JOURNAL_KEY, 0, -1);
+    }
+
+    private static Map<UUID, Long> orderedMap(UUID firstProductId, long firstQuantity, UUID secondProductId, long secondQuantity) {
+        Map<UUID, Long> productQuantityMap = new LinkedHashMap<>();
+        productQuantityMap.put(firstProductId, firstQuantity);
+        productQuantityMap.put(secondProductId, secondQuantity);
+        return productQuantityMap;
+    }
+}
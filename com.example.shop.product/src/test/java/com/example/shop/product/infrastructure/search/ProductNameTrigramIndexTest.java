@@ -0,0 +1,106 @@
+package com.example.shop.product.infrastructure.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductNameTrigramIndexTest {
+
+    private static final UUID APPLE_JUICE_ID = UUID.randomUUID();
+    private static final UUID APPLE_ID = UUID.randomUUID();
+    private static final UUID GREEN_APPLE_ID = UUID.randomUUID();
+    private static final UUID PINEAPPLE_ID = UUID.randomUUID();
+    private static final UUID BANANA_ID = UUID.randomUUID();
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductNameTrigramIndex productNameTrigramIndex;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        productNameTrigramIndex = new ProductNameTrigramIndex(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("첫 적재 전에는 검색에 답하지 않는다")
+    void search_beforeRebuild_returnsEmpty() {
+        assertThat(productNameTrigramIndex.search("apple")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("부분 일치 상품을 일치, 접두, 단어 접두, 부분 일치 순으로 반환한다")
+    void search_ranksPrefixMatchesFirst() {
+        rebuildWithSamples();
+
+        Optional<List<UUID>> result = productNameTrigramIndex.search("APPLE");
+
+        assertThat(result).contains(List.of(APPLE_ID, APPLE_JUICE_ID, GREEN_APPLE_ID, PINEAPPLE_ID));
+    }
+
+    @Test
+    @DisplayName("trigram 이 모두 있어도 순서가 다르면 결과에서 뺀다")
+    void search_verifiesSubstring() {
+        UUID productId = UUID.randomUUID();
+        productNameTrigramIndex.rebuild(() -> Map.of(productId, "abcxbcd"));
+
+        assertThat(productNameTrigramIndex.search("abcd")).contains(List.of());
+        assertThat(productNameTrigramIndex.search("xbcd")).contains(List.of(productId));
+    }
+
+    @Test
+    @DisplayName("3글자보다 짧은 질의는 DB 로 넘기도록 답하지 않는다")
+    void search_shortQuery_returnsEmpty() {
+        rebuildWithSamples();
+
+        assertThat(productNameTrigramIndex.search("ap")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("등록, 이름 변경, 삭제가 바로 검색 결과에 반영된다")
+    void putAndRemove_updateIndex() {
+        rebuildWithSamples();
+        UUID newProductId = UUID.randomUUID();
+
+        productNameTrigramIndex.put(newProductId, "Apple Pie");
+        productNameTrigramIndex.put(BANANA_ID, "Banana Apple");
+        productNameTrigramIndex.remove(PINEAPPLE_ID);
+
+        assertThat(productNameTrigramIndex.search("apple").orElseThrow())
+                .contains(newProductId, BANANA_ID)
+                .doesNotContain(PINEAPPLE_ID);
+        assertThat(productNameTrigramIndex.search("banana")).contains(List.of(BANANA_ID));
+        assertThat(meterRegistry.get("product.search.index.size").gauge().value()).isEqualTo(5.0);
+    }
+
+    @Test
+    @DisplayName("재적재 중에 들어온 변경은 새 인덱스에도 남는다")
+    void rebuild_keepsChangesMadeWhileLoading() {
+        UUID newProductId = UUID.randomUUID();
+
+        productNameTrigramIndex.rebuild(() -> {
+            productNameTrigramIndex.put(newProductId, "Apple Tart");
+            return Map.of(APPLE_ID, "Apple");
+        });
+
+        assertThat(productNameTrigramIndex.search("apple")).contains(List.of(APPLE_ID, newProductId));
+    }
+
+    private void rebuildWithSamples() {
+        Map<UUID, String> productNameMap = new LinkedHashMap<>();
+        productNameMap.put(PINEAPPLE_ID, "Pineapple");
+        productNameMap.put(GREEN_APPLE_ID, "Green Apple");
+        productNameMap.put(APPLE_JUICE_ID, "Apple Juice");
+        productNameMap.put(APPLE_ID, "Apple");
+        productNameMap.put(BANANA_ID, "Banana");
+        productNameTrigramIndex.rebuild(() -> productNameMap);
+    }
+}
@@ -2,6 +2,7 @@ package com.example.shop.product.presentation.controller;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willDoNothing;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -10,9 +11,12 @@ import com.epages.restdocs.apispec.MockMvcRestDocumentationWrapper;
 import com.epages.restdocs.apispec.ResourceDocumentation;
 import com.epages.restdocs.apispec.ResourceSnippetParameters;
 import com.example.shop.product.application.service.ProductServiceV1;
+import com.example.shop.product.infrastructure.security.identity.IdentityTokenCodec;
 import com.example.shop.product.infrastructure.security.jwt.JwtProperties;
+import com.example.shop.product.presentation.dto.request.ReqPostInternalProductsBatchDtoV1;
 import com.example.shop.product.presentation.dto.request.ReqPostInternalProductsReleaseStockDtoV1;
 import com.example.shop.product.presentation.dto.request.ReqPostInternalProductsReturnStockDtoV1;
+import com.example.shop.product.presentation.dto.response.ResPostInternalProductsBatchDtoV1;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.List;
 import java.util.UUID;
@@ -61,6 +65,11 @@ class InternalProductControllerV1Test {
         JwtProperties jwtProperties() {
             return new JwtProperties("Authorization", "Bearer ", "access-token");
         }
+
+        @Bean
+        IdentityTokenCodec identityTokenCodec() {
+            return new IdentityTokenCodec(false, "X-Shop-Identity", "");
+        }
     }
 
     @Test
@@ -80,11 +89,12 @@ class InternalProductControllerV1Test {
                 ))
                 .build();
 
-        willDoNothing().given(productServiceV1).postInternalProductsReleaseStock(any(ReqPostInternalProductsReleaseStockDtoV1.class));
+        willDoNothing().given(productServiceV1).postInternalProductsReleaseStock(any(), any(ReqPostInternalProductsReleaseStockDtoV1.class));
 
         mockMvc.perform(
                         RestDocumentationRequestBuilders.post("/internal/v1/products/release-stock")
                                 .header(HttpHeaders.AUTHORIZATION, DUMMY_BEARER_TOKEN)
+                                .header("X-Message-Id", "dddddddd-dddd-dddd-dddd-dddddddddddd")
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .content(objectMapper.writeValueAsString(request))
                 )
@@ -117,7 +127,7 @@ class InternalProductControllerV1Test {
                 )
                 .build();
 
-        willDoNothing().given(productServiceV1).postInternalProductsReturnStock(any(ReqPostInternalProductsReturnStockDtoV1.class));
+        willDoNothing().given(productServiceV1).postInternalProductsReturnStock(any(), any(ReqPostInternalProductsReturnStockDtoV1.class));
 
         mockMvc.perform(
                         RestDocumentationRequestBuilders.post("/internal/v1/products/return-stock")
@@ -142,4 +152,58 @@ class InternalProductControllerV1Test {
                         )
                 );
     }
+
+    @Test
+    @DisplayName("내부 API - 상품 ID 목록으로 상품 정보를 한 번에 조회한다")
+    void postProductsBatch_returnsProducts() throws Exception {
+        ReqPostInternalProductsBatchDtoV1 request = ReqPostInternalProductsBatchDtoV1.builder()
+                .productIds(List.of(
+                        UUID.fromString("bbbbbbbb-bbbb-bbbb-bbbb-bbbbbbbbbbbb"),
+                        UUID.fromString("dddddddd-dddd-dddd-dddd-dddddddddddd")
+                ))
+                .build();
+
+        ResPostInternalProductsBatchDtoV1 response = ResPostInternalProductsBatchDtoV1.builder()
+                .productList(List.of(
+                        ResPostInternalProductsBatchDtoV1.ProductDto.builder()
+                                .id("bbbbbbbb-bbbb-bbbb-bbbb-bbbbbbbbbbbb")
+                                .name("노트북")
+                                .price(1_500_000L)
+                                .stock(10L)
+                                .build(),
+                        ResPostInternalProductsBatchDtoV1.ProductDto.builder()
+                                .id("dddddddd-dddd-dddd-dddd-dddddddddddd")
+                                .name("마우스")
+                                .price(30_000L)
+                                .stock(100L)
+                                .build()
+                ))
+                .build();
+
+        given(productServiceV1.postInternalProductsBatch(any(ReqPostInternalProductsBatchDtoV1.class))).willReturn(response);
+
+        mockMvc.perform(
+                        RestDocumentationRequestBuilders.post("/internal/v1/products/batch")
+                                .header(HttpHeaders.AUTHORIZATION, DUMMY_BEARER_TOKEN)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.productList[0].id", equalTo("bbbbbbbb-bbbb-bbbb-bbbb-bbbbbbbbbbbb")))
+                .andExpect(jsonPath("$.data.productList[1].name", equalTo("마우스")))
+                .andDo(
+                        MockMvcRestDocumentationWrapper.document(
+                                "product-internal-batch",
+                                Preprocessors.preprocessRequest(Preprocessors.prettyPrint()),
+                                Preprocessors.preprocessResponse(Preprocessors.prettyPrint()),
+                                ResourceDocumentation.resource(
+                                        ResourceSnippetParameters.builder()
+                                                .tag("Product Internal V1")
+                                                .summary("상품 일괄 조회")
+                                                .description("주문 생성 시 내부에서 여러 상품의 가격과 재고를 한 번에 조회합니다.")
+                                                .build()
+                                )
+                        )
+                );
+    }
 }
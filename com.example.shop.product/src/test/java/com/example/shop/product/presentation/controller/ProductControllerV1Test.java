@@ -3,7 +3,9 @@ package com.example.shop.product.presentation.controller;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -12,12 +14,17 @@ import com.epages.restdocs.apispec.ResourceDocumentation;
 import com.epages.restdocs.apispec.ResourceSnippetParameters;
 import com.epages.restdocs.apispec.SimpleType;
 import com.example.shop.product.application.service.ProductServiceV1;
+import com.example.shop.product.infrastructure.security.identity.IdentityTokenCodec;
 import com.example.shop.product.infrastructure.security.jwt.JwtProperties;
 import com.example.shop.product.presentation.dto.request.ReqPostProductsDtoV1;
+import com.example.shop.product.presentation.dto.request.ReqPutProductStockBucketsDtoV1;
+import com.example.shop.product.presentation.dto.request.ReqPutProductStockReservationDtoV1;
 import com.example.shop.product.presentation.dto.response.ResGetProductDtoV1;
 import com.example.shop.product.presentation.dto.response.ResGetProductsDtoV1;
+import com.example.shop.product.presentation.dto.response.ResGetProductsScrollDtoV1;
 import com.example.shop.product.presentation.dto.response.ResPostProductsDtoV1;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -65,6 +72,11 @@ class ProductControllerV1Test {
         JwtProperties jwtProperties() {
             return new JwtProperties("Authorization", "Bearer ", "access-token");
         }
+
+        @Bean
+        IdentityTokenCodec identityTokenCodec() {
+            return new IdentityTokenCodec(false, "X-Shop-Identity", "");
+        }
     }
 
     @Test
@@ -110,6 +122,48 @@ class ProductControllerV1Test {
                 );
     }
 
+    @Test
+    @DisplayName("상품 스크롤 조회 시 다음 목록 커서가 함께 반환된다")
+    void getProductsScroll_returnsNextCursor() throws Exception {
+        ResGetProductsDtoV1.ProductPageDto.ProductDto productA = ResGetProductsDtoV1.ProductPageDto.ProductDto.builder()
+                .id(UUID.randomUUID().toString())
+                .name("샘플 상품 A")
+                .price(1000L)
+                .stock(5L)
+                .build();
+        ResGetProductsScrollDtoV1 serviceResponse = ResGetProductsScrollDtoV1.builder()
+                .productScroll(ResGetProductsScrollDtoV1.ProductScrollDto.builder()
+                        .content(List.of(productA))
+                        .nextCursor("AAAAAGcQAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA")
+                        .hasNext(true)
+                        .build())
+                .build();
+        given(productServiceV1.getProductsScroll(any(), eq(1), any(), eq(false))).willReturn(serviceResponse);
+
+        mockMvc.perform(
+                        RestDocumentationRequestBuilders.get("/v1/products/scroll")
+                                .header(HttpHeaders.AUTHORIZATION, DUMMY_BEARER_TOKEN)
+                                .param("size", "1")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.productScroll.content", hasSize(1)))
+                .andExpect(jsonPath("$.data.productScroll.hasNext", equalTo(true)))
+                .andDo(
+                        MockMvcRestDocumentationWrapper.document(
+                                "product-get-products-scroll",
+                                Preprocessors.preprocessRequest(Preprocessors.prettyPrint()),
+                                Preprocessors.preprocessResponse(Preprocessors.prettyPrint()),
+                                ResourceDocumentation.resource(
+                                        ResourceSnippetParameters.builder()
+                                                .tag("Product V1")
+                                                .summary("상품 스크롤 조회")
+                                                .description("커서 기반으로 상품 목록을 조회합니다. 응답의 nextCursor 를 다음 요청의 cursor 로 전달합니다.")
+                                                .build()
+                                )
+                        )
+                );
+    }
+
     @Test
     @DisplayName("상품 단건 조회 시 요청한 ID가 응답에 포함된다")
     void getProduct_returnsRequestedId() throws Exception {
@@ -201,4 +255,90 @@ class ProductControllerV1Test {
                         )
                 );
     }
+
+    @Test
+    @DisplayName("상품 재고 예약 설정 변경 요청 시 완료 메시지를 반환한다")
+    void putProductStockReservation_returnsMessage() throws Exception {
+        UUID productId = UUID.fromString("dddddddd-dddd-dddd-dddd-dddddddddddd");
+        ReqPutProductStockReservationDtoV1 request = ReqPutProductStockReservationDtoV1.builder()
+                .stockReservation(
+                        ReqPutProductStockReservationDtoV1.StockReservationDto.builder()
+                                .enabled(true)
+                                .build()
+                )
+                .build();
+
+        mockMvc.perform(
+                        RestDocumentationRequestBuilders.put("/v1/products/{id}/stock-reservation", productId)
+                                .header(HttpHeaders.AUTHORIZATION, DUMMY_BEARER_TOKEN)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message", equalTo("상품 재고 예약 설정이 변경되었습니다.")))
+                .andDo(
+                        MockMvcRestDocumentationWrapper.document(
+                                "product-put-stock-reservation",
+                                Preprocessors.preprocessRequest(Preprocessors.prettyPrint()),
+                                Preprocessors.preprocessResponse(Preprocessors.prettyPrint()),
+                                ResourceDocumentation.resource(
+                                        ResourceSnippetParameters.builder()
+                                                .tag("Product V1")
+                                                .summary("상품 재고 예약 설정 변경")
+                                                .description("상품의 재고 차감/복원을 Redis 재고 예약 엔진으로 처리할지 설정합니다.")
+                                                .pathParameters(
+                                                        ResourceDocumentation.parameterWithName("id")
+                                                                .type(SimpleType.STRING)
+                                                                .description("설정할 상품 ID")
+                                                )
+                                                .build()
+                                )
+                        )
+                );
+
+        verify(productServiceV1).putProductStockReservation(eq(productId), any(ReqPutProductStockReservationDtoV1.class));
+    }
+
+    @Test
+    @DisplayName("상품 재고 버킷 설정 변경 요청 시 완료 메시지를 반환한다")
+    void putProductStockBuckets_returnsMessage() throws Exception {
+        UUID productId = UUID.fromString("eeeeeeee-eeee-eeee-eeee-eeeeeeeeeeee");
+        ReqPutProductStockBucketsDtoV1 request = ReqPutProductStockBucketsDtoV1.builder()
+                .stockBucket(
+                        ReqPutProductStockBucketsDtoV1.StockBucketDto.builder()
+                                .count(16)
+                                .build()
+                )
+                .build();
+
+        mockMvc.perform(
+                        RestDocumentationRequestBuilders.put("/v1/products/{id}/stock-buckets", productId)
+                                .header(HttpHeaders.AUTHORIZATION, DUMMY_BEARER_TOKEN)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message", equalTo("상품 재고 버킷 설정이 변경되었습니다.")))
+                .andDo(
+                        MockMvcRestDocumentationWrapper.document(
+                                "product-put-stock-buckets",
+                                Preprocessors.preprocessRequest(Preprocessors.prettyPrint()),
+                                Preprocessors.preprocessResponse(Preprocessors.prettyPrint()),
+                                ResourceDocumentation.resource(
+                                        ResourceSnippetParameters.builder()
+                                                .tag("Product V1")
+                                                .summary("상품 재고 버킷 설정 변경")
+                                                .description("상품 재고를 나눠 담을 버킷 수를 설정합니다. 0 이면 버킷을 쓰지 않습니다.")
+                                                .pathParameters(
+                                                        ResourceDocumentation.parameterWithName("id")
+                                                                .type(SimpleType.STRING)
+                                                                .description("설정할 상품 ID")
+                                                )
+                                                .build()
+                                )
+                        )
+                );
+
+        verify(productServiceV1).putProductStockBuckets(eq(productId), any(ReqPutProductStockBucketsDtoV1.class));
+    }
 }
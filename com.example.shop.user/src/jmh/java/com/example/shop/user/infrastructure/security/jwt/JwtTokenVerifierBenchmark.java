@@ -0,0 +1,59 @@
+package com.example.shop.user.infrastructure.security.jwt;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtTokenVerifierBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+
+    private JwtProperties jwtProperties;
+    private JwtTokenVerifier jwtTokenVerifier;
+    private String accessJwt;
+
+    @Setup
+    public void setUp() {
+        jwtProperties = new JwtProperties(SECRET, 1_800_000L, 15_552_000_000L, "Authorization", "Bearer ", "accessJwt", "refreshJwt");
+        jwtTokenVerifier = new JwtTokenVerifier(jwtProperties, 10_000L);
+        Instant now = Instant.now();
+        accessJwt = JWT.create()
+                .withSubject(jwtProperties.getAccessSubject())
+                .withClaim("id", UUID.randomUUID().toString())
+                .withClaim("username", "benchmark")
+                .withClaim("nickname", "benchmark")
+                .withClaim("email", "benchmark@example.com")
+                .withClaim("roleList", List.of("USER"))
+                .withIssuedAt(now)
+                .withExpiresAt(now.plusMillis(jwtProperties.getAccessExpirationMillis()))
+                .sign(Algorithm.HMAC512(SECRET));
+        jwtTokenVerifier.verify(accessJwt);
+    }
+
+    @Benchmark
+    public DecodedJWT coldVerify() {
+        return JWT.require(Algorithm.HMAC512(jwtProperties.getSecret()))
+                .build()
+                .verify(accessJwt);
+    }
+
+    @Benchmark
+    public DecodedJWT cachedVerify() {
+        return jwtTokenVerifier.verify(accessJwt);
+    }
+}
@@ -1,7 +1,5 @@
 package com.example.shop.user.application.service;
 
-import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.example.shop.user.domain.model.User;
@@ -10,6 +8,7 @@ import com.example.shop.user.domain.repository.UserRepository;
 import com.example.shop.user.application.cache.AuthCache;
 import com.example.shop.user.infrastructure.security.jwt.JwtProperties;
 import com.example.shop.user.infrastructure.security.jwt.JwtTokenGenerator;
+import com.example.shop.user.infrastructure.security.jwt.JwtTokenVerifier;
 import com.example.shop.user.presentation.advice.AuthError;
 import com.example.shop.user.presentation.advice.AuthException;
 import com.example.shop.user.presentation.advice.UserError;
@@ -40,6 +39,7 @@ public class AuthServiceV1 {
 
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenGenerator jwtTokenGenerator;
+    private final JwtTokenVerifier jwtTokenVerifier;
     private final JwtProperties jwtProperties;
 
     private final AuthCache authCache;
@@ -117,7 +117,7 @@ public class AuthServiceV1 {
         }
 
         UUID userId = parseUserId(decodedAccessJwt);
-        Long jwtValidator = authCache.getBy(decodedAccessJwt.getClaim("id").toString());
+        Long jwtValidator = authCache.getBy(decodedAccessJwt.getClaim("id").asString());
         if (jwtValidator != null && jwtValidator > decodedAccessJwt.getIssuedAt().toInstant().getEpochSecond()) {
             return ResPostAuthCheckAccessTokenDtoV1.builder()
                     .userId(userId.toString())
@@ -203,9 +203,7 @@ public class AuthServiceV1 {
             throw new AuthException(AuthError.AUTH_TOKEN_INVALID);
         }
         try {
-            DecodedJWT decodedJWT = JWT.require(Algorithm.HMAC512(jwtProperties.getSecret()))
-                    .build()
-                    .verify(token);
+            DecodedJWT decodedJWT = jwtTokenVerifier.verify(token);
             if (!subject.equals(decodedJWT.getSubject())) {
                 throw new AuthException(AuthError.AUTH_TOKEN_INVALID);
             }
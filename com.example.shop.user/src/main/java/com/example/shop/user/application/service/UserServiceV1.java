@@ -4,10 +4,12 @@ import com.example.shop.user.application.cache.AuthCache;
 import com.example.shop.user.domain.model.User;
 import com.example.shop.user.domain.model.UserRole;
 import com.example.shop.user.domain.repository.UserRepository;
+import com.example.shop.user.domain.vo.ScrollCursor;
 import com.example.shop.user.presentation.advice.UserError;
 import com.example.shop.user.presentation.advice.UserException;
 import com.example.shop.user.presentation.dto.response.ResGetUsersDtoV1;
 import com.example.shop.user.presentation.dto.response.ResGetUserDtoV1;
+import com.example.shop.user.presentation.dto.response.ResGetUsersScrollDtoV1;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
@@ -28,6 +30,8 @@ public class UserServiceV1 {
 
     private final AuthCache authCache;
 
+    private static final int SCROLL_MAX_SIZE = 100;
+
     public ResGetUsersDtoV1 getUsers(
             UUID authUserId,
             List<String> authUserRoleList,
@@ -49,6 +53,52 @@ public class UserServiceV1 {
         return ResGetUsersDtoV1.of(userPage);
     }
 
+    public ResGetUsersScrollDtoV1 getUsersScroll(
+            UUID authUserId,
+            List<String> authUserRoleList,
+            String cursor,
+            int size,
+            String username,
+            String nickname,
+            String email,
+            boolean includeTotal
+    ) {
+        if (!isAdmin(authUserRoleList) && !isManager(authUserRoleList)) {
+            throw new UserException(UserError.USER_FORBIDDEN);
+        }
+        if (size < 1 || size > SCROLL_MAX_SIZE) {
+            throw new UserException(UserError.USER_BAD_REQUEST);
+        }
+
+        String normalizedUsername = normalize(username);
+        String normalizedNickname = normalize(nickname);
+        String normalizedEmail = normalize(email);
+
+        // 한 건 더 읽어 다음 목록이 있는지 판단한다
+        List<User> userList = userRepository.scrollUsers(
+                normalizedUsername,
+                normalizedNickname,
+                normalizedEmail,
+                decodeCursor(cursor),
+                size + 1
+        );
+        String nextCursor = null;
+        if (userList.size() > size) {
+            userList = userList.subList(0, size);
+            User lastUser = userList.get(size - 1);
+            nextCursor = ScrollCursor.builder()
+                    .createdAt(lastUser.getCreatedAt())
+                    .id(lastUser.getId())
+                    .build()
+                    .encode();
+        }
+
+        Long totalElements = includeTotal
+                ? userRepository.countUsers(normalizedUsername, normalizedNickname, normalizedEmail)
+                : null;
+        return ResGetUsersScrollDtoV1.of(userList, nextCursor, totalElements);
+    }
+
     public ResGetUserDtoV1 getUser(UUID authUserId, List<String> authUserRoleList, UUID userId) {
         User user = getUserOrThrow(userId);
         validateAccess(authUserId, authUserRoleList, user);
@@ -101,6 +151,17 @@ public class UserServiceV1 {
                 && authUserRoleList.contains(UserRole.Role.MANAGER.toString());
     }
 
+    private ScrollCursor decodeCursor(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
+        }
+        try {
+            return ScrollCursor.decode(cursor);
+        } catch (IllegalArgumentException exception) {
+            throw new UserException(UserError.USER_BAD_REQUEST);
+        }
+    }
+
     private String normalize(String value) {
         if (!StringUtils.hasText(value)) {
             return null;
@@ -1,6 +1,8 @@
 package com.example.shop.user.domain.repository;
 
 import com.example.shop.user.domain.model.User;
+import com.example.shop.user.domain.vo.ScrollCursor;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
@@ -16,5 +18,10 @@ public interface UserRepository {
 
     Page<User> searchUsers(String username, String nickname, String email, Pageable pageable);
 
+    // (createdAt, id) 내림차순으로 cursor 다음부터 limit 건 조회한다. cursor 가 null 이면 처음부터 조회한다.
+    List<User> scrollUsers(String username, String nickname, String email, ScrollCursor cursor, int limit);
+
+    long countUsers(String username, String nickname, String email);
+
     long count();
 }
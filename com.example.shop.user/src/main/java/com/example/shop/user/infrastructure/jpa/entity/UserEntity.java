@@ -8,6 +8,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import java.util.ArrayList;
@@ -23,7 +24,10 @@ import org.hibernate.annotations.DynamicInsert;
 import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
-@Table(name = "`USER`")
+@Table(
+        name = "`USER`",
+        indexes = @Index(name = "idx_user_created_at_id", columnList = "created_at, id")
+)
 @DynamicInsert
 @DynamicUpdate
 @Getter
@@ -2,6 +2,7 @@ package com.example.shop.user.infrastructure.jpa.repository;
 
 import com.example.shop.user.domain.model.User;
 import com.example.shop.user.domain.repository.UserRepository;
+import com.example.shop.user.domain.vo.ScrollCursor;
 import com.example.shop.user.infrastructure.jpa.entity.QUserEntity;
 import com.example.shop.user.infrastructure.jpa.entity.UserEntity;
 import com.example.shop.user.infrastructure.jpa.mapper.UserMapper;
@@ -59,16 +60,7 @@ public class UserRepositoryImpl implements UserRepository {
 
     @Override
     public Page<User> searchUsers(String username, String nickname, String email, Pageable pageable) {
-        BooleanBuilder builder = new BooleanBuilder();
-        if (StringUtils.hasText(username)) {
-            builder.and(user.username.containsIgnoreCase(username));
-        }
-        if (StringUtils.hasText(nickname)) {
-            builder.and(user.nickname.containsIgnoreCase(nickname));
-        }
-        if (StringUtils.hasText(email)) {
-            builder.and(user.email.containsIgnoreCase(email));
-        }
+        BooleanBuilder builder = searchCondition(username, nickname, email);
 
         var query = jpaQueryFactory.selectFrom(user)
                 .where(builder)
@@ -102,11 +94,52 @@ public class UserRepositoryImpl implements UserRepository {
         return new PageImpl<>(content, Pageable.unpaged(), total);
     }
 
+    @Override
+    public List<User> scrollUsers(String username, String nickname, String email, ScrollCursor cursor, int limit) {
+        BooleanBuilder builder = searchCondition(username, nickname, email);
+        if (cursor != null) {
+            builder.and(user.createdAt.lt(cursor.getCreatedAt())
+                    .or(user.createdAt.eq(cursor.getCreatedAt()).and(user.id.lt(cursor.getId()))));
+        }
+
+        return jpaQueryFactory.selectFrom(user)
+                .where(builder)
+                .orderBy(user.createdAt.desc(), user.id.desc())
+                .limit(limit)
+                .fetch()
+                .stream()
+                .map(userMapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public long countUsers(String username, String nickname, String email) {
+        Long fetchedTotal = jpaQueryFactory.select(user.count())
+                .from(user)
+                .where(searchCondition(username, nickname, email))
+                .fetchOne();
+        return fetchedTotal == null ? 0L : fetchedTotal;
+    }
+
     @Override
     public long count() {
         return userJpaRepository.count();
     }
 
+    private BooleanBuilder searchCondition(String username, String nickname, String email) {
+        BooleanBuilder builder = new BooleanBuilder();
+        if (StringUtils.hasText(username)) {
+            builder.and(user.username.containsIgnoreCase(username));
+        }
+        if (StringUtils.hasText(nickname)) {
+            builder.and(user.nickname.containsIgnoreCase(nickname));
+        }
+        if (StringUtils.hasText(email)) {
+            builder.and(user.email.containsIgnoreCase(email));
+        }
+        return builder;
+    }
+
     private OrderSpecifier<?>[] resolveOrderSpecifiers(Sort sort) {
         List<OrderSpecifier<?>> orderSpecifiers = new ArrayList<>();
         if (sort != null && sort.isSorted()) {
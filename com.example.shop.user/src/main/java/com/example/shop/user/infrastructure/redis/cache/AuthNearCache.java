@@ -0,0 +1,81 @@
+package com.example.shop.user.infrastructure.redis.cache;
+
+import com.example.shop.user.application.cache.AuthCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Primary
+@Component
+public class AuthNearCache implements AuthCache {
+
+    public static final String AUTH_DENY_INVALIDATION_CHANNEL = "auth:deny:invalidation";
+
+    private final AuthRedisCache authRedisCache;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Cache<String, Optional<Long>> localCache;
+    private final AtomicLong invalidationVersion = new AtomicLong();
+
+    public AuthNearCache(
+            AuthRedisCache authRedisCache,
+            StringRedisTemplate stringRedisTemplate,
+            @Value("${shop.security.auth-cache.local-ttl-millis:3000}") long localTtlMillis,
+            @Value("${shop.security.auth-cache.local-maximum-size:100000}") long localMaximumSize
+    ) {
+        this.authRedisCache = authRedisCache;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.localCache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(localTtlMillis))
+                .maximumSize(localMaximumSize)
+                .build();
+    }
+
+    @Override
+    public void denyBy(String userId, Long jwtValidator) {
+        authRedisCache.denyBy(userId, jwtValidator);
+        invalidateLocal(userId);
+        stringRedisTemplate.convertAndSend(AUTH_DENY_INVALIDATION_CHANNEL, userId);
+    }
+
+    @Override
+    public Long getBy(String userId) {
+        Optional<Long> cachedValue = localCache.getIfPresent(userId);
+        if (cachedValue != null) {
+            return cachedValue.orElse(null);
+        }
+
+        long version = invalidationVersion.get();
+        Long jwtValidator = authRedisCache.getBy(userId);
+        // 조회 도중 무효화 메시지가 도착했다면 오래된 값을 로컬에 남기지 않는다
+        if (version == invalidationVersion.get()) {
+            localCache.put(userId, Optional.ofNullable(jwtValidator));
+        }
+        return jwtValidator;
+    }
+
+    @Override
+    public void cancelDenyBy(String userId) {
+        authRedisCache.cancelDenyBy(userId);
+        invalidateLocal(userId);
+        stringRedisTemplate.convertAndSend(AUTH_DENY_INVALIDATION_CHANNEL, userId);
+    }
+
+    public void invalidateLocal(String userId) {
+        invalidationVersion.incrementAndGet();
+        localCache.invalidate(userId);
+    }
+
+    // 구독이 끊긴 동안 받지 못한 무효화가 있을 수 있으므로 로컬 항목을 모두 버린다
+    public void invalidateAllLocal() {
+        invalidationVersion.incrementAndGet();
+        localCache.invalidateAll();
+    }
+
+}
@@ -3,25 +3,38 @@ package com.example.shop.user.infrastructure.redis.cache;
 import com.example.shop.user.application.cache.AuthCache;
 import com.example.shop.user.infrastructure.security.jwt.JwtProperties;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Component;
 
-import java.time.Duration;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 public class AuthRedisCache implements AuthCache {
 
     private static final String AUTH_DENY_PREFIX = "auth:deny:";
+    // gateway 블룸 필터가 pub/sub 을 놓쳐도 따라잡을 수 있도록 거부마다 번호를 매겨 남긴다
+    private static final String AUTH_DENY_VERSION_KEY = "auth:deny-version";
+    private static final String AUTH_DENY_LOG_KEY = "auth:deny-log";
+    private static final long AUTH_DENY_LOG_MAX_SIZE = 10_000L;
+    private static final RedisScript<Long> AUTH_DENY_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/auth-deny.lua"), Long.class);
 
     private final StringRedisTemplate stringRedisTemplate;
     private final JwtProperties jwtProperties;
 
     @Override
     public void denyBy(String userId, Long jwtValidator) {
-        String key = AUTH_DENY_PREFIX + userId;
-        stringRedisTemplate.opsForValue().set(key, jwtValidator.toString());
-        stringRedisTemplate.expire(key, Duration.ofMillis(jwtProperties.getAccessExpirationMillis()));
+        stringRedisTemplate.execute(
+                AUTH_DENY_SCRIPT,
+                List.of(AUTH_DENY_PREFIX + userId, AUTH_DENY_VERSION_KEY, AUTH_DENY_LOG_KEY),
+                jwtValidator.toString(),
+                String.valueOf(jwtProperties.getAccessExpirationMillis()),
+                userId,
+                String.valueOf(AUTH_DENY_LOG_MAX_SIZE)
+        );
     }
 
     @Override
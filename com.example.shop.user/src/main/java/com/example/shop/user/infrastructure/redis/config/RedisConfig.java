@@ -1,5 +1,7 @@
 package com.example.shop.user.infrastructure.config.redis;
 
+import com.example.shop.user.infrastructure.redis.cache.AuthNearCache;
+import com.example.shop.user.infrastructure.redis.listener.AuthDenyInvalidationListener;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,6 +10,8 @@ import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
@@ -47,4 +51,16 @@ public class RedisConfig {
         return stringRedisTemplate;
     }
 
-}
\ No newline at end of file
+    // 인증 거부 목록 무효화 구독
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            AuthDenyInvalidationListener authDenyInvalidationListener
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(authDenyInvalidationListener, ChannelTopic.of(AuthNearCache.AUTH_DENY_INVALIDATION_CHANNEL));
+        return container;
+    }
+
+}
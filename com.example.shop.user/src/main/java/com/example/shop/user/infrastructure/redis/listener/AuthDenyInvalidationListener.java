@@ -0,0 +1,37 @@
+package com.example.shop.user.infrastructure.redis.listener;
+
+import com.example.shop.user.infrastructure.redis.cache.AuthNearCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuthDenyInvalidationListener implements MessageListener, SubscriptionListener {
+
+    private final AuthNearCache authNearCache;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        authNearCache.invalidateLocal(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    // 연결이 끊겼다가 컨테이너가 다시 구독하면 그 사이 놓친 무효화가 있을 수 있으므로 L1 을 비운다
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        authNearCache.invalidateAllLocal();
+        log.info("auth deny invalidation subscribed - local auth cache cleared");
+    }
+
+    @Override
+    public void onChannelUnsubscribed(byte[] channel, long count) {
+        authNearCache.invalidateAllLocal();
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.example.shop.user.infrastructure.security.auth;
 
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.example.shop.user.infrastructure.security.identity.TrustedIdentity;
 import com.example.shop.user.domain.model.User;
 import com.example.shop.user.domain.model.UserRole;
 import java.util.Collection;
@@ -28,6 +29,7 @@ public class CustomUserDetails implements UserDetails {
     private String nickname;
     private String email;
     private String accessJwt;
+    private String identityToken;
     private List<String> roleList;
 
     public static CustomUserDetails of(User user) {
@@ -59,6 +61,15 @@ public class CustomUserDetails implements UserDetails {
                 .build();
     }
 
+    public static CustomUserDetails of(TrustedIdentity identity, String identityToken, String accessJwt) {
+        return CustomUserDetails.builder()
+                .id(UUID.fromString(identity.getUserId()))
+                .accessJwt(accessJwt)
+                .identityToken(identityToken)
+                .roleList(List.copyOf(identity.getRoleList()))
+                .build();
+    }
+
     public List<String> getRoleList() {
         return roleList == null ? List.of() : Collections.unmodifiableList(roleList);
     }
@@ -1,12 +1,12 @@
 package com.example.shop.user.infrastructure.security.filter;
 
-import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.example.shop.user.application.cache.AuthCache;
 import com.example.shop.user.infrastructure.security.auth.CustomUserDetails;
+import com.example.shop.user.infrastructure.security.identity.IdentityTokenCodec;
 import com.example.shop.user.infrastructure.security.jwt.JwtProperties;
+import com.example.shop.user.infrastructure.security.jwt.JwtTokenVerifier;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -27,11 +27,21 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
 
     private final JwtProperties jwtProperties;
 
+    private final JwtTokenVerifier jwtTokenVerifier;
+
     private final AuthCache authCache;
 
+    private final IdentityTokenCodec identityTokenCodec;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
+        String identityToken = identityTokenCodec.isEnabled() ? request.getHeader(identityTokenCodec.getHeaderName()) : null;
+        if (StringUtils.hasText(identityToken)) {
+            doFilterWithIdentity(request, response, filterChain, identityToken);
+            return;
+        }
+
         String authorizationHeader = request.getHeader(jwtProperties.getAccessHeaderName());
         if (!StringUtils.hasText(authorizationHeader) || !authorizationHeader.startsWith(jwtProperties.getHeaderPrefix())) {
             filterChain.doFilter(request, response);
@@ -41,15 +51,13 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
         String accessJwt = authorizationHeader.substring(jwtProperties.getHeaderPrefix().length());
         DecodedJWT decodedAccessJwt;
         try {
-            decodedAccessJwt = JWT.require(Algorithm.HMAC512(jwtProperties.getSecret()))
-                    .build()
-                    .verify(accessJwt);
+            decodedAccessJwt = jwtTokenVerifier.verify(accessJwt);
         } catch (JWTVerificationException exception) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        Long jwtValidator = authCache.getBy(decodedAccessJwt.getClaim("id").toString());
+        Long jwtValidator = authCache.getBy(decodedAccessJwt.getClaim("id").asString());
         if (jwtValidator != null && jwtValidator > decodedAccessJwt.getIssuedAt().toInstant().getEpochSecond()) {
             filterChain.doFilter(request, response);
             return;
@@ -73,9 +81,36 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
             return;
         }
 
+        authenticate(userDetails);
+        filterChain.doFilter(request, response);
+    }
+
+    // 게이트웨이가 서명/거부 목록 확인을 마친 identity 헤더는 MAC 확인만으로 인증한다.
+    private void doFilterWithIdentity(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                                      String identityToken) throws ServletException, IOException {
+        CustomUserDetails userDetails;
+        try {
+            userDetails = CustomUserDetails.of(identityTokenCodec.decode(identityToken), identityToken, resolveAccessJwt(request));
+        } catch (RuntimeException exception) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        authenticate(userDetails);
+        filterChain.doFilter(request, response);
+    }
+
+    private String resolveAccessJwt(HttpServletRequest request) {
+        String authorizationHeader = request.getHeader(jwtProperties.getAccessHeaderName());
+        if (!StringUtils.hasText(authorizationHeader) || !authorizationHeader.startsWith(jwtProperties.getHeaderPrefix())) {
+            return null;
+        }
+        return authorizationHeader.substring(jwtProperties.getHeaderPrefix().length());
+    }
+
+    private static void authenticate(CustomUserDetails userDetails) {
         UsernamePasswordAuthenticationToken authenticationToken =
                 new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
         SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-        filterChain.doFilter(request, response);
     }
 }
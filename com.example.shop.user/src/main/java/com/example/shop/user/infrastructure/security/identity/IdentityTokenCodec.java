@@ -0,0 +1,123 @@
+package com.example.shop.user.infrastructure.security.identity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * 게이트웨이가 검증한 사용자 정보를 내부 서비스로 전달하기 위한 서명 토큰.
+ * 형식: base64url(userId|role1,role2|iat|exp) + "." + base64url(HmacSHA256)
+ */
+@Component
+public class IdentityTokenCodec {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String FIELD_DELIMITER = "|";
+    private static final String ROLE_DELIMITER = ",";
+    private static final Base64.Encoder BASE64_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64_DECODER = Base64.getUrlDecoder();
+
+    @Getter
+    private final boolean enabled;
+
+    @Getter
+    private final String headerName;
+
+    private final ThreadLocal<Mac> macHolder;
+
+    public IdentityTokenCodec(
+            @Value("${shop.security.identity.enabled:false}") boolean enabled,
+            @Value("${shop.security.identity.header-name:X-Shop-Identity}") String headerName,
+            @Value("${shop.security.identity.secret:}") String secret
+    ) {
+        if (enabled && !StringUtils.hasText(secret)) {
+            throw new IllegalStateException("shop.security.identity.secret must be set when identity propagation is enabled");
+        }
+        this.enabled = enabled;
+        this.headerName = headerName;
+        this.macHolder = enabled
+                ? ThreadLocal.withInitial(() -> newMac(secret))
+                : null;
+    }
+
+    public String encode(TrustedIdentity identity) {
+        checkEnabled();
+        String payload = identity.getUserId()
+                + FIELD_DELIMITER + String.join(ROLE_DELIMITER, identity.getRoleList())
+                + FIELD_DELIMITER + identity.getIssuedAtEpochSecond()
+                + FIELD_DELIMITER + identity.getExpiresAtEpochSecond();
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return BASE64_ENCODER.encodeToString(payloadBytes) + "." + BASE64_ENCODER.encodeToString(sign(payloadBytes));
+    }
+
+    /**
+     * 서명과 만료 시각을 확인한 뒤 사용자 정보를 반환한다.
+     *
+     * @throws IllegalArgumentException 형식이 잘못되었거나 서명이 일치하지 않거나 만료된 경우
+     */
+    public TrustedIdentity decode(String token) {
+        checkEnabled();
+        int separatorIndex = token.indexOf('.');
+        if (separatorIndex <= 0 || separatorIndex == token.length() - 1) {
+            throw new IllegalArgumentException("malformed identity token");
+        }
+
+        byte[] payloadBytes = BASE64_DECODER.decode(token.substring(0, separatorIndex));
+        byte[] signature = BASE64_DECODER.decode(token.substring(separatorIndex + 1));
+        if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+            throw new IllegalArgumentException("identity token signature mismatch");
+        }
+
+        String[] fields = new String(payloadBytes, StandardCharsets.UTF_8).split("\\|", -1);
+        if (fields.length != 4 || !StringUtils.hasText(fields[0])) {
+            throw new IllegalArgumentException("malformed identity token");
+        }
+
+        long expiresAtEpochSecond = Long.parseLong(fields[3]);
+        if (expiresAtEpochSecond <= Instant.now().getEpochSecond()) {
+            throw new IllegalArgumentException("identity token expired");
+        }
+
+        List<String> roleList = fields[1].isEmpty()
+                ? List.of()
+                : List.copyOf(Arrays.asList(fields[1].split(ROLE_DELIMITER)));
+        return TrustedIdentity.builder()
+                .userId(fields[0])
+                .roleList(roleList)
+                .issuedAtEpochSecond(Long.parseLong(fields[2]))
+                .expiresAtEpochSecond(expiresAtEpochSecond)
+                .build();
+    }
+
+    private byte[] sign(byte[] payloadBytes) {
+        Mac mac = macHolder.get();
+        mac.reset();
+        return mac.doFinal(payloadBytes);
+    }
+
+    private void checkEnabled() {
+        if (!enabled) {
+            throw new IllegalStateException("identity propagation is disabled");
+        }
+    }
+
+    private static Mac newMac(String secret) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+            return mac;
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
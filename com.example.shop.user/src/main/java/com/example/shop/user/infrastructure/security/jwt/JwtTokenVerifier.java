@@ -0,0 +1,79 @@
+package com.example.shop.user.infrastructure.security.jwt;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class JwtTokenVerifier {
+
+    private final JWTVerifier jwtVerifier;
+    private final Cache<String, DecodedJWT> verifiedTokenCache;
+
+    public JwtTokenVerifier(
+            JwtProperties jwtProperties,
+            @Value("${shop.security.jwt.verified-token-cache-size:10000}") long verifiedTokenCacheSize
+    ) {
+        this.jwtVerifier = JWT.require(Algorithm.HMAC512(jwtProperties.getSecret())).build();
+        this.verifiedTokenCache = Caffeine.newBuilder()
+                .maximumSize(verifiedTokenCacheSize)
+                .expireAfter(new ExpiresAtExpiry())
+                .build();
+    }
+
+    public DecodedJWT verify(String token) throws JWTVerificationException {
+        String tokenDigest = digest(token);
+        DecodedJWT cachedJwt = verifiedTokenCache.getIfPresent(tokenDigest);
+        if (cachedJwt != null && token.equals(cachedJwt.getToken())) {
+            return cachedJwt;
+        }
+
+        DecodedJWT decodedJwt = jwtVerifier.verify(token);
+        if (decodedJwt.getExpiresAtAsInstant() != null) {
+            verifiedTokenCache.put(tokenDigest, decodedJwt);
+        }
+        return decodedJwt;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static class ExpiresAtExpiry implements Expiry<String, DecodedJWT> {
+
+        @Override
+        public long expireAfterCreate(String key, DecodedJWT value, long currentTime) {
+            long remainingMillis = value.getExpiresAtAsInstant().toEpochMilli() - Instant.now().toEpochMilli();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0L));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, DecodedJWT value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, DecodedJWT value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.example.shop.global.presentation.dto.ApiDto;
 import com.example.shop.user.application.service.UserServiceV1;
 import com.example.shop.user.infrastructure.security.auth.CustomUserDetails;
 import com.example.shop.user.presentation.dto.response.ResGetUsersDtoV1;
+import com.example.shop.user.presentation.dto.response.ResGetUsersScrollDtoV1;
 import com.example.shop.user.presentation.dto.response.ResGetUserDtoV1;
 import java.util.List;
 import java.util.UUID;
@@ -47,6 +48,37 @@ public class UserControllerV1 {
         );
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiDto<ResGetUsersScrollDtoV1>> getUsersScroll(
+            @AuthenticationPrincipal CustomUserDetails customUserDetails,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "username", required = false) String username,
+            @RequestParam(value = "nickname", required = false) String nickname,
+            @RequestParam(value = "email", required = false) String email,
+            @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal
+    ) {
+        UUID authUserId = customUserDetails != null ? customUserDetails.getId() : null;
+        List<String> authUserRoleList = customUserDetails != null ? customUserDetails.getRoleList() : List.of();
+        ResGetUsersScrollDtoV1 responseBody = userServiceV1.getUsersScroll(
+                authUserId,
+                authUserRoleList,
+                cursor,
+                size,
+                username,
+                nickname,
+                email,
+                includeTotal
+        );
+
+        return ResponseEntity.ok(
+                ApiDto.<ResGetUsersScrollDtoV1>builder()
+                        .message("사용자 목록 조회가 완료되었습니다.")
+                        .data(responseBody)
+                        .build()
+        );
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiDto<ResGetUserDtoV1>> getUser(
             @AuthenticationPrincipal CustomUserDetails customUserDetails,
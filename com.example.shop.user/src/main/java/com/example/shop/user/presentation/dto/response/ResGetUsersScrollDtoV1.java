@@ -0,0 +1,40 @@
+package com.example.shop.user.presentation.dto.response;
+
+import com.example.shop.user.domain.model.User;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ResGetUsersScrollDtoV1 {
+
+    private final UserScrollDto userScroll;
+
+    public static ResGetUsersScrollDtoV1 of(List<User> userList, String nextCursor, Long totalElements) {
+        return ResGetUsersScrollDtoV1.builder()
+                .userScroll(UserScrollDto.builder()
+                        .content(userList.stream()
+                                .map(ResGetUsersDtoV1.UserPageDto.UserDto::from)
+                                .toList())
+                        .nextCursor(nextCursor)
+                        .hasNext(nextCursor != null)
+                        .totalElements(totalElements)
+                        .build())
+                .build();
+    }
+
+    @Getter
+    @Builder
+    public static class UserScrollDto {
+
+        private final List<ResGetUsersDtoV1.UserPageDto.UserDto> content;
+
+        // 다음 목록 조회 시 cursor 로 그대로 전달한다. 마지막 목록이면 null.
+        private final String nextCursor;
+        private final Boolean hasNext;
+
+        // includeTotal=true 로 요청한 경우에만 채운다
+        private final Long totalElements;
+    }
+}
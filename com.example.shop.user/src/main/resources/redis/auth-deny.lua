@@ -0,0 +1,5 @@
+redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+local version = redis.call('INCR', KEYS[2])
+redis.call('ZADD', KEYS[3], version, version .. '|' .. ARGV[3])
+redis.call('ZREMRANGEBYRANK', KEYS[3], 0, -(tonumber(ARGV[4]) + 1))
+return version
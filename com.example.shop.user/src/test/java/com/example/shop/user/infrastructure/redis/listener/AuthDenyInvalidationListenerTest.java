@@ -0,0 +1,49 @@
+package com.example.shop.user.infrastructure.redis.listener;
+
+import com.example.shop.user.infrastructure.redis.cache.AuthNearCache;
+import com.example.shop.user.infrastructure.redis.cache.AuthRedisCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class AuthDenyInvalidationListenerTest {
+
+    private static final String USER_ID = "user-1";
+
+    private AuthRedisCache authRedisCache;
+    private AuthNearCache authNearCache;
+    private AuthDenyInvalidationListener authDenyInvalidationListener;
+
+    @BeforeEach
+    void setUp() {
+        authRedisCache = mock(AuthRedisCache.class);
+        authNearCache = new AuthNearCache(authRedisCache, mock(StringRedisTemplate.class), 60_000L, 1_000L);
+        authDenyInvalidationListener = new AuthDenyInvalidationListener(authNearCache);
+    }
+
+    @Test
+    @DisplayName("구독이 다시 맺어지면 끊긴 동안 무효화를 받지 못한 L1 항목을 버리고 Redis 에서 다시 읽는다")
+    void resubscribed_clearsLocalCache() {
+        given(authRedisCache.getBy(USER_ID)).willReturn(null);
+        assertThat(authNearCache.getBy(USER_ID)).isNull();
+
+        // 구독이 끊긴 동안 다른 인스턴스에서 거부 목록에 올라가 무효화 메시지를 받지 못한 상황
+        given(authRedisCache.getBy(USER_ID)).willReturn(1L);
+        assertThat(authNearCache.getBy(USER_ID)).isNull();
+
+        authDenyInvalidationListener.onChannelSubscribed(
+                AuthNearCache.AUTH_DENY_INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                1L
+        );
+
+        assertThat(authNearCache.getBy(USER_ID)).isEqualTo(1L);
+    }
+
+}